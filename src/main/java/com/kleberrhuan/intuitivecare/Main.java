@@ -1,6 +1,7 @@
 package com.kleberrhuan.intuitivecare;
 
 import com.kleberrhuan.intuitivecare.cli.CliManager;
+import com.kleberrhuan.intuitivecare.cli.CommandLineRunner;
 import com.kleberrhuan.intuitivecare.util.helpers.ScannerHelper;
 import ch.qos.logback.classic.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +11,13 @@ public class Main {
 
     public static void main(String[] args) {
         LOGGER.info("Iniciando aplicação IntuitiveCare");
+        if (args.length > 0) {
+            // Modo de comandos (ex.: "accounting --years 3" ou "daemon"), sem menu interativo
+            int exitCode = new CommandLineRunner().run(args);
+            LOGGER.info("Aplicação finalizada");
+            System.exit(exitCode);
+        }
+
         try (ScannerHelper scannerHelper = new ScannerHelper()) {
             CliManager cliManager = new CliManager(scannerHelper);
             cliManager.run();
@@ -1,20 +1,32 @@
 package com.kleberrhuan.intuitivecare.cli;
 
 import com.kleberrhuan.intuitivecare.config.AppConfig;
-import com.kleberrhuan.intuitivecare.model.FileModel;
-import com.kleberrhuan.intuitivecare.model.FileType;
-import com.kleberrhuan.intuitivecare.model.ScrappingRequest;
-import com.kleberrhuan.intuitivecare.service.FileDownloaderService;
+import com.kleberrhuan.intuitivecare.model.BatchOptions;
+import com.kleberrhuan.intuitivecare.model.BatchOutputMode;
+import com.kleberrhuan.intuitivecare.model.BatchResult;
+import com.kleberrhuan.intuitivecare.model.BulkLoadResult;
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.ExpenseQuery;
+import com.kleberrhuan.intuitivecare.model.Operator;
+import com.kleberrhuan.intuitivecare.model.OperatorExpense;
+import com.kleberrhuan.intuitivecare.model.OperatorExpenseReport;
+import com.kleberrhuan.intuitivecare.model.OperatorRegistry;
+import com.kleberrhuan.intuitivecare.model.PipelineResult;
+import com.kleberrhuan.intuitivecare.model.SyncOptions;
+import com.kleberrhuan.intuitivecare.service.BatchPdfProcessingService;
+import com.kleberrhuan.intuitivecare.service.BulkLoadService;
+import com.kleberrhuan.intuitivecare.service.ExpenseAnalyticsService;
 import com.kleberrhuan.intuitivecare.service.PdfProcessingService;
-import com.kleberrhuan.intuitivecare.service.ScrapperService;
-import com.kleberrhuan.intuitivecare.util.HttpDownloader;
-import com.kleberrhuan.intuitivecare.util.ZipManager;
-import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import com.kleberrhuan.intuitivecare.service.SyncService;
+import com.kleberrhuan.intuitivecare.store.AccountingStore;
+import com.kleberrhuan.intuitivecare.util.OperatorRegistryReader;
 import com.kleberrhuan.intuitivecare.util.helpers.ScannerHelper;
 import ch.qos.logback.classic.Logger;
 import org.slf4j.LoggerFactory;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
+import java.sql.DriverManager;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -43,6 +55,9 @@ public class CliManager {
       case 2 -> executeDataTransformation();
       case 3 -> executeCompleteFlow();
       case 4 -> executeAccountingStatementsDownload();
+      case 5 -> executeBatchPdfProcessing();
+      case 6 -> executeExpenseRanking();
+      case 7 -> executeDatabaseLoad();
       default -> LOGGER.warn("Opção inválida. Encerrando programa.");
     }
 
@@ -55,6 +70,9 @@ public class CliManager {
     LOGGER.info("2. Executar Transformação de Dados (Requisito 2)");
     LOGGER.info("3. Executar Fluxo Completo (Requisitos 1 + 2)");
     LOGGER.info("4. Download de Demonstrações Contábeis ANS(Ultimos 2 anos)");
+    LOGGER.info("5. Processamento em Lote de PDFs (diretório ou glob)");
+    LOGGER.info("6. Operadoras com Maiores Despesas (Demonstrações Contábeis)");
+    LOGGER.info("7. Carga em Banco de Dados (JDBC)");
     LOGGER.info("Digite a opção desejada: ");
   }
 
@@ -65,33 +83,9 @@ public class CliManager {
    * 1.3. Compactação de todos os anexos em um único arquivo
    */
   private void executeWebScraping() {
-    LOGGER.info("Iniciando web scraping no site da ANS: {}", AppConfig.ANS_URL);
-
-    try {
-      Path outputDir = DirectoryHelper.createDirectoryIfNotExists(AppConfig.OUTPUT_DIR);
-
-      // 1.1 e 1.2 - Acessar site e baixar os anexos I e II
-      List<FileModel> targetFiles = Arrays.asList(
-          new FileModel(AppConfig.ANEXO_I, FileType.PDF),
-          new FileModel(AppConfig.ANEXO_II, FileType.PDF));
-
-      ScrappingRequest request = ScrappingRequest.builder()
-          .url(AppConfig.ANS_URL)
-          .files(targetFiles)
-          .build();
-
-      ScrapperService scrapper = new ScrapperService(request);
-      scrapper.downloadFiles(AppConfig.OUTPUT_DIR);
-      LOGGER.info("Arquivos PDF baixados com sucesso para: {}", AppConfig.OUTPUT_DIR);
-
-      // 1.3 - Compactar os anexos em um único arquivo ZIP
-      List<Path> pdfsToCompress = targetFiles.stream()
-          .map(fileModel -> AppConfig.OUTPUT_DIR.resolve(fileModel.getFullName()))
-          .toList();
-
-      ZipManager zipManager = new ZipManager();
-      zipManager.archiveFiles(pdfsToCompress, outputDir, AppConfig.ZIP_FILENAME);
-      LOGGER.info("Arquivos compactados com sucesso em: {}/{}", AppConfig.OUTPUT_DIR, AppConfig.ZIP_FILENAME);
+    try (SyncService sync = new SyncService(SyncOptions.defaults())) {
+      Path zip = sync.scrape();
+      LOGGER.info("Web scraping concluído: {}", zip);
 
     } catch (Exception e) {
       LOGGER.error("Erro ao executar web scraping: {}", e.getMessage(), e);
@@ -108,22 +102,8 @@ public class CliManager {
   private void executeDataTransformation() {
     LOGGER.info("Iniciando transformação de dados do PDF");
 
-    try {
-      Path pdfPath = AppConfig.OUTPUT_DIR.resolve(AppConfig.DEFAULT_PDF_FILENAME);
-      Path csvPath = AppConfig.OUTPUT_DIR.resolve(AppConfig.DEFAULT_CSV_FILENAME);
-      Path zipPath = AppConfig.OUTPUT_DIR.resolve(AppConfig.DEFAULT_ZIP_FILENAME);
-
-      if (!pdfPath.toFile().exists()) {
-        LOGGER.error("Arquivo PDF não encontrado em: {}", pdfPath);
-        LOGGER.warn("Arquivo PDF não encontrado. Execute primeiro o web scraping.");
-        return;
-      }
-
-      // Executar processamento do PDF (extração, conversão para CSV e compactação)
-      PdfProcessingService pdfProcessor = new PdfProcessingService();
-      String resultado = pdfProcessor.processPdf(pdfPath, csvPath, zipPath);
-
-      LOGGER.info("Transformação de dados concluída: {}", resultado);
+    try (SyncService sync = new SyncService(SyncOptions.defaults())) {
+      sync.transform();
 
     } catch (Exception e) {
       LOGGER.error("Erro ao transformar dados: {}", e.getMessage(), e);
@@ -132,40 +112,157 @@ public class CliManager {
 
   /**
    * Executa o fluxo completo: Web Scraping + Transformação de Dados
+   * As etapas rodam em pipeline: a extração do Anexo I começa assim que o
+   * arquivo é baixado, enquanto o Anexo II ainda está em download
    */
   private void executeCompleteFlow() {
     LOGGER.info("Iniciando fluxo completo (Web Scraping + Transformação de Dados)");
-    executeWebScraping();
-    executeDataTransformation();
-    LOGGER.info("Fluxo completo finalizado com sucesso");
+
+    try (SyncService sync = new SyncService(SyncOptions.defaults())) {
+      PipelineResult result = sync.completeFlow();
+      LOGGER.info("Arquivos compactados com sucesso em: {}", result.archives());
+      LOGGER.info("Fluxo completo finalizado com sucesso");
+
+    } catch (Exception e) {
+      LOGGER.error("Erro ao executar o fluxo completo: {}", e.getMessage(), e);
+    }
   }
 
   /**
    * Executa o download das demonstrações contábeis da ANS
-   * Faz download de arquivos das pastas dos últimos anos e extrai o conteúdo.
+   * Baixa apenas os arquivos novos ou alterados dos últimos anos, carrega os
+   * trimestres novos no armazenamento colunar e atualiza os agregados
    */
   private void executeAccountingStatementsDownload() {
     LOGGER.info("Iniciando download de demonstrações contábeis da ANS");
 
+    LOGGER.info("Quantos anos de dados deseja baixar? (Recomendado: 2)");
+    int numberOfYears = scannerHelper.nextInt();
+
+    if (numberOfYears <= 0) {
+      LOGGER.warn("Número de anos deve ser maior que zero. Usando o valor padrão de 2 anos.");
+      numberOfYears = AppConfig.ACCOUNTING_SYNC_YEARS;
+    }
+
+    try (SyncService sync = new SyncService(SyncOptions.builder().years(numberOfYears).build())) {
+      sync.syncAccounting();
+      LOGGER.info("Download das demonstrações contábeis concluído com sucesso");
+
+    } catch (Exception e) {
+      LOGGER.error("Erro ao baixar demonstrações contábeis: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Processa em lote os PDFs de um diretório ou padrão glob (ex.: versões
+   * históricas do Rol), gerando um CSV por documento ou um CSV consolidado
+   */
+  private void executeBatchPdfProcessing() {
+    try {
+      LOGGER.info("Informe o diretório ou padrão glob dos PDFs (ex.: output/*.pdf):");
+      String input = scannerHelper.nextLine();
+
+      LOGGER.info("Formato de saída: 1. Um CSV por documento | 2. CSV consolidado");
+      BatchOutputMode outputMode = scannerHelper.nextInt() == 2
+          ? BatchOutputMode.MERGED
+          : BatchOutputMode.PER_DOCUMENT;
+
+      BatchPdfProcessingService service = new BatchPdfProcessingService(
+          new PdfProcessingService(),
+          BatchOptions.builder().outputMode(outputMode).build());
+      BatchResult result = service.process(input, AppConfig.OUTPUT_DIR);
+
+      LOGGER.info("Processamento em lote concluído: {} documentos, {} com falha",
+          result.successCount(), result.failureCount());
+
+    } catch (Exception e) {
+      LOGGER.error("Erro no processamento em lote de PDFs: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Consulta as operadoras com as maiores despesas em uma conta contábil no
+   * último trimestre ou no último ano, a partir do armazenamento carregado na
+   * opção 4 (ex.: "EVENTOS/ SINISTROS CONHECIDOS OU AVISADOS")
+   */
+  private void executeExpenseRanking() {
     try {
-      LOGGER.info("Quantos anos de dados deseja baixar? (Recomendado: 2)");
-      int numberOfYears = scannerHelper.nextInt();
+      AccountingStore store = AccountingStore.open(AppConfig.ACCOUNTING_STORE_DIR);
+      ExpenseAnalyticsService analytics = new ExpenseAnalyticsService(store);
+      LocalDate latest = analytics.getLatestDate();
+      if (latest == null) {
+        LOGGER.warn("Nenhuma demonstração contábil carregada. Execute primeiro a opção 4.");
+        return;
+      }
+
+      LOGGER.info("Informe a descrição (ou parte dela) da conta contábil:");
+      String description = scannerHelper.nextLine();
+
+      LOGGER.info("Período: 1. Último trimestre | 2. Último ano");
+      int quarters = scannerHelper.nextInt() == 2 ? 4 : 1;
+
+      ExpenseQuery query = ExpenseQuery.builder()
+          .description(description)
+          .fromDate(ExpenseAnalyticsService.firstDayOfQuarters(latest, quarters))
+          .toDate(latest)
+          .build();
+      List<OperatorExpense> ranking = analytics.topOperators(query);
 
-      if (numberOfYears <= 0) {
-        LOGGER.warn("Número de anos deve ser maior que zero. Usando o valor padrão de 2 anos.");
-        numberOfYears = 2;
+      Path registryFile = AppConfig.OUTPUT_DIR.resolve(AppConfig.CADOP_FILENAME);
+      OperatorRegistry registry = Files.isRegularFile(registryFile)
+          ? OperatorRegistryReader.read(registryFile)
+          : new OperatorRegistry(List.of());
+      List<OperatorExpenseReport> reports = ExpenseAnalyticsService.withRegistry(ranking, registry);
+
+      LOGGER.info("{} operadoras com maiores despesas até {}:", reports.size(), latest);
+      for (int i = 0; i < reports.size(); i++) {
+        OperatorExpenseReport report = reports.get(i);
+        Operator operator = report.operator();
+        LOGGER.info("{}. Registro ANS {} - {} ({}): R$ {}", i + 1, report.expense().operatorId(),
+            operator == null ? "operadora fora do cadastro" : operator.corporateName(),
+            operator == null ? "-" : operator.state(), report.expense().amount());
       }
 
-      FileDownloaderService service = new FileDownloaderService(
-          AppConfig.ANS_DEMONSTRACOES_URL,
-          new HttpDownloader(AppConfig.DOWNLOAD_THREADS));
+    } catch (Exception e) {
+      LOGGER.error("Erro ao consultar despesas das operadoras: {}", e.getMessage(), e);
+    }
+  }
 
-      LOGGER.info("Baixando dados dos últimos {} anos", numberOfYears);
-      service.downloadLatestYears(numberOfYears, AppConfig.OUTPUT_DIR);
-      LOGGER.info("Download das demonstrações contábeis concluído com sucesso");
+  /**
+   * Carrega as demonstrações contábeis (armazenamento da opção 4) e o CSV do
+   * Anexo I em um banco de dados via JDBC (ex.: jdbc:postgresql://localhost/ans)
+   */
+  private void executeDatabaseLoad() {
+    try {
+      AccountingStore store = AccountingStore.open(AppConfig.ACCOUNTING_STORE_DIR);
+      Path annexCsv = AppConfig.OUTPUT_DIR.resolve(AppConfig.DEFAULT_CSV_FILENAME);
+      if (store.getRowCount() == 0 && !Files.isRegularFile(annexCsv)) {
+        LOGGER.warn("Nenhum dado para carregar. Execute primeiro as opções 2 ou 4.");
+        return;
+      }
+
+      LOGGER.info("Informe a URL JDBC do banco de destino:");
+      String url = scannerHelper.nextLine();
+      LOGGER.info("Usuário:");
+      String user = scannerHelper.nextLine();
+      LOGGER.info("Senha:");
+      String password = scannerHelper.nextLine();
+
+      BulkLoadService service = new BulkLoadService(() -> DriverManager.getConnection(url, user, password));
+      if (store.getRowCount() > 0) {
+        service.createAccountingTable(AppConfig.BULK_LOAD_ACCOUNTING_TABLE);
+        BulkLoadResult result = service.loadAccounting(store, AppConfig.BULK_LOAD_ACCOUNTING_TABLE);
+        LOGGER.info("Demonstrações contábeis carregadas em {}: {} linhas em {} ms{}", result.table(),
+            result.rows(), result.elapsedMillis(), result.copyUsed() ? " (COPY)" : "");
+      }
+      if (Files.isRegularFile(annexCsv)) {
+        BulkLoadResult result = service.loadAnnex(annexCsv, CsvOptions.defaults(),
+            AppConfig.BULK_LOAD_ANNEX_TABLE);
+        LOGGER.info("Anexo I carregado em {}: {} linhas", result.table(), result.rows());
+      }
 
     } catch (Exception e) {
-      LOGGER.error("Erro ao baixar demonstrações contábeis: {}", e.getMessage(), e);
+      LOGGER.error("Erro ao carregar os dados no banco: {}", e.getMessage(), e);
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package com.kleberrhuan.intuitivecare.cli;
+
+import com.kleberrhuan.intuitivecare.model.SyncOptions;
+import com.kleberrhuan.intuitivecare.model.SyncTask;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Argumentos do modo de comandos: {@code <comando> [--opção valor ...]}
+ * <p>
+ * Comandos: {@code scrape}, {@code transform}, {@code flow}, {@code accounting},
+ * {@code daemon} e {@code help}. As opções aceitam tanto
+ * {@code --opção valor} quanto {@code --opção=valor}
+ */
+public final class CommandArguments {
+  /** Comando que executa as tarefas periodicamente */
+  public static final String DAEMON = "daemon";
+  /** Comando que exibe o uso */
+  public static final String HELP = "help";
+
+  private final String command;
+  private final SyncOptions options;
+
+  private CommandArguments(String command, SyncOptions options) {
+    this.command = command;
+    this.options = options;
+  }
+
+  /**
+   * Interpreta os argumentos da linha de comando
+   *
+   * @param args argumentos recebidos pelo {@code main}
+   * @return o comando e as opções, com os valores padrão de {@link SyncOptions}
+   *         para as opções omitidas
+   * @throws IllegalArgumentException se o comando ou alguma opção forem
+   *                                  desconhecidos ou inválidos
+   */
+  public static CommandArguments parse(String... args) {
+    if (args.length == 0 || isHelp(args[0])) {
+      return new CommandArguments(HELP, SyncOptions.defaults());
+    }
+    String command = args[0];
+    if (!command.equals(DAEMON)) {
+      SyncTask.fromId(command);
+    }
+
+    SyncOptions.SyncOptionsBuilder builder = SyncOptions.builder();
+    for (int i = 1; i < args.length; i++) {
+      String arg = args[i];
+      if (isHelp(arg)) {
+        return new CommandArguments(HELP, SyncOptions.defaults());
+      }
+      if (!arg.startsWith("--")) {
+        throw new IllegalArgumentException("Argumento inesperado: " + arg);
+      }
+      String name;
+      String value;
+      int equals = arg.indexOf('=');
+      if (equals >= 0) {
+        name = arg.substring(2, equals);
+        value = arg.substring(equals + 1);
+      } else {
+        if (i + 1 >= args.length) {
+          throw new IllegalArgumentException("Valor ausente para a opção: " + arg);
+        }
+        name = arg.substring(2);
+        value = args[++i];
+      }
+      apply(builder, name, value);
+    }
+    return new CommandArguments(command, builder.build());
+  }
+
+  private static void apply(SyncOptions.SyncOptionsBuilder builder, String name, String value) {
+    switch (name) {
+      case "output" -> builder.outputDir(Path.of(value));
+      case "years" -> builder.years(positive(name, value));
+      case "download-threads" -> builder.downloadThreads(positive(name, value));
+      case "threads" -> builder.extractionThreads(positive(name, value));
+      case "interval-minutes" -> builder.interval(Duration.ofMinutes(positive(name, value)));
+      case "tasks" -> builder.tasks(Arrays.stream(value.split(","))
+          .map(String::trim)
+          .filter(id -> !id.isEmpty())
+          .map(SyncTask::fromId)
+          .toList());
+      default -> throw new IllegalArgumentException("Opção desconhecida: --" + name);
+    }
+  }
+
+  private static int positive(String name, String value) {
+    try {
+      int number = Integer.parseInt(value);
+      if (number > 0) {
+        return number;
+      }
+    } catch (NumberFormatException e) {
+      // tratado abaixo
+    }
+    throw new IllegalArgumentException("A opção --" + name + " deve ser um inteiro positivo: " + value);
+  }
+
+  private static boolean isHelp(String arg) {
+    return arg.equals(HELP) || arg.equals("--help") || arg.equals("-h");
+  }
+
+  /**
+   * Retorna o texto de uso do modo de comandos
+   *
+   * @return as linhas de uso
+   */
+  public static List<String> usage() {
+    return List.of(
+        "Uso: java -jar intuitivecare.jar <comando> [opções]",
+        "Sem argumentos, abre o menu interativo.",
+        "Comandos:",
+        "  scrape      baixa os Anexos I e II e os compacta (requisito 1)",
+        "  transform   converte o Anexo I já baixado em CSV (requisito 2)",
+        "  flow        executa o fluxo completo em pipeline (requisitos 1 + 2)",
+        "  accounting  sincroniza as demonstrações contábeis (apenas arquivos novos ou alterados)",
+        "  daemon      permanece em execução repetindo as tarefas a cada intervalo",
+        "  help        exibe esta ajuda",
+        "Opções:",
+        "  --output <dir>              diretório de saída",
+        "  --years <n>                 anos de demonstrações contábeis",
+        "  --download-threads <n>      downloads simultâneos",
+        "  --threads <n>               workers de extração dos PDFs",
+        "  --interval-minutes <n>      intervalo entre as sincronizações do daemon",
+        "  --tasks <t1,t2>             tarefas do daemon (scrape, transform, flow, accounting)");
+  }
+
+  public String getCommand() {
+    return command;
+  }
+
+  public boolean isHelp() {
+    return command.equals(HELP);
+  }
+
+  public boolean isDaemon() {
+    return command.equals(DAEMON);
+  }
+
+  /**
+   * Retorna a tarefa do comando, para os comandos que não são {@code daemon}
+   * nem {@code help}
+   *
+   * @return a tarefa
+   */
+  public SyncTask getTask() {
+    return SyncTask.fromId(command);
+  }
+
+  public SyncOptions toSyncOptions() {
+    return options;
+  }
+}
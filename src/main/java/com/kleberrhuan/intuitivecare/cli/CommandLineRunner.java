@@ -0,0 +1,79 @@
+package com.kleberrhuan.intuitivecare.cli;
+
+import com.kleberrhuan.intuitivecare.service.SyncDaemon;
+import com.kleberrhuan.intuitivecare.service.SyncService;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Modo de comandos: executa uma tarefa a partir dos argumentos da linha de
+ * comando, sem menu nem leitura da entrada padrão, ou mantém a aplicação
+ * residente no modo daemon
+ */
+public class CommandLineRunner {
+  private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(CommandLineRunner.class);
+
+  /** Código de saída de execução concluída */
+  public static final int EXIT_OK = 0;
+  /** Código de saída de falha na tarefa */
+  public static final int EXIT_FAILURE = 1;
+  /** Código de saída de argumentos inválidos */
+  public static final int EXIT_USAGE = 2;
+
+  /**
+   * Executa o comando
+   *
+   * @param args argumentos recebidos pelo {@code main}
+   * @return o código de saída do processo
+   */
+  public int run(String... args) {
+    CommandArguments arguments;
+    try {
+      arguments = CommandArguments.parse(args);
+    } catch (IllegalArgumentException e) {
+      LOGGER.error(e.getMessage());
+      CommandArguments.usage().forEach(LOGGER::info);
+      return EXIT_USAGE;
+    }
+
+    if (arguments.isHelp()) {
+      CommandArguments.usage().forEach(LOGGER::info);
+      return EXIT_OK;
+    }
+
+    try {
+      if (arguments.isDaemon()) {
+        runDaemon(new SyncService(arguments.toSyncOptions()));
+      } else {
+        try (SyncService sync = new SyncService(arguments.toSyncOptions())) {
+          sync.run(arguments.getTask());
+        }
+      }
+      return EXIT_OK;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return EXIT_FAILURE;
+    } catch (Exception e) {
+      LOGGER.error("Erro ao executar o comando {}: {}", arguments.getCommand(), e.getMessage(), e);
+      return EXIT_FAILURE;
+    }
+  }
+
+  /**
+   * Inicia o daemon e bloqueia até o processo ser encerrado (ex.: SIGTERM ou
+   * Ctrl+C), quando a sincronização em andamento é interrompida e os recursos
+   * são liberados
+   */
+  private void runDaemon(SyncService sync) throws InterruptedException {
+    SyncDaemon daemon;
+    try {
+      daemon = new SyncDaemon(sync);
+    } catch (IllegalArgumentException e) {
+      sync.close();
+      throw e;
+    }
+    Runtime.getRuntime().addShutdownHook(new Thread(daemon::close, "sync-daemon-shutdown"));
+    daemon.start();
+    daemon.awaitTermination();
+  }
+}
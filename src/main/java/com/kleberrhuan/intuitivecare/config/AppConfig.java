@@ -1,5 +1,9 @@
 package com.kleberrhuan.intuitivecare.config;
 
+import com.kleberrhuan.intuitivecare.model.AbbreviationMode;
+import com.kleberrhuan.intuitivecare.model.CsvQuoteMode;
+import com.kleberrhuan.intuitivecare.model.ExtractionEngine;
+import com.kleberrhuan.intuitivecare.model.OutputFormat;
 import java.nio.file.Path;
 
 /**
@@ -13,6 +17,11 @@ public class AppConfig {
   public static final String DEFAULT_PDF_FILENAME = "Anexo_I.pdf";
   public static final String DEFAULT_CSV_FILENAME = "Anexo_I.csv";
   public static final String DEFAULT_ZIP_FILENAME = "Teste_Kleber_Rhuan.zip";
+  public static final String DEFAULT_ROW_INDEX_FILENAME = "Anexo_I.rowindex";
+  /** Padrão do nome dos arquivos de alterações, um por versão detectada */
+  public static final String DEFAULT_DELTA_FILENAME_PATTERN = "'Anexo_I_alteracoes_'yyyyMMdd'-'HHmmss'.csv'";
+  /** Hash do último Anexo I transformado, para ignorar versões repetidas */
+  public static final String DEFAULT_PDF_HASH_FILENAME = "Anexo_I.pdf.sha256";
 
   /** URL do site da ANS para web scraping */
   public static final String ANS_URL = "https://www.gov.br/ans/pt-br/acesso-a-informacao/participacao-da-sociedade/atualizacao-do-rol-de-procedimentos";
@@ -20,6 +29,12 @@ public class AppConfig {
   /** URL do site da ANS para demonstrações contábeis */
   public static final String ANS_DEMONSTRACOES_URL = "https://dadosabertos.ans.gov.br/FTP/PDA/demonstracoes_contabeis/";
 
+  /** URL do cadastro de operadoras ativas da ANS (Relatório Cadop) */
+  public static final String ANS_CADOP_URL = "https://dadosabertos.ans.gov.br/FTP/PDA/operadoras_de_plano_de_saude_ativas/Relatorio_cadop.csv";
+
+  /** Nome do arquivo local do cadastro de operadoras */
+  public static final String CADOP_FILENAME = "Relatorio_cadop.csv";
+
   /** Diretório de saída para os arquivos */
   public static final Path OUTPUT_DIR = Path.of("output");
 
@@ -32,11 +47,174 @@ public class AppConfig {
   /** Número de threads para download paralelo */
   public static final int DOWNLOAD_THREADS = 4;
 
-  /** Mapeamento de abreviações para substituição */
-  public static final String[][] ABBREVIATION_MAPPING = {
-      { "OD", "Seg. Odontológica" },
-      { "AMB", "Seg. Ambulatorial" }
-  };
+  /** Número de workers para extração paralela de tabelas do PDF */
+  public static final int PDF_EXTRACTION_THREADS = Runtime.getRuntime().availableProcessors();
+
+  /** Quantidade de páginas atribuída a cada tarefa de extração paralela */
+  public static final int PDF_PAGES_PER_CHUNK = 8;
+
+  /** Número máximo de páginas extraídas aguardando escrita no CSV */
+  public static final int PDF_PAGE_BUFFER_SIZE = 16;
+
+  /** Motor padrão de extração de tabelas dos PDFs */
+  public static final ExtractionEngine PDF_EXTRACTION_ENGINE = ExtractionEngine.TABULA;
+
+  /** Habilita o modo de template: layout aprendido nas primeiras páginas e reaplicado nas demais */
+  public static final boolean PDF_TEMPLATE_MODE = false;
+
+  /** Quantidade de páginas usadas para aprender o layout da tabela no modo de template */
+  public static final int PDF_TEMPLATE_LEARNING_PAGES = 3;
+
+  /** Memória principal máxima (em bytes) usada pelo PDFBox antes de recorrer a arquivos temporários */
+  public static final long PDF_MAX_MAIN_MEMORY_BYTES = 64L * 1024 * 1024;
+
+  /** Diretório para os arquivos temporários (scratch) do PDFBox */
+  public static final Path PDF_SCRATCH_DIR = Path.of(System.getProperty("java.io.tmpdir"), "intuitivecare-pdf");
+
+  /** Diretório do cache persistente de resultados de extração de PDFs */
+  public static final Path EXTRACTION_CACHE_DIR = Path.of(".cache", "extraction");
+
+  /** Tamanho máximo (em bytes) do cache de extração; as entradas menos usadas recentemente são removidas (0 = sem limite) */
+  public static final long EXTRACTION_CACHE_MAX_BYTES = 512L * 1024 * 1024;
+
+  /** Diretório dos checkpoints que permitem retomar extrações interrompidas */
+  public static final Path EXTRACTION_CHECKPOINT_DIR = Path.of(System.getProperty("java.io.tmpdir"),
+      "intuitivecare-checkpoints");
+
+  /** Quantidade de páginas entre checkpoints da extração (0 desabilita; desabilitado por padrão) */
+  public static final int EXTRACTION_CHECKPOINT_INTERVAL_PAGES = 0;
+
+  /** Idade (em horas) a partir da qual checkpoints abandonados são removidos ao fim de um lote */
+  public static final long EXTRACTION_CHECKPOINT_MAX_AGE_HOURS = 7 * 24;
+
+  /** Intervalo de amostragem do uso de memória, em milissegundos */
+  public static final long MEMORY_SAMPLING_INTERVAL_MS = 200;
+
+  /** Recurso do classpath com a legenda de abreviações (ABREVIAÇÃO;Descrição) */
+  public static final String ABBREVIATION_LEGEND_RESOURCE = "/abbreviations.csv";
+
+  /** Modo padrão de substituição de abreviações */
+  public static final AbbreviationMode ABBREVIATION_MODE = AbbreviationMode.EXACT;
+
+  /** Colunas (pelo cabeçalho) em que as abreviações são substituídas */
+  public static final String[] ABBREVIATION_COLUMNS = { "OD", "AMB" };
+
+  /** Separador de campos dos CSVs gerados */
+  public static final char CSV_DELIMITER = ',';
+
+  /** Política de aspas dos CSVs gerados */
+  public static final CsvQuoteMode CSV_QUOTE_MODE = CsvQuoteMode.ALL;
+
+  /** Terminador de linha dos CSVs gerados */
+  public static final String CSV_LINE_ENDING = System.lineSeparator();
+
+  /** Tamanho (em bytes) do buffer de escrita dos CSVs */
+  public static final int CSV_BUFFER_SIZE = 256 * 1024;
+
+  /** Colunas (pelo cabeçalho) que identificam um procedimento entre versões do Rol */
+  public static final String[] ROW_DIFF_KEY_COLUMNS = { "PROCEDIMENTO" };
+
+  /** Habilita a ordenação e a remoção de duplicatas das linhas extraídas */
+  public static final boolean ROW_SORT_ENABLED = false;
+
+  /** Colunas (pelo cabeçalho) usadas como chave de ordenação das linhas extraídas */
+  public static final String[] ROW_SORT_KEY_COLUMNS = { "PROCEDIMENTO" };
+
+  /** Memória (em bytes) das linhas mantidas antes de gravar uma sequência ordenada em disco */
+  public static final long ROW_SORT_MEMORY_BUDGET_BYTES = 32L * 1024 * 1024;
+
+  /** Diretório dos arquivos temporários da ordenação externa */
+  public static final Path ROW_SORT_SPILL_DIR = Path.of(System.getProperty("java.io.tmpdir"), "intuitivecare-sort");
+
+  /** Formatos de saída gerados pelo processamento do PDF */
+  public static final OutputFormat PDF_OUTPUT_FORMAT = OutputFormat.CSV;
+
+  /** Extensão dos arquivos colunares binários */
+  public static final String COLUMNAR_FILE_EXTENSION = ".icol";
+
+  /** Quantidade de linhas por grupo de linhas no arquivo colunar */
+  public static final int COLUMNAR_ROW_GROUP_SIZE = 32 * 1024;
+
+  /** Quantidade máxima de valores distintos para codificar uma coluna por dicionário */
+  public static final int COLUMNAR_MAX_DICTIONARY_SIZE = 4096;
+
+  /** Quantidade máxima de valores mantidos no conjunto de strings canônicas */
+  public static final int STRING_POOL_CAPACITY = 16 * 1024;
+
+  /** Comprimento máximo dos valores guardados no conjunto de strings canônicas */
+  public static final int STRING_POOL_MAX_LENGTH = 64;
+
+  /** Separador de campos dos CSVs de demonstrações contábeis */
+  public static final char ACCOUNTING_CSV_DELIMITER = ';';
+
+  /** Número de workers da leitura paralela dos CSVs de demonstrações contábeis */
+  public static final int ACCOUNTING_PARSE_THREADS = Runtime.getRuntime().availableProcessors();
+
+  /** Tamanho (em bytes) dos trechos de um CSV contábil lidos por cada tarefa paralela */
+  public static final int ACCOUNTING_PARSE_CHUNK_BYTES = 16 * 1024 * 1024;
+
+  /** Quantidade de lançamentos entregues por lote pela leitura dos CSVs contábeis */
+  public static final int ACCOUNTING_BATCH_ROWS = 4096;
+
+  /** Quantidade máxima de descrições de contas mantidas no conjunto de strings canônicas */
+  public static final int ACCOUNTING_DESCRIPTION_POOL_SIZE = 8 * 1024;
+
+  /** Comprimento máximo das descrições de contas compartilhadas pelo conjunto de strings */
+  public static final int ACCOUNTING_DESCRIPTION_MAX_LENGTH = 256;
+
+  /** Diretório do armazenamento colunar dos lançamentos contábeis */
+  public static final Path ACCOUNTING_STORE_DIR = OUTPUT_DIR.resolve("contabil");
+
+  /** Diretório dos agregados materializados das demonstrações contábeis */
+  public static final Path ACCOUNTING_ROLLUP_DIR = OUTPUT_DIR.resolve("contabil_agregados");
+
+  /** Quantidade de dígitos iniciais do código da conta que formam um grupo nos agregados */
+  public static final int ROLLUP_ACCOUNT_GROUP_DIGITS = 3;
+
+  /** Tabela de destino dos lançamentos contábeis na carga via JDBC */
+  public static final String BULK_LOAD_ACCOUNTING_TABLE = "demonstracoes_contabeis";
+
+  /** Tabela de destino do Anexo I na carga via JDBC */
+  public static final String BULK_LOAD_ANNEX_TABLE = "rol_procedimentos";
+
+  /** Quantidade de linhas por lote de INSERT na carga via JDBC */
+  public static final int BULK_LOAD_BATCH_ROWS = 5_000;
+
+  /** Quantidade de linhas por transação na carga via JDBC */
+  public static final int BULK_LOAD_COMMIT_ROWS = 100_000;
+
+  /** Número de conexões gravando em paralelo na carga via JDBC */
+  public static final int BULK_LOAD_WRITERS = 4;
+
+  /** Número máximo de páginas aguardando entre etapas do fluxo completo em pipeline */
+  public static final int PIPELINE_QUEUE_PAGES = 16;
+
+  /** Quantidade padrão de anos de demonstrações contábeis sincronizados */
+  public static final int ACCOUNTING_SYNC_YEARS = 2;
+
+  /** Intervalo padrão, em minutos, entre as sincronizações do modo daemon */
+  public static final long DAEMON_SYNC_INTERVAL_MINUTES = 6 * 60;
+
+  /** Quantidade padrão de operadoras retornadas pelas consultas de maiores despesas */
+  public static final int ANALYTICS_TOP_N = 10;
+
+  /** Número de workers da agregação paralela das consultas contábeis */
+  public static final int ANALYTICS_THREADS = Runtime.getRuntime().availableProcessors();
+
+  /** Quantidade máxima de lançamentos agregados por tarefa nas consultas contábeis */
+  public static final int ANALYTICS_CHUNK_ROWS = 256 * 1024;
+
+  /** Número de documentos processados simultaneamente no modo em lote */
+  public static final int PDF_BATCH_PARALLELISM = 2;
+
+  /** Número máximo de documentos aguardando na fila do modo em lote */
+  public static final int PDF_BATCH_QUEUE_SIZE = 4;
+
+  /** Memória principal máxima (em bytes) do PDFBox somando todos os documentos do lote */
+  public static final long PDF_BATCH_MEMORY_BUDGET_BYTES = 128L * 1024 * 1024;
+
+  /** Nome do CSV consolidado do modo em lote */
+  public static final String PDF_BATCH_MERGED_FILENAME = "Rol_consolidado.csv";
 
   private AppConfig() {
     throw new AssertionError("Esta classe não deve ser instanciada");
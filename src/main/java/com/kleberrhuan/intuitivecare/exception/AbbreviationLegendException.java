@@ -0,0 +1,15 @@
+package com.kleberrhuan.intuitivecare.exception;
+
+/**
+ * Exceção lançada quando a legenda de abreviações não pode ser lida ou contém
+ * entradas inválidas.
+ */
+public class AbbreviationLegendException extends RuntimeException {
+    public AbbreviationLegendException(String message) {
+        super(message);
+    }
+
+    public AbbreviationLegendException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
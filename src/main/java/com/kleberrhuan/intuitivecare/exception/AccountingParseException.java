@@ -0,0 +1,15 @@
+package com.kleberrhuan.intuitivecare.exception;
+
+/**
+ * Exceção lançada quando um arquivo de demonstrações contábeis não pode ser
+ * lido ou não está no formato esperado.
+ */
+public class AccountingParseException extends RuntimeException {
+    public AccountingParseException(String message) {
+        super(message);
+    }
+
+    public AccountingParseException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
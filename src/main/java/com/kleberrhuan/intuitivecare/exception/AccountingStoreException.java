@@ -0,0 +1,15 @@
+package com.kleberrhuan.intuitivecare.exception;
+
+/**
+ * Exceção lançada quando o armazenamento colunar de lançamentos contábeis não
+ * pode ser lido ou gravado.
+ */
+public class AccountingStoreException extends RuntimeException {
+    public AccountingStoreException(String message) {
+        super(message);
+    }
+
+    public AccountingStoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.kleberrhuan.intuitivecare.exception;
+
+/**
+ * Exceção lançada quando a carga de dados em um banco de dados via JDBC falha.
+ */
+public class BulkLoadException extends RuntimeException {
+    public BulkLoadException(String message) {
+        super(message);
+    }
+
+    public BulkLoadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
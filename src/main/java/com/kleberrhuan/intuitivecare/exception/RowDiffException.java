@@ -0,0 +1,15 @@
+package com.kleberrhuan.intuitivecare.exception;
+
+/**
+ * Exceção lançada quando a comparação entre versões de uma tabela não pode ser
+ * realizada.
+ */
+public class RowDiffException extends RuntimeException {
+    public RowDiffException(String message) {
+        super(message);
+    }
+
+    public RowDiffException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
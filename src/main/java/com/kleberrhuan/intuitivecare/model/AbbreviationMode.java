@@ -0,0 +1,11 @@
+package com.kleberrhuan.intuitivecare.model;
+
+/**
+ * Modos de substituição de abreviações nas células extraídas.
+ */
+public enum AbbreviationMode {
+    /** Substitui apenas células cujo conteúdo inteiro é uma abreviação */
+    EXACT,
+    /** Substitui abreviações que aparecem como palavras dentro do texto da célula */
+    SUBSTRING
+}
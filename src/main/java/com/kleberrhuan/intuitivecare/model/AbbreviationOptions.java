@@ -0,0 +1,32 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Parâmetros da substituição de abreviações aplicada às linhas extraídas.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class AbbreviationOptions {
+    /** Arquivo da legenda; {@code null} usa a legenda embutida na aplicação */
+    private Path legendFile;
+    /** Modo de substituição */
+    @Builder.Default
+    private AbbreviationMode mode = AppConfig.ABBREVIATION_MODE;
+    /** Cabeçalhos das colunas onde as substituições são aplicadas; vazio aplica em todas */
+    @Builder.Default
+    private List<String> columns = List.of(AppConfig.ABBREVIATION_COLUMNS);
+
+    /**
+     * Retorna as opções padrão definidas em {@link AppConfig}.
+     *
+     * @return opções com os valores padrão
+     */
+    public static AbbreviationOptions defaults() {
+        return AbbreviationOptions.builder().build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Lote de lançamentos de demonstrações contábeis em colunas de tipos
+ * primitivos.
+ * <p>
+ * Cada campo fica em um vetor próprio, indexado pela posição do lançamento no
+ * lote, de modo que um lote inteiro ocupa alguns poucos vetores em vez de um
+ * objeto por lançamento. As descrições são as únicas referências e são
+ * compartilhadas entre lançamentos da mesma conta. Os lotes são reaproveitados
+ * pelo leitor: os valores só são válidos durante a entrega do lote.
+ * <p>
+ * Instâncias não são thread-safe.
+ */
+public final class AccountingBatch {
+    private final Path sourceFile;
+    private int[] dates;
+    private int[] operatorIds;
+    private long[] accountCodes;
+    private String[] descriptions;
+    private long[] initialBalances;
+    private long[] finalBalances;
+    private int size;
+
+    /**
+     * @param sourceFile arquivo de origem dos lançamentos
+     * @param capacity   capacidade inicial do lote
+     */
+    public AccountingBatch(Path sourceFile, int capacity) {
+        this.sourceFile = sourceFile;
+        int initial = Math.max(1, capacity);
+        dates = new int[initial];
+        operatorIds = new int[initial];
+        accountCodes = new long[initial];
+        descriptions = new String[initial];
+        initialBalances = new long[initial];
+        finalBalances = new long[initial];
+    }
+
+    /**
+     * Acrescenta um lançamento.
+     *
+     * @param date           data no formato {@code AAAAMMDD}
+     * @param operatorId     registro ANS da operadora ({@code REG_ANS})
+     * @param accountCode    código da conta contábil
+     * @param description    descrição da conta
+     * @param initialBalance saldo inicial em centavos
+     * @param finalBalance   saldo final em centavos
+     */
+    public void add(int date, int operatorId, long accountCode, String description, long initialBalance,
+            long finalBalance) {
+        if (size == dates.length) {
+            grow();
+        }
+        dates[size] = date;
+        operatorIds[size] = operatorId;
+        accountCodes[size] = accountCode;
+        descriptions[size] = description;
+        initialBalances[size] = initialBalance;
+        finalBalances[size] = finalBalance;
+        size++;
+    }
+
+    /**
+     * Descarta os lançamentos, mantendo a capacidade já alocada.
+     */
+    public void clear() {
+        Arrays.fill(descriptions, 0, size, null);
+        size = 0;
+    }
+
+    public Path getSourceFile() {
+        return sourceFile;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return a data do lançamento no formato {@code AAAAMMDD}
+     */
+    public int getDate(int index) {
+        return dates[checkIndex(index)];
+    }
+
+    /**
+     * @return o registro ANS da operadora
+     */
+    public int getOperatorId(int index) {
+        return operatorIds[checkIndex(index)];
+    }
+
+    public long getAccountCode(int index) {
+        return accountCodes[checkIndex(index)];
+    }
+
+    public String getDescription(int index) {
+        return descriptions[checkIndex(index)];
+    }
+
+    /**
+     * @return o saldo inicial em centavos
+     */
+    public long getInitialBalance(int index) {
+        return initialBalances[checkIndex(index)];
+    }
+
+    /**
+     * @return o saldo final em centavos
+     */
+    public long getFinalBalance(int index) {
+        return finalBalances[checkIndex(index)];
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Lançamento inexistente: " + index);
+        }
+        return index;
+    }
+
+    private void grow() {
+        int capacity = dates.length * 2;
+        dates = Arrays.copyOf(dates, capacity);
+        operatorIds = Arrays.copyOf(operatorIds, capacity);
+        accountCodes = Arrays.copyOf(accountCodes, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        initialBalances = Arrays.copyOf(initialBalances, capacity);
+        finalBalances = Arrays.copyOf(finalBalances, capacity);
+    }
+}
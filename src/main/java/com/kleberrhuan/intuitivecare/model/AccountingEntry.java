@@ -0,0 +1,20 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import java.time.LocalDate;
+
+/**
+ * Lançamento de demonstração contábil lido do armazenamento colunar.
+ *
+ * @param segment             trimestre (segmento) do lançamento
+ * @param sourceFile          nome do CSV de origem
+ * @param row                 linha do lançamento no segmento
+ * @param date                data do lançamento
+ * @param operatorId          registro ANS da operadora
+ * @param accountCode         código da conta contábil
+ * @param description         descrição da conta contábil
+ * @param initialBalanceCents saldo inicial em centavos
+ * @param finalBalanceCents   saldo final em centavos
+ */
+public record AccountingEntry(String segment, String sourceFile, int row, LocalDate date, int operatorId,
+        long accountCode, String description, long initialBalanceCents, long finalBalanceCents) {
+}
@@ -0,0 +1,38 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+import java.nio.charset.Charset;
+
+/**
+ * Parâmetros da leitura dos CSVs de demonstrações contábeis.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class AccountingParseOptions {
+    /** Separador de campos */
+    @Builder.Default
+    private char delimiter = AppConfig.ACCOUNTING_CSV_DELIMITER;
+    /** Codificação dos arquivos; {@code null} detecta entre UTF-8 e ISO-8859-1 */
+    @Builder.Default
+    private Charset charset = null;
+    /** Número de workers que leem trechos do arquivo em paralelo */
+    @Builder.Default
+    private int parallelism = AppConfig.ACCOUNTING_PARSE_THREADS;
+    /** Tamanho (em bytes) de cada trecho lido por uma tarefa */
+    @Builder.Default
+    private int chunkSizeBytes = AppConfig.ACCOUNTING_PARSE_CHUNK_BYTES;
+    /** Quantidade de lançamentos por lote entregue ao consumidor */
+    @Builder.Default
+    private int batchSize = AppConfig.ACCOUNTING_BATCH_ROWS;
+
+    /**
+     * Retorna as opções padrão definidas em {@link AppConfig}.
+     *
+     * @return opções com os valores padrão
+     */
+    public static AccountingParseOptions defaults() {
+        return AccountingParseOptions.builder().build();
+    }
+}
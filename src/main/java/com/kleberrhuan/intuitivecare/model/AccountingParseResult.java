@@ -0,0 +1,18 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * Resultado da leitura de um CSV de demonstrações contábeis.
+ *
+ * @param file          arquivo lido
+ * @param rows          lançamentos entregues
+ * @param rejectedRows  linhas ignoradas por campos ausentes ou inválidos
+ * @param bytes         tamanho do arquivo
+ * @param charset       codificação usada na leitura
+ * @param elapsedMillis tempo total da leitura
+ */
+public record AccountingParseResult(Path file, long rows, long rejectedRows, long bytes, Charset charset,
+        long elapsedMillis) {
+}
@@ -0,0 +1,59 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Parâmetros do processamento em lote de PDFs.
+ * <p>
+ * O orçamento de memória e os workers de extração são globais: são divididos
+ * entre os documentos processados simultaneamente, de modo que o consumo total
+ * não cresce com o paralelismo entre documentos.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class BatchOptions {
+    /** Número máximo de documentos processados simultaneamente */
+    @Builder.Default
+    private int parallelism = AppConfig.PDF_BATCH_PARALLELISM;
+    /** Número máximo de documentos aguardando processamento na fila */
+    @Builder.Default
+    private int queueCapacity = AppConfig.PDF_BATCH_QUEUE_SIZE;
+    /** Memória principal máxima (em bytes) do PDFBox somando todos os documentos abertos */
+    @Builder.Default
+    private long memoryBudgetBytes = AppConfig.PDF_BATCH_MEMORY_BUDGET_BYTES;
+    /** CSV por documento ou consolidado */
+    @Builder.Default
+    private BatchOutputMode outputMode = BatchOutputMode.PER_DOCUMENT;
+    /** Nome do CSV consolidado no modo {@link BatchOutputMode#MERGED} */
+    @Builder.Default
+    private String mergedFileName = AppConfig.PDF_BATCH_MERGED_FILENAME;
+
+    /**
+     * Retorna as opções padrão definidas em {@link AppConfig}.
+     *
+     * @return opções com os valores padrão
+     */
+    public static BatchOptions defaults() {
+        return BatchOptions.builder().build();
+    }
+
+    /**
+     * Calcula as opções de extração de cada documento do lote, repartindo os
+     * workers e o orçamento de memória entre os documentos simultâneos.
+     *
+     * @param base opções de extração do serviço
+     * @return as opções de extração de um documento
+     */
+    public ExtractionOptions documentOptions(ExtractionOptions base) {
+        int shares = Math.max(1, parallelism);
+        return base.toBuilder()
+                .workers(Math.max(1, base.getWorkers() / shares))
+                .memoryConfig(base.getMemoryConfig().toBuilder()
+                        .maxMainMemoryBytes(memoryBudgetBytes)
+                        .build()
+                        .divide(shares))
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.kleberrhuan.intuitivecare.model;
+
+/**
+ * Forma de gravação dos CSVs no processamento em lote de PDFs.
+ */
+public enum BatchOutputMode {
+    /** Um CSV por documento, com o mesmo nome base do PDF */
+    PER_DOCUMENT,
+    /** Um único CSV com as linhas de todos os documentos, na ordem de entrada */
+    MERGED
+}
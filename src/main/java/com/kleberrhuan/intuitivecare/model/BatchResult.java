@@ -0,0 +1,61 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Resultado do processamento de um lote de PDFs.
+ *
+ * @param documents     resumo de cada documento, na ordem de entrada
+ * @param mergedCsv     CSV consolidado no modo {@link BatchOutputMode#MERGED},
+ *                      ou {@code null}
+ * @param elapsedMillis tempo total do lote
+ */
+public record BatchResult(
+        List<DocumentSummary> documents,
+        Path mergedCsv,
+        long elapsedMillis
+) {
+    /**
+     * @return a quantidade de documentos processados com sucesso
+     */
+    public long successCount() {
+        return documents.stream().filter(DocumentSummary::isSuccess).count();
+    }
+
+    /**
+     * @return a quantidade de documentos cujo processamento falhou
+     */
+    public long failureCount() {
+        return documents.size() - successCount();
+    }
+
+    /**
+     * @return a quantidade de documentos cujo CSV foi obtido do cache de
+     *         extração
+     */
+    public long cachedCount() {
+        return documents.stream().filter(document -> document.isSuccess() && document.cached()).count();
+    }
+
+    /**
+     * @return as páginas lidas nos documentos extraídos neste lote; os obtidos
+     *         do cache, cujas quantidades não são conhecidas, ficam de fora
+     */
+    public long totalPages() {
+        return extracted().mapToLong(DocumentSummary::pages).sum();
+    }
+
+    /**
+     * @return as linhas gravadas nos documentos extraídos neste lote; os obtidos
+     *         do cache, cujas quantidades não são conhecidas, ficam de fora
+     */
+    public long totalRows() {
+        return extracted().mapToLong(DocumentSummary::rows).sum();
+    }
+
+    private Stream<DocumentSummary> extracted() {
+        return documents.stream().filter(document -> document.isSuccess() && !document.cached());
+    }
+}
@@ -0,0 +1,34 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Parâmetros da carga de dados em um banco de dados via JDBC.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class BulkLoadOptions {
+    /** Quantidade de linhas por lote de {@code INSERT} enviado ao banco */
+    @Builder.Default
+    private int batchSize = AppConfig.BULK_LOAD_BATCH_ROWS;
+    /** Quantidade de linhas por transação */
+    @Builder.Default
+    private int commitSize = AppConfig.BULK_LOAD_COMMIT_ROWS;
+    /** Número de conexões gravando partições em paralelo */
+    @Builder.Default
+    private int writers = AppConfig.BULK_LOAD_WRITERS;
+    /** Usa {@code COPY FROM STDIN} quando o banco é PostgreSQL e o driver está disponível */
+    @Builder.Default
+    private boolean copyEnabled = true;
+
+    /**
+     * Retorna as opções padrão definidas em {@link AppConfig}.
+     *
+     * @return opções com os valores padrão
+     */
+    public static BulkLoadOptions defaults() {
+        return BulkLoadOptions.builder().build();
+    }
+}
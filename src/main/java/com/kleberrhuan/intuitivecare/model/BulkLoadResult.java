@@ -0,0 +1,15 @@
+package com.kleberrhuan.intuitivecare.model;
+
+/**
+ * Resultado da carga de uma tabela.
+ *
+ * @param table         tabela de destino
+ * @param rows          linhas gravadas
+ * @param partitions    partições gravadas (trimestres, no caso dos
+ *                      lançamentos contábeis)
+ * @param copyUsed      {@code true} se as linhas foram enviadas com
+ *                      {@code COPY FROM STDIN}
+ * @param elapsedMillis tempo total da carga
+ */
+public record BulkLoadResult(String table, long rows, int partitions, boolean copyUsed, long elapsedMillis) {
+}
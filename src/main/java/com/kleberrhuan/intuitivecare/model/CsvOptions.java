@@ -0,0 +1,41 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Formato dos arquivos CSV gerados. A codificação é sempre UTF-8.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class CsvOptions {
+    /** Separador de campos */
+    @Builder.Default
+    private char delimiter = AppConfig.CSV_DELIMITER;
+    /** Política de aspas */
+    @Builder.Default
+    private CsvQuoteMode quoteMode = AppConfig.CSV_QUOTE_MODE;
+    /** Terminador de linha */
+    @Builder.Default
+    private String lineEnding = AppConfig.CSV_LINE_ENDING;
+    /** Tamanho, em bytes, do buffer de escrita */
+    @Builder.Default
+    private int bufferSize = AppConfig.CSV_BUFFER_SIZE;
+
+    /**
+     * Retorna as opções padrão definidas em {@link AppConfig}.
+     *
+     * @return opções com os valores padrão
+     */
+    public static CsvOptions defaults() {
+        return CsvOptions.builder().build();
+    }
+
+    /**
+     * @return uma descrição estável do formato, para versionamento de resultados
+     */
+    public String version() {
+        return delimiter + "|" + quoteMode + "|" + lineEnding.replace("\r", "\\r").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,11 @@
+package com.kleberrhuan.intuitivecare.model;
+
+/**
+ * Política de aspas aplicada aos campos do CSV.
+ */
+public enum CsvQuoteMode {
+    /** Todos os campos entre aspas */
+    ALL,
+    /** Aspas apenas nos campos com delimitador, aspas, quebras de linha ou espaços nas bordas */
+    MINIMAL
+}
@@ -0,0 +1,40 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import java.nio.file.Path;
+
+/**
+ * Resumo do processamento de um documento.
+ *
+ * @param pdf           PDF de origem
+ * @param csv           CSV gerado, ou {@code null} em caso de falha
+ * @param pages         páginas lidas, ou {@code -1} quando o CSV veio do cache
+ *                      (desconsiderado nos totais de {@link BatchResult})
+ * @param rows          linhas gravadas (incluindo o cabeçalho), ou {@code -1}
+ *                      quando o CSV veio do cache
+ * @param elapsedMillis tempo total de processamento do documento
+ * @param cached        indica se o CSV foi obtido do cache de extração
+ * @param error         mensagem de erro, ou {@code null} em caso de sucesso
+ */
+public record DocumentSummary(
+        Path pdf,
+        Path csv,
+        int pages,
+        long rows,
+        long elapsedMillis,
+        boolean cached,
+        String error
+) {
+    /**
+     * @return {@code true} se o documento foi processado sem erros
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Cria o resumo de um documento cujo processamento falhou.
+     */
+    public static DocumentSummary failed(Path pdf, long elapsedMillis, String error) {
+        return new DocumentSummary(pdf, null, 0, 0, elapsedMillis, false, error);
+    }
+}
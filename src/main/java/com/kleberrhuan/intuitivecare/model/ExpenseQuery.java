@@ -0,0 +1,48 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Consulta das operadoras com as maiores despesas em uma conta contábil.
+ * <p>
+ * A despesa de cada lançamento é a variação do saldo no período
+ * ({@code VL_SALDO_FINAL - VL_SALDO_INICIAL}). Os filtros informados são
+ * combinados: um lançamento entra na soma se a conta estiver em
+ * {@link #accountCodes}, a descrição contiver {@link #description} e a data
+ * estiver entre {@link #fromDate} e {@link #toDate}. Filtros nulos ou vazios
+ * não restringem a consulta. Como o saldo de uma conta já inclui o das suas
+ * subcontas, somente os lançamentos do nível mais alto do plano de contas entre
+ * os aceitos de cada operadora são somados.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class ExpenseQuery {
+    /** Códigos das contas contábeis consideradas */
+    @Builder.Default
+    private Set<Long> accountCodes = Set.of();
+    /**
+     * Trecho da descrição da conta, comparado sem diferenciar maiúsculas,
+     * acentos e espaços repetidos
+     */
+    @Builder.Default
+    private String description = null;
+    /** Primeira data considerada (inclusive) */
+    @Builder.Default
+    private LocalDate fromDate = null;
+    /** Última data considerada (inclusive) */
+    @Builder.Default
+    private LocalDate toDate = null;
+    /** Quantidade de operadoras retornadas */
+    @Builder.Default
+    private int limit = AppConfig.ANALYTICS_TOP_N;
+    /** Número de workers da agregação paralela */
+    @Builder.Default
+    private int parallelism = AppConfig.ANALYTICS_THREADS;
+    /** Quantidade máxima de lançamentos agregados por tarefa */
+    @Builder.Default
+    private int chunkRows = AppConfig.ANALYTICS_CHUNK_ROWS;
+}
@@ -0,0 +1,20 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import lombok.Getter;
+
+/**
+ * Motores disponíveis para a extração de tabelas de PDFs.
+ */
+@Getter
+public enum ExtractionEngine {
+    /** Tabula ({@code ObjectExtractor} + {@code SpreadsheetExtractionAlgorithm}) */
+    TABULA("tabula"),
+    /** Motor leve construído diretamente sobre as posições de texto e réguas do PDFBox */
+    TEXT_POSITION("text-position");
+
+    private final String id;
+
+    ExtractionEngine(String id) {
+        this.id = id;
+    }
+}
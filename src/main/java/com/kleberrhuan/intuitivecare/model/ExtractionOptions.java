@@ -0,0 +1,76 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+import java.nio.file.Path;
+
+/**
+ * Parâmetros da extração de tabelas de um PDF.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class ExtractionOptions {
+    /** Número máximo de workers de extração */
+    @Builder.Default
+    private int workers = AppConfig.PDF_EXTRACTION_THREADS;
+    /** Quantidade de páginas atribuída a cada tarefa paralela */
+    @Builder.Default
+    private int pagesPerChunk = AppConfig.PDF_PAGES_PER_CHUNK;
+    /** Número máximo de páginas extraídas aguardando consumo */
+    @Builder.Default
+    private int bufferPages = AppConfig.PDF_PAGE_BUFFER_SIZE;
+    /** Orçamento de memória para o carregamento do PDF */
+    @Builder.Default
+    private PdfMemoryConfig memoryConfig = PdfMemoryConfig.defaults();
+    /** Motor de extração de tabelas */
+    @Builder.Default
+    private ExtractionEngine engine = AppConfig.PDF_EXTRACTION_ENGINE;
+    /** Aprende o layout das primeiras páginas e o reaplica nas seguintes (apenas Tabula) */
+    @Builder.Default
+    private boolean templateMode = AppConfig.PDF_TEMPLATE_MODE;
+    /** Quantidade de páginas usadas para aprender o layout */
+    @Builder.Default
+    private int templateLearningPages = AppConfig.PDF_TEMPLATE_LEARNING_PAGES;
+    /** Diretório dos checkpoints de extração */
+    @Builder.Default
+    private Path checkpointDir = AppConfig.EXTRACTION_CHECKPOINT_DIR;
+    /** Quantidade de páginas entre checkpoints; 0 (padrão) desabilita a retomada e o hash do PDF que ela exige */
+    @Builder.Default
+    private int checkpointIntervalPages = AppConfig.EXTRACTION_CHECKPOINT_INTERVAL_PAGES;
+    /** Ordenação e remoção de duplicatas das linhas extraídas */
+    @Builder.Default
+    private RowSortOptions rowSort = RowSortOptions.defaults();
+    /** Formatos de saída gerados por {@code processPdf} */
+    @Builder.Default
+    private OutputFormat outputFormat = AppConfig.PDF_OUTPUT_FORMAT;
+
+    /**
+     * Retorna as opções padrão definidas em {@link AppConfig}.
+     *
+     * @return opções com os valores padrão
+     */
+    public static ExtractionOptions defaults() {
+        return ExtractionOptions.builder().build();
+    }
+
+    /**
+     * @return {@code true} se a extração grava checkpoints para retomada
+     */
+    public boolean isCheckpointEnabled() {
+        return checkpointDir != null && checkpointIntervalPages > 0;
+    }
+
+    /**
+     * Identifica (e versiona) o algoritmo de extração resultante destas opções,
+     * para uso nas chaves do cache de extração.
+     *
+     * @return o identificador do extrator
+     */
+    public String extractorId() {
+        if (engine == ExtractionEngine.TEXT_POSITION) {
+            return "text-position-v1";
+        }
+        return templateMode ? "tabula-template-v1" : "tabula-spreadsheet-v1";
+    }
+}
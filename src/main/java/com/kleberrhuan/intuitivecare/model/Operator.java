@@ -0,0 +1,16 @@
+package com.kleberrhuan.intuitivecare.model;
+
+/**
+ * Operadora do cadastro da ANS (Relatório Cadop).
+ *
+ * @param operatorId    registro ANS
+ * @param cnpj          CNPJ
+ * @param corporateName razão social
+ * @param tradeName     nome fantasia
+ * @param modality      modalidade (ex.: Medicina de Grupo, Cooperativa Médica)
+ * @param city          cidade da sede
+ * @param state         UF da sede
+ */
+public record Operator(int operatorId, String cnpj, String corporateName, String tradeName, String modality,
+        String city, String state) {
+}
@@ -0,0 +1,19 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Despesa agregada de uma operadora em uma consulta
+ * {@link ExpenseQuery}.
+ *
+ * @param operatorId  registro ANS da operadora
+ * @param amountCents soma das variações de saldo, em centavos
+ */
+public record OperatorExpense(int operatorId, long amountCents) {
+    /**
+     * @return a despesa em reais
+     */
+    public BigDecimal amount() {
+        return BigDecimal.valueOf(amountCents, 2);
+    }
+}
@@ -0,0 +1,11 @@
+package com.kleberrhuan.intuitivecare.model;
+
+/**
+ * Despesa de uma operadora acompanhada dos seus dados cadastrais.
+ *
+ * @param expense  despesa agregada
+ * @param operator operadora no cadastro, ou {@code null} se o registro ANS não
+ *                 constar do cadastro (por exemplo, operadoras canceladas)
+ */
+public record OperatorExpenseReport(OperatorExpense expense, Operator operator) {
+}
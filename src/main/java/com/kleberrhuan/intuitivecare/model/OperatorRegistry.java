@@ -0,0 +1,70 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.util.IntHashJoin;
+import java.util.List;
+
+/**
+ * Cadastro de operadoras em memória, indexado pelo registro ANS.
+ * <p>
+ * O cadastro tem poucos milhares de linhas, então é sempre o lado construído
+ * das junções com os lançamentos contábeis: {@link #getJoinTable()} expõe a
+ * tabela hash de chaves primitivas, pela qual as colunas de registro ANS dos
+ * segmentos são percorridas. Instâncias são imutáveis.
+ */
+public final class OperatorRegistry {
+    private final List<Operator> operators;
+    private final int[] operatorIds;
+    private final IntHashJoin joinTable;
+
+    /**
+     * @param operators operadoras do cadastro
+     */
+    public OperatorRegistry(List<Operator> operators) {
+        this.operators = List.copyOf(operators);
+        this.operatorIds = new int[this.operators.size()];
+        for (int i = 0; i < operatorIds.length; i++) {
+            operatorIds[i] = this.operators.get(i).operatorId();
+        }
+        this.joinTable = new IntHashJoin(operatorIds);
+    }
+
+    public int size() {
+        return operators.size();
+    }
+
+    /**
+     * @param row linha do cadastro
+     * @return a operadora da linha
+     */
+    public Operator get(int row) {
+        return operators.get(row);
+    }
+
+    public List<Operator> getOperators() {
+        return operators;
+    }
+
+    /**
+     * @param operatorId registro ANS
+     * @return a operadora, ou {@code null} se ela não estiver no cadastro
+     */
+    public Operator find(int operatorId) {
+        int row = joinTable.first(operatorId);
+        return row < 0 ? null : operators.get(row);
+    }
+
+    /**
+     * @return os registros ANS, na ordem das linhas do cadastro
+     */
+    public int[] getOperatorIds() {
+        return operatorIds.clone();
+    }
+
+    /**
+     * @return a tabela de junção pelo registro ANS, cujas linhas são as do
+     *         cadastro
+     */
+    public IntHashJoin getJoinTable() {
+        return joinTable;
+    }
+}
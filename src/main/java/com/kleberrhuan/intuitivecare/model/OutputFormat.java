@@ -0,0 +1,27 @@
+package com.kleberrhuan.intuitivecare.model;
+
+/**
+ * Formatos de saída gerados pelo processamento de um PDF.
+ */
+public enum OutputFormat {
+    /** Apenas o CSV */
+    CSV,
+    /** Apenas o arquivo colunar binário (o CSV intermediário é removido) */
+    COLUMNAR,
+    /** O CSV e o arquivo colunar binário */
+    CSV_AND_COLUMNAR;
+
+    /**
+     * @return {@code true} se o CSV faz parte da saída
+     */
+    public boolean includesCsv() {
+        return this != COLUMNAR;
+    }
+
+    /**
+     * @return {@code true} se o arquivo colunar faz parte da saída
+     */
+    public boolean includesColumnar() {
+        return this != CSV;
+    }
+}
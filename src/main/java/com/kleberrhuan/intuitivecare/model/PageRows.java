@@ -0,0 +1,13 @@
+package com.kleberrhuan.intuitivecare.model;
+
+/**
+ * Linhas extraídas de uma única página de um PDF.
+ *
+ * @param pageNumber número da página (base 1)
+ * @param rows       linhas da página, armazenadas de forma compacta
+ */
+public record PageRows(
+        int pageNumber,
+        TableBuffer rows
+) {
+}
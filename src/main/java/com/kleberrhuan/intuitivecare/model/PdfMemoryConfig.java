@@ -0,0 +1,48 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+import java.nio.file.Path;
+
+/**
+ * Orçamento de memória para o carregamento de PDFs.
+ * <p>
+ * Define quanto da memória principal o PDFBox pode usar para seus buffers antes
+ * de transbordar para arquivos temporários, onde esses arquivos são criados e
+ * como o arquivo de entrada é lido.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class PdfMemoryConfig {
+    @Builder.Default
+    private long maxMainMemoryBytes = AppConfig.PDF_MAX_MAIN_MEMORY_BYTES;
+    @Builder.Default
+    private Path scratchDir = AppConfig.PDF_SCRATCH_DIR;
+    @Builder.Default
+    private boolean memoryMappedInput = true;
+    @Builder.Default
+    private boolean releasePageResources = true;
+
+    /**
+     * Retorna a configuração padrão definida em {@link AppConfig}.
+     *
+     * @return configuração com os valores padrão
+     */
+    public static PdfMemoryConfig defaults() {
+        return PdfMemoryConfig.builder().build();
+    }
+
+    /**
+     * Divide o orçamento de memória principal entre documentos abertos
+     * simultaneamente.
+     *
+     * @param shares quantidade de documentos que compartilham o orçamento
+     * @return uma nova configuração com a fração correspondente do orçamento
+     */
+    public PdfMemoryConfig divide(int shares) {
+        return toBuilder()
+                .maxMainMemoryBytes(Math.max(1, maxMainMemoryBytes / Math.max(1, shares)))
+                .build();
+    }
+}
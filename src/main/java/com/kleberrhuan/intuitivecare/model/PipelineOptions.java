@@ -0,0 +1,41 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Parâmetros do fluxo completo (web scraping + transformação) executado em
+ * pipeline.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class PipelineOptions {
+    /** Número de downloads simultâneos */
+    @Builder.Default
+    private int downloadThreads = AppConfig.DOWNLOAD_THREADS;
+    /** Número máximo de páginas aguardando entre duas etapas */
+    @Builder.Default
+    private int queueCapacity = AppConfig.PIPELINE_QUEUE_PAGES;
+    /** PDF baixado cujas tabelas são extraídas */
+    @Builder.Default
+    private String extractFileName = AppConfig.DEFAULT_PDF_FILENAME;
+    /** CSV gerado a partir do PDF extraído */
+    @Builder.Default
+    private String csvFileName = AppConfig.DEFAULT_CSV_FILENAME;
+    /** ZIP com os PDFs baixados */
+    @Builder.Default
+    private String pdfArchiveName = AppConfig.ZIP_FILENAME;
+    /** ZIP com o CSV gerado, gravado depois do ZIP dos PDFs */
+    @Builder.Default
+    private String csvArchiveName = AppConfig.DEFAULT_ZIP_FILENAME;
+
+    /**
+     * Retorna as opções padrão definidas em {@link AppConfig}.
+     *
+     * @return opções com os valores padrão
+     */
+    public static PipelineOptions defaults() {
+        return PipelineOptions.builder().build();
+    }
+}
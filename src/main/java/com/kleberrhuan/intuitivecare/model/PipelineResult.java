@@ -0,0 +1,24 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Resultado do fluxo completo executado em pipeline.
+ *
+ * @param csv           CSV gerado a partir do Anexo I
+ * @param pages         páginas extraídas do PDF
+ * @param rows          linhas gravadas no CSV, incluindo o cabeçalho
+ * @param archives      ZIPs gravados, na ordem de gravação
+ * @param stages        tempos de cada etapa, na ordem do fluxo
+ * @param elapsedMillis tempo total do fluxo
+ */
+public record PipelineResult(
+        Path csv,
+        int pages,
+        int rows,
+        List<Path> archives,
+        List<StageTiming> stages,
+        long elapsedMillis
+) {
+}
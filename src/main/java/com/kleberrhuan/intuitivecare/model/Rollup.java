@@ -0,0 +1,35 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import java.util.List;
+
+/**
+ * Agregado materializado de uma partição (um trimestre ou um ano) por operadora
+ * e grupo de contas.
+ *
+ * @param partition nome da partição (ex.: {@code trimestre-1T2024},
+ *                  {@code ano-2024})
+ * @param version   versão dos dados de origem (hash dos CSVs) com que o
+ *                  agregado foi calculado
+ * @param entries   linhas, ordenadas por operadora e grupo de contas
+ */
+public record Rollup(String partition, String version, List<RollupEntry> entries) {
+    public Rollup {
+        entries = List.copyOf(entries);
+    }
+
+    /**
+     * @param operatorId registro ANS
+     * @return as linhas da operadora
+     */
+    public List<RollupEntry> forOperator(int operatorId) {
+        return entries.stream().filter(entry -> entry.operatorId() == operatorId).toList();
+    }
+
+    /**
+     * @param accountGroup grupo de contas
+     * @return as linhas do grupo de contas, uma por operadora
+     */
+    public List<RollupEntry> forAccountGroup(long accountGroup) {
+        return entries.stream().filter(entry -> entry.accountGroup() == accountGroup).toList();
+    }
+}
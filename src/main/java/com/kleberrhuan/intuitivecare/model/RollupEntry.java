@@ -0,0 +1,21 @@
+package com.kleberrhuan.intuitivecare.model;
+
+/**
+ * Linha de um agregado materializado: os lançamentos de uma operadora em um
+ * grupo de contas contábeis.
+ *
+ * @param operatorId          registro ANS da operadora
+ * @param accountGroup        grupo de contas (prefixo do código da conta)
+ * @param rows                quantidade de lançamentos agregados
+ * @param initialBalanceCents soma dos saldos iniciais, em centavos
+ * @param finalBalanceCents   soma dos saldos finais, em centavos
+ */
+public record RollupEntry(int operatorId, long accountGroup, long rows, long initialBalanceCents,
+        long finalBalanceCents) {
+    /**
+     * @return a variação do saldo ({@code final - inicial}), em centavos
+     */
+    public long deltaCents() {
+        return finalBalanceCents - initialBalanceCents;
+    }
+}
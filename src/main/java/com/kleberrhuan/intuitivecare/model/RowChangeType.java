@@ -0,0 +1,10 @@
+package com.kleberrhuan.intuitivecare.model;
+
+/**
+ * Tipo de alteração de uma linha entre duas versões de uma tabela.
+ */
+public enum RowChangeType {
+    INSERT,
+    UPDATE,
+    DELETE
+}
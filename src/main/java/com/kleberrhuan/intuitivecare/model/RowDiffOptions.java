@@ -0,0 +1,29 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+import java.util.List;
+
+/**
+ * Parâmetros da detecção de alterações entre versões de uma tabela extraída.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class RowDiffOptions {
+    /** Cabeçalhos das colunas que identificam uma linha entre versões */
+    @Builder.Default
+    private List<String> keyColumns = List.of(AppConfig.ROW_DIFF_KEY_COLUMNS);
+    /** Formato dos CSVs lidos e do arquivo de alterações gerado */
+    @Builder.Default
+    private CsvOptions csvOptions = CsvOptions.defaults();
+
+    /**
+     * Retorna as opções padrão definidas em {@link AppConfig}.
+     *
+     * @return opções com os valores padrão
+     */
+    public static RowDiffOptions defaults() {
+        return RowDiffOptions.builder().build();
+    }
+}
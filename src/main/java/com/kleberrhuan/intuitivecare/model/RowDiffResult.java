@@ -0,0 +1,27 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import java.nio.file.Path;
+
+/**
+ * Resultado da comparação de uma tabela com a versão anterior.
+ *
+ * @param inserted  linhas novas
+ * @param updated   linhas cuja chave já existia, com conteúdo alterado
+ * @param deleted   linhas da versão anterior ausentes na nova
+ * @param unchanged linhas idênticas (após a normalização)
+ * @param deltaFile arquivo com as alterações
+ */
+public record RowDiffResult(
+        int inserted,
+        int updated,
+        int deleted,
+        int unchanged,
+        Path deltaFile
+) {
+    /**
+     * @return a quantidade total de alterações
+     */
+    public int changes() {
+        return inserted + updated + deleted;
+    }
+}
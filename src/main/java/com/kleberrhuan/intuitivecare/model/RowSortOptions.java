@@ -0,0 +1,50 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Parâmetros da etapa opcional de ordenação e remoção de duplicatas das linhas
+ * extraídas.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class RowSortOptions {
+    /** Habilita a etapa de ordenação */
+    @Builder.Default
+    private boolean enabled = AppConfig.ROW_SORT_ENABLED;
+    /** Cabeçalhos das colunas usadas como chave de ordenação, em ordem de prioridade */
+    @Builder.Default
+    private List<String> keyColumns = List.of(AppConfig.ROW_SORT_KEY_COLUMNS);
+    /** Descarta linhas idênticas (por exemplo, repetidas entre páginas) */
+    @Builder.Default
+    private boolean deduplicate = true;
+    /** Memória aproximada (em bytes) das linhas mantidas antes de gravar uma sequência em disco */
+    @Builder.Default
+    private long memoryBudgetBytes = AppConfig.ROW_SORT_MEMORY_BUDGET_BYTES;
+    /** Diretório dos arquivos temporários da ordenação */
+    @Builder.Default
+    private Path spillDir = AppConfig.ROW_SORT_SPILL_DIR;
+
+    /**
+     * Retorna as opções padrão definidas em {@link AppConfig}.
+     *
+     * @return opções com os valores padrão
+     */
+    public static RowSortOptions defaults() {
+        return RowSortOptions.builder().build();
+    }
+
+    /**
+     * Identifica a configuração que afeta o conteúdo do CSV, para versionar os
+     * resultados em cache.
+     *
+     * @return a versão da configuração
+     */
+    public String version() {
+        return enabled ? "sort:" + keyColumns + ":" + deduplicate : "unsorted";
+    }
+}
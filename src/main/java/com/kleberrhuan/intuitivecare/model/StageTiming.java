@@ -0,0 +1,22 @@
+package com.kleberrhuan.intuitivecare.model;
+
+/**
+ * Tempos de uma etapa do fluxo em pipeline, relativos ao início do fluxo.
+ *
+ * @param stage       nome da etapa
+ * @param threads     threads dedicadas à etapa
+ * @param items       itens processados (arquivos, páginas ou ZIPs)
+ * @param startMillis instante em que a etapa começou a trabalhar
+ * @param endMillis   instante em que a etapa terminou
+ * @param busyMillis  tempo efetivamente gasto no trabalho da etapa, sem as
+ *                    esperas pelas etapas vizinhas, somado entre as threads
+ */
+public record StageTiming(
+        String stage,
+        int threads,
+        long items,
+        long startMillis,
+        long endMillis,
+        long busyMillis
+) {
+}
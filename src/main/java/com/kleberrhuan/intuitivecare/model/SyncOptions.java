@@ -0,0 +1,57 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import lombok.Builder;
+import lombok.Getter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Parâmetros das execuções sem interação: modo de comandos e modo daemon.
+ */
+@Builder(toBuilder = true)
+@Getter
+public class SyncOptions {
+    /** Diretório dos arquivos baixados e gerados */
+    @Builder.Default
+    private Path outputDir = AppConfig.OUTPUT_DIR;
+    /** Quantidade de anos de demonstrações contábeis sincronizados */
+    @Builder.Default
+    private int years = AppConfig.ACCOUNTING_SYNC_YEARS;
+    /** Número de downloads simultâneos */
+    @Builder.Default
+    private int downloadThreads = AppConfig.DOWNLOAD_THREADS;
+    /** Número de workers de extração de tabelas dos PDFs */
+    @Builder.Default
+    private int extractionThreads = AppConfig.PDF_EXTRACTION_THREADS;
+    /** Intervalo entre o fim de uma sincronização do daemon e o início da seguinte */
+    @Builder.Default
+    private Duration interval = Duration.ofMinutes(AppConfig.DAEMON_SYNC_INTERVAL_MINUTES);
+    /** Tarefas executadas a cada sincronização do daemon, em ordem */
+    @Builder.Default
+    private List<SyncTask> tasks = List.of(SyncTask.FLOW, SyncTask.ACCOUNTING);
+
+    /**
+     * Retorna as opções padrão definidas em {@link AppConfig}.
+     *
+     * @return opções com os valores padrão
+     */
+    public static SyncOptions defaults() {
+        return SyncOptions.builder().build();
+    }
+
+    /**
+     * @return o diretório do armazenamento colunar dos lançamentos contábeis
+     */
+    public Path getAccountingStoreDir() {
+        return outputDir.resolve(AppConfig.ACCOUNTING_STORE_DIR.getFileName());
+    }
+
+    /**
+     * @return o diretório dos agregados das demonstrações contábeis
+     */
+    public Path getAccountingRollupDir() {
+        return outputDir.resolve(AppConfig.ACCOUNTING_ROLLUP_DIR.getFileName());
+    }
+}
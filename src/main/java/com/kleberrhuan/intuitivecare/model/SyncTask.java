@@ -0,0 +1,38 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import lombok.Getter;
+
+/**
+ * Tarefas executáveis pelo modo de comandos e pelo modo daemon.
+ */
+@Getter
+public enum SyncTask {
+    /** Web scraping dos anexos e compactação dos PDFs (requisito 1) */
+    SCRAPE("scrape"),
+    /** Transformação do Anexo I já baixado em CSV (requisito 2) */
+    TRANSFORM("transform"),
+    /** Scraping e transformação em pipeline (requisitos 1 + 2) */
+    FLOW("flow"),
+    /** Download incremental e carga das demonstrações contábeis */
+    ACCOUNTING("accounting");
+
+    private final String id;
+
+    SyncTask(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @param id identificador da tarefa (ex.: {@code accounting})
+     * @return a tarefa correspondente
+     * @throws IllegalArgumentException se o identificador for desconhecido
+     */
+    public static SyncTask fromId(String id) {
+        for (SyncTask task : values()) {
+            if (task.id.equalsIgnoreCase(id)) {
+                return task;
+            }
+        }
+        throw new IllegalArgumentException("Tarefa desconhecida: " + id);
+    }
+}
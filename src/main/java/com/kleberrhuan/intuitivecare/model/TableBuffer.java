@@ -0,0 +1,494 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Armazenamento compacto de linhas tabulares.
+ * <p>
+ * Todo o texto das células fica em um único vetor de caracteres (arena) que
+ * cresce conforme necessário; cada célula é representada apenas por seu
+ * deslocamento e comprimento na arena, e cada linha pela posição final de suas
+ * células. Dessa forma uma página inteira ocupa alguns poucos vetores, em vez de
+ * um {@code ArrayList} por linha e uma {@code String} por célula.
+ * <p>
+ * A leitura é feita por índices ou por um {@link Cursor}, sem criar objetos.
+ * Substituir o valor de uma célula acrescenta o novo texto ao final da arena e
+ * reaponta a célula; o texto anterior só é descartado em {@link #clear()}.
+ * <p>
+ * Instâncias não são thread-safe.
+ */
+public final class TableBuffer {
+    private char[] arena;
+    private int arenaLength;
+    private int[] cellOffsets;
+    private int[] cellLengths;
+    private int cellCount;
+    private int[] rowEnds;
+    private int rowCount;
+    private int openRowStart = -1;
+
+    public TableBuffer() {
+        this(1024, 64, 16);
+    }
+
+    /**
+     * @param initialChars capacidade inicial da arena de caracteres
+     * @param initialCells capacidade inicial de células
+     * @param initialRows  capacidade inicial de linhas
+     */
+    public TableBuffer(int initialChars, int initialCells, int initialRows) {
+        this.arena = new char[Math.max(16, initialChars)];
+        this.cellOffsets = new int[Math.max(4, initialCells)];
+        this.cellLengths = new int[cellOffsets.length];
+        this.rowEnds = new int[Math.max(4, initialRows)];
+    }
+
+    /**
+     * Cria um buffer com o conteúdo das linhas informadas.
+     *
+     * @param rows linhas com os valores de suas células
+     * @return o buffer preenchido
+     */
+    public static TableBuffer of(List<? extends List<String>> rows) {
+        TableBuffer buffer = new TableBuffer();
+        for (List<String> row : rows) {
+            buffer.addRow(row);
+        }
+        return buffer;
+    }
+
+    /**
+     * Inicia uma nova linha; as células seguintes são acrescentadas a ela até
+     * {@link #endRow()}.
+     *
+     * @throws IllegalStateException se já houver uma linha aberta
+     */
+    public void startRow() {
+        if (openRowStart >= 0) {
+            throw new IllegalStateException("A linha anterior não foi finalizada");
+        }
+        openRowStart = cellCount;
+    }
+
+    /**
+     * Acrescenta uma célula à linha aberta. Valores nulos são armazenados como
+     * células vazias.
+     *
+     * @param text texto da célula
+     */
+    public void appendCell(CharSequence text) {
+        appendCell(text, 0, text == null ? 0 : text.length());
+    }
+
+    /**
+     * Acrescenta uma célula à linha aberta com um trecho de um texto.
+     *
+     * @param text  texto de origem
+     * @param start início do trecho (inclusivo)
+     * @param end   fim do trecho (exclusivo)
+     */
+    public void appendCell(CharSequence text, int start, int end) {
+        requireOpenRow();
+        int offset = reserveChars(end - start);
+        if (text instanceof String string) {
+            string.getChars(start, end, arena, offset);
+        } else if (text instanceof StringBuilder builder) {
+            builder.getChars(start, end, arena, offset);
+        } else {
+            for (int i = start; i < end; i++) {
+                arena[offset + i - start] = text.charAt(i);
+            }
+        }
+        addCell(offset, end - start);
+    }
+
+    /**
+     * Acrescenta uma célula à linha aberta a partir de um trecho de um vetor de
+     * caracteres.
+     */
+    public void appendCell(char[] chars, int offset, int length) {
+        requireOpenRow();
+        int target = reserveChars(length);
+        System.arraycopy(chars, offset, arena, target, length);
+        addCell(target, length);
+    }
+
+    /**
+     * Finaliza a linha aberta.
+     */
+    public void endRow() {
+        requireOpenRow();
+        if (rowCount == rowEnds.length) {
+            rowEnds = Arrays.copyOf(rowEnds, rowCount * 2);
+        }
+        rowEnds[rowCount++] = cellCount;
+        openRowStart = -1;
+    }
+
+    /**
+     * Acrescenta uma linha completa.
+     *
+     * @param cells valores das células
+     */
+    public void addRow(List<String> cells) {
+        startRow();
+        for (String cell : cells) {
+            appendCell(cell);
+        }
+        endRow();
+    }
+
+    /**
+     * Copia uma linha de outro buffer para o final deste.
+     *
+     * @param source buffer de origem
+     * @param row    índice da linha na origem
+     */
+    public void copyRow(TableBuffer source, int row) {
+        startRow();
+        int first = source.firstCell(row);
+        int last = source.rowEnds[row];
+        for (int cell = first; cell < last; cell++) {
+            appendCell(source.arena, source.cellOffsets[cell], source.cellLengths[cell]);
+        }
+        endRow();
+    }
+
+    /**
+     * Descarta todo o conteúdo, mantendo a capacidade já alocada.
+     */
+    public void clear() {
+        arenaLength = 0;
+        cellCount = 0;
+        rowCount = 0;
+        openRowStart = -1;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return {@code true} se o buffer não possui linhas
+     */
+    public boolean isEmpty() {
+        return rowCount == 0;
+    }
+
+    /**
+     * @return a quantidade de caracteres ocupados na arena
+     */
+    public int getArenaLength() {
+        return arenaLength;
+    }
+
+    public int getCellCount(int row) {
+        return rowEnds[checkRow(row)] - firstCell(row);
+    }
+
+    public int getCellLength(int row, int column) {
+        return cellLengths[cellIndex(row, column)];
+    }
+
+    /**
+     * Posição do primeiro caractere da célula em {@link #getArena()}.
+     */
+    public int getCellOffset(int row, int column) {
+        return cellOffsets[cellIndex(row, column)];
+    }
+
+    /**
+     * Retorna a arena de caracteres para leitura direta em conjunto com
+     * {@link #getCellOffset(int, int)} e {@link #getCellLength(int, int)}. O
+     * vetor pode ser substituído quando o buffer cresce e não deve ser alterado.
+     *
+     * @return a arena de caracteres
+     */
+    public char[] getArena() {
+        return arena;
+    }
+
+    public char charAt(int row, int column, int index) {
+        int cell = cellIndex(row, column);
+        if (index < 0 || index >= cellLengths[cell]) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return arena[cellOffsets[cell] + index];
+    }
+
+    /**
+     * Materializa o valor de uma célula. Prefira os métodos de comparação e a
+     * leitura direta da arena nos caminhos críticos.
+     *
+     * @return o texto da célula
+     */
+    public String getCell(int row, int column) {
+        int cell = cellIndex(row, column);
+        return new String(arena, cellOffsets[cell], cellLengths[cell]);
+    }
+
+    /**
+     * Substitui o valor de uma célula.
+     *
+     * @param text novo texto da célula
+     */
+    public void setCell(int row, int column, CharSequence text) {
+        int cell = cellIndex(row, column);
+        int length = text == null ? 0 : text.length();
+        int offset = reserveChars(length);
+        for (int i = 0; i < length; i++) {
+            arena[offset + i] = text.charAt(i);
+        }
+        cellOffsets[cell] = offset;
+        cellLengths[cell] = length;
+    }
+
+    /**
+     * @return {@code true} se a célula contém apenas espaços em branco
+     */
+    public boolean isBlank(int row, int column) {
+        int cell = cellIndex(row, column);
+        int end = cellOffsets[cell] + cellLengths[cell];
+        for (int i = cellOffsets[cell]; i < end; i++) {
+            if (!Character.isWhitespace(arena[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code true} se a linha não tem células ou todas estão em branco
+     */
+    public boolean isRowBlank(int row) {
+        int cells = getCellCount(row);
+        for (int c = 0; c < cells; c++) {
+            if (!isBlank(row, c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compara o valor de uma célula com um texto, sem criar objetos.
+     */
+    public boolean cellEquals(int row, int column, CharSequence text) {
+        int cell = cellIndex(row, column);
+        if (cellLengths[cell] != text.length()) {
+            return false;
+        }
+        int offset = cellOffsets[cell];
+        for (int i = 0; i < cellLengths[cell]; i++) {
+            if (arena[offset + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compara o valor de uma célula com um texto ignorando maiúsculas e
+     * minúsculas, sem criar objetos.
+     */
+    public boolean cellEqualsIgnoreCase(int row, int column, CharSequence text) {
+        int cell = cellIndex(row, column);
+        if (cellLengths[cell] != text.length()) {
+            return false;
+        }
+        int offset = cellOffsets[cell];
+        for (int i = 0; i < cellLengths[cell]; i++) {
+            char a = arena[offset + i];
+            char b = text.charAt(i);
+            if (a != b && Character.toUpperCase(a) != Character.toUpperCase(b)
+                    && Character.toLowerCase(a) != Character.toLowerCase(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compara uma linha deste buffer com uma linha de outro buffer (ou do
+     * próprio), célula a célula.
+     */
+    public boolean rowEquals(int row, TableBuffer other, int otherRow) {
+        int cells = getCellCount(row);
+        if (cells != other.getCellCount(otherRow)) {
+            return false;
+        }
+        int first = firstCell(row);
+        int otherFirst = other.firstCell(otherRow);
+        for (int c = 0; c < cells; c++) {
+            int a = first + c;
+            int b = otherFirst + c;
+            if (!Arrays.equals(arena, cellOffsets[a], cellOffsets[a] + cellLengths[a],
+                    other.arena, other.cellOffsets[b], other.cellOffsets[b] + other.cellLengths[b])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Materializa o conteúdo do buffer como listas de strings.
+     *
+     * @return as linhas com os valores de suas células
+     */
+    public List<List<String>> toRows() {
+        List<List<String>> rows = new ArrayList<>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            int cells = getCellCount(r);
+            List<String> row = new ArrayList<>(cells);
+            for (int c = 0; c < cells; c++) {
+                row.add(getCell(r, c));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Cria um cursor posicionado antes da primeira linha.
+     *
+     * @return o cursor
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private int reserveChars(int length) {
+        if (arenaLength + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaLength + length));
+        }
+        int offset = arenaLength;
+        arenaLength += length;
+        return offset;
+    }
+
+    private void addCell(int offset, int length) {
+        if (cellCount == cellOffsets.length) {
+            cellOffsets = Arrays.copyOf(cellOffsets, cellCount * 2);
+            cellLengths = Arrays.copyOf(cellLengths, cellCount * 2);
+        }
+        cellOffsets[cellCount] = offset;
+        cellLengths[cellCount] = length;
+        cellCount++;
+    }
+
+    private void requireOpenRow() {
+        if (openRowStart < 0) {
+            throw new IllegalStateException("Nenhuma linha aberta; chame startRow() primeiro");
+        }
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Linha inválida: " + row);
+        }
+        return row;
+    }
+
+    private int firstCell(int row) {
+        return checkRow(row) == 0 ? 0 : rowEnds[row - 1];
+    }
+
+    private int cellIndex(int row, int column) {
+        int first = firstCell(row);
+        if (column < 0 || first + column >= rowEnds[row]) {
+            throw new IndexOutOfBoundsException("Coluna inválida: " + column);
+        }
+        return first + column;
+    }
+
+    /**
+     * Percorre as linhas do buffer sem criar objetos por linha ou célula. Os
+     * métodos operam sobre a linha corrente.
+     */
+    public final class Cursor {
+        private int row = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * Avança para a próxima linha.
+         *
+         * @return {@code false} quando não houver mais linhas
+         */
+        public boolean next() {
+            if (row + 1 >= rowCount) {
+                row = rowCount;
+                return false;
+            }
+            row++;
+            return true;
+        }
+
+        /**
+         * Volta para antes da primeira linha.
+         */
+        public void reset() {
+            row = -1;
+        }
+
+        /**
+         * Posiciona o cursor diretamente em uma linha.
+         *
+         * @param row índice da linha
+         * @throws IndexOutOfBoundsException se a linha não existir
+         */
+        public void moveTo(int row) {
+            this.row = checkRow(row);
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public int getCellCount() {
+            return TableBuffer.this.getCellCount(row);
+        }
+
+        public int getCellLength(int column) {
+            return TableBuffer.this.getCellLength(row, column);
+        }
+
+        public int getCellOffset(int column) {
+            return TableBuffer.this.getCellOffset(row, column);
+        }
+
+        public char[] getArena() {
+            return arena;
+        }
+
+        public boolean isRowBlank() {
+            return TableBuffer.this.isRowBlank(row);
+        }
+
+        public boolean cellEquals(int column, CharSequence text) {
+            return TableBuffer.this.cellEquals(row, column, text);
+        }
+
+        public boolean cellEqualsIgnoreCase(int column, CharSequence text) {
+            return TableBuffer.this.cellEqualsIgnoreCase(row, column, text);
+        }
+
+        public void setCell(int column, CharSequence text) {
+            TableBuffer.this.setCell(row, column, text);
+        }
+
+        public boolean rowEquals(TableBuffer other, int otherRow) {
+            return TableBuffer.this.rowEquals(row, other, otherRow);
+        }
+
+        /**
+         * Copia a linha corrente para o final de outro buffer.
+         */
+        public void copyTo(TableBuffer target) {
+            target.copyRow(TableBuffer.this, row);
+        }
+    }
+}
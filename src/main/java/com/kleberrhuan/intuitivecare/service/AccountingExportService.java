@@ -0,0 +1,134 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.exception.AccountingStoreException;
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.Operator;
+import com.kleberrhuan.intuitivecare.model.OperatorRegistry;
+import com.kleberrhuan.intuitivecare.store.AccountingSegment;
+import com.kleberrhuan.intuitivecare.store.AccountingStore;
+import com.kleberrhuan.intuitivecare.util.CsvWriter;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Exportação dos lançamentos do {@link AccountingStore} para CSV, com os dados
+ * cadastrais de cada operadora.
+ * <p>
+ * A coluna de registros ANS de cada segmento é percorrida pela tabela de junção
+ * do cadastro ({@link OperatorRegistry#getJoinTable()}), sem montar objetos por
+ * lançamento; lançamentos de operadoras fora do cadastro (por exemplo,
+ * canceladas) são exportados com os campos cadastrais vazios.
+ */
+public class AccountingExportService {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(AccountingExportService.class);
+    private static final List<String> HEADER = List.of("DATA", "REG_ANS", "CNPJ", "RAZAO_SOCIAL", "MODALIDADE",
+            "UF", "CD_CONTA_CONTABIL", "DESCRICAO", "VL_SALDO_INICIAL", "VL_SALDO_FINAL");
+
+    private final CsvOptions options;
+
+    public AccountingExportService() {
+        this(CsvOptions.defaults());
+    }
+
+    /**
+     * @param options formato do CSV gerado
+     */
+    public AccountingExportService(CsvOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Exporta todos os lançamentos do armazenamento, juntados ao cadastro de
+     * operadoras pelo registro ANS.
+     *
+     * @param store    armazenamento de origem
+     * @param registry cadastro de operadoras
+     * @param csvFile  arquivo de destino, substituído ao fim da exportação
+     * @return a quantidade de lançamentos exportados
+     * @throws AccountingStoreException se o arquivo não puder ser gravado
+     */
+    public long exportWithRegistry(AccountingStore store, OperatorRegistry registry, Path csvFile) {
+        long start = System.nanoTime();
+        long rows = 0;
+        Path tmp = csvFile.resolveSibling(csvFile.getFileName() + ".tmp");
+        try {
+            try (CsvWriter writer = CsvWriter.open(tmp, options)) {
+                writer.writeRow(HEADER);
+                for (AccountingSegment segment : store.getSegments()) {
+                    rows += exportSegment(store, segment, registry, writer);
+                }
+            }
+            Files.move(tmp, csvFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            throw new AccountingStoreException("Erro ao exportar os lançamentos contábeis para " + csvFile, e);
+        } finally {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException e) {
+                LOGGER.warn("Não foi possível remover o arquivo temporário {}: {}", tmp, e.getMessage());
+            }
+        }
+        LOGGER.info("{} lançamentos exportados para {} em {} ms", rows, csvFile,
+                (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    private long exportSegment(AccountingStore store, AccountingSegment segment, OperatorRegistry registry,
+            CsvWriter writer) {
+        IntBuffer dates = segment.dates();
+        IntBuffer operators = segment.operatorIds();
+        LongBuffer accounts = segment.accountCodes();
+        IntBuffer descriptionIds = segment.descriptionIds();
+        LongBuffer initialBalances = segment.initialBalances();
+        LongBuffer finalBalances = segment.finalBalances();
+        char[] date = new char[10];
+
+        return registry.getJoinTable().probe(operators, 0, segment.getRowCount(), true, (row, registryRow) -> {
+            Operator operator = registryRow < 0 ? null : registry.get(registryRow);
+            try {
+                formatDate(dates.get(row), date);
+                writer.writeField(date, 0, date.length);
+                writer.writeField(Integer.toString(operators.get(row)));
+                writer.writeField(operator == null ? null : operator.cnpj());
+                writer.writeField(operator == null ? null : operator.corporateName());
+                writer.writeField(operator == null ? null : operator.modality());
+                writer.writeField(operator == null ? null : operator.state());
+                writer.writeField(Long.toString(accounts.get(row)));
+                writer.writeField(store.getDescription(descriptionIds.get(row)));
+                writer.writeField(BigDecimal.valueOf(initialBalances.get(row), 2).toPlainString());
+                writer.writeField(BigDecimal.valueOf(finalBalances.get(row), 2).toPlainString());
+                writer.endRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Escreve uma data {@code AAAAMMDD} como {@code AAAA-MM-DD}.
+     */
+    private static void formatDate(int date, char[] target) {
+        int year = date / 10_000;
+        int month = date / 100 % 100;
+        int day = date % 100;
+        target[0] = (char) ('0' + year / 1000 % 10);
+        target[1] = (char) ('0' + year / 100 % 10);
+        target[2] = (char) ('0' + year / 10 % 10);
+        target[3] = (char) ('0' + year % 10);
+        target[4] = '-';
+        target[5] = (char) ('0' + month / 10);
+        target[6] = (char) ('0' + month % 10);
+        target[7] = '-';
+        target[8] = (char) ('0' + day / 10);
+        target[9] = (char) ('0' + day % 10);
+    }
+}
@@ -0,0 +1,175 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.exception.AccountingParseException;
+import com.kleberrhuan.intuitivecare.exception.AccountingStoreException;
+import com.kleberrhuan.intuitivecare.model.AccountingBatch;
+import com.kleberrhuan.intuitivecare.model.AccountingParseOptions;
+import com.kleberrhuan.intuitivecare.model.AccountingParseResult;
+import com.kleberrhuan.intuitivecare.store.AccountingSegment;
+import com.kleberrhuan.intuitivecare.store.AccountingStore;
+import com.kleberrhuan.intuitivecare.store.SegmentWriter;
+import com.kleberrhuan.intuitivecare.util.AccountingCsvParser;
+import com.kleberrhuan.intuitivecare.util.StringPool;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Ingestão das demonstrações contábeis baixadas por
+ * {@link FileDownloaderService}: localiza os CSVs extraídos nas pastas de cada
+ * ano e os lê com o {@link AccountingCsvParser}, entregando os lançamentos ao
+ * consumidor informado ou carregando-os no {@link AccountingStore}.
+ */
+public class AccountingIngestionService {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(AccountingIngestionService.class);
+    private static final String CSV_EXTENSION = ".csv";
+
+    private final AccountingCsvParser parser;
+
+    /**
+     * Cria o serviço com as opções padrão de leitura.
+     */
+    public AccountingIngestionService() {
+        this(AccountingParseOptions.defaults());
+    }
+
+    /**
+     * @param options opções de leitura dos CSVs
+     */
+    public AccountingIngestionService(AccountingParseOptions options) {
+        this.parser = new AccountingCsvParser(options);
+    }
+
+    /**
+     * Localiza os CSVs de demonstrações contábeis nas pastas de ano (nomes com
+     * quatro dígitos, como gravadas por
+     * {@link FileDownloaderService#downloadLatestYears}) de um diretório.
+     *
+     * @param outputDir diretório de download
+     * @return os CSVs encontrados, em ordem de nome
+     * @throws IOException se o diretório não puder ser percorrido
+     */
+    public static List<Path> findStatementFiles(Path outputDir) throws IOException {
+        if (!Files.isDirectory(outputDir)) {
+            return List.of();
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> years = Files.list(outputDir)) {
+            for (Path year : years.filter(Files::isDirectory)
+                    .filter(dir -> dir.getFileName().toString().matches("\\d{4}"))
+                    .toList()) {
+                try (Stream<Path> entries = Files.walk(year)) {
+                    entries.filter(Files::isRegularFile)
+                            .filter(file -> file.getFileName().toString().toLowerCase(Locale.ROOT)
+                                    .endsWith(CSV_EXTENSION))
+                            .forEach(files::add);
+                }
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+
+    /**
+     * Lê todos os CSVs de demonstrações contábeis de um diretório de download.
+     *
+     * @param outputDir diretório de download
+     * @param sink      consumidor dos lotes de lançamentos, chamado
+     *                  concorrentemente
+     * @return o resultado da leitura de cada arquivo
+     * @throws AccountingParseException se um arquivo não puder ser lido
+     */
+    public List<AccountingParseResult> ingest(Path outputDir, Consumer<AccountingBatch> sink) {
+        List<Path> files;
+        try {
+            files = findStatementFiles(outputDir);
+        } catch (IOException e) {
+            throw new AccountingParseException("Erro ao localizar demonstrações contábeis em " + outputDir, e);
+        }
+        return ingest(files, sink);
+    }
+
+    /**
+     * Lê os CSVs de demonstrações contábeis informados, um arquivo por vez (cada
+     * arquivo é lido em paralelo).
+     *
+     * @param files arquivos CSV
+     * @param sink  consumidor dos lotes de lançamentos, chamado concorrentemente
+     * @return o resultado da leitura de cada arquivo
+     * @throws AccountingParseException se um arquivo não puder ser lido
+     */
+    public List<AccountingParseResult> ingest(List<Path> files, Consumer<AccountingBatch> sink) {
+        List<AccountingParseResult> results = new ArrayList<>(files.size());
+        for (Path file : files) {
+            AccountingParseResult result = parser.parse(file, sink);
+            LOGGER.info("{}: {} lançamentos ({} rejeitados, {}) em {} ms ({} MB/s)",
+                    file.getFileName(), result.rows(), result.rejectedRows(), result.charset(),
+                    result.elapsedMillis(), throughput(result));
+            results.add(result);
+        }
+        StringPool.Stats stats = parser.getDescriptionPool().getStats();
+        LOGGER.info("{} arquivos lidos; descrições compartilhadas: {}% de acertos, ~{} KB economizados",
+                results.size(), Math.round(stats.hitRate() * 100), stats.bytesSaved() / 1024);
+        return results;
+    }
+
+    /**
+     * Carrega no armazenamento colunar os CSVs de demonstrações contábeis de um
+     * diretório de download, um segmento por arquivo (trimestre). Arquivos já
+     * carregados e não modificados desde então são ignorados.
+     *
+     * @param store     armazenamento de destino
+     * @param outputDir diretório de download
+     * @return o resultado da leitura de cada arquivo carregado
+     * @throws AccountingParseException se um arquivo não puder ser lido
+     * @throws AccountingStoreException se um segmento não puder ser gravado
+     */
+    public List<AccountingParseResult> loadInto(AccountingStore store, Path outputDir) {
+        List<AccountingParseResult> results = new ArrayList<>();
+        try {
+            for (Path file : findStatementFiles(outputDir)) {
+                String name = segmentName(file);
+                AccountingSegment existing = store.getSegment(name);
+                if (existing != null && existing.isLoadedFrom(file)) {
+                    LOGGER.info("{} já carregado no armazenamento; ignorando", file.getFileName());
+                    continue;
+                }
+                try (SegmentWriter writer = store.appendSegment(name, file)) {
+                    AccountingParseResult result = parser.parse(file, writer);
+                    writer.commit();
+                    LOGGER.info("{}: {} lançamentos carregados ({} rejeitados) em {} ms ({} MB/s)",
+                            file.getFileName(), result.rows(), result.rejectedRows(), result.elapsedMillis(),
+                            throughput(result));
+                    results.add(result);
+                }
+            }
+        } catch (IOException e) {
+            throw new AccountingStoreException("Erro ao carregar demonstrações contábeis de " + outputDir, e);
+        }
+        LOGGER.info("Armazenamento contábil: {} segmentos, {} lançamentos, {} descrições",
+                store.getSegments().size(), store.getRowCount(), store.getDescriptionCount());
+        return results;
+    }
+
+    /**
+     * @return o nome do segmento de um CSV: o nome do arquivo sem a extensão
+     *         (por exemplo, {@code 1T2024})
+     */
+    static String segmentName(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static String throughput(AccountingParseResult result) {
+        double seconds = Math.max(1, result.elapsedMillis()) / 1000.0;
+        return String.format(Locale.ROOT, "%.1f", result.bytes() / seconds / (1024 * 1024));
+    }
+}
@@ -0,0 +1,419 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import com.kleberrhuan.intuitivecare.exception.PdfParseException;
+import com.kleberrhuan.intuitivecare.model.BatchOptions;
+import com.kleberrhuan.intuitivecare.model.BatchOutputMode;
+import com.kleberrhuan.intuitivecare.model.BatchResult;
+import com.kleberrhuan.intuitivecare.model.DocumentSummary;
+import com.kleberrhuan.intuitivecare.model.ExtractionOptions;
+import com.kleberrhuan.intuitivecare.util.ExtractionCheckpoint;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Processa vários PDFs em lote, com paralelismo entre documentos.
+ * <p>
+ * Os documentos são entregues a um pool de tamanho fixo por meio de uma fila
+ * limitada: quando a fila enche, a submissão bloqueia até que um documento
+ * termine, de modo que lotes grandes não acumulam tarefas em memória. Os
+ * workers de extração e o orçamento de memória do PDFBox são repartidos entre
+ * os documentos simultâneos (ver {@link BatchOptions#documentOptions}).
+ * <p>
+ * A falha de um documento não interrompe o lote; ela é registrada no resumo do
+ * documento.
+ * <p>
+ * No modo consolidado, os CSVs intermediários ficam em um diretório fixo ao lado
+ * do CSV consolidado, de modo que um lote interrompido retoma os checkpoints de
+ * seus documentos na execução seguinte. Ao término do lote, os checkpoints dos
+ * documentos com falha e os abandonados há mais de
+ * {@link AppConfig#EXTRACTION_CHECKPOINT_MAX_AGE_HOURS} horas são removidos.
+ */
+public class BatchPdfProcessingService {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(BatchPdfProcessingService.class);
+    private static final String PDF_EXTENSION = ".pdf";
+    private static final String CSV_EXTENSION = ".csv";
+    private static final String MERGED_PARTS_SUFFIX = ".partes";
+
+    private final PdfProcessingService pdfProcessingService;
+    private final BatchOptions batchOptions;
+
+    /**
+     * Cria o serviço com as opções padrão de processamento e de lote.
+     */
+    public BatchPdfProcessingService() {
+        this(new PdfProcessingService(), BatchOptions.defaults());
+    }
+
+    /**
+     * @param pdfProcessingService serviço usado na conversão de cada documento
+     * @param batchOptions         paralelismo, fila, orçamento de memória e modo
+     *                             de saída do lote
+     * @throws IllegalArgumentException se o paralelismo ou a capacidade da fila
+     *                                  forem menores que 1
+     */
+    public BatchPdfProcessingService(PdfProcessingService pdfProcessingService, BatchOptions batchOptions) {
+        if (batchOptions.getParallelism() < 1) {
+            throw new IllegalArgumentException("O número de documentos simultâneos deve ser maior que zero.");
+        }
+        if (batchOptions.getQueueCapacity() < 1) {
+            throw new IllegalArgumentException("A capacidade da fila de documentos deve ser maior que zero.");
+        }
+        this.pdfProcessingService = pdfProcessingService;
+        this.batchOptions = batchOptions;
+    }
+
+    /**
+     * Lista os PDFs de um diretório ou de um padrão glob.
+     * <p>
+     * Um diretório resulta em todos os arquivos {@code .pdf} contidos
+     * diretamente nele. Um glob (ex.: {@code output/rol/*.pdf} ou
+     * {@code historico/**.pdf}) é avaliado a partir do maior prefixo sem
+     * curingas. O resultado é ordenado pelo caminho.
+     *
+     * @param input diretório, arquivo ou padrão glob
+     * @return os PDFs encontrados
+     * @throws PdfParseException se o diretório não puder ser lido
+     */
+    public static List<Path> resolveInputs(String input) {
+        try {
+            if (!containsWildcard(input)) {
+                Path path = Path.of(input);
+                if (!Files.isDirectory(path)) {
+                    return Files.isRegularFile(path) ? List.of(path) : List.of();
+                }
+                try (Stream<Path> files = Files.list(path)) {
+                    return files.filter(BatchPdfProcessingService::isPdf).sorted().toList();
+                }
+            }
+
+            Path root = globRoot(input);
+            if (!Files.isDirectory(root)) {
+                return List.of();
+            }
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + input);
+            try (Stream<Path> files = Files.walk(root)) {
+                return files.filter(Files::isRegularFile)
+                        .filter(file -> matcher.matches(file.normalize()))
+                        .sorted()
+                        .toList();
+            }
+        } catch (IOException e) {
+            throw new PdfParseException("Erro ao listar os PDFs de " + input, e);
+        }
+    }
+
+    /**
+     * Processa os PDFs de um diretório ou padrão glob.
+     *
+     * @param input     diretório, arquivo ou padrão glob
+     * @param outputDir diretório dos CSVs gerados
+     * @return o resumo do lote
+     * @see #resolveInputs(String)
+     */
+    public BatchResult process(String input, Path outputDir) {
+        List<Path> pdfs = resolveInputs(input);
+        if (pdfs.isEmpty()) {
+            LOGGER.warn("Nenhum PDF encontrado em {}", input);
+        }
+        return process(pdfs, outputDir);
+    }
+
+    /**
+     * Processa os PDFs informados, gravando um CSV por documento ou um único CSV
+     * consolidado, conforme as opções do lote.
+     *
+     * @param pdfs      PDFs a processar, na ordem desejada para a saída
+     * @param outputDir diretório dos CSVs gerados
+     * @return o resumo do lote, com os documentos na ordem de entrada
+     * @throws PdfParseException se o diretório de saída ou o CSV consolidado não
+     *                           puderem ser gravados
+     */
+    public BatchResult process(List<Path> pdfs, Path outputDir) {
+        long start = System.nanoTime();
+        boolean merged = batchOptions.getOutputMode() == BatchOutputMode.MERGED;
+        ExtractionOptions documentOptions = batchOptions.documentOptions(pdfProcessingService.getExtractionOptions());
+        LOGGER.info("Processando {} PDFs em lote: {} simultâneos, {} workers e {} MB de memória por documento",
+                pdfs.size(), batchOptions.getParallelism(), documentOptions.getWorkers(),
+                documentOptions.getMemoryConfig().getMaxMainMemoryBytes() / (1024 * 1024));
+
+        Path csvDir;
+        try {
+            DirectoryHelper.createDirectoryIfNotExists(outputDir);
+            csvDir = merged
+                    ? DirectoryHelper.createDirectoryIfNotExists(
+                            outputDir.resolve(batchOptions.getMergedFileName() + MERGED_PARTS_SUFFIX))
+                    : outputDir;
+        } catch (IOException e) {
+            throw new PdfParseException("Erro ao preparar o diretório de saída do lote: " + outputDir, e);
+        }
+
+        List<Path> csvPaths = csvPathsFor(pdfs, csvDir);
+        List<DocumentSummary> documents = runAll(pdfs, csvPaths, documentOptions);
+        discardCheckpoints(documents, csvPaths, documentOptions);
+
+        Path mergedCsv = null;
+        if (merged) {
+            mergedCsv = outputDir.resolve(batchOptions.getMergedFileName());
+            mergeCsvs(documents, mergedCsv);
+            deleteQuietly(csvDir, csvPaths);
+        }
+
+        BatchResult result = new BatchResult(documents, mergedCsv, (System.nanoTime() - start) / 1_000_000);
+        logSummary(result);
+        return result;
+    }
+
+    private List<DocumentSummary> runAll(List<Path> pdfs, List<Path> csvPaths, ExtractionOptions options) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                batchOptions.getParallelism(), batchOptions.getParallelism(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchOptions.getQueueCapacity()),
+                BatchPdfProcessingService::blockUntilQueued);
+        try {
+            List<Future<DocumentSummary>> futures = new ArrayList<>(pdfs.size());
+            for (int i = 0; i < pdfs.size(); i++) {
+                Path pdf = pdfs.get(i);
+                Path csv = csvPaths.get(i);
+                futures.add(executor.submit(() -> processDocument(pdf, csv, options)));
+            }
+
+            List<DocumentSummary> documents = new ArrayList<>(pdfs.size());
+            for (Future<DocumentSummary> future : futures) {
+                documents.add(future.get());
+            }
+            return documents;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfParseException("Processamento em lote interrompido", e);
+        } catch (ExecutionException e) {
+            throw new PdfParseException("Falha no processamento em lote", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private DocumentSummary processDocument(Path pdf, Path csv, ExtractionOptions options) {
+        long start = System.nanoTime();
+        try {
+            return pdfProcessingService.convertToCsv(pdf, csv, options);
+        } catch (RuntimeException e) {
+            String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            LOGGER.warn("Documento {} ignorado no lote: {}", pdf, message);
+            return DocumentSummary.failed(pdf, (System.nanoTime() - start) / 1_000_000, message);
+        }
+    }
+
+    /**
+     * Remove os checkpoints que não serão retomados: os dos documentos que
+     * falharam neste lote e os abandonados por execuções antigas. Os documentos
+     * concluídos já removem o próprio checkpoint.
+     */
+    private void discardCheckpoints(List<DocumentSummary> documents, List<Path> csvPaths,
+            ExtractionOptions options) {
+        if (!options.isCheckpointEnabled()) {
+            return;
+        }
+        for (int i = 0; i < documents.size(); i++) {
+            DocumentSummary document = documents.get(i);
+            if (document.isSuccess() || !Files.isRegularFile(document.pdf())) {
+                continue;
+            }
+            try {
+                pdfProcessingService.checkpointFor(document.pdf(), csvPaths.get(i), options).discard();
+            } catch (IOException e) {
+                LOGGER.warn("Não foi possível remover o checkpoint de {}: {}", document.pdf(), e.getMessage());
+            }
+        }
+        try {
+            ExtractionCheckpoint.deleteStale(options.getCheckpointDir(),
+                    Duration.ofHours(AppConfig.EXTRACTION_CHECKPOINT_MAX_AGE_HOURS));
+        } catch (IOException e) {
+            LOGGER.warn("Não foi possível limpar os checkpoints de {}: {}", options.getCheckpointDir(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Bloqueia a submissão até haver espaço na fila do pool, em vez de rejeitar
+     * a tarefa.
+     */
+    private static void blockUntilQueued(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Pool do processamento em lote encerrado");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Submissão ao processamento em lote interrompida", e);
+        }
+    }
+
+    /**
+     * Define o CSV de cada PDF pelo nome base do arquivo, acrescentando um
+     * sufixo numérico quando PDFs de diretórios diferentes têm o mesmo nome.
+     */
+    private static List<Path> csvPathsFor(List<Path> pdfs, Path csvDir) {
+        Set<String> used = new HashSet<>();
+        List<Path> csvPaths = new ArrayList<>(pdfs.size());
+        for (Path pdf : pdfs) {
+            String name = pdf.getFileName().toString();
+            String base = name.toLowerCase(Locale.ROOT).endsWith(PDF_EXTENSION)
+                    ? name.substring(0, name.length() - PDF_EXTENSION.length())
+                    : name;
+            String candidate = base;
+            for (int suffix = 2; !used.add(candidate.toLowerCase(Locale.ROOT)); suffix++) {
+                candidate = base + "_" + suffix;
+            }
+            csvPaths.add(csvDir.resolve(candidate + CSV_EXTENSION));
+        }
+        return csvPaths;
+    }
+
+    /**
+     * Concatena os CSVs dos documentos processados com sucesso, na ordem de
+     * entrada. O cabeçalho do primeiro documento é mantido e os cabeçalhos
+     * idênticos dos demais são descartados; os bytes das linhas são copiados sem
+     * nova interpretação.
+     */
+    private void mergeCsvs(List<DocumentSummary> documents, Path mergedCsv) {
+        byte[] header = null;
+        try (FileChannel out = FileChannel.open(mergedCsv, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (DocumentSummary document : documents) {
+                if (!document.isSuccess()) {
+                    continue;
+                }
+                try (FileChannel in = FileChannel.open(document.csv(), StandardOpenOption.READ)) {
+                    byte[] firstRecord = readFirstRecord(in);
+                    long position = 0;
+                    if (header == null) {
+                        header = firstRecord;
+                    } else if (Arrays.equals(header, firstRecord)) {
+                        position = firstRecord.length;
+                    } else if (firstRecord.length > 0) {
+                        LOGGER.warn("Cabeçalho de {} difere do primeiro documento; mantido no CSV consolidado",
+                                document.pdf().getFileName());
+                    }
+                    long size = in.size();
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new PdfParseException("Erro ao gravar o CSV consolidado: " + mergedCsv, e);
+        }
+        LOGGER.info("CSV consolidado gerado: {}", mergedCsv);
+    }
+
+    /**
+     * Lê o primeiro registro do CSV, incluindo o terminador de linha. Quebras de
+     * linha dentro de campos entre aspas não encerram o registro.
+     */
+    private static byte[] readFirstRecord(FileChannel in) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(8192);
+        byte[] record = new byte[0];
+        boolean quoted = false;
+        long position = 0;
+        int read;
+        while ((read = in.read(chunk.clear(), position)) > 0) {
+            byte[] bytes = chunk.array();
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '"') {
+                    quoted = !quoted;
+                } else if (bytes[i] == '\n' && !quoted) {
+                    return appendBytes(record, bytes, i + 1);
+                }
+            }
+            record = appendBytes(record, bytes, read);
+            position += read;
+        }
+        return record;
+    }
+
+    private static byte[] appendBytes(byte[] record, byte[] bytes, int length) {
+        byte[] result = Arrays.copyOf(record, record.length + length);
+        System.arraycopy(bytes, 0, result, record.length, length);
+        return result;
+    }
+
+    private static void deleteQuietly(Path csvDir, List<Path> csvPaths) {
+        try {
+            for (Path csv : csvPaths) {
+                Files.deleteIfExists(csv);
+            }
+            Files.deleteIfExists(csvDir);
+        } catch (IOException e) {
+            LOGGER.warn("Não foi possível remover os CSVs intermediários de {}: {}", csvDir, e.getMessage());
+        }
+    }
+
+    private static void logSummary(BatchResult result) {
+        LOGGER.info("==== Resumo do processamento em lote ====");
+        for (DocumentSummary document : result.documents()) {
+            if (!document.isSuccess()) {
+                LOGGER.info("{}: FALHA em {} ms ({})", document.pdf().getFileName(), document.elapsedMillis(),
+                        document.error());
+            } else if (document.cached()) {
+                LOGGER.info("{}: obtido do cache em {} ms", document.pdf().getFileName(), document.elapsedMillis());
+            } else {
+                LOGGER.info("{}: {} páginas, {} linhas em {} ms", document.pdf().getFileName(), document.pages(),
+                        document.rows(), document.elapsedMillis());
+            }
+        }
+        LOGGER.info("{} documentos processados ({} do cache), {} com falha, em {} ms", result.successCount(),
+                result.cachedCount(), result.failureCount(), result.elapsedMillis());
+        LOGGER.info("Documentos extraídos: {} páginas, {} linhas", result.totalPages(), result.totalRows());
+    }
+
+    private static boolean isPdf(Path path) {
+        return Files.isRegularFile(path)
+                && path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(PDF_EXTENSION);
+    }
+
+    private static boolean containsWildcard(String input) {
+        return input.chars().anyMatch(c -> c == '*' || c == '?' || c == '[' || c == '{');
+    }
+
+    /**
+     * Retorna o diretório formado pelos segmentos do glob anteriores ao primeiro
+     * curinga.
+     */
+    private static Path globRoot(String glob) {
+        String normalized = glob.replace('\\', '/');
+        int wildcard = 0;
+        while (wildcard < normalized.length() && "*?[{".indexOf(normalized.charAt(wildcard)) < 0) {
+            wildcard++;
+        }
+        int separator = normalized.lastIndexOf('/', wildcard);
+        if (separator < 0) {
+            return Path.of(".");
+        }
+        return Path.of(separator == 0 ? "/" : normalized.substring(0, separator));
+    }
+}
@@ -0,0 +1,545 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.exception.BulkLoadException;
+import com.kleberrhuan.intuitivecare.model.BulkLoadOptions;
+import com.kleberrhuan.intuitivecare.model.BulkLoadResult;
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.store.AccountingSegment;
+import com.kleberrhuan.intuitivecare.store.AccountingStore;
+import com.kleberrhuan.intuitivecare.util.CsvReader;
+import com.kleberrhuan.intuitivecare.util.interfaces.ConnectionProvider;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Carga dos lançamentos contábeis e do Anexo I em um banco de dados via JDBC,
+ * substituindo a importação manual dos CSVs com {@code LOAD DATA}/{@code COPY}.
+ * <p>
+ * Os dados são divididos em partições (um trimestre do
+ * {@link AccountingStore} por partição) gravadas em paralelo, cada uma por uma
+ * conexão própria. Em cada conexão as linhas são enviadas em lotes de
+ * {@code INSERT} preparados e confirmadas a cada
+ * {@link BulkLoadOptions#getCommitSize()} linhas, de modo que nem o banco nem
+ * a aplicação acumulam transações enormes. Quando o destino é PostgreSQL e o
+ * driver está no classpath, as linhas são enviadas com
+ * {@code COPY ... FROM STDIN} pelo {@code CopyManager} do driver, acessado por
+ * reflexão para que o driver continue opcional.
+ * <p>
+ * Uma carga interrompida pode deixar confirmadas as transações já concluídas;
+ * para recarregar, limpe a tabela de destino.
+ */
+public class BulkLoadService {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(BulkLoadService.class);
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+    private static final List<String> ACCOUNTING_COLUMNS = List.of("data", "reg_ans", "cd_conta_contabil",
+            "descricao", "vl_saldo_inicial", "vl_saldo_final");
+    private static final int ANNEX_COLUMN_LENGTH = 1000;
+    private static final String PG_CONNECTION = "org.postgresql.PGConnection";
+    private static final String PG_COPY_MANAGER = "org.postgresql.copy.CopyManager";
+
+    private final ConnectionProvider connections;
+    private final BulkLoadOptions options;
+
+    /**
+     * Cria o serviço com as opções padrão de carga.
+     *
+     * @param connections fonte das conexões com o banco de destino
+     */
+    public BulkLoadService(ConnectionProvider connections) {
+        this(connections, BulkLoadOptions.defaults());
+    }
+
+    /**
+     * @param connections fonte das conexões com o banco de destino
+     * @param options     tamanhos de lote e de transação e paralelismo
+     */
+    public BulkLoadService(ConnectionProvider connections, BulkLoadOptions options) {
+        this.connections = connections;
+        this.options = options;
+    }
+
+    /**
+     * Cria, se não existir, a tabela de lançamentos contábeis.
+     *
+     * @param table nome da tabela
+     * @throws BulkLoadException se a tabela não puder ser criada
+     */
+    public void createAccountingTable(String table) {
+        execute("CREATE TABLE IF NOT EXISTS " + identifier(table) + " ("
+                + "data DATE NOT NULL, "
+                + "reg_ans INTEGER NOT NULL, "
+                + "cd_conta_contabil BIGINT NOT NULL, "
+                + "descricao VARCHAR(300), "
+                + "vl_saldo_inicial DECIMAL(18, 2), "
+                + "vl_saldo_final DECIMAL(18, 2))");
+    }
+
+    /**
+     * Carrega todos os lançamentos do armazenamento, um trimestre por
+     * partição.
+     *
+     * @param store armazenamento de origem
+     * @param table tabela de destino (ver {@link #createAccountingTable})
+     * @return o resultado da carga
+     * @throws BulkLoadException se a carga falhar
+     */
+    public BulkLoadResult loadAccounting(AccountingStore store, String table) {
+        List<Partition> partitions = new ArrayList<>();
+        for (AccountingSegment segment : store.getSegments()) {
+            partitions.add(new SegmentPartition(store, segment));
+        }
+        return load(identifier(table), ACCOUNTING_COLUMNS, partitions);
+    }
+
+    /**
+     * Carrega um CSV do Anexo I (como gerado pela transformação de dados),
+     * criando a tabela se necessário com uma coluna de texto por coluna do
+     * cabeçalho. O arquivo é lido em fluxo, uma linha por vez, durante a
+     * gravação.
+     *
+     * @param csvFile    CSV de origem
+     * @param csvOptions formato do CSV
+     * @param table      tabela de destino
+     * @return o resultado da carga
+     * @throws BulkLoadException se o arquivo não puder ser lido ou a carga
+     *                           falhar
+     */
+    public BulkLoadResult loadAnnex(Path csvFile, CsvOptions csvOptions, String table) {
+        try (CsvReader reader = CsvReader.open(csvFile, csvOptions)) {
+            TableBuffer header = new TableBuffer();
+            if (!reader.readRow(header)) {
+                throw new BulkLoadException("CSV sem cabeçalho: " + csvFile);
+            }
+            List<String> columns = columnNames(header);
+            StringBuilder ddl = new StringBuilder("CREATE TABLE IF NOT EXISTS ").append(identifier(table))
+                    .append(" (");
+            for (int c = 0; c < columns.size(); c++) {
+                ddl.append(c == 0 ? "" : ", ").append(columns.get(c)).append(" VARCHAR(")
+                        .append(ANNEX_COLUMN_LENGTH).append(')');
+            }
+            execute(ddl.append(')').toString());
+            return load(identifier(table), columns, List.of(new CsvPartition(csvFile.getFileName().toString(),
+                    reader, columns.size())));
+        } catch (IOException e) {
+            throw new BulkLoadException("Erro ao ler o CSV " + csvFile, e);
+        }
+    }
+
+    /**
+     * Converte o cabeçalho em nomes de coluna SQL: sem acentos, em minúsculas,
+     * com os demais caracteres trocados por {@code _} e sem repetições.
+     */
+    static List<String> columnNames(TableBuffer rows) {
+        List<String> columns = new ArrayList<>();
+        Set<String> used = new HashSet<>();
+        for (int c = 0; c < rows.getCellCount(0); c++) {
+            String name = Normalizer.normalize(rows.getCell(0, c), Normalizer.Form.NFD)
+                    .replaceAll("\\p{M}", "")
+                    .replaceAll("[^A-Za-z0-9]+", "_")
+                    .replaceAll("^_+|_+$", "")
+                    .toLowerCase(Locale.ROOT);
+            if (name.isEmpty() || Character.isDigit(name.charAt(0))) {
+                name = "coluna_" + (name.isEmpty() ? c + 1 : name);
+            }
+            String unique = name;
+            for (int n = 2; !used.add(unique); n++) {
+                unique = name + "_" + n;
+            }
+            columns.add(unique);
+        }
+        return columns;
+    }
+
+    private BulkLoadResult load(String table, List<String> columns, List<Partition> partitions) {
+        long start = System.nanoTime();
+        boolean copy = copySupported();
+        int writers = Math.max(1, Math.min(options.getWriters(), partitions.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<Long>> futures = new ArrayList<>(partitions.size());
+        long rows = 0;
+        try {
+            for (Partition partition : partitions) {
+                futures.add(executor.submit(() -> copy
+                        ? copyPartition(table, columns, partition)
+                        : insertPartition(table, columns, partition)));
+            }
+            for (Future<Long> future : futures) {
+                rows += future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new BulkLoadException("Erro ao carregar a tabela " + table, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkLoadException("Carga da tabela " + table + " interrompida", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        LOGGER.info("Tabela {}: {} linhas em {} partições ({}, {} conexões) em {} ms", table, rows, partitions.size(),
+                copy ? "COPY" : "INSERT em lotes", writers, elapsed);
+        return new BulkLoadResult(table, rows, partitions.size(), copy, elapsed);
+    }
+
+    private long insertPartition(String table, List<String> columns, Partition partition)
+            throws SQLException, IOException {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        int batchSize = Math.max(1, options.getBatchSize());
+        int commitSize = Math.max(1, options.getCommitSize());
+        long rows = 0;
+        try (Connection connection = connections.open()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int batched = 0;
+                int uncommitted = 0;
+                while (partition.next()) {
+                    partition.bind(statement);
+                    statement.addBatch();
+                    rows++;
+                    if (++batched == batchSize) {
+                        statement.executeBatch();
+                        batched = 0;
+                    }
+                    if (++uncommitted == commitSize) {
+                        if (batched > 0) {
+                            statement.executeBatch();
+                            batched = 0;
+                        }
+                        connection.commit();
+                        uncommitted = 0;
+                    }
+                }
+                if (batched > 0) {
+                    statement.executeBatch();
+                }
+                connection.commit();
+            } catch (Exception e) {
+                rollback(connection, e);
+                throw e;
+            }
+        }
+        LOGGER.debug("Partição {} gravada em {}: {} linhas", partition.name(), table, rows);
+        return rows;
+    }
+
+    private long copyPartition(String table, List<String> columns, Partition partition) throws Exception {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        int commitSize = Math.max(1, options.getCommitSize());
+        CopyChunkReader chunk = new CopyChunkReader(partition, commitSize);
+        try (Connection connection = connections.open()) {
+            connection.setAutoCommit(false);
+            Class<?> pgConnection = Class.forName(PG_CONNECTION);
+            Object copyManager = pgConnection.getMethod("getCopyAPI").invoke(connection.unwrap(pgConnection));
+            Method copyIn = Class.forName(PG_COPY_MANAGER).getMethod("copyIn", String.class, Reader.class);
+            try {
+                while (chunk.nextChunk()) {
+                    copyIn.invoke(copyManager, sql, chunk);
+                    connection.commit();
+                }
+            } catch (Exception e) {
+                Exception failure = e instanceof InvocationTargetException && e.getCause() instanceof Exception cause
+                        ? cause
+                        : e;
+                rollback(connection, failure);
+                throw failure;
+            }
+        }
+        LOGGER.debug("Partição {} copiada para {}: {} linhas", partition.name(), table, chunk.rows);
+        return chunk.rows;
+    }
+
+    /**
+     * Desfaz a transação em andamento após uma falha, anexando à falha
+     * original um eventual erro do próprio rollback.
+     */
+    private static void rollback(Connection connection, Exception failure) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Verifica se o destino é PostgreSQL e o driver oferece {@code COPY}.
+     */
+    private boolean copySupported() {
+        if (!options.isCopyEnabled()) {
+            return false;
+        }
+        try (Connection connection = connections.open()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())
+                    && connection.isWrapperFor(Class.forName(PG_CONNECTION));
+        } catch (ClassNotFoundException e) {
+            return false;
+        } catch (SQLException e) {
+            throw new BulkLoadException("Erro ao conectar ao banco de destino", e);
+        }
+    }
+
+    private void execute(String sql) {
+        try (Connection connection = connections.open(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new BulkLoadException("Erro ao executar: " + sql, e);
+        }
+    }
+
+    private static String identifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Nome de tabela inválido: " + name);
+        }
+        return name;
+    }
+
+    /**
+     * Escreve um campo de texto no formato CSV do {@code COPY}: entre aspas,
+     * com aspas duplicadas; {@code null} é escrito vazio e sem aspas.
+     */
+    private static void appendQuoted(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            out.append(c);
+            if (c == '"') {
+                out.append('"');
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Conjunto de linhas gravado por uma única conexão, percorrido uma única vez
+     * em ordem.
+     */
+    private interface Partition {
+        String name();
+
+        /**
+         * Avança para a próxima linha.
+         *
+         * @return {@code false} se não houver mais linhas
+         */
+        boolean next() throws IOException;
+
+        void bind(PreparedStatement statement) throws SQLException;
+
+        void appendCsv(StringBuilder out);
+    }
+
+    /**
+     * Entrega ao {@code COPY} as linhas de uma partição em blocos de até
+     * {@code chunkRows} linhas, gerando o CSV de uma linha por vez à medida que
+     * o driver lê, em vez de montar o bloco inteiro em memória. Cada bloco
+     * termina com fim de arquivo; {@link #nextChunk()} inicia o seguinte.
+     */
+    private static final class CopyChunkReader extends Reader {
+        private final Partition partition;
+        private final int chunkRows;
+        private final StringBuilder line = new StringBuilder();
+        private int linePosition;
+        private int chunkRowCount;
+        private boolean started;
+        private boolean hasRow;
+        private long rows;
+
+        CopyChunkReader(Partition partition, int chunkRows) {
+            this.partition = partition;
+            this.chunkRows = chunkRows;
+        }
+
+        /**
+         * @return {@code false} se a partição não tiver mais linhas
+         */
+        boolean nextChunk() throws IOException {
+            if (!started) {
+                hasRow = partition.next();
+                started = true;
+            }
+            chunkRowCount = 0;
+            return hasRow;
+        }
+
+        @Override
+        public int read(char[] target, int offset, int length) throws IOException {
+            int read = 0;
+            while (read < length) {
+                if (linePosition == line.length()) {
+                    if (!hasRow || chunkRowCount == chunkRows) {
+                        break;
+                    }
+                    line.setLength(0);
+                    linePosition = 0;
+                    partition.appendCsv(line);
+                    line.append('\n');
+                    chunkRowCount++;
+                    rows++;
+                    hasRow = partition.next();
+                }
+                int count = Math.min(length - read, line.length() - linePosition);
+                line.getChars(linePosition, linePosition + count, target, offset + read);
+                linePosition += count;
+                read += count;
+            }
+            return read == 0 && length > 0 ? -1 : read;
+        }
+
+        @Override
+        public void close() {
+            // o driver fecha o leitor ao fim de cada bloco; a partição continua
+        }
+    }
+
+    /**
+     * Os lançamentos de um trimestre, lidos diretamente das colunas mapeadas.
+     */
+    private static final class SegmentPartition implements Partition {
+        private final AccountingStore store;
+        private final AccountingSegment segment;
+        private final IntBuffer dates;
+        private final IntBuffer operators;
+        private final LongBuffer accounts;
+        private final IntBuffer descriptionIds;
+        private final LongBuffer initialBalances;
+        private final LongBuffer finalBalances;
+        private int row = -1;
+
+        SegmentPartition(AccountingStore store, AccountingSegment segment) {
+            this.store = store;
+            this.segment = segment;
+            this.dates = segment.dates();
+            this.operators = segment.operatorIds();
+            this.accounts = segment.accountCodes();
+            this.descriptionIds = segment.descriptionIds();
+            this.initialBalances = segment.initialBalances();
+            this.finalBalances = segment.finalBalances();
+        }
+
+        @Override
+        public String name() {
+            return segment.getName();
+        }
+
+        @Override
+        public boolean next() {
+            return ++row < segment.getRowCount();
+        }
+
+        @Override
+        public void bind(PreparedStatement statement) throws SQLException {
+            statement.setDate(1, Date.valueOf(date()));
+            statement.setInt(2, operators.get(row));
+            statement.setLong(3, accounts.get(row));
+            statement.setString(4, store.getDescription(descriptionIds.get(row)));
+            statement.setBigDecimal(5, BigDecimal.valueOf(initialBalances.get(row), 2));
+            statement.setBigDecimal(6, BigDecimal.valueOf(finalBalances.get(row), 2));
+        }
+
+        @Override
+        public void appendCsv(StringBuilder out) {
+            out.append(date()).append(',')
+                    .append(operators.get(row)).append(',')
+                    .append(accounts.get(row)).append(',');
+            appendQuoted(out, store.getDescription(descriptionIds.get(row)));
+            out.append(',').append(BigDecimal.valueOf(initialBalances.get(row), 2).toPlainString())
+                    .append(',').append(BigDecimal.valueOf(finalBalances.get(row), 2).toPlainString());
+        }
+
+        private LocalDate date() {
+            int date = dates.get(row);
+            return LocalDate.of(date / 10_000, date / 100 % 100, date % 100);
+        }
+    }
+
+    /**
+     * As linhas de um CSV após o cabeçalho, lidas uma por vez; campos em branco
+     * são gravados como {@code NULL}.
+     */
+    private static final class CsvPartition implements Partition {
+        private final String name;
+        private final CsvReader reader;
+        private final int columns;
+        private final TableBuffer row = new TableBuffer();
+
+        CsvPartition(String name, CsvReader reader, int columns) {
+            this.name = name;
+            this.reader = reader;
+            this.columns = columns;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            row.clear();
+            return reader.readRow(row);
+        }
+
+        @Override
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (int c = 0; c < columns; c++) {
+                String value = cell(c);
+                if (value == null) {
+                    statement.setNull(c + 1, Types.VARCHAR);
+                } else {
+                    statement.setString(c + 1, value);
+                }
+            }
+        }
+
+        @Override
+        public void appendCsv(StringBuilder out) {
+            for (int c = 0; c < columns; c++) {
+                if (c > 0) {
+                    out.append(',');
+                }
+                appendQuoted(out, cell(c));
+            }
+        }
+
+        private String cell(int column) {
+            if (column >= row.getCellCount(0) || row.isBlank(0, column)) {
+                return null;
+            }
+            return row.getCell(0, column);
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.exception.FileDownloadException;
+import com.kleberrhuan.intuitivecare.exception.PdfParseException;
+import com.kleberrhuan.intuitivecare.model.ExtractionOptions;
+import com.kleberrhuan.intuitivecare.model.FilelinkModel;
+import com.kleberrhuan.intuitivecare.model.PageRows;
+import com.kleberrhuan.intuitivecare.model.PipelineOptions;
+import com.kleberrhuan.intuitivecare.model.PipelineResult;
+import com.kleberrhuan.intuitivecare.model.ScrappingRequest;
+import com.kleberrhuan.intuitivecare.model.StageTiming;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.AbbreviationEngine;
+import com.kleberrhuan.intuitivecare.util.CsvWriter;
+import com.kleberrhuan.intuitivecare.util.HttpDownloader;
+import com.kleberrhuan.intuitivecare.util.PdfPageStreamer;
+import com.kleberrhuan.intuitivecare.util.ZipManager;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import com.kleberrhuan.intuitivecare.util.interfaces.Archiver;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fluxo completo (requisitos 1 e 2) executado em pipeline: scraping → download
+ * → extração das tabelas → substituição de abreviações → escrita do CSV →
+ * compactação.
+ * <p>
+ * As etapas rodam simultaneamente, cada uma no seu executor, e trocam páginas
+ * por filas limitadas ({@link PipelineOptions#getQueueCapacity()}), de modo que
+ * uma etapa lenta segura as anteriores sem acumular o documento em memória. A
+ * extração começa assim que o Anexo I termina de baixar, enquanto os demais
+ * PDFs ainda estão em download, e lê o arquivo recém-gravado sem esperar o ZIP.
+ * <p>
+ * Os downloads usam um pool de I/O de {@link PipelineOptions#getDownloadThreads()}
+ * threads e baixam apenas os arquivos alterados no servidor desde a última
+ * cópia local ({@link HttpDownloader#downloadIfModified}); a extração usa os
+ * workers de CPU de {@link ExtractionOptions}; a substituição de abreviações e
+ * a escrita têm uma thread cada, pois dependem da ordem das páginas (o
+ * cabeçalho é detectado na primeira). O ZIP do CSV é gravado depois do ZIP dos
+ * PDFs, como no fluxo sequencial.
+ * <p>
+ * A falha de qualquer etapa interrompe as demais e é relançada por
+ * {@link #run(Path)}. Ao final, os tempos de cada etapa são registrados no log e
+ * retornados em {@link PipelineResult#stages()}.
+ */
+public class CompleteFlowService {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(CompleteFlowService.class);
+    private static final PageRows END = new PageRows(-1, null);
+
+    private final ScrappingRequest request;
+    private final ScrapperService scrapper;
+    private final PdfProcessingService pdfProcessor;
+    private final PipelineOptions options;
+    private final HttpDownloader downloader;
+    private final boolean ownsDownloader;
+    private final Archiver archiver = new ZipManager();
+
+    /**
+     * Cria o fluxo com o processamento de PDF e as opções de pipeline padrão.
+     *
+     * @param request página e arquivos a baixar
+     */
+    public CompleteFlowService(ScrappingRequest request) {
+        this(request, new PdfProcessingService(), PipelineOptions.defaults());
+    }
+
+    /**
+     * Cria o fluxo com um downloader próprio, encerrado ao fim de
+     * {@link #run(Path)}.
+     *
+     * @param request      página e arquivos a baixar
+     * @param pdfProcessor serviço cujas opções de extração, legenda de
+     *                     abreviações e formato de CSV são usados
+     * @param options      threads de download, capacidade das filas e nomes dos
+     *                     arquivos gerados
+     * @throws IllegalArgumentException se o número de downloads simultâneos ou
+     *                                  a capacidade das filas forem menores que 1
+     */
+    public CompleteFlowService(ScrappingRequest request, PdfProcessingService pdfProcessor, PipelineOptions options) {
+        this(request, pdfProcessor, options, new HttpDownloader(1), true);
+    }
+
+    /**
+     * Cria o fluxo com um downloader compartilhado (ex.: entre as
+     * sincronizações do modo daemon), usado também pelo scraping e que
+     * permanece ativo após {@link #run(Path)}.
+     *
+     * @param request      página e arquivos a baixar
+     * @param pdfProcessor serviço cujas opções de extração, legenda de
+     *                     abreviações e formato de CSV são usados
+     * @param options      threads de download, capacidade das filas e nomes dos
+     *                     arquivos gerados
+     * @param downloader   downloader usado pela etapa de download
+     * @throws IllegalArgumentException se o número de downloads simultâneos ou
+     *                                  a capacidade das filas forem menores que 1
+     */
+    public CompleteFlowService(ScrappingRequest request, PdfProcessingService pdfProcessor, PipelineOptions options,
+            HttpDownloader downloader) {
+        this(request, pdfProcessor, options, downloader, false);
+    }
+
+    private CompleteFlowService(ScrappingRequest request, PdfProcessingService pdfProcessor, PipelineOptions options,
+            HttpDownloader downloader, boolean ownsDownloader) {
+        if (options.getDownloadThreads() < 1) {
+            throw new IllegalArgumentException("O número de downloads simultâneos deve ser maior que zero.");
+        }
+        if (options.getQueueCapacity() < 1) {
+            throw new IllegalArgumentException("A capacidade das filas do pipeline deve ser maior que zero.");
+        }
+        this.request = request;
+        this.scrapper = new ScrapperService(request, downloader);
+        this.pdfProcessor = pdfProcessor;
+        this.options = options;
+        this.downloader = downloader;
+        this.ownsDownloader = ownsDownloader;
+    }
+
+    /**
+     * Executa o fluxo completo.
+     *
+     * @param outputDir diretório dos PDFs, do CSV e dos ZIPs
+     * @return o CSV gerado, os ZIPs e os tempos de cada etapa
+     * @throws FileDownloadException      se o PDF a extrair não for encontrado
+     *                                    na página ou um download falhar
+     * @throws PdfParseException          se a extração ou a escrita do CSV
+     *                                    falharem
+     */
+    public PipelineResult run(Path outputDir) {
+        long start = System.nanoTime();
+        ExtractionOptions extractionOptions = pdfProcessor.getExtractionOptions();
+        Stage scraping = new Stage("scraping", 1);
+        Stage downloading = new Stage("download", options.getDownloadThreads());
+        Stage extracting = new Stage("extração", extractionOptions.getWorkers());
+        Stage mapping = new Stage("abreviações", 1);
+        Stage writing = new Stage("escrita do CSV", 1);
+        Stage archiving = new Stage("compactação", 1);
+
+        ExecutorService downloadExecutor = Executors.newFixedThreadPool(options.getDownloadThreads());
+        ExecutorService extractionExecutor = Executors.newSingleThreadExecutor();
+        ExecutorService mappingExecutor = Executors.newSingleThreadExecutor();
+        ExecutorService writingExecutor = Executors.newSingleThreadExecutor();
+        ExecutorService archivingExecutor = Executors.newSingleThreadExecutor();
+        Tasks tasks = new Tasks();
+        try {
+            DirectoryHelper.createDirectoryIfNotExists(outputDir);
+            long began = scraping.begin();
+            List<FilelinkModel> links = scrapper.findFileLinks();
+            scraping.end(began, links.size());
+            FilelinkModel annexLink = links.stream()
+                    .filter(link -> link.name().equals(options.getExtractFileName()))
+                    .filter(link -> link.url() != null && !link.url().isBlank())
+                    .findFirst()
+                    .orElseThrow(() -> new FileDownloadException(
+                            "Link do arquivo " + options.getExtractFileName() + " não encontrado em " + request.getUrl()));
+
+            List<Future<Path>> downloads = new ArrayList<>(links.size());
+            Future<Path> annexDownload = null;
+            for (FilelinkModel link : links) {
+                Future<Path> download = tasks.submit(downloadExecutor, () -> download(link, outputDir, downloading));
+                downloads.add(download);
+                if (link == annexLink) {
+                    annexDownload = download;
+                }
+            }
+
+            BlockingQueue<PageRows> extracted = new ArrayBlockingQueue<>(options.getQueueCapacity());
+            BlockingQueue<PageRows> mapped = new ArrayBlockingQueue<>(options.getQueueCapacity());
+            Path csvPath = outputDir.resolve(options.getCsvFileName());
+            Future<Path> annexPdf = annexDownload;
+            tasks.submit(extractionExecutor, () -> extract(annexPdf.get(), extractionOptions, extracted, extracting));
+            tasks.submit(mappingExecutor, () -> map(extracted, mapped, mapping));
+            Future<CsvOutput> csv = tasks.submit(writingExecutor,
+                    () -> write(mapped, csvPath, extractionOptions, writing));
+            Future<List<Path>> archives = tasks.submit(archivingExecutor,
+                    () -> archive(downloads, csv, outputDir, archiving));
+
+            tasks.await();
+            CsvOutput output = csv.get();
+            PipelineResult result = new PipelineResult(csvPath, output.pages(), output.rows(), archives.get(),
+                    List.of(scraping.timing(start), downloading.timing(start), extracting.timing(start),
+                            mapping.timing(start), writing.timing(start), archiving.timing(start)),
+                    (System.nanoTime() - start) / 1_000_000);
+            logSummary(result);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tasks.abort(e);
+            throw new PdfParseException("Fluxo completo interrompido", e);
+        } catch (ExecutionException e) {
+            throw new PdfParseException("Falha no fluxo completo", e.getCause());
+        } catch (IOException e) {
+            throw new PdfParseException("Erro ao preparar o diretório de saída: " + outputDir, e);
+        } finally {
+            downloadExecutor.shutdownNow();
+            extractionExecutor.shutdownNow();
+            mappingExecutor.shutdownNow();
+            writingExecutor.shutdownNow();
+            archivingExecutor.shutdownNow();
+            if (ownsDownloader) {
+                downloader.shutdown();
+            }
+        }
+    }
+
+    private Path download(FilelinkModel link, Path outputDir, Stage stage) throws IOException {
+        if (link.url() == null || link.url().isBlank()) {
+            LOGGER.warn("Link não encontrado para o arquivo: {}", link.name());
+            return null;
+        }
+        long began = stage.begin();
+        boolean downloaded = downloader.downloadIfModified(link, outputDir);
+        stage.end(began, 1);
+        if (downloaded) {
+            LOGGER.info("Arquivo baixado: {}", link.name());
+        } else {
+            LOGGER.info("Arquivo inalterado desde o último download: {}", link.name());
+        }
+        return outputDir.resolve(link.name());
+    }
+
+    /**
+     * Etapa de extração: publica as páginas do PDF na ordem do documento.
+     */
+    private Void extract(Path pdf, ExtractionOptions extractionOptions, BlockingQueue<PageRows> out, Stage stage)
+            throws IOException, InterruptedException {
+        LOGGER.info("Iniciando a extração de {} (motor: {})", pdf.getFileName(), extractionOptions.getEngine().getId());
+        try (PdfPageStreamer streamer = new PdfPageStreamer(pdf, extractionOptions,
+                pdfProcessor.pageCache(extractionOptions)).start()) {
+            while (true) {
+                long began = stage.begin();
+                PageRows page = streamer.next();
+                if (page == null) {
+                    break;
+                }
+                stage.end(began, 1);
+                out.put(page);
+            }
+        }
+        out.put(END);
+        return null;
+    }
+
+    /**
+     * Etapa de substituição de abreviações: descarta as linhas em branco e os
+     * cabeçalhos repetidos e aplica a legenda às demais.
+     */
+    private Void map(BlockingQueue<PageRows> in, BlockingQueue<PageRows> out, Stage stage)
+            throws InterruptedException {
+        AbbreviationEngine abbreviations = pdfProcessor.newAbbreviationEngine();
+        TableBuffer header = null;
+        PageRows page;
+        while ((page = in.take()) != END) {
+            long began = stage.begin();
+            TableBuffer rows = new TableBuffer();
+            TableBuffer.Cursor row = page.rows().cursor();
+            while (row.next()) {
+                if (row.isRowBlank()) {
+                    continue;
+                }
+                if (header == null) {
+                    header = new TableBuffer();
+                    row.copyTo(header);
+                    abbreviations.bindHeader(row);
+                } else if (row.rowEquals(header, 0)) {
+                    continue;
+                }
+                abbreviations.apply(row);
+                row.copyTo(rows);
+            }
+            stage.end(began, 1);
+            out.put(new PageRows(page.pageNumber(), rows));
+        }
+        out.put(END);
+        return null;
+    }
+
+    /**
+     * Etapa de escrita: grava as páginas no CSV e, ao final, aplica a ordenação
+     * e gera os formatos de saída configurados.
+     */
+    private CsvOutput write(BlockingQueue<PageRows> in, Path csvPath, ExtractionOptions extractionOptions,
+            Stage stage) throws IOException, InterruptedException {
+        int pages = 0;
+        int rows = 0;
+        try (CsvWriter writer = CsvWriter.open(csvPath, pdfProcessor.getCsvOptions())) {
+            PageRows page;
+            while ((page = in.take()) != END) {
+                long began = stage.begin();
+                TableBuffer.Cursor row = page.rows().cursor();
+                while (row.next()) {
+                    writer.writeRow(row);
+                    rows++;
+                }
+                pages++;
+                stage.end(began, 1);
+            }
+        }
+        long began = stage.begin();
+        rows = pdfProcessor.sortRows(csvPath, extractionOptions, pages, rows);
+        List<Path> files = pdfProcessor.writeOutputs(csvPath, extractionOptions.getOutputFormat());
+        stage.end(began, 0);
+        LOGGER.info("Arquivo CSV gerado: {} ({} linhas de {} páginas)", csvPath, rows, pages);
+        return new CsvOutput(files, pages, rows);
+    }
+
+    /**
+     * Etapa de compactação: grava o ZIP dos PDFs assim que todos os downloads
+     * terminam e, depois, o ZIP do CSV.
+     */
+    private List<Path> archive(List<Future<Path>> downloads, Future<CsvOutput> csv, Path outputDir, Stage stage)
+            throws IOException, InterruptedException, ExecutionException {
+        List<Path> pdfs = new ArrayList<>();
+        for (Future<Path> download : downloads) {
+            Path pdf = download.get();
+            if (pdf != null) {
+                pdfs.add(pdf);
+            }
+        }
+        long began = stage.begin();
+        archiver.archiveFiles(pdfs, outputDir, options.getPdfArchiveName());
+        stage.end(began, 1);
+
+        List<Path> csvFiles = csv.get().files();
+        began = stage.begin();
+        archiver.archiveFiles(csvFiles, outputDir, options.getCsvArchiveName());
+        stage.end(began, 1);
+        return List.of(outputDir.resolve(DirectoryHelper.getZipFileName(options.getPdfArchiveName())),
+                outputDir.resolve(DirectoryHelper.getZipFileName(options.getCsvArchiveName())));
+    }
+
+    private void logSummary(PipelineResult result) {
+        LOGGER.info("Fluxo completo concluído em {} ms: {} páginas, {} linhas", result.elapsedMillis(),
+                result.pages(), result.rows());
+        for (StageTiming stage : result.stages()) {
+            LOGGER.info("Etapa {}: {} itens, de {} ms a {} ms, {} ms de trabalho ({} threads)", stage.stage(),
+                    stage.items(), stage.startMillis(), stage.endMillis(), stage.busyMillis(), stage.threads());
+        }
+    }
+
+    /**
+     * Arquivos gerados pela etapa de escrita e suas quantidades.
+     */
+    private record CsvOutput(List<Path> files, int pages, int rows) {
+    }
+
+    /**
+     * Tarefas das etapas: a primeira falha cancela (e interrompe) todas as
+     * demais, liberando as etapas bloqueadas nas filas.
+     */
+    private static final class Tasks {
+        private final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        <T> Future<T> submit(ExecutorService executor, Callable<T> task) {
+            Future<T> future = executor.submit(() -> {
+                try {
+                    return task.call();
+                } catch (Exception e) {
+                    abort(e);
+                    throw e;
+                }
+            });
+            futures.add(future);
+            if (failure.get() != null) {
+                future.cancel(true);
+            }
+            return future;
+        }
+
+        void abort(Throwable cause) {
+            if (failure.compareAndSet(null, cause)) {
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+
+        /**
+         * Aguarda todas as tarefas e relança a primeira falha.
+         */
+        void await() throws InterruptedException {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException | CancellationException e) {
+                    // a causa é a primeira falha registrada
+                }
+            }
+            Throwable cause = failure.get();
+            if (cause instanceof ExecutionException wrapped && wrapped.getCause() != null) {
+                cause = wrapped.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause != null) {
+                throw new PdfParseException("Falha no fluxo completo", cause);
+            }
+        }
+    }
+
+    /**
+     * Tempos de uma etapa, acumulados pelas threads que a executam.
+     */
+    private static final class Stage {
+        private final String name;
+        private final int threads;
+        private final AtomicLong items = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+        Stage(String name, int threads) {
+            this.name = name;
+            this.threads = threads;
+        }
+
+        long begin() {
+            long now = System.nanoTime();
+            firstStart.accumulateAndGet(now, Math::min);
+            return now;
+        }
+
+        void end(long began, int count) {
+            long now = System.nanoTime();
+            busyNanos.addAndGet(now - began);
+            items.addAndGet(count);
+            lastEnd.accumulateAndGet(now, Math::max);
+        }
+
+        StageTiming timing(long origin) {
+            boolean started = firstStart.get() != Long.MAX_VALUE;
+            long startMillis = started ? (firstStart.get() - origin) / 1_000_000 : 0;
+            long endMillis = lastEnd.get() != Long.MIN_VALUE ? (lastEnd.get() - origin) / 1_000_000 : startMillis;
+            return new StageTiming(name, threads, items.get(), startMillis, endMillis,
+                    busyNanos.get() / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.model.ExpenseQuery;
+import com.kleberrhuan.intuitivecare.model.Operator;
+import com.kleberrhuan.intuitivecare.model.OperatorExpense;
+import com.kleberrhuan.intuitivecare.model.OperatorExpenseReport;
+import com.kleberrhuan.intuitivecare.model.OperatorRegistry;
+import com.kleberrhuan.intuitivecare.store.AccountingSegment;
+import com.kleberrhuan.intuitivecare.store.AccountingStore;
+import com.kleberrhuan.intuitivecare.util.IntHashJoin;
+import com.kleberrhuan.intuitivecare.util.IntLongHashMap;
+import com.kleberrhuan.intuitivecare.util.helpers.AccountCodeHelper;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Pattern;
+
+/**
+ * Consultas analíticas sobre o {@link AccountingStore}, sem banco de dados
+ * externo: as operadoras com as maiores despesas em uma conta e período (como
+ * as perguntas do teste 3 sobre "EVENTOS/ SINISTROS CONHECIDOS OU AVISADOS").
+ * <p>
+ * As colunas mapeadas de cada segmento são divididas em trechos agregados em
+ * paralelo por um {@link ForkJoinPool}; cada tarefa soma a variação de saldo
+ * por operadora em um mapa de inteiros primitivos, e os mapas parciais são
+ * combinados ao fim das subtarefas. As N maiores operadoras são selecionadas
+ * com um heap limitado a N elementos.
+ * <p>
+ * Os CSVs da ANS trazem todos os níveis do plano de contas (4, 41, 411, 4111,
+ * ...) e o saldo de cada conta já inclui o das suas subcontas. Por isso as
+ * somas são separadas por nível da conta e, para cada operadora, apenas o
+ * nível mais alto (código mais curto) entre os seus lançamentos aceitos entra
+ * no ranking; caso contrário, um filtro que aceite uma conta e suas subcontas
+ * contaria a mesma despesa mais de uma vez. O nível é escolhido por operadora
+ * para que uma operadora que informe apenas subcontas continue no ranking.
+ */
+public class ExpenseAnalyticsService {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(ExpenseAnalyticsService.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}");
+
+    /** Ordem crescente de despesa; no empate, o menor registro ANS vem por último. */
+    private static final Comparator<OperatorExpense> ASCENDING = Comparator
+            .comparingLong(OperatorExpense::amountCents)
+            .thenComparing(OperatorExpense::operatorId, Comparator.reverseOrder());
+
+    private final AccountingStore store;
+
+    /**
+     * @param store armazenamento consultado
+     */
+    public ExpenseAnalyticsService(AccountingStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Retorna as operadoras com as maiores despesas que atendem à consulta.
+     *
+     * @param query filtros, quantidade de operadoras e paralelismo
+     * @return as operadoras em ordem decrescente de despesa
+     */
+    public List<OperatorExpense> topOperators(ExpenseQuery query) {
+        if (query.getLimit() <= 0) {
+            throw new IllegalArgumentException("A quantidade de operadoras deve ser positiva: " + query.getLimit());
+        }
+        long start = System.nanoTime();
+        List<AccountingSegment> segments = store.getSegments();
+        Filter filter = new Filter(
+                query.getFromDate() == null ? 0 : toDateKey(query.getFromDate()),
+                query.getToDate() == null ? Integer.MAX_VALUE : toDateKey(query.getToDate()),
+                accountCodes(query),
+                matchingDescriptions(query.getDescription()));
+
+        List<AggregateTask> tasks = new ArrayList<>();
+        long rows = 0;
+        for (AccountingSegment segment : segments) {
+            if (segment.getRowCount() == 0 || segment.getLastDate() < filter.fromDate()
+                    || segment.getFirstDate() > filter.toDate()) {
+                continue;
+            }
+            tasks.add(new AggregateTask(segment, 0, segment.getRowCount(), filter,
+                    Math.max(1, query.getChunkRows())));
+            rows += segment.getRowCount();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, query.getParallelism()));
+        LevelTotals levels;
+        try {
+            levels = pool.invoke(ForkJoinTask.adapt(() -> {
+                ForkJoinTask.invokeAll(tasks);
+                LevelTotals merged = new LevelTotals();
+                for (AggregateTask task : tasks) {
+                    merged.addAll(task.join());
+                }
+                return merged;
+            }));
+        } finally {
+            pool.shutdown();
+        }
+
+        IntLongHashMap totals = levels.topLevelPerOperator();
+        List<OperatorExpense> top = top(totals, query.getLimit());
+        LOGGER.info("Consulta de despesas: {} lançamentos em {} segmentos, {} operadoras em {} ms", rows,
+                tasks.size(), totals.size(), (System.nanoTime() - start) / 1_000_000);
+        return top;
+    }
+
+    /**
+     * Acrescenta os dados cadastrais às despesas de um ranking, juntando os
+     * registros ANS com o cadastro de operadoras (a tabela é construída sobre o
+     * menor dos dois lados).
+     *
+     * @param expenses despesas, como retornadas por {@link #topOperators}
+     * @param registry cadastro de operadoras
+     * @return as despesas na mesma ordem, com a operadora de cada uma (ou
+     *         {@code null} se ela não constar do cadastro)
+     */
+    public static List<OperatorExpenseReport> withRegistry(List<OperatorExpense> expenses,
+            OperatorRegistry registry) {
+        int[] operatorIds = new int[expenses.size()];
+        for (int i = 0; i < operatorIds.length; i++) {
+            operatorIds[i] = expenses.get(i).operatorId();
+        }
+        Operator[] operators = new Operator[operatorIds.length];
+        IntHashJoin.join(operatorIds, registry.getOperatorIds(),
+                (expense, registryRow) -> operators[expense] = registry.get(registryRow));
+
+        List<OperatorExpenseReport> reports = new ArrayList<>(expenses.size());
+        for (int i = 0; i < operatorIds.length; i++) {
+            reports.add(new OperatorExpenseReport(expenses.get(i), operators[i]));
+        }
+        return reports;
+    }
+
+    /**
+     * @return a data mais recente do armazenamento, ou {@code null} se ele
+     *         estiver vazio
+     */
+    public LocalDate getLatestDate() {
+        int latest = 0;
+        for (AccountingSegment segment : store.getSegments()) {
+            latest = Math.max(latest, segment.getLastDate());
+        }
+        return latest == 0 ? null : LocalDate.of(latest / 10_000, latest / 100 % 100, latest % 100);
+    }
+
+    /**
+     * Calcula o início de um período de trimestres completos terminado na data
+     * informada (por exemplo, {@code 1} para o último trimestre e {@code 4} para
+     * o último ano).
+     *
+     * @param latest   data final do período
+     * @param quarters quantidade de trimestres
+     * @return o primeiro dia do trimestre mais antigo do período
+     */
+    public static LocalDate firstDayOfQuarters(LocalDate latest, int quarters) {
+        LocalDate quarterStart = latest.withDayOfMonth(1).withMonth((latest.getMonthValue() - 1) / 3 * 3 + 1);
+        return quarterStart.minusMonths(3L * (Math.max(1, quarters) - 1));
+    }
+
+    /**
+     * Seleciona as {@code limit} maiores despesas com um heap mínimo limitado.
+     */
+    static List<OperatorExpense> top(IntLongHashMap totals, int limit) {
+        PriorityQueue<OperatorExpense> heap = new PriorityQueue<>(limit + 1, ASCENDING);
+        totals.forEach((operatorId, amount) -> {
+            if (heap.size() < limit) {
+                heap.add(new OperatorExpense(operatorId, amount));
+            } else if (amount >= heap.peek().amountCents()) {
+                OperatorExpense candidate = new OperatorExpense(operatorId, amount);
+                if (ASCENDING.compare(candidate, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(candidate);
+                }
+            }
+        });
+        List<OperatorExpense> result = new ArrayList<>(heap);
+        result.sort(ASCENDING.reversed());
+        return result;
+    }
+
+    /**
+     * Normaliza um texto para comparação: sem acentos, em maiúsculas e com
+     * espaços repetidos reduzidos a um.
+     */
+    static String normalize(String text) {
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(stripped).replaceAll(" ").strip().toUpperCase(Locale.ROOT);
+    }
+
+    private static long[] accountCodes(ExpenseQuery query) {
+        if (query.getAccountCodes() == null || query.getAccountCodes().isEmpty()) {
+            return null;
+        }
+        long[] codes = query.getAccountCodes().stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(codes);
+        return codes;
+    }
+
+    /**
+     * Marca, por código do dicionário, as descrições que contêm o trecho
+     * procurado. O dicionário tem poucas centenas de entradas, então a
+     * comparação de textos é feita uma vez por consulta, e não por lançamento.
+     */
+    private boolean[] matchingDescriptions(String description) {
+        if (description == null || description.isBlank()) {
+            return null;
+        }
+        String needle = normalize(description);
+        boolean[] matches = new boolean[store.getDescriptionCount()];
+        for (int id = 0; id < matches.length; id++) {
+            matches[id] = normalize(store.getDescription(id)).contains(needle);
+        }
+        return matches;
+    }
+
+    private static int toDateKey(LocalDate date) {
+        return date.getYear() * 10_000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
+    /**
+     * Filtros resolvidos de uma consulta.
+     *
+     * @param fromDate     menor data aceita ({@code AAAAMMDD})
+     * @param toDate       maior data aceita ({@code AAAAMMDD})
+     * @param accountCodes contas aceitas, ordenadas, ou {@code null} para todas
+     * @param descriptions descrições aceitas por código, ou {@code null} para
+     *                     todas
+     */
+    private record Filter(int fromDate, int toDate, long[] accountCodes, boolean[] descriptions) {
+    }
+
+    /**
+     * Somas por operadora separadas pelo nível da conta (quantidade de dígitos
+     * do código).
+     */
+    private static final class LevelTotals {
+        private static final int MAX_LEVEL = 19;
+        private final IntLongHashMap[] byLevel = new IntLongHashMap[MAX_LEVEL + 1];
+
+        void add(long accountCode, int operatorId, long amount) {
+            int level = AccountCodeHelper.accountLevel(accountCode);
+            IntLongHashMap totals = byLevel[level];
+            if (totals == null) {
+                totals = byLevel[level] = new IntLongHashMap();
+            }
+            totals.add(operatorId, amount);
+        }
+
+        /**
+         * Acrescenta as somas de outro acumulador, reaproveitando o maior mapa de
+         * cada nível.
+         */
+        void addAll(LevelTotals other) {
+            for (int level = 1; level <= MAX_LEVEL; level++) {
+                IntLongHashMap mine = byLevel[level];
+                IntLongHashMap theirs = other.byLevel[level];
+                if (theirs == null) {
+                    continue;
+                }
+                if (mine == null) {
+                    byLevel[level] = theirs;
+                } else if (mine.size() >= theirs.size()) {
+                    mine.addAll(theirs);
+                } else {
+                    theirs.addAll(mine);
+                    byLevel[level] = theirs;
+                }
+            }
+        }
+
+        /**
+         * Retorna, para cada operadora, a soma do nível mais alto (menor
+         * quantidade de dígitos) em que ela tem algum lançamento.
+         */
+        IntLongHashMap topLevelPerOperator() {
+            IntLongHashMap totals = new IntLongHashMap();
+            for (int level = 1; level <= MAX_LEVEL; level++) {
+                if (byLevel[level] != null) {
+                    byLevel[level].forEach((operatorId, amount) -> {
+                        if (!totals.containsKey(operatorId)) {
+                            totals.put(operatorId, amount);
+                        }
+                    });
+                }
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * Soma as despesas por operadora e nível de conta em um intervalo de linhas
+     * de um segmento, dividindo-o ao meio enquanto for maior que o trecho
+     * configurado.
+     */
+    private static final class AggregateTask extends RecursiveTask<LevelTotals> {
+        private final AccountingSegment segment;
+        private final int from;
+        private final int to;
+        private final Filter filter;
+        private final int chunkRows;
+
+        AggregateTask(AccountingSegment segment, int from, int to, Filter filter, int chunkRows) {
+            this.segment = segment;
+            this.from = from;
+            this.to = to;
+            this.filter = filter;
+            this.chunkRows = chunkRows;
+        }
+
+        @Override
+        protected LevelTotals compute() {
+            if (to - from <= chunkRows) {
+                return scan();
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(segment, from, mid, filter, chunkRows);
+            left.fork();
+            LevelTotals right = new AggregateTask(segment, mid, to, filter, chunkRows).compute();
+            right.addAll(left.join());
+            return right;
+        }
+
+        private LevelTotals scan() {
+            IntBuffer dates = segment.dates();
+            IntBuffer operators = segment.operatorIds();
+            LongBuffer accounts = segment.accountCodes();
+            IntBuffer descriptionIds = segment.descriptionIds();
+            LongBuffer initialBalances = segment.initialBalances();
+            LongBuffer finalBalances = segment.finalBalances();
+            long[] accountCodes = filter.accountCodes();
+            boolean[] descriptions = filter.descriptions();
+
+            LevelTotals totals = new LevelTotals();
+            for (int i = from; i < to; i++) {
+                int date = dates.get(i);
+                if (date < filter.fromDate() || date > filter.toDate()) {
+                    continue;
+                }
+                if (accountCodes != null && Arrays.binarySearch(accountCodes, accounts.get(i)) < 0) {
+                    continue;
+                }
+                if (descriptions != null) {
+                    int id = descriptionIds.get(i);
+                    if (id >= descriptions.length || !descriptions[id]) {
+                        continue;
+                    }
+                }
+                totals.add(accounts.get(i), operators.get(i), finalBalances.get(i) - initialBalances.get(i));
+            }
+            return totals;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.kleberrhuan.intuitivecare.service;
 
+import com.kleberrhuan.intuitivecare.exception.FileDownloadException;
 import com.kleberrhuan.intuitivecare.model.FilelinkModel;
 import com.kleberrhuan.intuitivecare.util.HttpDownloader;
 import com.kleberrhuan.intuitivecare.util.ZipManager;
@@ -47,6 +48,27 @@ public class FileDownloaderService {
         }
     }
 
+    /**
+     * Realiza o download do cadastro de operadoras ativas (Relatório Cadop),
+     * usado para identificar as operadoras dos lançamentos contábeis pelo
+     * registro ANS. O arquivo só é baixado de novo se tiver mudado no servidor.
+     *
+     * @param registryUrl URL do CSV do cadastro
+     * @param outputDir   diretório local para salvar o arquivo
+     * @return o caminho do arquivo baixado
+     * @throws IOException se houver um erro ao criar o diretório ou baixar o
+     *                     arquivo
+     */
+    public Path downloadOperatorRegistry(String registryUrl, Path outputDir) throws IOException {
+        Path finalOutputDir = DirectoryHelper.createDirectoryIfNotExists(outputDir);
+        String fileName = registryUrl.substring(registryUrl.lastIndexOf('/') + 1);
+        LOGGER.info("Baixando cadastro de operadoras: {}", registryUrl);
+        if (!httpDownloader.downloadIfModified(new FilelinkModel(fileName, registryUrl), finalOutputDir)) {
+            LOGGER.info("Cadastro de operadoras inalterado desde o último download");
+        }
+        return finalOutputDir.resolve(fileName);
+    }
+
     /**
      * Recupera as pastas de anos da URL base configurada.
      *
@@ -70,7 +92,9 @@ public class FileDownloaderService {
 
     /**
      * Localiza todos os arquivos zip em uma determinada URL de pasta e faz o
-     * download em paralelo.
+     * download em paralelo. Arquivos que não mudaram no servidor desde o último
+     * download não são baixados de novo, e só são extraídos de novo se alguma
+     * das suas entradas estiver ausente ou com tamanho diferente.
      *
      * @param url       URL dos arquivos zip
      * @param outputDir diretório local para salvar os downloads
@@ -91,9 +115,16 @@ public class FileDownloaderService {
                 LOGGER.info("Baixando arquivo: {}", fileUrl);
                 try {
                     FilelinkModel fileLink = new FilelinkModel(fileHref, fileUrl);
-                    httpDownloader.downloadFile(fileLink, finalOutputDir);
-                    ZipManager.extractZip(finalOutputDir.resolve(fileHref), finalOutputDir);
-                } catch (IOException e) {
+                    Path zip = finalOutputDir.resolve(fileHref);
+                    if (httpDownloader.downloadIfModified(fileLink, finalOutputDir)) {
+                        ZipManager.extractZip(zip, finalOutputDir);
+                    } else if (!ZipManager.isExtracted(zip, finalOutputDir)) {
+                        LOGGER.info("Arquivo inalterado, mas com conteúdo extraído ausente; extraindo: {}", fileHref);
+                        ZipManager.extractZip(zip, finalOutputDir);
+                    } else {
+                        LOGGER.info("Arquivo inalterado desde o último download: {}", fileHref);
+                    }
+                } catch (IOException | FileDownloadException e) {
                     LOGGER.error("Falha ao baixar arquivo: {}", fileUrl, e);
                 }
             }
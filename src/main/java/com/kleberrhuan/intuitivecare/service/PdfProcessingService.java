@@ -1,27 +1,41 @@
 package com.kleberrhuan.intuitivecare.service;
 
 import com.kleberrhuan.intuitivecare.config.AppConfig;
+import com.kleberrhuan.intuitivecare.exception.AbbreviationLegendException;
 import com.kleberrhuan.intuitivecare.exception.PdfParseException;
+import com.kleberrhuan.intuitivecare.model.AbbreviationOptions;
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.DocumentSummary;
+import com.kleberrhuan.intuitivecare.model.ExtractionEngine;
+import com.kleberrhuan.intuitivecare.model.ExtractionOptions;
+import com.kleberrhuan.intuitivecare.model.OutputFormat;
+import com.kleberrhuan.intuitivecare.model.PageRows;
+import com.kleberrhuan.intuitivecare.model.RowSortOptions;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.AbbreviationDictionary;
+import com.kleberrhuan.intuitivecare.util.AbbreviationEngine;
+import com.kleberrhuan.intuitivecare.util.ColumnarWriter;
+import com.kleberrhuan.intuitivecare.util.CsvReader;
+import com.kleberrhuan.intuitivecare.util.CsvWriter;
+import com.kleberrhuan.intuitivecare.util.ExtractionCache;
+import com.kleberrhuan.intuitivecare.util.ExtractionCheckpoint;
+import com.kleberrhuan.intuitivecare.util.ExternalRowSorter;
+import com.kleberrhuan.intuitivecare.util.MemoryMonitor;
+import com.kleberrhuan.intuitivecare.util.PdfPageStreamer;
 import com.kleberrhuan.intuitivecare.util.interfaces.Archiver;
 import com.kleberrhuan.intuitivecare.util.ZipManager;
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
+import com.kleberrhuan.intuitivecare.util.helpers.HashHelper;
 import ch.qos.logback.classic.Logger;
 import org.slf4j.LoggerFactory;
-import technology.tabula.ObjectExtractor;
-import technology.tabula.Page;
-import technology.tabula.RectangularTextContainer;
-import technology.tabula.Table;
-import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
  * Serviço responsável pelo processamento de PDFs, extração de tabelas e
@@ -30,23 +44,112 @@ import java.util.stream.Collectors;
 public class PdfProcessingService {
     private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(PdfProcessingService.class);
 
-    private final Map<String, String> abbreviationMap;
+    private final AbbreviationDictionary abbreviationDictionary;
+    private final AbbreviationOptions abbreviationOptions;
     private final Archiver archiver = new ZipManager();
+    private final ExtractionOptions extractionOptions;
+    private final ExtractionCache extractionCache;
+    private final CsvOptions csvOptions;
+    private final String outputVersion;
 
     /**
-     * Construtor padrão que inicializa o mapeamento de abreviações a partir da
-     * configuração
+     * Construtor padrão que carrega a legenda de abreviações embutida e usa as
+     * opções padrão da configuração
      */
     public PdfProcessingService() {
-        abbreviationMap = new HashMap<>();
-        for (String[] mapping : AppConfig.ABBREVIATION_MAPPING) {
-            abbreviationMap.put(mapping[0], mapping[1]);
+        this(ExtractionOptions.defaults());
+    }
+
+    /**
+     * Cria o serviço definindo quantos workers podem extrair páginas em paralelo.
+     *
+     * @param extractionThreads número máximo de workers de extração (mínimo 1)
+     * @throws IllegalArgumentException se o número de workers for menor que 1
+     */
+    public PdfProcessingService(int extractionThreads) {
+        this(ExtractionOptions.builder().workers(extractionThreads).build());
+    }
+
+    /**
+     * Cria o serviço com as opções de extração informadas, usando o cache de
+     * extração padrão.
+     *
+     * @param extractionOptions parâmetros da extração
+     * @throws IllegalArgumentException se o número de workers for menor que 1
+     */
+    public PdfProcessingService(ExtractionOptions extractionOptions) {
+        this(extractionOptions,
+                new ExtractionCache(AppConfig.EXTRACTION_CACHE_DIR, extractionOptions.extractorId()));
+    }
+
+    /**
+     * Cria o serviço com opções de extração e cache de extração explícitos.
+     *
+     * @param extractionOptions parâmetros da extração
+     * @param extractionCache   cache persistente de resultados, ou
+     *                          {@link ExtractionCache#disabled()}
+     * @throws IllegalArgumentException se o número de workers for menor que 1
+     */
+    public PdfProcessingService(ExtractionOptions extractionOptions, ExtractionCache extractionCache) {
+        this(extractionOptions, extractionCache, AbbreviationOptions.defaults());
+    }
+
+    /**
+     * Cria o serviço com opções de extração, cache e substituição de abreviações
+     * explícitos.
+     *
+     * @param extractionOptions   parâmetros da extração
+     * @param extractionCache     cache persistente de resultados, ou
+     *                            {@link ExtractionCache#disabled()}
+     * @param abbreviationOptions legenda, modo e colunas da substituição de
+     *                            abreviações
+     * @throws IllegalArgumentException    se o número de workers for menor que 1
+     * @throws AbbreviationLegendException se a legenda não puder ser carregada
+     */
+    public PdfProcessingService(ExtractionOptions extractionOptions, ExtractionCache extractionCache,
+            AbbreviationOptions abbreviationOptions) {
+        this(extractionOptions, extractionCache, abbreviationOptions, CsvOptions.defaults());
+    }
+
+    /**
+     * Cria o serviço com todas as opções explícitas, incluindo o formato do CSV
+     * gerado.
+     *
+     * @param extractionOptions   parâmetros da extração
+     * @param extractionCache     cache persistente de resultados, ou
+     *                            {@link ExtractionCache#disabled()}
+     * @param abbreviationOptions legenda, modo e colunas da substituição de
+     *                            abreviações
+     * @param csvOptions          delimitador, aspas e terminador de linha do CSV
+     * @throws IllegalArgumentException    se o número de workers for menor que 1
+     * @throws AbbreviationLegendException se a legenda não puder ser carregada
+     */
+    public PdfProcessingService(ExtractionOptions extractionOptions, ExtractionCache extractionCache,
+            AbbreviationOptions abbreviationOptions, CsvOptions csvOptions) {
+        if (extractionOptions.getWorkers() < 1) {
+            throw new IllegalArgumentException("O número de workers de extração deve ser maior que zero.");
         }
+        this.extractionOptions = extractionOptions;
+        this.extractionCache = extractionCache;
+        this.abbreviationOptions = abbreviationOptions;
+        this.csvOptions = csvOptions;
+        this.abbreviationDictionary = abbreviationOptions.getLegendFile() != null
+                ? AbbreviationDictionary.load(abbreviationOptions.getLegendFile())
+                : AbbreviationDictionary.fromResource(AppConfig.ABBREVIATION_LEGEND_RESOURCE);
+        outputVersion = HashHelper.sha256(abbreviationDictionary.getVersion() + "|"
+                + abbreviationOptions.getMode() + "|" + abbreviationOptions.getColumns() + "|" + csvOptions.version());
     }
 
     /**
      * Orquestra o pipeline completo de processamento de PDF: extração de tabelas,
      * aplicação de mapeamento de abreviações, geração de arquivo CSV e compactação.
+     * <p>
+     * As etapas funcionam em fluxo: cada página extraída passa imediatamente pelo
+     * filtro de cabeçalho, pela substituição de abreviações e é gravada no CSV,
+     * sem acumular o documento inteiro em memória.
+     * <p>
+     * Se o mesmo PDF já foi processado com a mesma configuração, o CSV é obtido
+     * diretamente do cache de extração.
      *
      * @param pdfPath   Caminho para o arquivo PDF
      * @param csvOutput Caminho para o arquivo CSV gerado
@@ -54,19 +157,29 @@ public class PdfProcessingService {
      * @return Uma mensagem indicando sucesso ou falha
      */
     public String processPdf(Path pdfPath, Path csvOutput, Path zipOutput) {
-        try {
-            LOGGER.info("Iniciando processamento do PDF: {}", pdfPath);
-            List<List<String>> rows = extractTabularData(pdfPath);
-            LOGGER.info("Dados extraídos do PDF: {} linhas encontradas", rows.size());
-
-            applyAbbreviations(rows);
-            LOGGER.info("Abreviações substituídas com sucesso");
+        return processPdf(pdfPath, csvOutput, zipOutput, extractionOptions);
+    }
 
-            writeCsv(rows, csvOutput);
-            LOGGER.info("Arquivo CSV gerado: {}", csvOutput);
-            ;
+    /**
+     * Processa o PDF com opções de extração específicas para este documento,
+     * permitindo, por exemplo, escolher outro motor de extração.
+     * <p>
+     * Conforme {@link ExtractionOptions#getOutputFormat()}, o CSV convertido
+     * também é gravado (ou substituído) no formato colunar binário de
+     * {@link ColumnarWriter}, com o mesmo nome base, e compactado junto.
+     *
+     * @param pdfPath   Caminho para o arquivo PDF
+     * @param csvOutput Caminho para o arquivo CSV gerado
+     * @param zipOutput Caminho para o arquivo ZIP
+     * @param options   Parâmetros da extração deste documento
+     * @return Uma mensagem indicando sucesso ou falha
+     * @throws IllegalArgumentException se o número de workers for menor que 1
+     */
+    public String processPdf(Path pdfPath, Path csvOutput, Path zipOutput, ExtractionOptions options) {
+        convertToCsv(pdfPath, csvOutput, options);
+        try {
             archiver.archiveFiles(
-                    List.of(csvOutput),
+                    writeOutputs(csvOutput, options.getOutputFormat()),
                     zipOutput.getParent(),
                     zipOutput.getFileName().toString());
             LOGGER.info("Arquivo compactado gerado: {}", zipOutput);
@@ -79,104 +192,369 @@ public class PdfProcessingService {
     }
 
     /**
-     * Extrai dados tabulares estruturados de todas as páginas do PDF.
+     * Gera os formatos de saída solicitados a partir do CSV convertido.
      *
-     * @param pdfPath Caminho para o arquivo PDF
-     * @return Uma lista de linhas com valores de células
-     * @throws IOException Se a leitura ou análise do PDF falhar
-     */
-    private List<List<String>> extractTabularData(Path pdfPath) throws IOException {
-        List<List<String>> allRows = new ArrayList<>();
-        try (PDDocument document = Loader.loadPDF(pdfPath.toFile());
-                ObjectExtractor extractor = new ObjectExtractor(document)) {
-
-            SpreadsheetExtractionAlgorithm algorithm = new SpreadsheetExtractionAlgorithm();
-            int totalPages = document.getNumberOfPages();
-            List<String> header = null;
-
-            for (int i = 0; i < totalPages; i++) {
-                List<List<String>> pageRows = extractRowsFromPage(extractor, algorithm, i + 1);
-                for (List<String> cells : pageRows) {
-                    if (!cells.isEmpty() && !allCellsBlank(cells)) {
-                        if (header == null) {
-                            header = new ArrayList<>(cells);
-                            allRows.add(header);
-                        } else if (!cells.equals(header)) {
-                            allRows.add(cells);
-                        }
-                    }
-                }
-            }
+     * @return os arquivos a serem compactados
+     */
+    List<Path> writeOutputs(Path csvOutput, OutputFormat format) throws IOException {
+        if (!format.includesColumnar()) {
+            return List.of(csvOutput);
+        }
+        Path columnarOutput = getColumnarPath(csvOutput);
+        long rows = ColumnarWriter.convert(csvOutput, columnarOutput, csvOptions);
+        LOGGER.info("Arquivo colunar gerado: {} ({} linhas, {} bytes)", columnarOutput, rows,
+                Files.size(columnarOutput));
+        if (!format.includesCsv()) {
+            Files.delete(csvOutput);
+            return List.of(columnarOutput);
         }
-        return allRows;
+        return List.of(csvOutput, columnarOutput);
     }
 
-    private boolean allCellsBlank(List<String> cells) {
-        return cells.stream().allMatch(String::isBlank);
+    /**
+     * Retorna o caminho do arquivo colunar correspondente a um CSV: o mesmo nome
+     * base com a extensão {@link AppConfig#COLUMNAR_FILE_EXTENSION}.
+     *
+     * @param csvOutput caminho do CSV
+     * @return o caminho do arquivo colunar
+     */
+    public static Path getColumnarPath(Path csvOutput) {
+        String name = csvOutput.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String baseName = dot > 0 ? name.substring(0, dot) : name;
+        return csvOutput.resolveSibling(baseName + AppConfig.COLUMNAR_FILE_EXTENSION);
     }
 
-    private List<List<String>> extractRowsFromPage(ObjectExtractor extractor,
-            SpreadsheetExtractionAlgorithm algorithm,
-            int pageNumber) {
-        List<List<String>> rows = new ArrayList<>();
-        Page page = extractor.extract(pageNumber);
-        List<Table> tables = algorithm.extract(page);
+    /**
+     * Converte o PDF em CSV, sem compactar o resultado, reaproveitando o cache de
+     * extração quando o documento já foi processado com a mesma configuração.
+     *
+     * @param pdfPath   Caminho para o arquivo PDF
+     * @param csvOutput Caminho para o arquivo CSV gerado
+     * @param options   Parâmetros da extração deste documento
+     * @return o resumo do processamento do documento
+     * @throws IllegalArgumentException se o número de workers for menor que 1
+     * @throws PdfParseException        se a leitura do PDF ou a escrita do CSV
+     *                                  falhar
+     */
+    public DocumentSummary convertToCsv(Path pdfPath, Path csvOutput, ExtractionOptions options) {
+        if (options.getWorkers() < 1) {
+            throw new IllegalArgumentException("O número de workers de extração deve ser maior que zero.");
+        }
+        long start = System.nanoTime();
+        try {
+            LOGGER.info("Iniciando processamento do PDF: {} (motor: {})", pdfPath, options.getEngine().getId());
+            ExtractionCache cache = extractionCache.forExtractor(options.extractorId());
+            String pdfHash = cache.isEnabled() || options.isCheckpointEnabled() ? HashHelper.sha256(pdfPath) : null;
+            String documentKey = cache.isEnabled()
+                    ? cache.documentKey(pdfHash, outputVersion + "|" + options.getRowSort().version())
+                    : null;
+            Optional<Path> cachedCsv = cache.findDocument(documentKey);
 
-        for (Table table : tables) {
-            for (List<RectangularTextContainer> row : table.getRows()) {
-                rows.add(extractCellsFromRow(row));
+            ExtractionStats stats;
+            if (cachedCsv.isPresent()) {
+                Files.copy(cachedCsv.get(), csvOutput, StandardCopyOption.REPLACE_EXISTING);
+                LOGGER.info("PDF inalterado, CSV obtido do cache de extração: {}", cachedCsv.get());
+                stats = new ExtractionStats(-1, -1);
+            } else {
+                stats = extractToCsv(pdfPath, csvOutput, options, cache, checkpointFor(pdfHash, csvOutput, options));
+                if (options.getRowSort().isEnabled()) {
+                    stats = sortRows(csvOutput, options.getRowSort(), stats);
+                }
+                cache.storeDocument(documentKey, csvOutput);
             }
+            LOGGER.info("Arquivo CSV gerado: {}", csvOutput);
+
+            return new DocumentSummary(pdfPath, csvOutput, stats.pages(), stats.rows(),
+                    (System.nanoTime() - start) / 1_000_000, cachedCsv.isPresent(), null);
+        } catch (IOException e) {
+            LOGGER.error("Erro ao processar PDF: {}", e.getMessage(), e);
+            throw new PdfParseException("Erro no processamento do PDF", e);
         }
+    }
 
-        return rows;
+    /**
+     * Retorna o checkpoint de extração de um PDF com as opções informadas, por
+     * exemplo para inspecionar ou descartar uma extração interrompida.
+     *
+     * @param pdfPath   Caminho para o arquivo PDF
+     * @param csvOutput Caminho do CSV gerado a partir do PDF
+     * @param options   Parâmetros da extração
+     * @return o checkpoint do documento, ou {@link ExtractionCheckpoint#disabled()}
+     *         se as opções não gravam checkpoints
+     * @throws IOException se o PDF não puder ser lido
+     */
+    public ExtractionCheckpoint checkpointFor(Path pdfPath, Path csvOutput, ExtractionOptions options)
+            throws IOException {
+        return checkpointFor(options.isCheckpointEnabled() ? HashHelper.sha256(pdfPath) : null, csvOutput, options);
+    }
+
+    private ExtractionCheckpoint checkpointFor(String pdfHash, Path csvOutput, ExtractionOptions options) {
+        if (!options.isCheckpointEnabled()) {
+            return ExtractionCheckpoint.disabled();
+        }
+        return new ExtractionCheckpoint(options.getCheckpointDir(),
+                ExtractionCheckpoint.key(pdfHash, options.extractorId(), outputVersion, csvOutput));
+    }
+
+    /**
+     * Retorna as opções de extração usadas por padrão pelo serviço.
+     *
+     * @return as opções de extração
+     */
+    public ExtractionOptions getExtractionOptions() {
+        return extractionOptions;
+    }
+
+    /**
+     * Cria um motor de substituição de abreviações com a legenda e as opções do
+     * serviço. Cada motor deve ser usado por uma única thread.
+     *
+     * @return o motor de substituição
+     */
+    AbbreviationEngine newAbbreviationEngine() {
+        return new AbbreviationEngine(abbreviationDictionary, abbreviationOptions.getMode(),
+                abbreviationOptions.getColumns());
+    }
+
+    /**
+     * Retorna o cache de páginas do extrator configurado nas opções.
+     *
+     * @param options parâmetros da extração
+     * @return o cache de páginas do extrator
+     */
+    ExtractionCache pageCache(ExtractionOptions options) {
+        return extractionCache.forExtractor(options.extractorId());
+    }
+
+    CsvOptions getCsvOptions() {
+        return csvOptions;
     }
 
-    private List<String> extractCellsFromRow(List<RectangularTextContainer> row) {
-        return row.stream()
-                .map(RectangularTextContainer::getText)
-                .collect(Collectors.toCollection(ArrayList::new));
+    /**
+     * Aplica a um CSV gerado fora de {@link #convertToCsv} a ordenação de
+     * linhas configurada nas opções, se houver.
+     *
+     * @param csvPath CSV gerado, substituído pelo ordenado
+     * @param options parâmetros da extração
+     * @param pages   páginas lidas
+     * @param rows    linhas gravadas, incluindo o cabeçalho
+     * @return as linhas do CSV após a ordenação
+     * @throws IOException Se a leitura ou a escrita do CSV falhar
+     */
+    int sortRows(Path csvPath, ExtractionOptions options, int pages, int rows) throws IOException {
+        if (!options.getRowSort().isEnabled()) {
+            return rows;
+        }
+        return sortRows(csvPath, options.getRowSort(), new ExtractionStats(pages, rows)).rows();
     }
 
     /**
-     * Substitui abreviações específicas nas linhas extraídas usando o mapa
-     * predefinido.
+     * Executa a extração do PDF para CSV, registrando o pico de memória residente
+     * observado durante o processo.
      *
-     * @param rows Lista de linhas de tabela com texto de célula
+     * @param pdfPath Caminho para o arquivo PDF
+     * @param csvPath Caminho de saída para o arquivo CSV
+     * @param options Parâmetros da extração
+     * @param cache      Cache de páginas do extrator escolhido
+     * @param checkpoint Checkpoint para retomada da extração
+     * @return as quantidades de páginas lidas e de linhas gravadas
+     * @throws IOException Se a leitura do PDF ou a escrita do CSV falhar
      */
-    private void applyAbbreviations(List<List<String>> rows) {
-        for (List<String> row : rows) {
-            for (int i = 0; i < row.size(); i++) {
-                String cell = row.get(i);
-                if (cell != null) {
-                    String match = abbreviationMap.get(cell.toUpperCase());
-                    if (match != null) {
-                        row.set(i, match);
+    private ExtractionStats extractToCsv(Path pdfPath, Path csvPath, ExtractionOptions options,
+            ExtractionCache cache, ExtractionCheckpoint checkpoint) throws IOException {
+        MemoryMonitor memoryMonitor = MemoryMonitor.start(AppConfig.MEMORY_SAMPLING_INTERVAL_MS);
+        ExtractionStats stats;
+        try {
+            stats = streamTabularDataToCsv(pdfPath, csvPath, options, cache, checkpoint);
+        } finally {
+            memoryMonitor.close();
+        }
+        long peakMegabytes = memoryMonitor.getPeakBytes() / (1024 * 1024);
+        int concurrent = memoryMonitor.getMaxConcurrentMonitors();
+        if (concurrent > 1) {
+            LOGGER.info("Pico de memória residente do processo durante a extração de {}: {} MB "
+                    + "(compartilhado com até {} extrações simultâneas)", pdfPath.getFileName(), peakMegabytes,
+                    concurrent - 1);
+        } else {
+            LOGGER.info("Pico de memória residente do processo durante a extração de {}: {} MB",
+                    pdfPath.getFileName(), peakMegabytes);
+        }
+        LOGGER.info("Dados extraídos do PDF: {} linhas encontradas em {} páginas", stats.rows(), stats.pages());
+        return stats;
+    }
+
+    /**
+     * Extrai os dados tabulares de todas as páginas do PDF e os grava no CSV à
+     * medida que cada página fica disponível. A extração roda em paralelo com a
+     * escrita e é limitada por um buffer de páginas, bloqueando quando a escrita
+     * não acompanha o ritmo da extração.
+     * <p>
+     * Com o checkpoint habilitado, as linhas são gravadas no segmento do
+     * checkpoint, que é salvo a cada {@link ExtractionOptions#getCheckpointIntervalPages()}
+     * páginas e movido para o CSV final ao término. Se houver um checkpoint de
+     * uma execução interrompida, a extração continua a partir da página seguinte
+     * à última salva, com o cabeçalho já conhecido.
+     *
+     * @param pdfPath    Caminho para o arquivo PDF
+     * @param csvPath    Caminho de saída para o arquivo CSV
+     * @param options    Parâmetros da extração
+     * @param cache      Cache de páginas do extrator escolhido
+     * @param checkpoint Checkpoint para retomada da extração
+     * @return as quantidades de páginas lidas e de linhas gravadas, incluindo o
+     *         cabeçalho
+     * @throws IOException Se a leitura do PDF ou a escrita do CSV falhar
+     */
+    private ExtractionStats streamTabularDataToCsv(Path pdfPath, Path csvPath, ExtractionOptions options,
+            ExtractionCache cache, ExtractionCheckpoint checkpoint) throws IOException {
+        int pageCount = 0;
+        int rowCount = 0;
+        long segmentStart = 0;
+        TableBuffer header = null;
+        AbbreviationEngine abbreviations = newAbbreviationEngine();
+
+        Optional<ExtractionCheckpoint.State> resumed = checkpoint.load();
+        if (resumed.isPresent()) {
+            ExtractionCheckpoint.State state = resumed.get();
+            pageCount = state.lastPage();
+            rowCount = state.rowCount();
+            segmentStart = state.segmentBytes();
+            header = state.header();
+            if (header != null) {
+                TableBuffer.Cursor headerRow = header.cursor();
+                headerRow.next();
+                abbreviations.bindHeader(headerRow);
+            }
+            LOGGER.info("Retomando a extração de {} a partir da página {} ({} linhas já gravadas)",
+                    pdfPath.getFileName(), state.lastPage() + 1, state.rowCount());
+        }
+
+        FileChannel output = checkpoint.isEnabled()
+                ? checkpoint.openSegment(segmentStart)
+                : FileChannel.open(csvPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+        try (PdfPageStreamer streamer = new PdfPageStreamer(pdfPath, options, cache).start(pageCount + 1);
+                CsvWriter writer = new CsvWriter(output, csvOptions)) {
+
+            PageRows page;
+            while ((page = streamer.next()) != null) {
+                pageCount++;
+                TableBuffer.Cursor row = page.rows().cursor();
+                while (row.next()) {
+                    if (row.isRowBlank()) {
+                        continue;
                     }
+                    if (header == null) {
+                        header = new TableBuffer();
+                        row.copyTo(header);
+                        abbreviations.bindHeader(row);
+                    } else if (row.rowEquals(header, 0)) {
+                        continue;
+                    }
+                    abbreviations.apply(row);
+                    writer.writeRow(row);
+                    rowCount++;
+                }
+                if (checkpoint.isEnabled() && page.pageNumber() % options.getCheckpointIntervalPages() == 0) {
+                    writer.flush();
+                    output.force(false);
+                    checkpoint.save(new ExtractionCheckpoint.State(page.pageNumber(),
+                            segmentStart + writer.getBytesWritten(), rowCount, header));
                 }
             }
+            if (streamer.getCachedPages() > 0) {
+                LOGGER.info("{} páginas reaproveitadas do cache de extração", streamer.getCachedPages());
+            }
+            if (options.getEngine() == ExtractionEngine.TABULA && options.isTemplateMode()) {
+                LOGGER.info("Modo de template: {} páginas pelo template, {} pela detecção completa",
+                        streamer.getTemplatePages(), streamer.getFallbackPages());
+            }
+        } finally {
+            output.close();
         }
+        if (checkpoint.isEnabled()) {
+            checkpoint.complete(csvPath);
+        }
+        return new ExtractionStats(pageCount, rowCount);
     }
 
     /**
-     * Escreve os dados processados em um arquivo CSV usando valores separados por
-     * vírgula e entre aspas.
+     * Ordena as linhas de dados do CSV pelas colunas-chave, opcionalmente
+     * removendo as duplicadas, com ordenação externa de memória limitada. O
+     * cabeçalho permanece na primeira linha.
      *
-     * @param rows    As linhas de dados para escrever
-     * @param csvPath Caminho de saída para o arquivo CSV
-     * @throws IOException Se falhar ao escrever no arquivo
-     */
-    private void writeCsv(List<List<String>> rows, Path csvPath) throws IOException {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(csvPath.toFile(), false))) {
-            for (List<String> row : rows) {
-                String line = row.stream()
-                        .map(s -> s.replace("\"", "\"\""))
-                        .map(s -> "\"" + s + "\"")
-                        .collect(Collectors.joining(","));
-                writer.println(line);
+     * @param csvPath CSV gerado pela extração, substituído pelo ordenado
+     * @param sort    Parâmetros da ordenação
+     * @param stats   Quantidades da extração
+     * @return as quantidades atualizadas após a remoção de duplicatas
+     * @throws IOException Se a leitura ou a escrita do CSV falhar
+     */
+    private ExtractionStats sortRows(Path csvPath, RowSortOptions sort, ExtractionStats stats) throws IOException {
+        Path sortedPath = Files.createTempFile(csvPath.toAbsolutePath().getParent(),
+                csvPath.getFileName().toString(), ".sorted");
+        try {
+            long rowsOut;
+            try (CsvReader reader = CsvReader.open(csvPath, csvOptions);
+                    CsvWriter writer = CsvWriter.open(sortedPath, csvOptions)) {
+                TableBuffer rows = new TableBuffer();
+                if (!reader.readRow(rows)) {
+                    return stats;
+                }
+                TableBuffer.Cursor row = rows.cursor();
+                row.next();
+                writer.writeRow(row);
+                int[] keyColumns = resolveColumns(row, sort.getKeyColumns());
+
+                try (ExternalRowSorter sorter = new ExternalRowSorter(keyColumns, sort.isDeduplicate(),
+                        sort.getMemoryBudgetBytes(), sort.getSpillDir())) {
+                    while (true) {
+                        rows.clear();
+                        if (!reader.readRow(rows)) {
+                            break;
+                        }
+                        row.reset();
+                        row.next();
+                        sorter.add(row);
+                    }
+                    sorter.finish(writer::writeRow);
+                    rowsOut = sorter.getRowsOut();
+                    LOGGER.info("Linhas ordenadas por {}: {} recebidas, {} duplicadas removidas, "
+                            + "{} sequências em disco", sort.getKeyColumns(), sorter.getRowsIn(), sorter.getRowsIn() - rowsOut,
+                            sorter.getSpilledRuns());
+                }
             }
+            Files.move(sortedPath, csvPath, StandardCopyOption.REPLACE_EXISTING);
+            return new ExtractionStats(stats.pages(), (int) rowsOut + 1);
+        } finally {
+            Files.deleteIfExists(sortedPath);
         }
     }
 
+    private static int[] resolveColumns(TableBuffer.Cursor header, List<String> names) {
+        int[] columns = new int[names.size()];
+        int count = 0;
+        for (String name : names) {
+            int found = -1;
+            for (int c = 0; c < header.getCellCount() && found < 0; c++) {
+                if (header.cellEqualsIgnoreCase(c, name)) {
+                    found = c;
+                }
+            }
+            if (found < 0) {
+                LOGGER.warn("Coluna de ordenação não encontrada no cabeçalho: {}", name);
+            } else {
+                columns[count++] = found;
+            }
+        }
+        return Arrays.copyOf(columns, count);
+    }
+
+    /**
+     * Quantidades de páginas lidas e de linhas gravadas em uma extração.
+     */
+    private record ExtractionStats(int pages, int rows) {
+    }
+
     /**
      * Ponto de entrada para testes manuais e desenvolvimento.
      */
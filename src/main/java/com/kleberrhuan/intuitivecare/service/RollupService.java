@@ -0,0 +1,306 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import com.kleberrhuan.intuitivecare.model.Rollup;
+import com.kleberrhuan.intuitivecare.model.RollupEntry;
+import com.kleberrhuan.intuitivecare.store.AccountingSegment;
+import com.kleberrhuan.intuitivecare.store.AccountingStore;
+import com.kleberrhuan.intuitivecare.store.RollupStore;
+import com.kleberrhuan.intuitivecare.util.helpers.AccountCodeHelper;
+import com.kleberrhuan.intuitivecare.util.helpers.HashHelper;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Agregados materializados das demonstrações contábeis, atualizados
+ * incrementalmente a cada novo trimestre.
+ * <p>
+ * São mantidas duas famílias de partições, ambas por operadora e grupo de
+ * contas (o prefixo do código da conta com {@link #getGroupDigits()} dígitos):
+ * uma por trimestre, calculada a partir das colunas do segmento, e uma por ano,
+ * obtida somando os agregados dos trimestres do ano. Cada partição guarda a
+ * versão dos dados de origem: o hash do CSV do trimestre ou, para os anos, o
+ * hash das versões dos seus trimestres. {@link #refresh()} recalcula apenas as
+ * partições cuja versão mudou, então a chegada de um trimestre novo (ou de um
+ * ZIP alterado) recalcula esse trimestre e o seu ano, e um download repetido
+ * com o mesmo conteúdo não recalcula nada.
+ * <p>
+ * Os CSVs trazem todos os níveis do plano de contas (4, 41, 411, 4111, ...) e o
+ * saldo de uma conta já inclui o das suas subcontas. Para não contar a mesma
+ * despesa mais de uma vez, cada grupo soma apenas os lançamentos do nível mais
+ * alto presente para a operadora: a própria conta do grupo quando ela existe,
+ * ou as subcontas do nível seguinte quando o arquivo traz só contas analíticas.
+ * Contas acima do nível do grupo (mais curtas que {@link #getGroupDigits()})
+ * são ignoradas.
+ */
+public class RollupService {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(RollupService.class);
+    static final String QUARTER_PREFIX = "trimestre-";
+    static final String YEAR_PREFIX = "ano-";
+    /**
+     * Versão da regra de agregação, incluída na versão das partições para que
+     * agregados calculados por uma regra anterior sejam recalculados.
+     */
+    static final int AGGREGATION_VERSION = 2;
+
+    private final AccountingStore store;
+    private final RollupStore rollups;
+    private final int groupDigits;
+
+    /**
+     * Cria o serviço com o tamanho de grupo de contas padrão.
+     *
+     * @param store   armazenamento dos lançamentos
+     * @param rollups armazenamento dos agregados
+     */
+    public RollupService(AccountingStore store, RollupStore rollups) {
+        this(store, rollups, AppConfig.ROLLUP_ACCOUNT_GROUP_DIGITS);
+    }
+
+    /**
+     * @param store       armazenamento dos lançamentos
+     * @param rollups     armazenamento dos agregados
+     * @param groupDigits quantidade de dígitos iniciais do código da conta que
+     *                    formam o grupo (1 a 9)
+     */
+    public RollupService(AccountingStore store, RollupStore rollups, int groupDigits) {
+        if (groupDigits < 1 || groupDigits > 9) {
+            throw new IllegalArgumentException("O grupo de contas deve ter de 1 a 9 dígitos: " + groupDigits);
+        }
+        this.store = store;
+        this.rollups = rollups;
+        this.groupDigits = groupDigits;
+    }
+
+    public int getGroupDigits() {
+        return groupDigits;
+    }
+
+    /**
+     * Recalcula as partições desatualizadas e remove as de trimestres que
+     * deixaram o armazenamento.
+     *
+     * @return os nomes das partições recalculadas
+     */
+    public List<String> refresh() {
+        long start = System.nanoTime();
+        List<String> updated = new ArrayList<>();
+        Set<String> live = new HashSet<>();
+        Map<Integer, List<AccountingSegment>> segmentsByYear = new TreeMap<>();
+
+        for (AccountingSegment segment : store.getSegments()) {
+            if (segment.getRowCount() == 0) {
+                continue;
+            }
+            String partition = QUARTER_PREFIX + segment.getName();
+            String version = quarterVersion(segment);
+            live.add(partition);
+            Rollup existing = rollups.get(partition);
+            if (existing == null || !existing.version().equals(version)) {
+                rollups.save(new Rollup(partition, version, aggregate(segment)));
+                updated.add(partition);
+            }
+            segmentsByYear.computeIfAbsent(segment.getFirstDate() / 10_000, year -> new ArrayList<>()).add(segment);
+        }
+
+        for (Map.Entry<Integer, List<AccountingSegment>> year : segmentsByYear.entrySet()) {
+            String partition = YEAR_PREFIX + year.getKey();
+            StringBuilder sources = new StringBuilder();
+            for (AccountingSegment segment : year.getValue()) {
+                sources.append(segment.getName()).append('=').append(quarterVersion(segment)).append(';');
+            }
+            String version = HashHelper.sha256(sources.toString());
+            live.add(partition);
+            Rollup existing = rollups.get(partition);
+            if (existing == null || !existing.version().equals(version)) {
+                Accumulator accumulator = new Accumulator();
+                for (AccountingSegment segment : year.getValue()) {
+                    for (RollupEntry entry : rollups.get(QUARTER_PREFIX + segment.getName()).entries()) {
+                        accumulator.add(entry.operatorId(), entry.accountGroup(), entry.rows(),
+                                entry.initialBalanceCents(), entry.finalBalanceCents());
+                    }
+                }
+                rollups.save(new Rollup(partition, version, accumulator.toEntries()));
+                updated.add(partition);
+            }
+        }
+
+        for (String partition : rollups.getPartitions()) {
+            if (!live.contains(partition)) {
+                rollups.delete(partition);
+                LOGGER.info("Agregado {} removido: trimestre fora do armazenamento", partition);
+            }
+        }
+        LOGGER.info("Agregados contábeis: {} de {} partições recalculadas em {} ms", updated.size(), live.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return updated;
+    }
+
+    /**
+     * @param segmentName nome do trimestre (ex.: {@code 1T2024})
+     * @return o agregado do trimestre, ou {@code null} se ele não existir
+     */
+    public Rollup getQuarter(String segmentName) {
+        return rollups.get(QUARTER_PREFIX + segmentName);
+    }
+
+    /**
+     * @param year ano
+     * @return o agregado do ano, ou {@code null} se ele não existir
+     */
+    public Rollup getYear(int year) {
+        return rollups.get(YEAR_PREFIX + year);
+    }
+
+    /**
+     * Retorna o grupo de uma conta: os {@code digits} primeiros dígitos do
+     * código, ou o próprio código se ele for mais curto.
+     */
+    static long accountGroup(long accountCode, int digits) {
+        long code = Math.abs(accountCode);
+        long limit = 1;
+        for (int i = 0; i < digits; i++) {
+            limit *= 10;
+        }
+        while (code >= limit) {
+            code /= 10;
+        }
+        return code;
+    }
+
+    private String quarterVersion(AccountingSegment segment) {
+        return segment.getSourceHash() + "|g" + groupDigits + "|v" + AGGREGATION_VERSION;
+    }
+
+    private List<RollupEntry> aggregate(AccountingSegment segment) {
+        IntBuffer operators = segment.operatorIds();
+        LongBuffer accounts = segment.accountCodes();
+        LongBuffer initialBalances = segment.initialBalances();
+        LongBuffer finalBalances = segment.finalBalances();
+        Accumulator accumulator = new Accumulator();
+        for (int i = 0; i < segment.getRowCount(); i++) {
+            long account = accounts.get(i);
+            int level = AccountCodeHelper.accountLevel(account);
+            if (level < groupDigits) {
+                continue;
+            }
+            accumulator.add(operators.get(i), accountGroup(account, groupDigits), level, 1,
+                    initialBalances.get(i), finalBalances.get(i));
+        }
+        return accumulator.toEntries();
+    }
+
+    /**
+     * Somas por (operadora, grupo de contas) em vetores primitivos, com
+     * endereçamento aberto sobre a chave combinada. Cada chave guarda apenas os
+     * lançamentos do nível de conta mais alto recebido até então: um lançamento
+     * de nível mais alto descarta as somas anteriores e um de nível mais baixo é
+     * ignorado.
+     */
+    private static final class Accumulator {
+        private boolean[] used = new boolean[1024];
+        private int[] operators = new int[1024];
+        private long[] groups = new long[1024];
+        private int[] levels = new int[1024];
+        private long[] rows = new long[1024];
+        private long[] initialBalances = new long[1024];
+        private long[] finalBalances = new long[1024];
+        private int size;
+
+        /**
+         * Soma valores já agregados, todos do mesmo nível.
+         */
+        void add(int operatorId, long accountGroup, long count, long initialBalance, long finalBalance) {
+            add(operatorId, accountGroup, 0, count, initialBalance, finalBalance);
+        }
+
+        void add(int operatorId, long accountGroup, int level, long count, long initialBalance,
+                long finalBalance) {
+            int slot = slot(operatorId, accountGroup);
+            if (!used[slot]) {
+                used[slot] = true;
+                operators[slot] = operatorId;
+                groups[slot] = accountGroup;
+                levels[slot] = level;
+                if (++size > used.length / 2) {
+                    rehash();
+                    slot = slot(operatorId, accountGroup);
+                }
+            } else if (level > levels[slot]) {
+                return;
+            } else if (level < levels[slot]) {
+                levels[slot] = level;
+                rows[slot] = 0;
+                initialBalances[slot] = 0;
+                finalBalances[slot] = 0;
+            }
+            rows[slot] += count;
+            initialBalances[slot] += initialBalance;
+            finalBalances[slot] += finalBalance;
+        }
+
+        List<RollupEntry> toEntries() {
+            RollupEntry[] entries = new RollupEntry[size];
+            int n = 0;
+            for (int i = 0; i < used.length; i++) {
+                if (used[i]) {
+                    entries[n++] = new RollupEntry(operators[i], groups[i], rows[i], initialBalances[i],
+                            finalBalances[i]);
+                }
+            }
+            Arrays.sort(entries, (a, b) -> a.operatorId() != b.operatorId()
+                    ? Integer.compare(a.operatorId(), b.operatorId())
+                    : Long.compare(a.accountGroup(), b.accountGroup()));
+            return Arrays.asList(entries);
+        }
+
+        private int slot(int operatorId, long accountGroup) {
+            int mask = used.length - 1;
+            long h = (operatorId * 0x9E3779B97F4A7C15L) ^ (accountGroup * 0xC2B2AE3D27D4EB4FL);
+            int slot = (int) (h ^ (h >>> 32)) & mask;
+            while (used[slot] && (operators[slot] != operatorId || groups[slot] != accountGroup)) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash() {
+            boolean[] oldUsed = used;
+            int[] oldOperators = operators;
+            long[] oldGroups = groups;
+            int[] oldLevels = levels;
+            long[] oldRows = rows;
+            long[] oldInitial = initialBalances;
+            long[] oldFinal = finalBalances;
+            int capacity = oldUsed.length << 1;
+            used = new boolean[capacity];
+            operators = new int[capacity];
+            groups = new long[capacity];
+            levels = new int[capacity];
+            rows = new long[capacity];
+            initialBalances = new long[capacity];
+            finalBalances = new long[capacity];
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slot(oldOperators[i], oldGroups[i]);
+                    used[slot] = true;
+                    operators[slot] = oldOperators[i];
+                    groups[slot] = oldGroups[i];
+                    levels[slot] = oldLevels[i];
+                    rows[slot] = oldRows[i];
+                    initialBalances[slot] = oldInitial[i];
+                    finalBalances[slot] = oldFinal[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.exception.RowDiffException;
+import com.kleberrhuan.intuitivecare.model.RowChangeType;
+import com.kleberrhuan.intuitivecare.model.RowDiffOptions;
+import com.kleberrhuan.intuitivecare.model.RowDiffResult;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.CsvReader;
+import com.kleberrhuan.intuitivecare.util.CsvWriter;
+import com.kleberrhuan.intuitivecare.util.RowHashIndex;
+import com.kleberrhuan.intuitivecare.util.StringPool;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detecta as linhas inseridas, alteradas e removidas entre versões de uma
+ * tabela extraída (por exemplo, entre publicações do Anexo I), para que as
+ * cargas seguintes apliquem apenas as alterações.
+ * <p>
+ * A versão anterior é representada por um {@link RowHashIndex} salvo em disco
+ * e mapeado em memória. O CSV novo é lido em fluxo, uma linha por vez: a chave
+ * de cada linha é procurada no índice anterior e o hash do conteúdo decide se a
+ * linha é nova, alterada ou inalterada; as chaves que sobram no índice anterior
+ * são as removidas. O índice da nova versão é gravado em fluxo e substitui o
+ * anterior depois que o arquivo de alterações foi fechado.
+ * <p>
+ * O arquivo de alterações é um CSV com a coluna {@code OPERACAO} seguida das
+ * colunas da tabela. Inserções e alterações trazem a linha completa; remoções
+ * trazem apenas as colunas-chave. Chaves repetidas na mesma versão são
+ * diferenciadas pela ordem de ocorrência.
+ */
+public class RowDiffService {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(RowDiffService.class);
+    private static final String OPERATION_COLUMN = "OPERACAO";
+
+    private final RowDiffOptions options;
+
+    /**
+     * Cria o serviço com as opções padrão da configuração.
+     */
+    public RowDiffService() {
+        this(RowDiffOptions.defaults());
+    }
+
+    /**
+     * @param options colunas-chave e formato dos CSVs
+     */
+    public RowDiffService(RowDiffOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Compara o CSV de uma nova versão com o índice da versão anterior, grava o
+     * arquivo de alterações e atualiza o índice.
+     *
+     * @param csvFile   CSV da nova versão, com cabeçalho na primeira linha
+     * @param indexFile índice da versão anterior; se não existir, todas as
+     *                  linhas são tratadas como inserções. É substituído pelo
+     *                  índice da nova versão
+     * @param deltaFile arquivo de alterações a ser gerado
+     * @return as quantidades de alterações
+     * @throws RowDiffException se os arquivos não puderem ser lidos ou gravados,
+     *                          ou se as colunas-chave não estiverem no cabeçalho
+     */
+    public RowDiffResult diff(Path csvFile, Path indexFile, Path deltaFile) {
+        try {
+            RowHashIndex previous = Files.isRegularFile(indexFile) ? RowHashIndex.load(indexFile) : null;
+            RowDiffResult result = diff(csvFile, previous, deltaFile, indexFile);
+            LOGGER.info("Alterações em {}: {} inserções, {} alterações, {} remoções, {} linhas inalteradas",
+                    csvFile.getFileName(), result.inserted(), result.updated(), result.deleted(),
+                    result.unchanged());
+            StringPool.Stats stats = StringPool.shared().getStats();
+            LOGGER.debug("Conjunto de strings: {} consultas, {}% de acertos, ~{} KB economizados",
+                    stats.lookups(), Math.round(stats.hitRate() * 100), stats.bytesSaved() / 1024);
+            return result;
+        } catch (IOException e) {
+            throw new RowDiffException("Erro ao comparar versões de " + csvFile, e);
+        }
+    }
+
+    private RowDiffResult diff(Path csvFile, RowHashIndex previous, Path deltaFile, Path indexFile)
+            throws IOException {
+        try (CsvReader reader = CsvReader.open(csvFile, options.getCsvOptions())) {
+            TableBuffer rows = new TableBuffer();
+            if (!reader.readRow(rows)) {
+                throw new RowDiffException("CSV sem cabeçalho: " + csvFile);
+            }
+            List<String> header = rows.toRows().get(0);
+            int[] keyColumns = resolveKeyColumns(header);
+            if (previous != null && !previous.getHeader().equals(header)) {
+                LOGGER.warn("Cabeçalho de {} difere da versão anterior; linhas podem aparecer como alteradas",
+                        csvFile.getFileName());
+            }
+
+            try (RowHashIndex.Writer current = RowHashIndex.create(indexFile, header)) {
+                RowDiffResult result = writeDelta(reader, rows, header, keyColumns, previous, current, deltaFile);
+                // o índice só avança depois que o arquivo de alterações foi fechado
+                current.commit();
+                return result;
+            }
+        }
+    }
+
+    private RowDiffResult writeDelta(CsvReader reader, TableBuffer rows, List<String> header, int[] keyColumns,
+            RowHashIndex previous, RowHashIndex.Writer current, Path deltaFile) throws IOException {
+        int inserted = 0;
+        int updated = 0;
+        int unchanged = 0;
+        int deleted = 0;
+
+        try (CsvWriter delta = CsvWriter.open(deltaFile, options.getCsvOptions())) {
+            delta.writeField(OPERATION_COLUMN);
+            for (String column : header) {
+                delta.writeField(column);
+            }
+            delta.endRow();
+
+            TableBuffer.Cursor row = rows.cursor();
+            while (true) {
+                rows.clear();
+                if (!reader.readRow(rows)) {
+                    break;
+                }
+                row.reset();
+                row.next();
+                if (row.isRowBlank()) {
+                    continue;
+                }
+
+                String key = current.uniqueKey(RowHashIndex.normalizedKey(row, keyColumns));
+                long rowHash = RowHashIndex.rowHash(row);
+                current.put(key, rowHash, keyValues(row, keyColumns));
+
+                RowHashIndex.Entry before = previous != null ? previous.remove(key) : null;
+                if (before == null) {
+                    writeRow(delta, RowChangeType.INSERT, row);
+                    inserted++;
+                } else if (before.rowHash() != rowHash) {
+                    writeRow(delta, RowChangeType.UPDATE, row);
+                    updated++;
+                } else {
+                    unchanged++;
+                }
+            }
+
+            if (previous != null) {
+                for (RowHashIndex.Entry removed : previous.entries()) {
+                    writeDeletion(delta, header.size(), keyColumns, removed.keyValues());
+                    deleted++;
+                }
+            }
+        }
+        return new RowDiffResult(inserted, updated, deleted, unchanged, deltaFile);
+    }
+
+    private int[] resolveKeyColumns(List<String> header) {
+        int[] columns = new int[options.getKeyColumns().size()];
+        for (int k = 0; k < columns.length; k++) {
+            String name = options.getKeyColumns().get(k);
+            columns[k] = -1;
+            for (int c = 0; c < header.size(); c++) {
+                if (header.get(c).strip().equalsIgnoreCase(name)) {
+                    columns[k] = c;
+                    break;
+                }
+            }
+            if (columns[k] < 0) {
+                throw new RowDiffException("Coluna-chave não encontrada no cabeçalho: " + name);
+            }
+        }
+        return columns;
+    }
+
+    private static List<String> keyValues(TableBuffer.Cursor row, int[] keyColumns) {
+        List<String> values = new ArrayList<>(keyColumns.length);
+        for (int column : keyColumns) {
+            values.add(column < row.getCellCount()
+                    ? StringPool.shared().intern(row.getArena(), row.getCellOffset(column),
+                            row.getCellLength(column))
+                    : "");
+        }
+        return values;
+    }
+
+    private static void writeRow(CsvWriter delta, RowChangeType type, TableBuffer.Cursor row) throws IOException {
+        delta.writeField(type.name());
+        char[] arena = row.getArena();
+        for (int c = 0; c < row.getCellCount(); c++) {
+            delta.writeField(arena, row.getCellOffset(c), row.getCellLength(c));
+        }
+        delta.endRow();
+    }
+
+    private static void writeDeletion(CsvWriter delta, int columns, int[] keyColumns, List<String> keyValues)
+            throws IOException {
+        String[] fields = new String[columns];
+        for (int k = 0; k < keyColumns.length; k++) {
+            fields[keyColumns[k]] = keyValues.get(k);
+        }
+        delta.writeField(RowChangeType.DELETE.name());
+        for (String field : fields) {
+            delta.writeField(field);
+        }
+        delta.endRow();
+    }
+}
@@ -7,7 +7,6 @@ import com.kleberrhuan.intuitivecare.model.FilelinkModel;
 import com.kleberrhuan.intuitivecare.model.ScrappingRequest;
 import com.kleberrhuan.intuitivecare.util.HttpDownloader;
 import jakarta.validation.constraints.NotNull;
-import lombok.RequiredArgsConstructor;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -20,13 +19,36 @@ import java.util.stream.Collectors;
 /**
  * Serviço responsável por realizar web scraping e download de arquivos
  */
-@RequiredArgsConstructor
 public class ScrapperService {
     private final ScrappingRequest scrappingRequest;
-    private static final HttpDownloader downloader;
+    private final HttpDownloader downloader;
+    private final boolean ownsDownloader;
 
-    static {
-        downloader = new HttpDownloader(AppConfig.DOWNLOAD_THREADS);
+    /**
+     * Cria o serviço com um downloader próprio, encerrado ao fim de
+     * {@link #downloadFiles(Path)}.
+     *
+     * @param scrappingRequest página e arquivos a baixar
+     */
+    public ScrapperService(ScrappingRequest scrappingRequest) {
+        this(scrappingRequest, new HttpDownloader(AppConfig.DOWNLOAD_THREADS), true);
+    }
+
+    /**
+     * Cria o serviço com um downloader compartilhado, que permanece ativo após
+     * os downloads (ex.: entre as sincronizações do modo daemon).
+     *
+     * @param scrappingRequest página e arquivos a baixar
+     * @param downloader       downloader compartilhado
+     */
+    public ScrapperService(ScrappingRequest scrappingRequest, HttpDownloader downloader) {
+        this(scrappingRequest, downloader, false);
+    }
+
+    private ScrapperService(ScrappingRequest scrappingRequest, HttpDownloader downloader, boolean ownsDownloader) {
+        this.scrappingRequest = scrappingRequest;
+        this.downloader = downloader;
+        this.ownsDownloader = ownsDownloader;
     }
 
     /**
@@ -68,11 +90,47 @@ public class ScrapperService {
      * @throws WebsiteConnectionException se ocorrer um erro ao conectar ao site
      */
     public void downloadFiles(Path outputDir) throws WebsiteConnectionException {
+        List<FilelinkModel> files = findFileLinks();
         try {
-            Elements elements = parsePageForElementsLinks(scrappingRequest.getUrl());
-            List<FilelinkModel> files = getLinksFromElements(elements);
             downloader.downloadFiles(files, outputDir);
-            downloader.shutdown();
+        } finally {
+            if (ownsDownloader) {
+                downloader.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Baixa apenas os arquivos alterados no servidor desde a última cópia local
+     * (ver {@link HttpDownloader#downloadIfModified}).
+     *
+     * @param outputDir diretório de destino para salvar os arquivos
+     * @return os arquivos efetivamente baixados
+     * @throws WebsiteConnectionException se ocorrer um erro ao conectar ao site
+     */
+    public List<FilelinkModel> downloadModifiedFiles(Path outputDir) throws WebsiteConnectionException {
+        List<FilelinkModel> files = findFileLinks();
+        try {
+            return downloader.downloadFilesIfModified(files, outputDir);
+        } finally {
+            if (ownsDownloader) {
+                downloader.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Acessa a página da ScrappingRequest e retorna os links encontrados para
+     * cada arquivo, sem baixá-los. Arquivos sem link correspondente na página
+     * são retornados com URL {@code null}.
+     *
+     * @return um link por arquivo da requisição, na mesma ordem
+     * @throws WebsiteConnectionException se ocorrer um erro ao conectar ao site
+     */
+    public List<FilelinkModel> findFileLinks() throws WebsiteConnectionException {
+        try {
+            Elements elements = parsePageForElementsLinks(scrappingRequest.getUrl());
+            return getLinksFromElements(elements);
         } catch (IOException e) {
             throw new WebsiteConnectionException("Ocorreu um erro ao conectar ao site: " + scrappingRequest.getUrl(),
                     e);
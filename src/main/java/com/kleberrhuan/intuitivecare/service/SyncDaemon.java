@@ -0,0 +1,142 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.model.SyncTask;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Modo daemon: mantém a aplicação residente e repete as tarefas configuradas
+ * em intervalos fixos, reaproveitando o mesmo {@link SyncService} (e, com ele,
+ * a JVM aquecida, o pool de downloads, os caches e o armazenamento contábil
+ * aberto).
+ * <p>
+ * A primeira sincronização começa imediatamente; cada uma das seguintes começa
+ * {@link com.kleberrhuan.intuitivecare.model.SyncOptions#getInterval()} após o
+ * fim da anterior, de modo que sincronizações longas nunca se sobrepõem. A
+ * falha de uma tarefa é registrada no log e não interrompe as demais nem as
+ * sincronizações seguintes.
+ */
+public class SyncDaemon implements AutoCloseable {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(SyncDaemon.class);
+
+    private final SyncService syncService;
+    private final List<SyncTask> tasks;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sync-daemon");
+        thread.setDaemon(false);
+        return thread;
+    });
+    private final AtomicInteger completedCycles = new AtomicInteger();
+    private final AtomicInteger failedTasks = new AtomicInteger();
+
+    /**
+     * Cria o daemon com as tarefas e o intervalo das opções do serviço.
+     *
+     * @param syncService serviço que executa as tarefas, encerrado junto com o
+     *                    daemon
+     * @throws IllegalArgumentException se não houver tarefas ou o intervalo não
+     *                                  for positivo
+     */
+    public SyncDaemon(SyncService syncService) {
+        this(syncService, syncService.getOptions().getTasks(), syncService.getOptions().getInterval());
+    }
+
+    /**
+     * @param syncService serviço que executa as tarefas, encerrado junto com o
+     *                    daemon
+     * @param tasks       tarefas de cada sincronização, em ordem
+     * @param interval    intervalo entre o fim de uma sincronização e o início
+     *                    da seguinte
+     * @throws IllegalArgumentException se não houver tarefas ou o intervalo não
+     *                                  for positivo
+     */
+    public SyncDaemon(SyncService syncService, List<SyncTask> tasks, Duration interval) {
+        if (tasks.isEmpty()) {
+            throw new IllegalArgumentException("O daemon precisa de ao menos uma tarefa.");
+        }
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("O intervalo entre sincronizações deve ser positivo.");
+        }
+        this.syncService = syncService;
+        this.tasks = List.copyOf(tasks);
+        this.interval = interval;
+    }
+
+    /**
+     * Agenda as sincronizações, a primeira imediatamente.
+     */
+    public void start() {
+        LOGGER.info("Daemon iniciado: tarefas {} a cada {} min", tasks.stream().map(SyncTask::getId).toList(),
+                interval.toMinutes());
+        scheduler.scheduleWithFixedDelay(this::runCycle, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Bloqueia até o daemon ser encerrado por {@link #close()}.
+     *
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     */
+    public void awaitTermination() throws InterruptedException {
+        while (!scheduler.awaitTermination(1, TimeUnit.HOURS)) {
+            // continua aguardando
+        }
+    }
+
+    public int getCompletedCycles() {
+        return completedCycles.get();
+    }
+
+    public int getFailedTasks() {
+        return failedTasks.get();
+    }
+
+    /**
+     * Executa uma sincronização: todas as tarefas, em ordem.
+     */
+    void runCycle() {
+        int cycle = completedCycles.get() + 1;
+        long start = System.nanoTime();
+        LOGGER.info("Sincronização {} iniciada", cycle);
+        for (SyncTask task : tasks) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            long taskStart = System.nanoTime();
+            try {
+                syncService.run(task);
+                LOGGER.info("Tarefa {} concluída em {} ms", task.getId(), (System.nanoTime() - taskStart) / 1_000_000);
+            } catch (Exception e) {
+                failedTasks.incrementAndGet();
+                LOGGER.error("Tarefa {} falhou: {}", task.getId(), e.getMessage(), e);
+            }
+        }
+        completedCycles.incrementAndGet();
+        LOGGER.info("Sincronização {} concluída em {} ms; próxima em {} min", cycle,
+                (System.nanoTime() - start) / 1_000_000, interval.toMinutes());
+    }
+
+    /**
+     * Interrompe o agendamento, aguarda a sincronização em andamento por até
+     * 30 segundos e encerra o serviço.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOGGER.warn("A sincronização em andamento não terminou no prazo de encerramento");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        syncService.close();
+        LOGGER.info("Daemon encerrado após {} sincronizações", completedCycles.get());
+    }
+}
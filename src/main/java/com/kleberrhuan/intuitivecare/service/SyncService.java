@@ -0,0 +1,307 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import com.kleberrhuan.intuitivecare.exception.DirectoryCreationException;
+import com.kleberrhuan.intuitivecare.exception.FileDownloadException;
+import com.kleberrhuan.intuitivecare.exception.PdfParseException;
+import com.kleberrhuan.intuitivecare.model.AccountingParseResult;
+import com.kleberrhuan.intuitivecare.model.FileModel;
+import com.kleberrhuan.intuitivecare.model.FileType;
+import com.kleberrhuan.intuitivecare.model.FilelinkModel;
+import com.kleberrhuan.intuitivecare.model.PipelineOptions;
+import com.kleberrhuan.intuitivecare.model.PipelineResult;
+import com.kleberrhuan.intuitivecare.model.RowDiffResult;
+import com.kleberrhuan.intuitivecare.model.ScrappingRequest;
+import com.kleberrhuan.intuitivecare.model.SyncOptions;
+import com.kleberrhuan.intuitivecare.model.SyncTask;
+import com.kleberrhuan.intuitivecare.store.AccountingStore;
+import com.kleberrhuan.intuitivecare.store.RollupStore;
+import com.kleberrhuan.intuitivecare.util.HttpDownloader;
+import com.kleberrhuan.intuitivecare.util.ZipManager;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import com.kleberrhuan.intuitivecare.util.helpers.HashHelper;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Executa as tarefas do projeto (scraping, transformação, fluxo completo e
+ * demonstrações contábeis) sem interação com o usuário.
+ * <p>
+ * Uma instância mantém entre as execuções o que é caro de recriar: o pool de
+ * downloads, o {@link PdfProcessingService} (legenda de abreviações e cache de
+ * extração carregados) e o armazenamento contábil aberto, com os segmentos já
+ * mapeados e os agregados em memória. Assim, o modo daemon ({@link SyncDaemon})
+ * repete as sincronizações na mesma JVM, já aquecida, e as conexões HTTP
+ * mantidas abertas pela JVM ({@code keep-alive}) são reaproveitadas.
+ * <p>
+ * As sincronizações são incrementais: arquivos inalterados no servidor não são
+ * baixados de novo ({@link HttpDownloader#downloadIfModified}). Um Anexo I com
+ * o mesmo conteúdo da última transformação não é transformado nem comparado de
+ * novo, e cada versão alterada gera o seu próprio arquivo de alterações, com a
+ * data e a hora no nome, sem sobrescrever os anteriores. Na parte contábil,
+ * trimestres já carregados não são relidos e apenas os agregados afetados são
+ * recalculados.
+ * <p>
+ * As tarefas de uma instância não devem ser executadas simultaneamente.
+ */
+public class SyncService implements AutoCloseable {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(SyncService.class);
+    private static final DateTimeFormatter DELTA_FILENAME =
+            DateTimeFormatter.ofPattern(AppConfig.DEFAULT_DELTA_FILENAME_PATTERN);
+
+    private final SyncOptions options;
+    private final PdfProcessingService pdfProcessor;
+    private final HttpDownloader downloader;
+    private final AccountingIngestionService ingestion = new AccountingIngestionService();
+    private AccountingStore accountingStore;
+    private RollupStore rollupStore;
+
+    /**
+     * Cria o serviço com o processamento de PDF padrão, usando os workers de
+     * extração das opções.
+     *
+     * @param options diretório de saída, anos e threads
+     */
+    public SyncService(SyncOptions options) {
+        this(options, new PdfProcessingService(options.getExtractionThreads()));
+    }
+
+    /**
+     * @param options      diretório de saída, anos e threads
+     * @param pdfProcessor serviço usado na transformação do Anexo I
+     * @throws IllegalArgumentException se o número de downloads simultâneos ou
+     *                                  de anos forem menores que 1
+     */
+    public SyncService(SyncOptions options, PdfProcessingService pdfProcessor) {
+        if (options.getDownloadThreads() < 1) {
+            throw new IllegalArgumentException("O número de downloads simultâneos deve ser maior que zero.");
+        }
+        if (options.getYears() < 1) {
+            throw new IllegalArgumentException("O número de anos deve ser maior que zero.");
+        }
+        this.options = options;
+        this.pdfProcessor = pdfProcessor;
+        this.downloader = new HttpDownloader(options.getDownloadThreads());
+    }
+
+    /**
+     * Retorna a requisição de scraping dos Anexos I e II no site da ANS.
+     *
+     * @return a requisição de scraping
+     */
+    public static ScrappingRequest annexRequest() {
+        return ScrappingRequest.builder()
+                .url(AppConfig.ANS_URL)
+                .files(List.of(
+                        new FileModel(AppConfig.ANEXO_I, FileType.PDF),
+                        new FileModel(AppConfig.ANEXO_II, FileType.PDF)))
+                .build();
+    }
+
+    public SyncOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Executa uma tarefa.
+     *
+     * @param task tarefa a executar
+     */
+    public void run(SyncTask task) {
+        switch (task) {
+            case SCRAPE -> scrape();
+            case TRANSFORM -> transform();
+            case FLOW -> completeFlow();
+            case ACCOUNTING -> syncAccounting();
+        }
+    }
+
+    /**
+     * Requisito 1: baixa os Anexos I e II alterados no servidor e os compacta em
+     * um único ZIP. Se nenhum anexo mudou e o ZIP já existe, ele é mantido.
+     *
+     * @return o ZIP gerado
+     */
+    public Path scrape() {
+        Path outputDir = outputDir();
+        ScrappingRequest request = annexRequest();
+        LOGGER.info("Iniciando web scraping no site da ANS: {}", request.getUrl());
+        List<FilelinkModel> downloaded = new ScrapperService(request, downloader).downloadModifiedFiles(outputDir);
+        List<Path> pdfs = request.getFiles().stream()
+                .map(file -> outputDir.resolve(file.getFullName()))
+                .toList();
+        Path zip = outputDir.resolve(DirectoryHelper.getZipFileName(AppConfig.ZIP_FILENAME));
+        if (downloaded.isEmpty() && Files.isRegularFile(zip)) {
+            LOGGER.info("Anexos inalterados desde o último download; ZIP mantido: {}", zip);
+            return zip;
+        }
+        new ZipManager().archiveFiles(pdfs, outputDir, AppConfig.ZIP_FILENAME);
+        LOGGER.info("Arquivos compactados com sucesso em: {}", zip);
+        return zip;
+    }
+
+    /**
+     * Requisito 2: converte o Anexo I já baixado em CSV, compacta o CSV e gera
+     * o arquivo de alterações em relação à versão anterior. Se o PDF tem o
+     * mesmo conteúdo da última transformação e o CSV existe, nada é refeito.
+     *
+     * @return o CSV gerado
+     * @throws PdfParseException se o PDF não existir ou não puder ser processado
+     */
+    public Path transform() {
+        Path outputDir = outputDir();
+        Path pdfPath = outputDir.resolve(AppConfig.DEFAULT_PDF_FILENAME);
+        Path csvPath = outputDir.resolve(AppConfig.DEFAULT_CSV_FILENAME);
+        if (!Files.isRegularFile(pdfPath)) {
+            throw new PdfParseException("Arquivo PDF não encontrado. Execute primeiro o web scraping.",
+                    new NoSuchFileException(pdfPath.toString()));
+        }
+        String pdfHash = annexHash(pdfPath);
+        if (isTransformed(pdfHash) && Files.isRegularFile(csvPath)) {
+            LOGGER.info("Anexo I inalterado desde a última transformação; CSV mantido: {}", csvPath);
+            return csvPath;
+        }
+        String result = pdfProcessor.processPdf(pdfPath, csvPath,
+                outputDir.resolve(AppConfig.DEFAULT_ZIP_FILENAME));
+        LOGGER.info("Transformação de dados concluída: {}", result);
+        detectAnnexChanges(csvPath, pdfHash);
+        return csvPath;
+    }
+
+    /**
+     * Requisitos 1 + 2 em pipeline (ver {@link CompleteFlowService}), seguidos da
+     * detecção de alterações do Anexo I quando o seu conteúdo mudou desde a
+     * última transformação.
+     *
+     * @return o resultado do pipeline
+     */
+    public PipelineResult completeFlow() {
+        PipelineOptions pipelineOptions = PipelineOptions.builder()
+                .downloadThreads(options.getDownloadThreads())
+                .build();
+        Path outputDir = outputDir();
+        PipelineResult result = new CompleteFlowService(annexRequest(), pdfProcessor, pipelineOptions, downloader)
+                .run(outputDir);
+        String pdfHash = annexHash(outputDir.resolve(pipelineOptions.getExtractFileName()));
+        if (isTransformed(pdfHash)) {
+            LOGGER.info("Anexo I inalterado desde a última transformação; detecção de alterações ignorada");
+        } else {
+            detectAnnexChanges(result.csv(), pdfHash);
+        }
+        return result;
+    }
+
+    /**
+     * Sincroniza as demonstrações contábeis dos últimos anos: baixa os ZIPs
+     * novos ou alterados e o cadastro de operadoras, carrega os trimestres
+     * novos no armazenamento e atualiza os agregados afetados.
+     *
+     * @return os agregados recalculados
+     * @throws FileDownloadException se a lista de arquivos não puder ser obtida
+     */
+    public List<String> syncAccounting() {
+        Path outputDir = outputDir();
+        FileDownloaderService service = new FileDownloaderService(AppConfig.ANS_DEMONSTRACOES_URL, downloader);
+        try {
+            LOGGER.info("Sincronizando as demonstrações contábeis dos últimos {} anos", options.getYears());
+            service.downloadLatestYears(options.getYears(), outputDir);
+        } catch (IOException e) {
+            throw new FileDownloadException("Erro ao baixar as demonstrações contábeis", e);
+        }
+        try {
+            service.downloadOperatorRegistry(AppConfig.ANS_CADOP_URL, outputDir);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Não foi possível baixar o cadastro de operadoras: {}", e.getMessage());
+        }
+
+        AccountingStore store = accountingStore();
+        List<AccountingParseResult> results = ingestion.loadInto(store, outputDir);
+        LOGGER.info("Demonstrações contábeis carregadas: {} novos trimestres, {} lançamentos no total",
+                results.size(), store.getRowCount());
+        List<String> updated = new RollupService(store, rollupStore()).refresh();
+        LOGGER.info("Agregados por operadora e grupo de contas atualizados: {}", updated);
+        return updated;
+    }
+
+    /**
+     * Encerra o pool de downloads.
+     */
+    @Override
+    public void close() {
+        downloader.shutdown();
+    }
+
+    /**
+     * Compara o CSV com a versão anterior, grava as alterações em um arquivo
+     * novo (removido se não houver alterações) e registra o hash do PDF
+     * transformado.
+     */
+    private void detectAnnexChanges(Path csvPath, String pdfHash) {
+        Path outputDir = options.getOutputDir();
+        String deltaName = LocalDateTime.now().format(DELTA_FILENAME);
+        RowDiffResult delta = new RowDiffService().diff(csvPath,
+                outputDir.resolve(AppConfig.DEFAULT_ROW_INDEX_FILENAME),
+                outputDir.resolve(deltaName));
+        try {
+            if (delta.changes() == 0) {
+                Files.deleteIfExists(delta.deltaFile());
+                LOGGER.info("Nenhuma alteração no Anexo I em relação à versão anterior");
+            } else {
+                LOGGER.info("Arquivo de alterações gerado: {} ({} alterações)", delta.deltaFile(), delta.changes());
+            }
+            Files.writeString(outputDir.resolve(AppConfig.DEFAULT_PDF_HASH_FILENAME), pdfHash);
+        } catch (IOException e) {
+            LOGGER.warn("Não foi possível registrar a versão do Anexo I transformada: {}", e.getMessage());
+        }
+    }
+
+    private String annexHash(Path pdfPath) {
+        try {
+            return HashHelper.sha256(pdfPath);
+        } catch (IOException e) {
+            throw new PdfParseException("Erro ao ler o arquivo PDF: " + pdfPath, e);
+        }
+    }
+
+    /**
+     * @return se o PDF com o hash informado foi o último transformado
+     */
+    private boolean isTransformed(String pdfHash) {
+        Path hashFile = options.getOutputDir().resolve(AppConfig.DEFAULT_PDF_HASH_FILENAME);
+        try {
+            return Files.isRegularFile(hashFile) && Files.readString(hashFile).strip().equals(pdfHash);
+        } catch (IOException e) {
+            LOGGER.warn("Não foi possível ler a versão do Anexo I transformada: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private AccountingStore accountingStore() {
+        if (accountingStore == null) {
+            accountingStore = AccountingStore.open(options.getAccountingStoreDir());
+        }
+        return accountingStore;
+    }
+
+    private RollupStore rollupStore() {
+        if (rollupStore == null) {
+            rollupStore = RollupStore.open(options.getAccountingRollupDir());
+        }
+        return rollupStore;
+    }
+
+    private Path outputDir() {
+        try {
+            return DirectoryHelper.createDirectoryIfNotExists(options.getOutputDir());
+        } catch (IOException e) {
+            throw new DirectoryCreationException("Erro ao criar o diretório de saída: " + options.getOutputDir(), e);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.kleberrhuan.intuitivecare.store;
+
+import com.kleberrhuan.intuitivecare.util.helpers.HashHelper;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Segmento do {@link AccountingStore}: os lançamentos de um trimestre (um CSV de
+ * demonstrações contábeis), gravados como uma coluna de largura fixa por
+ * arquivo e mapeados em memória para leitura.
+ * <p>
+ * As colunas são expostas como {@link IntBuffer} e {@link LongBuffer} somente
+ * leitura sobre a memória mapeada, sem cópia para o heap; a posição {@code i}
+ * de cada coluna corresponde ao mesmo lançamento. Cada chamada retorna uma nova
+ * visão, que pode ser percorrida por uma thread sem afetar as demais.
+ */
+public final class AccountingSegment {
+    static final String META_FILE = "segment.meta";
+    private static final int MAGIC = 0x41435332; // "ACS2"
+
+    /**
+     * Colunas de um segmento, com o arquivo e a largura (em bytes) de cada
+     * valor.
+     */
+    enum Column {
+        DATE("data.i32", Integer.BYTES),
+        OPERATOR("reg_ans.i32", Integer.BYTES),
+        ACCOUNT("cd_conta_contabil.i64", Long.BYTES),
+        DESCRIPTION("descricao.i32", Integer.BYTES),
+        INITIAL_BALANCE("vl_saldo_inicial.i64", Long.BYTES),
+        FINAL_BALANCE("vl_saldo_final.i64", Long.BYTES);
+
+        final String fileName;
+        final int width;
+
+        Column(String fileName, int width) {
+            this.fileName = fileName;
+            this.width = width;
+        }
+    }
+
+    /**
+     * Identificação do arquivo de origem, usada para decidir se um trimestre
+     * precisa ser recarregado.
+     *
+     * @param fileName     nome do CSV de origem
+     * @param size         tamanho do CSV
+     * @param lastModified data de modificação do CSV (milissegundos)
+     * @param sha256       hash do conteúdo do CSV
+     */
+    record Source(String fileName, long size, long lastModified, String sha256) {
+        static Source of(Path file) throws IOException {
+            return new Source(file.getFileName().toString(), Files.size(file),
+                    Files.getLastModifiedTime(file).toMillis(), HashHelper.sha256(file));
+        }
+    }
+
+    private final String name;
+    private final int rowCount;
+    private final Source source;
+    private final Map<Column, ByteBuffer> columns = new EnumMap<>(Column.class);
+    /** Menor e maior data, calculadas na primeira consulta */
+    private volatile int[] dateRange;
+    private SegmentIndex index;
+
+    private AccountingSegment(String name, int rowCount, Source source) {
+        this.name = name;
+        this.rowCount = rowCount;
+        this.source = source;
+    }
+
+    /**
+     * Abre um segmento gravado e mapeia as suas colunas e o seu índice,
+     * construindo o índice se necessário.
+     */
+    static AccountingSegment load(Path dir) throws IOException {
+        AccountingSegment segment;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(dir.resolve(META_FILE))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Segmento inválido: " + dir);
+            }
+            int rows = in.readInt();
+            segment = new AccountingSegment(dir.getFileName().toString(), rows, new Source(in.readUTF(),
+                    in.readLong(), in.readLong(), in.readUTF()));
+        }
+        for (Column column : Column.values()) {
+            try (FileChannel channel = FileChannel.open(dir.resolve(column.fileName), StandardOpenOption.READ)) {
+                long expected = (long) segment.rowCount * column.width;
+                if (channel.size() != expected) {
+                    throw new IOException("Coluna " + column.fileName + " incompleta em " + dir);
+                }
+                segment.columns.put(column,
+                        channel.map(FileChannel.MapMode.READ_ONLY, 0, expected).order(ByteOrder.LITTLE_ENDIAN));
+            }
+        }
+        segment.index = SegmentIndex.openOrBuild(dir, segment);
+        return segment;
+    }
+
+    /**
+     * Grava o arquivo de metadados, que marca o segmento como completo.
+     */
+    static void writeMeta(Path dir, int rowCount, Source source) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(dir.resolve(META_FILE))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(rowCount);
+            out.writeUTF(source.fileName());
+            out.writeLong(source.size());
+            out.writeLong(source.lastModified());
+            out.writeUTF(source.sha256());
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return o nome do CSV de origem do segmento
+     */
+    public String getSourceFileName() {
+        return source.fileName();
+    }
+
+    /**
+     * @return o SHA-256 do CSV de origem
+     */
+    public String getSourceHash() {
+        return source.sha256();
+    }
+
+    /**
+     * Verifica se o segmento foi gerado a partir do arquivo, sem alterações
+     * desde então. Quando só a data de modificação mudou (como ocorre quando o
+     * mesmo ZIP é baixado e extraído de novo), o conteúdo é comparado pelo
+     * hash.
+     *
+     * @param file CSV de demonstrações contábeis
+     * @return {@code true} se o conteúdo do arquivo é o do segmento
+     * @throws IOException se o arquivo não puder ser lido
+     */
+    public boolean isLoadedFrom(Path file) throws IOException {
+        if (!source.fileName().equals(file.getFileName().toString()) || source.size() != Files.size(file)) {
+            return false;
+        }
+        if (source.lastModified() == Files.getLastModifiedTime(file).toMillis()) {
+            return true;
+        }
+        return source.sha256().equals(HashHelper.sha256(file));
+    }
+
+    /**
+     * @return a menor data dos lançamentos ({@code AAAAMMDD}), ou 0 se o
+     *         segmento estiver vazio
+     */
+    public int getFirstDate() {
+        return dateRange()[0];
+    }
+
+    /**
+     * @return a maior data dos lançamentos ({@code AAAAMMDD}), ou 0 se o
+     *         segmento estiver vazio
+     */
+    public int getLastDate() {
+        return dateRange()[1];
+    }
+
+    /**
+     * @return as datas dos lançamentos no formato {@code AAAAMMDD}
+     */
+    public IntBuffer dates() {
+        return intColumn(Column.DATE);
+    }
+
+    /**
+     * @return os registros ANS das operadoras
+     */
+    public IntBuffer operatorIds() {
+        return intColumn(Column.OPERATOR);
+    }
+
+    /**
+     * @return os códigos das contas contábeis
+     */
+    public LongBuffer accountCodes() {
+        return longColumn(Column.ACCOUNT);
+    }
+
+    /**
+     * @return os códigos das descrições no dicionário do armazenamento (ver
+     *         {@link AccountingStore#getDescription(int)})
+     */
+    public IntBuffer descriptionIds() {
+        return intColumn(Column.DESCRIPTION);
+    }
+
+    /**
+     * @return os saldos iniciais em centavos
+     */
+    public LongBuffer initialBalances() {
+        return longColumn(Column.INITIAL_BALANCE);
+    }
+
+    /**
+     * @return os saldos finais em centavos
+     */
+    public LongBuffer finalBalances() {
+        return longColumn(Column.FINAL_BALANCE);
+    }
+
+    /**
+     * Procura, pelo índice do segmento, as linhas de uma operadora cujas contas
+     * estejam no intervalo informado (inclusive).
+     *
+     * @return as linhas, ordenadas por conta e data
+     */
+    int[] findRows(int operatorId, long fromAccount, long toAccount) {
+        return index.find(operatorId, fromAccount, toAccount);
+    }
+
+    private int[] dateRange() {
+        int[] range = dateRange;
+        if (range == null) {
+            IntBuffer dates = dates();
+            int first = rowCount == 0 ? 0 : Integer.MAX_VALUE;
+            int last = 0;
+            for (int i = 0; i < rowCount; i++) {
+                int date = dates.get(i);
+                first = Math.min(first, date);
+                last = Math.max(last, date);
+            }
+            range = new int[] { first, last };
+            dateRange = range;
+        }
+        return range;
+    }
+
+    private IntBuffer intColumn(Column column) {
+        return columns.get(column).duplicate().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().asReadOnlyBuffer();
+    }
+
+    private LongBuffer longColumn(Column column) {
+        return columns.get(column).duplicate().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,323 @@
+package com.kleberrhuan.intuitivecare.store;
+
+import com.kleberrhuan.intuitivecare.exception.AccountingStoreException;
+import com.kleberrhuan.intuitivecare.model.AccountingEntry;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento colunar, fora do heap, dos lançamentos de demonstrações
+ * contábeis.
+ * <p>
+ * Cada trimestre é um segmento ({@link AccountingSegment}) em um subdiretório
+ * próprio, com uma coluna de largura fixa por arquivo: registro ANS e data como
+ * {@code int}, código da conta e saldos (em centavos) como {@code long}, e a
+ * descrição como código de um dicionário compartilhado por todos os segmentos.
+ * As colunas são lidas por mapeamento de memória, de modo que milhões de
+ * lançamentos ocupam apenas o cache de páginas do sistema operacional, e não o
+ * heap.
+ * <p>
+ * Novos trimestres são acrescentados com {@link #appendSegment(String, Path)}:
+ * o segmento é gravado em um diretório temporário e publicado por renomeação,
+ * junto com o dicionário atualizado, de modo que uma carga interrompida não
+ * deixa segmentos parciais. Cada segmento publicado recebe um índice ordenado
+ * por registro ANS, conta e data ({@link #lookup(int, long)}), de modo que
+ * consultas pontuais não percorrem os trimestres. Instâncias podem ser
+ * compartilhadas entre threads.
+ */
+public final class AccountingStore {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(AccountingStore.class);
+    private static final String DICTIONARY_FILE = "descricoes.dict";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String OLD_SUFFIX = ".old";
+    private static final int DICTIONARY_MAGIC = 0x41434431; // "ACD1"
+
+    private final Path dir;
+    private final Map<String, AccountingSegment> segments = new TreeMap<>();
+    private final List<String> descriptions = new ArrayList<>();
+    private final Map<String, Integer> descriptionIds = new HashMap<>();
+
+    private AccountingStore(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Abre (ou cria) um armazenamento, mapeando os segmentos existentes.
+     * Segmentos incompletos de cargas interrompidas são descartados.
+     *
+     * @param dir diretório do armazenamento
+     * @return o armazenamento
+     * @throws AccountingStoreException se o diretório ou algum segmento não
+     *                                  puder ser lido
+     */
+    public static AccountingStore open(Path dir) {
+        AccountingStore store = new AccountingStore(dir);
+        try {
+            DirectoryHelper.createDirectoryIfNotExists(dir);
+            store.loadDictionary();
+            try (Stream<Path> entries = Files.list(dir)) {
+                for (Path entry : entries.filter(Files::isDirectory).sorted().toList()) {
+                    String name = entry.getFileName().toString();
+                    if (name.endsWith(TEMP_SUFFIX) || name.endsWith(OLD_SUFFIX)) {
+                        store.recover(entry, name);
+                    }
+                }
+            }
+            try (Stream<Path> entries = Files.list(dir)) {
+                for (Path entry : entries.filter(Files::isDirectory).sorted().toList()) {
+                    if (Files.isRegularFile(entry.resolve(AccountingSegment.META_FILE))) {
+                        AccountingSegment segment = AccountingSegment.load(entry);
+                        store.segments.put(segment.getName(), segment);
+                    }
+                }
+            }
+            return store;
+        } catch (IOException e) {
+            throw new AccountingStoreException("Erro ao abrir o armazenamento contábil em " + dir, e);
+        }
+    }
+
+    public Path getDirectory() {
+        return dir;
+    }
+
+    /**
+     * @return os segmentos, em ordem de nome
+     */
+    public synchronized List<AccountingSegment> getSegments() {
+        return List.copyOf(segments.values());
+    }
+
+    /**
+     * @param name nome do segmento
+     * @return o segmento, ou {@code null} se não existir
+     */
+    public synchronized AccountingSegment getSegment(String name) {
+        return segments.get(name);
+    }
+
+    /**
+     * @return a quantidade total de lançamentos em todos os segmentos
+     */
+    public synchronized long getRowCount() {
+        long rows = 0;
+        for (AccountingSegment segment : segments.values()) {
+            rows += segment.getRowCount();
+        }
+        return rows;
+    }
+
+    /**
+     * @param id código da descrição
+     * @return a descrição
+     */
+    public synchronized String getDescription(int id) {
+        return descriptions.get(id);
+    }
+
+    /**
+     * @return a quantidade de descrições distintas no dicionário
+     */
+    public synchronized int getDescriptionCount() {
+        return descriptions.size();
+    }
+
+    /**
+     * Procura o código de uma descrição, sem acrescentá-la ao dicionário.
+     *
+     * @param description a descrição
+     * @return o código, ou -1 se a descrição não existir
+     */
+    public synchronized int findDescriptionId(String description) {
+        return descriptionIds.getOrDefault(description, -1);
+    }
+
+    /**
+     * Consulta, pelos índices dos segmentos, todos os lançamentos de uma
+     * operadora em uma conta contábil.
+     *
+     * @param operatorId  registro ANS da operadora
+     * @param accountCode código da conta contábil
+     * @return os lançamentos de todos os trimestres, em ordem de data
+     */
+    public List<AccountingEntry> lookup(int operatorId, long accountCode) {
+        return lookup(operatorId, accountCode, accountCode);
+    }
+
+    /**
+     * Consulta, pelos índices dos segmentos, todos os lançamentos de uma
+     * operadora.
+     *
+     * @param operatorId registro ANS da operadora
+     * @return os lançamentos de todos os trimestres, em ordem de conta e data
+     */
+    public List<AccountingEntry> lookup(int operatorId) {
+        return lookup(operatorId, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private List<AccountingEntry> lookup(int operatorId, long fromAccount, long toAccount) {
+        List<AccountingEntry> entries = new ArrayList<>();
+        for (AccountingSegment segment : getSegments()) {
+            int[] rows = segment.findRows(operatorId, fromAccount, toAccount);
+            if (rows.length == 0) {
+                continue;
+            }
+            IntBuffer dates = segment.dates();
+            LongBuffer accounts = segment.accountCodes();
+            IntBuffer descriptionIds = segment.descriptionIds();
+            LongBuffer initialBalances = segment.initialBalances();
+            LongBuffer finalBalances = segment.finalBalances();
+            for (int row : rows) {
+                int date = dates.get(row);
+                entries.add(new AccountingEntry(segment.getName(), segment.getSourceFileName(), row,
+                        LocalDate.of(date / 10_000, date / 100 % 100, date % 100), operatorId, accounts.get(row),
+                        getDescription(descriptionIds.get(row)), initialBalances.get(row), finalBalances.get(row)));
+            }
+        }
+        entries.sort(Comparator.comparingLong(AccountingEntry::accountCode)
+                .thenComparing(AccountingEntry::date)
+                .thenComparing(AccountingEntry::segment));
+        return entries;
+    }
+
+    /**
+     * Inicia a gravação de um segmento. Um segmento existente com o mesmo nome
+     * só é substituído quando o novo é confirmado.
+     *
+     * @param name       nome do segmento (por exemplo, o trimestre
+     *                   {@code 1T2024})
+     * @param sourceFile CSV de origem dos lançamentos
+     * @return o escritor do segmento
+     * @throws AccountingStoreException se o diretório do segmento não puder ser
+     *                                  criado
+     */
+    public SegmentWriter appendSegment(String name, Path sourceFile) {
+        if (name.isBlank() || name.contains("/") || name.contains("\\") || name.endsWith(TEMP_SUFFIX)
+                || name.endsWith(OLD_SUFFIX)) {
+            throw new IllegalArgumentException("Nome de segmento inválido: " + name);
+        }
+        Path tmp = dir.resolve(name + TEMP_SUFFIX);
+        try {
+            DirectoryHelper.deleteRecursively(tmp);
+            Files.createDirectories(tmp);
+            return new SegmentWriter(this, name, tmp, AccountingSegment.Source.of(sourceFile));
+        } catch (IOException e) {
+            throw new AccountingStoreException("Erro ao criar o segmento " + name, e);
+        }
+    }
+
+    /**
+     * Retorna o código de uma descrição, acrescentando-a ao dicionário se for
+     * nova.
+     */
+    synchronized int descriptionId(String description) {
+        Integer id = descriptionIds.get(description);
+        if (id == null) {
+            id = descriptions.size();
+            descriptions.add(description);
+            descriptionIds.put(description, id);
+        }
+        return id;
+    }
+
+    /**
+     * Publica um segmento gravado: salva o dicionário, substitui o diretório do
+     * segmento anterior e mapeia o novo.
+     */
+    synchronized AccountingSegment publish(String name, Path tmp) throws IOException {
+        saveDictionary();
+        Path target = dir.resolve(name);
+        Path old = dir.resolve(name + OLD_SUFFIX);
+        if (Files.exists(target)) {
+            DirectoryHelper.deleteRecursively(old);
+            Files.move(target, old, StandardCopyOption.ATOMIC_MOVE);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        DirectoryHelper.deleteRecursively(old);
+        AccountingSegment segment = AccountingSegment.load(target);
+        segments.put(name, segment);
+        LOGGER.info("Segmento {} gravado: {} lançamentos", name, segment.getRowCount());
+        return segment;
+    }
+
+    /**
+     * Remove o diretório de um segmento não confirmado.
+     */
+    void discard(Path tmp) {
+        try {
+            DirectoryHelper.deleteRecursively(tmp);
+        } catch (IOException e) {
+            LOGGER.warn("Não foi possível remover o segmento temporário {}: {}", tmp, e.getMessage());
+        }
+    }
+
+    /**
+     * Trata diretórios deixados por uma publicação interrompida: segmentos
+     * temporários são descartados e um segmento anterior sem substituto é
+     * restaurado.
+     */
+    private void recover(Path entry, String name) throws IOException {
+        if (name.endsWith(OLD_SUFFIX)) {
+            Path target = dir.resolve(name.substring(0, name.length() - OLD_SUFFIX.length()));
+            if (Files.notExists(target)) {
+                Files.move(entry, target, StandardCopyOption.ATOMIC_MOVE);
+                return;
+            }
+        }
+        DirectoryHelper.deleteRecursively(entry);
+    }
+
+    private void loadDictionary() throws IOException {
+        Path file = dir.resolve(DICTIONARY_FILE);
+        if (Files.notExists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != DICTIONARY_MAGIC) {
+                throw new IOException("Dicionário de descrições inválido: " + file);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String description = in.readUTF();
+                descriptionIds.put(description, descriptions.size());
+                descriptions.add(description);
+            }
+        }
+    }
+
+    private void saveDictionary() throws IOException {
+        Path file = dir.resolve(DICTIONARY_FILE);
+        Path tmp = Files.createTempFile(dir, DICTIONARY_FILE, TEMP_SUFFIX);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(DICTIONARY_MAGIC);
+                out.writeInt(descriptions.size());
+                for (String description : descriptions) {
+                    out.writeUTF(description);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.kleberrhuan.intuitivecare.store;
+
+import com.kleberrhuan.intuitivecare.exception.AccountingStoreException;
+import com.kleberrhuan.intuitivecare.model.Rollup;
+import com.kleberrhuan.intuitivecare.model.RollupEntry;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Persistência dos agregados materializados ({@link Rollup}), um arquivo por
+ * partição.
+ * <p>
+ * Todos os agregados são lidos para a memória na abertura (são pequenos: uma
+ * linha por operadora e grupo de contas), de modo que as consultas não tocam o
+ * disco; cada gravação substitui o arquivo da partição atomicamente.
+ * Instâncias podem ser compartilhadas entre threads.
+ */
+public final class RollupStore {
+    private static final String EXTENSION = ".rollup";
+    private static final int MAGIC = 0x41435231; // "ACR1"
+
+    private final Path dir;
+    private final Map<String, Rollup> rollups = new TreeMap<>();
+
+    private RollupStore(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Abre (ou cria) o diretório de agregados e lê as partições existentes.
+     *
+     * @param dir diretório dos agregados
+     * @return o armazenamento de agregados
+     * @throws AccountingStoreException se o diretório ou algum agregado não
+     *                                  puder ser lido
+     */
+    public static RollupStore open(Path dir) {
+        RollupStore store = new RollupStore(dir);
+        try {
+            DirectoryHelper.createDirectoryIfNotExists(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.filter(f -> f.getFileName().toString().endsWith(EXTENSION)).toList()) {
+                    Rollup rollup = read(file);
+                    store.rollups.put(rollup.partition(), rollup);
+                }
+            }
+            return store;
+        } catch (IOException e) {
+            throw new AccountingStoreException("Erro ao abrir os agregados contábeis em " + dir, e);
+        }
+    }
+
+    public Path getDirectory() {
+        return dir;
+    }
+
+    /**
+     * @param partition nome da partição
+     * @return o agregado, ou {@code null} se a partição não existir
+     */
+    public synchronized Rollup get(String partition) {
+        return rollups.get(partition);
+    }
+
+    /**
+     * @return os nomes das partições existentes, em ordem
+     */
+    public synchronized List<String> getPartitions() {
+        return List.copyOf(rollups.keySet());
+    }
+
+    /**
+     * Grava (ou substitui) o agregado de uma partição.
+     *
+     * @param rollup agregado
+     * @throws AccountingStoreException se o arquivo não puder ser gravado
+     */
+    public synchronized void save(Rollup rollup) {
+        Path file = dir.resolve(rollup.partition() + EXTENSION);
+        Path tmp = dir.resolve(rollup.partition() + EXTENSION + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeUTF(rollup.partition());
+                out.writeUTF(rollup.version());
+                out.writeInt(rollup.entries().size());
+                for (RollupEntry entry : rollup.entries()) {
+                    out.writeInt(entry.operatorId());
+                    out.writeLong(entry.accountGroup());
+                    out.writeLong(entry.rows());
+                    out.writeLong(entry.initialBalanceCents());
+                    out.writeLong(entry.finalBalanceCents());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            rollups.put(rollup.partition(), rollup);
+        } catch (IOException e) {
+            throw new AccountingStoreException("Erro ao gravar o agregado " + rollup.partition(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // o temporário será substituído na próxima gravação
+            }
+        }
+    }
+
+    /**
+     * Remove o agregado de uma partição.
+     *
+     * @param partition nome da partição
+     * @throws AccountingStoreException se o arquivo não puder ser removido
+     */
+    public synchronized void delete(String partition) {
+        try {
+            Files.deleteIfExists(dir.resolve(partition + EXTENSION));
+            rollups.remove(partition);
+        } catch (IOException e) {
+            throw new AccountingStoreException("Erro ao remover o agregado " + partition, e);
+        }
+    }
+
+    private static Rollup read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Agregado inválido: " + file);
+            }
+            String partition = in.readUTF();
+            String version = in.readUTF();
+            int count = in.readInt();
+            List<RollupEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(new RollupEntry(in.readInt(), in.readLong(), in.readLong(), in.readLong(),
+                        in.readLong()));
+            }
+            return new Rollup(partition, version, entries);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.kleberrhuan.intuitivecare.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Índice ordenado de um {@link AccountingSegment} por (registro ANS, conta
+ * contábil, data), gravado no diretório do segmento e mapeado em memória.
+ * <p>
+ * Cada entrada tem largura fixa e aponta para a linha do lançamento nas colunas
+ * do segmento, de modo que uma consulta pontual é uma busca binária sobre o
+ * arquivo mapeado seguida da leitura das linhas encontradas, sem percorrer o
+ * trimestre. O índice é construído uma única vez, quando o segmento é
+ * publicado (ou na primeira abertura de um segmento gravado sem índice); novos
+ * trimestres não alteram os índices existentes.
+ */
+final class SegmentIndex {
+    static final String FILE = "indice.idx";
+    private static final int MAGIC = 0x41435831; // "ACX1"
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    /** Registro ANS (int), conta (long), data (int) e linha (int) */
+    private static final int ENTRY_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int OPERATOR_OFFSET = 0;
+    private static final int ACCOUNT_OFFSET = Integer.BYTES;
+    private static final int ROW_OFFSET = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int BUFFER_BYTES = 64 * 1024;
+    /**
+     * Maior quantidade de linhas cujo índice cabe em um único mapeamento
+     * (2 GB). É também o limite de linhas de um segmento, aplicado pelo
+     * {@link SegmentWriter}, e é menor que o limite das colunas de 8 bytes.
+     */
+    static final int MAX_ROWS = (Integer.MAX_VALUE - HEADER_BYTES) / ENTRY_BYTES;
+
+    private final ByteBuffer entries;
+    private final int count;
+
+    private SegmentIndex(ByteBuffer entries, int count) {
+        this.entries = entries;
+        this.count = count;
+    }
+
+    /**
+     * Mapeia o índice do segmento, construindo-o se ele não existir ou não
+     * corresponder às linhas do segmento.
+     */
+    static SegmentIndex openOrBuild(Path dir, AccountingSegment segment) throws IOException {
+        Path file = dir.resolve(FILE);
+        SegmentIndex index = Files.isRegularFile(file) ? map(file) : null;
+        if (index == null || index.count != segment.getRowCount()) {
+            build(segment, file);
+            index = map(file);
+            if (index == null) {
+                throw new IOException("Índice inválido: " + file);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Procura as linhas de uma operadora cujas contas estejam no intervalo
+     * informado.
+     *
+     * @param operatorId  registro ANS
+     * @param fromAccount menor conta (inclusive)
+     * @param toAccount   maior conta (inclusive)
+     * @return as linhas encontradas, ordenadas por conta e data
+     */
+    int[] find(int operatorId, long fromAccount, long toAccount) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, operatorId, fromAccount) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int end = low;
+        while (end < count && compare(end, operatorId, toAccount) <= 0) {
+            end++;
+        }
+        int[] rows = new int[end - low];
+        for (int i = low; i < end; i++) {
+            rows[i - low] = entries.getInt(position(i) + ROW_OFFSET);
+        }
+        return rows;
+    }
+
+    /**
+     * Compara a entrada {@code i} com a chave (registro ANS, conta).
+     */
+    private int compare(int i, int operatorId, long accountCode) {
+        int position = position(i);
+        int result = Integer.compare(entries.getInt(position + OPERATOR_OFFSET), operatorId);
+        return result != 0 ? result : Long.compare(entries.getLong(position + ACCOUNT_OFFSET), accountCode);
+    }
+
+    private static int position(int i) {
+        return HEADER_BYTES + i * ENTRY_BYTES;
+    }
+
+    /**
+     * Mapeia um arquivo de índice.
+     *
+     * @return o índice, ou {@code null} se o arquivo estiver incompleto
+     */
+    private static SegmentIndex map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return null;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            int count = buffer.getInt(Integer.BYTES);
+            if (buffer.getInt(0) != MAGIC || count < 0
+                    || channel.size() != HEADER_BYTES + (long) count * ENTRY_BYTES) {
+                return null;
+            }
+            return new SegmentIndex(buffer, count);
+        }
+    }
+
+    /**
+     * Ordena as linhas do segmento pela chave e grava o índice em um arquivo
+     * temporário, publicado por renomeação.
+     */
+    private static void build(AccountingSegment segment, Path file) throws IOException {
+        if (segment.getRowCount() > MAX_ROWS) {
+            throw new IOException("Segmento grande demais para ser indexado: " + segment.getName());
+        }
+        IntBuffer operators = segment.operatorIds();
+        LongBuffer accounts = segment.accountCodes();
+        IntBuffer dates = segment.dates();
+        int[] rows = new int[segment.getRowCount()];
+        Arrays.setAll(rows, i -> i);
+        sort(rows, (a, b) -> {
+            int result = Integer.compare(operators.get(a), operators.get(b));
+            if (result == 0) {
+                result = Long.compare(accounts.get(a), accounts.get(b));
+            }
+            if (result == 0) {
+                result = Integer.compare(dates.get(a), dates.get(b));
+            }
+            return result != 0 ? result : Integer.compare(a, b);
+        });
+
+        Path tmp = Files.createTempFile(file.getParent(), FILE, ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(MAGIC).putInt(rows.length);
+                for (int row : rows) {
+                    if (buffer.remaining() < ENTRY_BYTES) {
+                        drain(buffer, channel);
+                    }
+                    buffer.putInt(operators.get(row)).putLong(accounts.get(row)).putInt(dates.get(row)).putInt(row);
+                }
+                drain(buffer, channel);
+                channel.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Ordenação por intercalação de índices de linha, sem converter para
+     * {@link Integer}.
+     */
+    private static void sort(int[] rows, IntBinaryOperator comparator) {
+        int[] source = rows;
+        int[] target = new int[rows.length];
+        for (int width = 1; width < rows.length; width <<= 1) {
+            for (int low = 0; low < rows.length; low += width << 1) {
+                int mid = Math.min(low + width, rows.length);
+                int high = Math.min(low + (width << 1), rows.length);
+                int left = low;
+                int right = mid;
+                for (int k = low; k < high; k++) {
+                    if (left < mid && (right >= high || comparator.applyAsInt(source[left], source[right]) <= 0)) {
+                        target[k] = source[left++];
+                    } else {
+                        target[k] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != rows) {
+            System.arraycopy(source, 0, rows, 0, rows.length);
+        }
+    }
+}
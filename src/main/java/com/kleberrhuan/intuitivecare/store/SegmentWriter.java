@@ -0,0 +1,188 @@
+package com.kleberrhuan.intuitivecare.store;
+
+import com.kleberrhuan.intuitivecare.exception.AccountingStoreException;
+import com.kleberrhuan.intuitivecare.model.AccountingBatch;
+import com.kleberrhuan.intuitivecare.store.AccountingSegment.Column;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Grava um novo segmento (trimestre) do {@link AccountingStore}.
+ * <p>
+ * Os lotes entregues pelo leitor de CSV são acrescentados às colunas por meio
+ * de buffers diretos, fora do heap, descarregados nos arquivos das colunas
+ * quando enchem. O segmento só passa a fazer parte do armazenamento em
+ * {@link #commit()}; fechar o escritor sem confirmar descarta o que foi
+ * gravado.
+ * <p>
+ * {@link #accept(AccountingBatch)} pode ser chamado concorrentemente (como faz
+ * o leitor paralelo); os lotes são gravados um de cada vez.
+ */
+public final class SegmentWriter implements Consumer<AccountingBatch>, Closeable {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final AccountingStore store;
+    private final String name;
+    private final Path dir;
+    private final AccountingSegment.Source source;
+    private final FileChannel[] channels = new FileChannel[Column.values().length];
+    private final ByteBuffer[] buffers = new ByteBuffer[Column.values().length];
+    private final Map<String, Integer> descriptionIds = new IdentityHashMap<>();
+    private int rowCount;
+    private boolean finished;
+
+    SegmentWriter(AccountingStore store, String name, Path dir, AccountingSegment.Source source)
+            throws IOException {
+        this.store = store;
+        this.name = name;
+        this.dir = dir;
+        this.source = source;
+        try {
+            for (Column column : Column.values()) {
+                channels[column.ordinal()] = FileChannel.open(dir.resolve(column.fileName),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                buffers[column.ordinal()] = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException e) {
+            closeChannels();
+            throw e;
+        }
+    }
+
+    /**
+     * Acrescenta os lançamentos de um lote ao segmento.
+     *
+     * @param batch lote de lançamentos
+     * @throws AccountingStoreException se a gravação falhar ou se o segmento
+     *                                  exceder o limite de linhas
+     */
+    @Override
+    public synchronized void accept(AccountingBatch batch) {
+        if (finished) {
+            throw new IllegalStateException("Segmento já finalizado: " + name);
+        }
+        if ((long) rowCount + batch.size() > SegmentIndex.MAX_ROWS) {
+            throw new AccountingStoreException("Segmento excede o limite de linhas: " + name);
+        }
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                putInt(Column.DATE, batch.getDate(i));
+                putInt(Column.OPERATOR, batch.getOperatorId(i));
+                putLong(Column.ACCOUNT, batch.getAccountCode(i));
+                putInt(Column.DESCRIPTION, descriptionId(batch.getDescription(i)));
+                putLong(Column.INITIAL_BALANCE, batch.getInitialBalance(i));
+                putLong(Column.FINAL_BALANCE, batch.getFinalBalance(i));
+            }
+            rowCount += batch.size();
+        } catch (IOException e) {
+            throw new AccountingStoreException("Erro ao gravar o segmento " + name, e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Descarrega as colunas e publica o segmento no armazenamento, substituindo
+     * um segmento anterior com o mesmo nome.
+     *
+     * @return o segmento gravado, já mapeado para leitura
+     * @throws AccountingStoreException se a gravação falhar
+     */
+    public synchronized AccountingSegment commit() {
+        if (finished) {
+            throw new IllegalStateException("Segmento já finalizado: " + name);
+        }
+        finished = true;
+        try {
+            for (Column column : Column.values()) {
+                drain(column);
+                channels[column.ordinal()].force(false);
+            }
+            closeChannels();
+            AccountingSegment.writeMeta(dir, rowCount, source);
+            return store.publish(name, dir);
+        } catch (IOException e) {
+            closeChannels();
+            store.discard(dir);
+            throw new AccountingStoreException("Erro ao gravar o segmento " + name, e);
+        }
+    }
+
+    /**
+     * Descarta o segmento se ele não foi confirmado.
+     */
+    @Override
+    public synchronized void close() {
+        if (!finished) {
+            finished = true;
+            closeChannels();
+            store.discard(dir);
+        }
+    }
+
+    /**
+     * Obtém o código da descrição, consultando primeiro um cache por identidade:
+     * o leitor entrega descrições compartilhadas, então a mesma instância se
+     * repete em quase todas as linhas de uma conta.
+     */
+    private int descriptionId(String description) {
+        Integer id = descriptionIds.get(description);
+        if (id == null) {
+            id = store.descriptionId(description);
+            descriptionIds.put(description, id);
+        }
+        return id;
+    }
+
+    private void putInt(Column column, int value) throws IOException {
+        ByteBuffer buffer = buffers[column.ordinal()];
+        if (buffer.remaining() < Integer.BYTES) {
+            drain(column);
+        }
+        buffer.putInt(value);
+    }
+
+    private void putLong(Column column, long value) throws IOException {
+        ByteBuffer buffer = buffers[column.ordinal()];
+        if (buffer.remaining() < Long.BYTES) {
+            drain(column);
+        }
+        buffer.putLong(value);
+    }
+
+    private void drain(Column column) throws IOException {
+        ByteBuffer buffer = buffers[column.ordinal()].flip();
+        FileChannel channel = channels[column.ordinal()];
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void closeChannels() {
+        for (FileChannel channel : channels) {
+            if (channel == null) {
+                continue;
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // o segmento será descartado ou já foi descarregado
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.exception.AbbreviationLegendException;
+import com.kleberrhuan.intuitivecare.util.helpers.HashHelper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Legenda de abreviações e suas descrições, com consulta sem diferenciar
+ * maiúsculas de minúsculas.
+ * <p>
+ * As chaves são normalizadas e têm seus hashes calculados na construção, e
+ * ficam em uma tabela de endereçamento aberto; a consulta de uma célula inteira
+ * calcula o hash diretamente sobre os caracteres, sem criar strings. Para a
+ * substituição dentro de textos longos, a legenda fornece também um
+ * {@link AhoCorasickMatcher} com todas as abreviações.
+ * <p>
+ * Instâncias são imutáveis e podem ser compartilhadas entre threads.
+ */
+public final class AbbreviationDictionary {
+    private final String[] abbreviations;
+    private final String[] descriptions;
+    private final char[][] keys;
+    private final int[] hashes;
+    private final int[] slots;
+    private final AhoCorasickMatcher matcher;
+    private final String version;
+
+    private AbbreviationDictionary(Map<String, String> entries) {
+        abbreviations = entries.keySet().toArray(String[]::new);
+        descriptions = entries.values().toArray(String[]::new);
+        keys = new char[abbreviations.length][];
+        hashes = new int[abbreviations.length];
+        slots = new int[Integer.highestOneBit(Math.max(1, abbreviations.length) * 4 - 1) << 1];
+        Arrays.fill(slots, -1);
+
+        int mask = slots.length - 1;
+        for (int i = 0; i < abbreviations.length; i++) {
+            char[] key = abbreviations[i].toCharArray();
+            for (int k = 0; k < key.length; k++) {
+                key[k] = AhoCorasickMatcher.fold(key[k]);
+            }
+            keys[i] = key;
+            hashes[i] = hash(key, 0, key.length);
+            if (find(key, 0, key.length) >= 0) {
+                throw new AbbreviationLegendException("Abreviação duplicada na legenda: " + abbreviations[i]);
+            }
+            int slot = hashes[i] & mask;
+            while (slots[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i;
+        }
+        matcher = new AhoCorasickMatcher(keys);
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < abbreviations.length; i++) {
+            content.append(abbreviations[i]).append(';').append(descriptions[i]).append('\n');
+        }
+        version = HashHelper.sha256(content.toString());
+    }
+
+    /**
+     * Cria a legenda a partir de um mapa de abreviações para descrições.
+     *
+     * @param entries abreviações e descrições, na ordem desejada
+     * @return a legenda
+     * @throws AbbreviationLegendException se houver abreviações vazias ou
+     *                                     duplicadas
+     */
+    public static AbbreviationDictionary of(Map<String, String> entries) {
+        for (String abbreviation : entries.keySet()) {
+            if (abbreviation == null || abbreviation.isEmpty()) {
+                throw new AbbreviationLegendException("Abreviação vazia na legenda");
+            }
+        }
+        return new AbbreviationDictionary(new LinkedHashMap<>(entries));
+    }
+
+    /**
+     * Carrega a legenda de um arquivo no formato {@code ABREVIAÇÃO;Descrição},
+     * em UTF-8, uma entrada por linha. Linhas em branco ou iniciadas por
+     * {@code #} são ignoradas.
+     *
+     * @param legendFile caminho do arquivo da legenda
+     * @return a legenda
+     * @throws AbbreviationLegendException se o arquivo não puder ser lido ou for
+     *                                     inválido
+     */
+    public static AbbreviationDictionary load(Path legendFile) {
+        try (Reader reader = Files.newBufferedReader(legendFile, StandardCharsets.UTF_8)) {
+            return parse(reader, legendFile.toString());
+        } catch (IOException e) {
+            throw new AbbreviationLegendException("Erro ao ler a legenda de abreviações: " + legendFile, e);
+        }
+    }
+
+    /**
+     * Carrega a legenda de um recurso do classpath.
+     *
+     * @param resource nome do recurso (ex.: {@code /abbreviations.csv})
+     * @return a legenda
+     * @throws AbbreviationLegendException se o recurso não existir ou for
+     *                                     inválido
+     */
+    public static AbbreviationDictionary fromResource(String resource) {
+        InputStream in = AbbreviationDictionary.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new AbbreviationLegendException("Legenda de abreviações não encontrada: " + resource);
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return parse(reader, resource);
+        } catch (IOException e) {
+            throw new AbbreviationLegendException("Erro ao ler a legenda de abreviações: " + resource, e);
+        }
+    }
+
+    private static AbbreviationDictionary parse(Reader reader, String source) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf(';');
+            if (separator <= 0) {
+                throw new AbbreviationLegendException(
+                        "Linha inválida na legenda " + source + " (linha " + lineNumber + "): " + line);
+            }
+            entries.put(line.substring(0, separator).strip(), line.substring(separator + 1).strip());
+        }
+        return of(entries);
+    }
+
+    /**
+     * @return a quantidade de abreviações da legenda
+     */
+    public int size() {
+        return abbreviations.length;
+    }
+
+    public String getAbbreviation(int index) {
+        return abbreviations[index];
+    }
+
+    public String getDescription(int index) {
+        return descriptions[index];
+    }
+
+    /**
+     * @return um hash do conteúdo da legenda, para versionamento de resultados
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return o autômato de busca com todas as abreviações, indexadas como na
+     *         legenda
+     */
+    public AhoCorasickMatcher getMatcher() {
+        return matcher;
+    }
+
+    /**
+     * Procura uma abreviação igual ao trecho informado, sem diferenciar
+     * maiúsculas de minúsculas e sem criar objetos.
+     *
+     * @param chars  vetor com o texto
+     * @param offset início do trecho
+     * @param length comprimento do trecho
+     * @return o índice da abreviação, ou {@code -1} se não houver
+     */
+    public int find(char[] chars, int offset, int length) {
+        int mask = slots.length - 1;
+        int hash = hash(chars, offset, length);
+        for (int slot = hash & mask; slots[slot] >= 0; slot = (slot + 1) & mask) {
+            int index = slots[slot];
+            if (hashes[index] == hash && matches(keys[index], chars, offset, length)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Procura uma abreviação igual ao texto informado.
+     *
+     * @param text o texto
+     * @return a descrição correspondente, ou {@code null} se não houver
+     */
+    public String describe(String text) {
+        int index = find(text.toCharArray(), 0, text.length());
+        return index < 0 ? null : descriptions[index];
+    }
+
+    private static int hash(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + AhoCorasickMatcher.fold(chars[i]);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(char[] key, char[] chars, int offset, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != AhoCorasickMatcher.fold(chars[offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
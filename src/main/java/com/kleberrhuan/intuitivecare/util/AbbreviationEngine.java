@@ -0,0 +1,182 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.AbbreviationMode;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aplica a legenda de abreviações às linhas de um {@link TableBuffer}.
+ * <p>
+ * No modo {@link AbbreviationMode#EXACT}, uma célula é substituída quando seu
+ * conteúdo inteiro é uma abreviação. No modo {@link AbbreviationMode#SUBSTRING},
+ * as abreviações são procuradas dentro do texto da célula e substituídas quando
+ * aparecem como palavras inteiras (delimitadas por caracteres que não são
+ * letras nem dígitos); ocorrências sobrepostas são resolvidas escolhendo a mais
+ * à esquerda e, entre elas, a mais longa.
+ * <p>
+ * As substituições podem ser restritas a colunas identificadas pelo cabeçalho
+ * ({@link #bindHeader(TableBuffer.Cursor)}). Os buffers de trabalho são
+ * reaproveitados entre as linhas, portanto cada instância deve ser usada por
+ * uma única thread.
+ */
+public class AbbreviationEngine implements AhoCorasickMatcher.MatchListener {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(AbbreviationEngine.class);
+
+    private final AbbreviationDictionary dictionary;
+    private final AbbreviationMode mode;
+    private final List<String> scopeColumns;
+    private final StringBuilder replacement = new StringBuilder();
+    private boolean[] columnInScope;
+    private char[] scanText;
+    private int scanStart;
+    private int scanEnd;
+    private int[] matchStarts = new int[8];
+    private int[] matchEnds = new int[8];
+    private int[] matchPatterns = new int[8];
+    private int matchCount;
+
+    /**
+     * @param dictionary   a legenda de abreviações
+     * @param mode         o modo de substituição
+     * @param scopeColumns cabeçalhos das colunas onde as substituições são
+     *                     aplicadas; vazio aplica em todas as colunas
+     */
+    public AbbreviationEngine(AbbreviationDictionary dictionary, AbbreviationMode mode, List<String> scopeColumns) {
+        this.dictionary = dictionary;
+        this.mode = mode;
+        this.scopeColumns = List.copyOf(scopeColumns);
+    }
+
+    /**
+     * Resolve as colunas de escopo a partir da linha de cabeçalho. Deve ser
+     * chamado antes de aplicar as substituições ao próprio cabeçalho.
+     *
+     * @param header cursor posicionado na linha de cabeçalho
+     */
+    public void bindHeader(TableBuffer.Cursor header) {
+        if (scopeColumns.isEmpty()) {
+            return;
+        }
+        columnInScope = new boolean[header.getCellCount()];
+        boolean anyColumn = false;
+        for (int c = 0; c < columnInScope.length; c++) {
+            for (String column : scopeColumns) {
+                if (header.cellEqualsIgnoreCase(c, column)) {
+                    columnInScope[c] = true;
+                    anyColumn = true;
+                }
+            }
+        }
+        if (!anyColumn) {
+            LOGGER.warn("Nenhuma das colunas {} foi encontrada no cabeçalho; abreviações não serão substituídas",
+                    scopeColumns);
+        }
+    }
+
+    /**
+     * Substitui as abreviações da linha corrente do cursor.
+     *
+     * @param row cursor posicionado na linha
+     */
+    public void apply(TableBuffer.Cursor row) {
+        for (int c = 0; c < row.getCellCount(); c++) {
+            if (!inScope(c)) {
+                continue;
+            }
+            if (mode == AbbreviationMode.EXACT) {
+                int index = dictionary.find(row.getArena(), row.getCellOffset(c), row.getCellLength(c));
+                if (index >= 0) {
+                    row.setCell(c, dictionary.getDescription(index));
+                }
+            } else {
+                replaceWithinCell(row, c);
+            }
+        }
+    }
+
+    private boolean inScope(int column) {
+        if (scopeColumns.isEmpty()) {
+            return true;
+        }
+        return columnInScope != null && column < columnInScope.length && columnInScope[column];
+    }
+
+    private void replaceWithinCell(TableBuffer.Cursor row, int column) {
+        char[] text = row.getArena();
+        int offset = row.getCellOffset(column);
+        int end = offset + row.getCellLength(column);
+
+        matchCount = 0;
+        scanText = text;
+        scanStart = offset;
+        scanEnd = end;
+        dictionary.getMatcher().scan(text, offset, end - offset, this);
+        scanText = null;
+        if (matchCount == 0) {
+            return;
+        }
+
+        sortMatches();
+        replacement.setLength(0);
+        int copied = offset;
+        for (int m = 0; m < matchCount; m++) {
+            if (matchStarts[m] < copied) {
+                continue;
+            }
+            replacement.append(text, copied, matchStarts[m] - copied);
+            replacement.append(dictionary.getDescription(matchPatterns[m]));
+            copied = matchEnds[m];
+        }
+        replacement.append(text, copied, end - copied);
+        row.setCell(column, replacement);
+    }
+
+    /**
+     * Registra as ocorrências que formam palavras inteiras dentro da célula em
+     * varredura.
+     */
+    @Override
+    public void onMatch(int start, int end, int pattern) {
+        if (start > scanStart && isWordChar(scanText, start - 1) || end < scanEnd && isWordChar(scanText, end)) {
+            return;
+        }
+        if (matchCount == matchStarts.length) {
+            matchStarts = Arrays.copyOf(matchStarts, matchCount * 2);
+            matchEnds = Arrays.copyOf(matchEnds, matchCount * 2);
+            matchPatterns = Arrays.copyOf(matchPatterns, matchCount * 2);
+        }
+        matchStarts[matchCount] = start;
+        matchEnds[matchCount] = end;
+        matchPatterns[matchCount] = pattern;
+        matchCount++;
+    }
+
+    private boolean isWordChar(char[] text, int index) {
+        return Character.isLetterOrDigit(text[index]);
+    }
+
+    /**
+     * Ordena as ocorrências pelo início e, no mesmo início, da mais longa para a
+     * mais curta (ordenação por inserção; as células têm poucas ocorrências).
+     */
+    private void sortMatches() {
+        for (int i = 1; i < matchCount; i++) {
+            int start = matchStarts[i];
+            int end = matchEnds[i];
+            int pattern = matchPatterns[i];
+            int j = i - 1;
+            while (j >= 0 && (matchStarts[j] > start || matchStarts[j] == start && matchEnds[j] < end)) {
+                matchStarts[j + 1] = matchStarts[j];
+                matchEnds[j + 1] = matchEnds[j];
+                matchPatterns[j + 1] = matchPatterns[j];
+                j--;
+            }
+            matchStarts[j + 1] = start;
+            matchEnds[j + 1] = end;
+            matchPatterns[j + 1] = pattern;
+        }
+    }
+}
@@ -0,0 +1,619 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import com.kleberrhuan.intuitivecare.exception.AccountingParseException;
+import com.kleberrhuan.intuitivecare.model.AccountingBatch;
+import com.kleberrhuan.intuitivecare.model.AccountingParseOptions;
+import com.kleberrhuan.intuitivecare.model.AccountingParseResult;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+/**
+ * Leitor paralelo dos CSVs de demonstrações contábeis da ANS
+ * ({@code DATA;REG_ANS;CD_CONTA_CONTABIL;DESCRICAO;VL_SALDO_INICIAL;VL_SALDO_FINAL}).
+ * <p>
+ * O arquivo é dividido em trechos de tamanho fixo, ajustados para começar
+ * sempre no início de uma linha, e cada trecho é mapeado em memória e lido por
+ * um worker. Os campos são convertidos diretamente dos bytes para tipos
+ * primitivos, sem criar uma {@link String} ou um {@code BigDecimal} por campo:
+ * datas para inteiros {@code AAAAMMDD} e valores com vírgula decimal para
+ * centavos em {@code long}. As descrições das contas, que se repetem em todas as
+ * operadoras, passam por um {@link StringPool} e são compartilhadas.
+ * <p>
+ * As colunas são localizadas pelo cabeçalho, em qualquer ordem; a coluna
+ * {@code VL_SALDO_INICIAL}, ausente em alguns anos, é opcional. Campos podem
+ * estar entre aspas, com aspas duplicadas como escape, mas a divisão em trechos
+ * pressupõe que não haja quebras de linha dentro de campos. A codificação é
+ * detectada entre UTF-8 e ISO-8859-1 quando não informada; bytes inválidos em
+ * UTF-8 são interpretados como ISO-8859-1.
+ * <p>
+ * Os lançamentos são entregues em lotes ({@link AccountingBatch}) a partir das
+ * threads dos workers: o consumidor deve ser thread-safe e não pode guardar o
+ * lote após retornar. Linhas com campos ausentes ou inválidos são contadas e
+ * ignoradas.
+ */
+public class AccountingCsvParser {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(AccountingCsvParser.class);
+    private static final byte QUOTE = '"';
+    private static final int SAMPLE_BYTES = 4 * 1024 * 1024;
+    private static final int SCAN_WINDOW = 64 * 1024;
+
+    private static final int COLUMN_DATE = 0;
+    private static final int COLUMN_OPERATOR = 1;
+    private static final int COLUMN_ACCOUNT = 2;
+    private static final int COLUMN_DESCRIPTION = 3;
+    private static final int COLUMN_INITIAL_BALANCE = 4;
+    private static final int COLUMN_FINAL_BALANCE = 5;
+    private static final String[] COLUMN_NAMES = { "DATA", "REG_ANS", "CD_CONTA_CONTABIL", "DESCRICAO",
+            "VL_SALDO_INICIAL", "VL_SALDO_FINAL" };
+
+    private final AccountingParseOptions options;
+    private final StringPool descriptionPool = new StringPool(AppConfig.ACCOUNTING_DESCRIPTION_POOL_SIZE,
+            AppConfig.ACCOUNTING_DESCRIPTION_MAX_LENGTH);
+
+    /**
+     * Cria o leitor com as opções padrão da configuração.
+     */
+    public AccountingCsvParser() {
+        this(AccountingParseOptions.defaults());
+    }
+
+    /**
+     * @param options separador, codificação, paralelismo e tamanhos de trecho e
+     *                lote
+     * @throws IllegalArgumentException se o paralelismo, o trecho ou o lote
+     *                                  forem menores que 1
+     */
+    public AccountingCsvParser(AccountingParseOptions options) {
+        if (options.getParallelism() < 1 || options.getChunkSizeBytes() < 1 || options.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Paralelismo, trecho e lote devem ser maiores que zero.");
+        }
+        this.options = options;
+    }
+
+    /**
+     * @return o conjunto de descrições compartilhadas, com suas estatísticas
+     */
+    public StringPool getDescriptionPool() {
+        return descriptionPool;
+    }
+
+    /**
+     * Lê um CSV de demonstrações contábeis, entregando os lançamentos em lotes.
+     *
+     * @param csvFile arquivo CSV
+     * @param sink    consumidor dos lotes, chamado concorrentemente pelos workers
+     * @return as quantidades lidas e rejeitadas
+     * @throws AccountingParseException se o arquivo não puder ser lido ou não
+     *                                  tiver as colunas obrigatórias
+     */
+    public AccountingParseResult parse(Path csvFile, Consumer<AccountingBatch> sink) {
+        long start = System.currentTimeMillis();
+        try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = skipBom(channel);
+            long headerEnd = findLineStart(channel, dataStart, size);
+            int[] columns = resolveColumns(channel, csvFile, dataStart, headerEnd);
+            Charset charset = options.getCharset() != null ? options.getCharset() : detectCharset(channel, size);
+            boolean utf8 = StandardCharsets.UTF_8.equals(charset);
+
+            List<long[]> chunks = splitChunks(channel, headerEnd, size);
+            ExecutorService executor = newFixedThreadPool(Math.min(options.getParallelism(), Math.max(1,
+                    chunks.size())));
+            try {
+                List<Future<long[]>> futures = new ArrayList<>(chunks.size());
+                for (long[] chunk : chunks) {
+                    futures.add(executor.submit(
+                            () -> new ChunkParser(csvFile, columns, utf8, sink).parse(channel, chunk[0], chunk[1])));
+                }
+                long rows = 0;
+                long rejected = 0;
+                for (Future<long[]> future : futures) {
+                    long[] counts = future.get();
+                    rows += counts[0];
+                    rejected += counts[1];
+                }
+                if (rejected > 0) {
+                    LOGGER.warn("{} linhas inválidas ignoradas em {}", rejected, csvFile.getFileName());
+                }
+                return new AccountingParseResult(csvFile, rows, rejected, size, charset,
+                        System.currentTimeMillis() - start);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AccountingParseException("Leitura interrompida: " + csvFile, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new AccountingParseException("Erro ao ler " + csvFile, e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        } catch (IOException e) {
+            throw new AccountingParseException("Erro ao ler " + csvFile, e);
+        }
+    }
+
+    private static long skipBom(FileChannel channel) throws IOException {
+        ByteBuffer bom = ByteBuffer.allocate(3);
+        channel.read(bom, 0);
+        boolean hasBom = bom.position() == 3 && (bom.get(0) & 0xFF) == 0xEF && (bom.get(1) & 0xFF) == 0xBB
+                && (bom.get(2) & 0xFF) == 0xBF;
+        return hasBom ? 3 : 0;
+    }
+
+    /**
+     * Retorna a posição logo após a primeira quebra de linha a partir de
+     * {@code from}, ou o fim do arquivo.
+     */
+    private static long findLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(SCAN_WINDOW);
+        long position = from;
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Divide o arquivo em trechos iniciados no começo de uma linha.
+     *
+     * @return pares {início, fim} dos trechos
+     */
+    private List<long[]> splitChunks(FileChannel channel, long from, long size) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        long start = from;
+        while (start < size) {
+            long nominal = start + options.getChunkSizeBytes();
+            long end = nominal >= size ? size : findLineStart(channel, nominal - 1, size);
+            chunks.add(new long[] { start, end });
+            start = end;
+        }
+        return chunks;
+    }
+
+    private int[] resolveColumns(FileChannel channel, Path csvFile, long start, long end) throws IOException {
+        if (end - start > SCAN_WINDOW) {
+            throw new AccountingParseException("Cabeçalho inválido em " + csvFile);
+        }
+        ByteBuffer header = ByteBuffer.allocate((int) (end - start));
+        channel.read(header, start);
+        String[] names = new String(header.array(), 0, header.position(), StandardCharsets.ISO_8859_1)
+                .strip().split(Pattern.quote(String.valueOf(options.getDelimiter())), -1);
+        int[] columns = new int[COLUMN_NAMES.length];
+        for (int k = 0; k < COLUMN_NAMES.length; k++) {
+            columns[k] = -1;
+            for (int c = 0; c < names.length; c++) {
+                if (names[c].replace("\"", "").strip().equalsIgnoreCase(COLUMN_NAMES[k])) {
+                    columns[k] = c;
+                    break;
+                }
+            }
+            if (columns[k] < 0 && k != COLUMN_INITIAL_BALANCE) {
+                throw new AccountingParseException("Coluna " + COLUMN_NAMES[k] + " não encontrada em " + csvFile);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Detecta a codificação por uma amostra do início do arquivo: sequências
+     * inválidas em UTF-8 indicam ISO-8859-1.
+     */
+    private static Charset detectCharset(FileChannel channel, long size) throws IOException {
+        ByteBuffer sample = ByteBuffer.allocate((int) Math.min(size, SAMPLE_BYTES));
+        channel.read(sample, 0);
+        int length = sample.position();
+        int i = 0;
+        while (i < length) {
+            int b = sample.get(i) & 0xFF;
+            int continuation = b < 0x80 ? 0 : (b & 0xE0) == 0xC0 ? 1 : (b & 0xF0) == 0xE0 ? 2
+                    : (b & 0xF8) == 0xF0 ? 3 : -1;
+            if (continuation < 0) {
+                return StandardCharsets.ISO_8859_1;
+            }
+            if (i + continuation >= length) {
+                break;
+            }
+            for (int k = 1; k <= continuation; k++) {
+                if ((sample.get(i + k) & 0xC0) != 0x80) {
+                    return StandardCharsets.ISO_8859_1;
+                }
+            }
+            i += continuation + 1;
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Lê um trecho do arquivo. Cada tarefa tem o seu próprio parser, com lote e
+     * vetores auxiliares próprios.
+     */
+    private final class ChunkParser {
+        private final int[] columns;
+        private final boolean utf8;
+        private final Consumer<AccountingBatch> sink;
+        private final AccountingBatch batch;
+        private final int fieldCount;
+        private final int[] fieldStarts;
+        private final int[] fieldEnds;
+        private final boolean[] fieldQuoted;
+        private char[] chars = new char[256];
+        private MappedByteBuffer buffer;
+        private long rows;
+        private long rejected;
+
+        ChunkParser(Path csvFile, int[] columns, boolean utf8, Consumer<AccountingBatch> sink) {
+            this.columns = columns;
+            this.utf8 = utf8;
+            this.sink = sink;
+            this.batch = new AccountingBatch(csvFile, options.getBatchSize());
+            int maxColumn = 0;
+            for (int column : columns) {
+                maxColumn = Math.max(maxColumn, column);
+            }
+            this.fieldCount = maxColumn + 1;
+            this.fieldStarts = new int[fieldCount];
+            this.fieldEnds = new int[fieldCount];
+            this.fieldQuoted = new boolean[fieldCount];
+        }
+
+        /**
+         * @return {linhas entregues, linhas rejeitadas}
+         */
+        long[] parse(FileChannel channel, long start, long end) throws IOException {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            int limit = buffer.limit();
+            int position = 0;
+            while (position < limit) {
+                position = parseLine(position, limit);
+                emit();
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+                batch.clear();
+            }
+            return new long[] { rows, rejected };
+        }
+
+        /**
+         * Localiza os campos de uma linha.
+         *
+         * @return a posição do início da próxima linha
+         */
+        private int parseLine(int position, int limit) {
+            int field = 0;
+            char delimiter = options.getDelimiter();
+            while (true) {
+                int fieldStart;
+                int fieldEnd;
+                boolean quoted = position < limit && buffer.get(position) == QUOTE;
+                if (quoted) {
+                    fieldStart = ++position;
+                    while (position < limit) {
+                        if (buffer.get(position) == QUOTE) {
+                            if (position + 1 < limit && buffer.get(position + 1) == QUOTE) {
+                                position += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        position++;
+                    }
+                    fieldEnd = position;
+                    if (position < limit) {
+                        position++;
+                    }
+                } else {
+                    fieldStart = position;
+                    fieldEnd = -1;
+                }
+                while (position < limit) {
+                    byte b = buffer.get(position);
+                    if (b == delimiter || b == '\n' || b == '\r') {
+                        break;
+                    }
+                    position++;
+                }
+                if (!quoted) {
+                    fieldEnd = position;
+                }
+                if (field < fieldCount) {
+                    fieldStarts[field] = fieldStart;
+                    fieldEnds[field] = fieldEnd;
+                    fieldQuoted[field] = quoted;
+                }
+                field++;
+                if (position < limit && buffer.get(position) == delimiter) {
+                    position++;
+                    continue;
+                }
+                break;
+            }
+            int fields = field;
+            if (position < limit && buffer.get(position) == '\r') {
+                position++;
+            }
+            if (position < limit && buffer.get(position) == '\n') {
+                position++;
+            }
+            for (int f = fields; f < fieldCount; f++) {
+                fieldStarts[f] = -1;
+            }
+            return position;
+        }
+
+        /**
+         * Converte os campos localizados em um lançamento do lote.
+         */
+        private void emit() {
+            if (isBlankLine()) {
+                return;
+            }
+            int date = parseDate(columns[COLUMN_DATE]);
+            long operator = parseDigits(columns[COLUMN_OPERATOR]);
+            long account = parseDigits(columns[COLUMN_ACCOUNT]);
+            long initialBalance = columns[COLUMN_INITIAL_BALANCE] < 0 ? 0
+                    : parseCents(columns[COLUMN_INITIAL_BALANCE]);
+            long finalBalance = parseCents(columns[COLUMN_FINAL_BALANCE]);
+            int descriptionField = columns[COLUMN_DESCRIPTION];
+            if (date < 0 || operator < 0 || operator > Integer.MAX_VALUE || account < 0
+                    || initialBalance == Long.MIN_VALUE || finalBalance == Long.MIN_VALUE
+                    || fieldStarts[descriptionField] < 0) {
+                rejected++;
+                return;
+            }
+            batch.add(date, (int) operator, account, decodeDescription(descriptionField),
+                    initialBalance, finalBalance);
+            rows++;
+            if (batch.size() == options.getBatchSize()) {
+                sink.accept(batch);
+                batch.clear();
+            }
+        }
+
+        private boolean isBlankLine() {
+            return fieldStarts[0] >= 0 && fieldEnds[0] == fieldStarts[0] && fieldCount > 1
+                    && fieldStarts[1] < 0;
+        }
+
+        /**
+         * Converte {@code AAAA-MM-DD} ou {@code DD/MM/AAAA} em {@code AAAAMMDD}.
+         * Datas inexistentes (ex.: 31/04 ou 29/02 fora de ano bissexto) são
+         * rejeitadas, pois o armazenamento e a carga as convertem em
+         * {@code LocalDate}.
+         *
+         * @return a data, ou -1 se o campo for inválido
+         */
+        private int parseDate(int field) {
+            int start = fieldStarts[field];
+            if (start < 0) {
+                return -1;
+            }
+            int end = trimEnd(start, fieldEnds[field]);
+            start = trimStart(start, end);
+            if (end - start != 10) {
+                return -1;
+            }
+            int year;
+            int month;
+            int day;
+            if (buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-') {
+                year = digits(start, 4);
+                month = digits(start + 5, 2);
+                day = digits(start + 8, 2);
+            } else if (buffer.get(start + 2) == '/' && buffer.get(start + 5) == '/') {
+                day = digits(start, 2);
+                month = digits(start + 3, 2);
+                year = digits(start + 6, 4);
+            } else {
+                return -1;
+            }
+            if (year < 0 || month < 1 || month > 12 || day < 1
+                    || day > YearMonth.of(year, month).lengthOfMonth()) {
+                return -1;
+            }
+            return year * 10000 + month * 100 + day;
+        }
+
+        private int digits(int start, int count) {
+            int value = 0;
+            for (int i = start; i < start + count; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        /**
+         * @return o valor do campo formado apenas por dígitos, ou -1 se for
+         *         inválido ou vazio
+         */
+        private long parseDigits(int field) {
+            int start = fieldStarts[field];
+            if (start < 0) {
+                return -1;
+            }
+            int end = trimEnd(start, fieldEnds[field]);
+            start = trimStart(start, end);
+            if (start == end || end - start > 18) {
+                return -1;
+            }
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        /**
+         * Converte um valor monetário em centavos. O último separador (vírgula
+         * ou ponto) é o decimal, exceto um ponto seguido de exatamente três
+         * dígitos, que é separador de milhar; os demais separadores são
+         * ignorados. Casas decimais além da segunda são arredondadas. Campos
+         * vazios valem zero.
+         *
+         * @return o valor em centavos, ou {@link Long#MIN_VALUE} se for inválido
+         */
+        private long parseCents(int field) {
+            int start = fieldStarts[field];
+            if (start < 0) {
+                return Long.MIN_VALUE;
+            }
+            int end = trimEnd(start, fieldEnds[field]);
+            start = trimStart(start, end);
+            if (start == end) {
+                return 0;
+            }
+            boolean negative = buffer.get(start) == '-';
+            if (negative || buffer.get(start) == '+') {
+                start++;
+            }
+            int decimalSeparator = -1;
+            for (int i = end - 1; i >= start; i--) {
+                byte b = buffer.get(i);
+                if (b == ',' || b == '.') {
+                    if (b == ',' || end - i - 1 != 3) {
+                        decimalSeparator = i;
+                    }
+                    break;
+                }
+            }
+            long units = 0;
+            int fractionDigits = 0;
+            long fraction = 0;
+            boolean roundUp = false;
+            int digitsSeen = 0;
+            for (int i = start; i < end; i++) {
+                byte b = buffer.get(i);
+                if (b >= '0' && b <= '9') {
+                    digitsSeen++;
+                    if (decimalSeparator >= 0 && i > decimalSeparator) {
+                        if (fractionDigits < 2) {
+                            fraction = fraction * 10 + (b - '0');
+                            fractionDigits++;
+                        } else if (fractionDigits == 2) {
+                            roundUp = b >= '5';
+                            fractionDigits++;
+                        }
+                    } else {
+                        if (units > (Long.MAX_VALUE / 100 - 9) / 10) {
+                            return Long.MIN_VALUE;
+                        }
+                        units = units * 10 + (b - '0');
+                    }
+                } else if (b != ',' && b != '.') {
+                    return Long.MIN_VALUE;
+                }
+            }
+            if (digitsSeen == 0) {
+                return Long.MIN_VALUE;
+            }
+            if (fractionDigits == 1) {
+                fraction *= 10;
+            }
+            long cents = units * 100 + fraction + (roundUp ? 1 : 0);
+            return negative ? -cents : cents;
+        }
+
+        /**
+         * Decodifica a descrição (sem espaços nas extremidades e com aspas
+         * duplicadas reduzidas) e a obtém do conjunto de descrições.
+         */
+        private String decodeDescription(int field) {
+            int start = fieldStarts[field];
+            int end = trimEnd(start, fieldEnds[field]);
+            start = trimStart(start, end);
+            if (chars.length < end - start) {
+                chars = new char[Math.max(end - start, chars.length * 2)];
+            }
+            boolean quoted = fieldQuoted[field];
+            int count = 0;
+            int i = start;
+            while (i < end) {
+                int b = buffer.get(i++) & 0xFF;
+                if (b == QUOTE && quoted && i < end && buffer.get(i) == QUOTE) {
+                    i++;
+                }
+                if (b < 0x80 || !utf8) {
+                    chars[count++] = (char) b;
+                    continue;
+                }
+                int continuation = (b & 0xE0) == 0xC0 ? 1 : (b & 0xF0) == 0xE0 ? 2 : (b & 0xF8) == 0xF0 ? 3 : -1;
+                if (continuation < 0 || i + continuation > end || !isContinuation(i, continuation)) {
+                    chars[count++] = (char) b;
+                    continue;
+                }
+                int codePoint = b & (0x3F >> continuation);
+                for (int k = 0; k < continuation; k++) {
+                    codePoint = (codePoint << 6) | (buffer.get(i++) & 0x3F);
+                }
+                if (Character.isBmpCodePoint(codePoint)) {
+                    chars[count++] = (char) codePoint;
+                } else {
+                    chars[count++] = Character.highSurrogate(codePoint);
+                    chars[count++] = Character.lowSurrogate(codePoint);
+                }
+            }
+            return descriptionPool.intern(chars, 0, count);
+        }
+
+        private boolean isContinuation(int position, int count) {
+            for (int k = 0; k < count; k++) {
+                if ((buffer.get(position + k) & 0xC0) != 0x80) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int trimStart(int start, int end) {
+            while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+                start++;
+            }
+            return start;
+        }
+
+        private int trimEnd(int start, int end) {
+            while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+                end--;
+            }
+            return end;
+        }
+    }
+}
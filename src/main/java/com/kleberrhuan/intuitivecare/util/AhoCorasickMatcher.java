@@ -0,0 +1,151 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import java.util.Arrays;
+
+/**
+ * Busca simultânea de vários padrões em um texto (algoritmo de Aho-Corasick),
+ * sem diferenciar maiúsculas de minúsculas.
+ * <p>
+ * O autômato é construído uma única vez como uma tabela de transições completa
+ * sobre o alfabeto dos padrões; caracteres fora do alfabeto levam ao estado
+ * inicial. A varredura percorre o texto uma vez, não cria objetos e pode ser
+ * executada por várias threads ao mesmo tempo.
+ */
+public final class AhoCorasickMatcher {
+    private final char[] alphabet;
+    private final int symbols;
+    private final int[] transitions;
+    private final int[] terminal;
+    private final int[] outputLink;
+    private final int[] patternLengths;
+
+    /**
+     * Recebe as ocorrências encontradas durante a varredura.
+     */
+    @FunctionalInterface
+    public interface MatchListener {
+        /**
+         * @param start   posição inicial da ocorrência (inclusiva)
+         * @param end     posição final da ocorrência (exclusiva)
+         * @param pattern índice do padrão encontrado
+         */
+        void onMatch(int start, int end, int pattern);
+    }
+
+    /**
+     * @param patterns padrões não vazios; a comparação ignora maiúsculas e
+     *                 minúsculas
+     */
+    public AhoCorasickMatcher(char[][] patterns) {
+        int totalLength = 0;
+        StringBuilder chars = new StringBuilder();
+        patternLengths = new int[patterns.length];
+        for (int p = 0; p < patterns.length; p++) {
+            if (patterns[p].length == 0) {
+                throw new IllegalArgumentException("Padrões vazios não são permitidos");
+            }
+            patternLengths[p] = patterns[p].length;
+            totalLength += patterns[p].length;
+            for (char c : patterns[p]) {
+                chars.append(fold(c));
+            }
+        }
+        alphabet = distinctSorted(chars);
+        symbols = alphabet.length + 1;
+
+        int maxStates = totalLength + 1;
+        int[] trie = new int[maxStates * symbols];
+        Arrays.fill(trie, -1);
+        terminal = new int[maxStates];
+        Arrays.fill(terminal, -1);
+        int states = 1;
+        for (int p = 0; p < patterns.length; p++) {
+            int state = 0;
+            for (char c : patterns[p]) {
+                int index = state * symbols + symbolOf(fold(c));
+                if (trie[index] < 0) {
+                    trie[index] = states++;
+                }
+                state = trie[index];
+            }
+            if (terminal[state] < 0 || patternLengths[p] > patternLengths[terminal[state]]) {
+                terminal[state] = p;
+            }
+        }
+
+        transitions = Arrays.copyOf(trie, states * symbols);
+        outputLink = new int[states];
+        int[] failure = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int s = 0; s < symbols; s++) {
+            int child = transitions[s];
+            if (child < 0) {
+                transitions[s] = 0;
+            } else {
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int s = 0; s < symbols; s++) {
+                int child = transitions[state * symbols + s];
+                int fallback = transitions[failure[state] * symbols + s];
+                if (child < 0) {
+                    transitions[state * symbols + s] = fallback;
+                } else {
+                    failure[child] = fallback;
+                    outputLink[child] = terminal[fallback] >= 0 ? fallback : outputLink[fallback];
+                    queue[tail++] = child;
+                }
+            }
+        }
+    }
+
+    /**
+     * Percorre um trecho de texto informando todas as ocorrências dos padrões,
+     * inclusive sobrepostas, na ordem da posição final.
+     *
+     * @param text     vetor com o texto
+     * @param offset   início do trecho
+     * @param length   comprimento do trecho
+     * @param listener destino das ocorrências
+     */
+    public void scan(char[] text, int offset, int length, MatchListener listener) {
+        int state = 0;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            state = transitions[state * symbols + symbolOf(fold(text[i]))];
+            for (int t = terminal[state] >= 0 ? state : outputLink[state]; t > 0; t = outputLink[t]) {
+                int pattern = terminal[t];
+                listener.onMatch(i + 1 - patternLengths[pattern], i + 1, pattern);
+            }
+        }
+    }
+
+    /**
+     * Normaliza um caractere para a comparação sem diferenciar maiúsculas de
+     * minúsculas.
+     */
+    static char fold(char c) {
+        return Character.toUpperCase(Character.toLowerCase(c));
+    }
+
+    private int symbolOf(char c) {
+        int index = Arrays.binarySearch(alphabet, c);
+        return index < 0 ? 0 : index + 1;
+    }
+
+    private static char[] distinctSorted(CharSequence chars) {
+        char[] sorted = chars.toString().toCharArray();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (char c : sorted) {
+            if (count == 0 || sorted[count - 1] != c) {
+                sorted[count++] = c;
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+}
@@ -0,0 +1,290 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Leitor do formato colunar binário gravado por {@link ColumnarWriter}.
+ * <p>
+ * Ao abrir o arquivo apenas o rodapé é lido. A leitura de um grupo de linhas
+ * busca somente os blocos das colunas projetadas, com leituras posicionais, e
+ * decodifica os valores diretamente para um {@link TableBuffer}; os valores de
+ * dicionário são decodificados uma única vez por bloco.
+ * <p>
+ * Instâncias não são thread-safe.
+ */
+public class ColumnarReader implements Closeable {
+    private final FileChannel channel;
+    private final List<String> columns;
+    private final int[] groupRows;
+    private final long[][] chunkOffsets;
+    private final int[][] chunkLengths;
+    private final byte[][] chunkEncodings;
+    private final long rowCount;
+    private ChunkDecoder[] decoders = new ChunkDecoder[0];
+
+    /**
+     * Abre um arquivo colunar e lê o seu rodapé.
+     *
+     * @param path arquivo colunar
+     * @throws IOException se o arquivo não puder ser lido ou não estiver no
+     *                     formato colunar
+     */
+    public ColumnarReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer header = size < 16 ? null : readAt(0, 8);
+            if (header == null || header.getInt() != ColumnarWriter.MAGIC) {
+                throw new IOException("Arquivo não está no formato colunar: " + path);
+            }
+            int version = header.getInt();
+            if (version != ColumnarWriter.FORMAT_VERSION) {
+                throw new IOException("Versão do formato colunar não suportada (" + version + "): " + path);
+            }
+            ByteBuffer trailer = readAt(size - 8, 8);
+            int footerLength = trailer.getInt();
+            if (trailer.getInt() != ColumnarWriter.MAGIC || footerLength < 0 || footerLength > size - 16) {
+                throw new IOException("Rodapé do arquivo colunar inválido: " + path);
+            }
+            ByteBuffer footerBuffer = readAt(size - 8 - footerLength, footerLength);
+            DataInputStream footer = new DataInputStream(
+                    new ByteArrayInputStream(footerBuffer.array(), 0, footerLength));
+            int columnCount = footer.readInt();
+            List<String> names = new ArrayList<>(columnCount);
+            for (int c = 0; c < columnCount; c++) {
+                names.add(footer.readUTF());
+            }
+            this.columns = List.copyOf(names);
+            int groups = footer.readInt();
+            this.groupRows = new int[groups];
+            this.chunkOffsets = new long[groups][columnCount];
+            this.chunkLengths = new int[groups][columnCount];
+            this.chunkEncodings = new byte[groups][columnCount];
+            long rows = 0;
+            for (int g = 0; g < groups; g++) {
+                groupRows[g] = footer.readInt();
+                rows += groupRows[g];
+                for (int c = 0; c < columnCount; c++) {
+                    chunkOffsets[g][c] = footer.readLong();
+                    chunkLengths[g][c] = footer.readInt();
+                    chunkEncodings[g][c] = footer.readByte();
+                }
+            }
+            this.rowCount = rows;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getRowGroupCount() {
+        return groupRows.length;
+    }
+
+    /**
+     * @param group índice do grupo
+     * @return a quantidade de linhas do grupo
+     */
+    public int getRowGroupSize(int group) {
+        return groupRows[group];
+    }
+
+    /**
+     * Resolve os nomes das colunas projetadas em índices, comparando sem
+     * diferenciar maiúsculas e minúsculas.
+     *
+     * @param names nomes das colunas, na ordem desejada
+     * @return os índices das colunas
+     * @throws IllegalArgumentException se alguma coluna não existir
+     */
+    public int[] project(String... names) {
+        int[] projection = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            projection[i] = -1;
+            for (int c = 0; c < columns.size(); c++) {
+                if (columns.get(c).strip().equalsIgnoreCase(names[i])) {
+                    projection[i] = c;
+                    break;
+                }
+            }
+            if (projection[i] < 0) {
+                throw new IllegalArgumentException("Coluna não encontrada no arquivo colunar: " + names[i]);
+            }
+        }
+        return projection;
+    }
+
+    /**
+     * Acrescenta ao buffer as linhas de um grupo, apenas com as colunas
+     * projetadas, na ordem da projeção.
+     *
+     * @param group      índice do grupo
+     * @param projection índices das colunas (ver {@link #project(String...)})
+     * @param target     buffer de destino
+     * @throws IOException se a leitura falhar
+     */
+    public void readRowGroup(int group, int[] projection, TableBuffer target) throws IOException {
+        if (decoders.length < projection.length) {
+            int previous = decoders.length;
+            decoders = Arrays.copyOf(decoders, projection.length);
+            for (int p = previous; p < decoders.length; p++) {
+                decoders[p] = new ChunkDecoder();
+            }
+        }
+        for (int p = 0; p < projection.length; p++) {
+            int column = projection[p];
+            decoders[p].load(channel, chunkOffsets[group][column], chunkLengths[group][column],
+                    chunkEncodings[group][column] == ColumnarWriter.ENCODING_DICTIONARY);
+        }
+        for (int r = 0; r < groupRows[group]; r++) {
+            target.startRow();
+            for (int p = 0; p < projection.length; p++) {
+                decoders[p].appendNext(target);
+            }
+            target.endRow();
+        }
+    }
+
+    /**
+     * Lê todas as linhas do arquivo com as colunas informadas.
+     *
+     * @param names nomes das colunas; se nenhum for informado, todas as colunas
+     * @return buffer com as linhas projetadas
+     * @throws IOException se a leitura falhar
+     */
+    public TableBuffer readAll(String... names) throws IOException {
+        int[] projection = names.length == 0 ? allColumns() : project(names);
+        TableBuffer target = new TableBuffer();
+        for (int g = 0; g < groupRows.length; g++) {
+            readRowGroup(g, projection, target);
+        }
+        return target;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int[] allColumns() {
+        int[] projection = new int[columns.size()];
+        Arrays.setAll(projection, c -> c);
+        return projection;
+    }
+
+    private ByteBuffer readAt(long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Fim inesperado do arquivo colunar");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Decodificador dos valores de um bloco de coluna. Os bytes do bloco e o
+     * vetor de caracteres são reaproveitados entre grupos.
+     */
+    private static final class ChunkDecoder {
+        private byte[] bytes = new byte[0];
+        private int position;
+        private char[] chars = new char[256];
+        private char[][] dictionary;
+        private int[] dictionaryLengths;
+
+        void load(FileChannel channel, long offset, int length, boolean dictionaryEncoded) throws IOException {
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Fim inesperado do arquivo colunar");
+                }
+            }
+            position = 0;
+            dictionary = null;
+            if (dictionaryEncoded) {
+                int size = readVarInt();
+                dictionary = new char[size][];
+                dictionaryLengths = new int[size];
+                for (int i = 0; i < size; i++) {
+                    int count = decodeString();
+                    dictionary[i] = Arrays.copyOf(chars, count);
+                    dictionaryLengths[i] = count;
+                }
+            }
+        }
+
+        void appendNext(TableBuffer target) {
+            if (dictionary != null) {
+                int index = readVarInt();
+                target.appendCell(dictionary[index], 0, dictionaryLengths[index]);
+            } else {
+                target.appendCell(chars, 0, decodeString());
+            }
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        /**
+         * Decodifica um texto com comprimento prefixado para {@link #chars}.
+         *
+         * @return a quantidade de caracteres decodificados
+         */
+        private int decodeString() {
+            int end = readVarInt() + position;
+            if (chars.length < end - position) {
+                chars = new char[Math.max(end - position, chars.length * 2)];
+            }
+            int count = 0;
+            while (position < end) {
+                int b = bytes[position++] & 0xFF;
+                if (b < 0x80) {
+                    chars[count++] = (char) b;
+                } else if (b < 0xE0) {
+                    chars[count++] = (char) (((b & 0x1F) << 6) | (bytes[position++] & 0x3F));
+                } else if (b < 0xF0) {
+                    chars[count++] = (char) (((b & 0x0F) << 12) | ((bytes[position++] & 0x3F) << 6)
+                            | (bytes[position++] & 0x3F));
+                } else {
+                    int codePoint = ((b & 0x07) << 18) | ((bytes[position++] & 0x3F) << 12)
+                            | ((bytes[position++] & 0x3F) << 6) | (bytes[position++] & 0x3F);
+                    chars[count++] = Character.highSurrogate(codePoint);
+                    chars[count++] = Character.lowSurrogate(codePoint);
+                }
+            }
+            return count;
+        }
+    }
+}
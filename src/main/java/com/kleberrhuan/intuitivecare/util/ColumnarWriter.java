@@ -0,0 +1,354 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escritor do formato colunar binário das tabelas extraídas, lido por
+ * {@link ColumnarReader}.
+ * <p>
+ * As linhas são agrupadas em grupos de tamanho fixo. Em cada grupo, os valores
+ * de cada coluna são gravados juntos (um bloco por coluna), em UTF-8 com o
+ * comprimento prefixado como inteiro variável. Colunas com poucos valores
+ * distintos no grupo (como as de segmentação OD/AMB ou os grupos e subgrupos)
+ * são gravadas por dicionário: os valores distintos uma única vez, seguidos do
+ * índice de cada linha. O rodapé descreve as colunas e a posição, o tamanho e a
+ * codificação de cada bloco, o que permite ler apenas as colunas desejadas.
+ * <p>
+ * Estrutura do arquivo:
+ *
+ * <pre>
+ * "ICOL" versão
+ * bloco... (grupo 0: coluna 0, coluna 1, ...; grupo 1: ...)
+ * rodapé: colunas, grupos (linhas; por coluna: posição, tamanho, codificação)
+ * tamanho do rodapé, "ICOL"
+ * </pre>
+ * <p>
+ * Linhas com menos células que o cabeçalho são completadas com valores vazios;
+ * células além do cabeçalho são ignoradas. Instâncias não são thread-safe.
+ */
+public class ColumnarWriter implements Closeable {
+    static final int MAGIC = 0x49434F4C; // "ICOL"
+    static final int FORMAT_VERSION = 1;
+    static final byte ENCODING_PLAIN = 0;
+    static final byte ENCODING_DICTIONARY = 1;
+
+    private final FileChannel channel;
+    private final List<String> columns;
+    private final int rowGroupSize;
+    private final int maxDictionarySize;
+    private final TableBuffer group = new TableBuffer();
+    private final ChunkBuffer chunk = new ChunkBuffer();
+    private final ByteArrayOutputStream footerBytes = new ByteArrayOutputStream();
+    private final DataOutputStream footer = new DataOutputStream(footerBytes);
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> dictionaryValues = new ArrayList<>();
+    private int[] dictionaryIndexes = new int[0];
+    private long position;
+    private long rowCount;
+    private int rowGroupCount;
+    private boolean closed;
+
+    /**
+     * Cria o arquivo com o tamanho de grupo e o limite de dicionário padrão.
+     *
+     * @param path    arquivo de destino (substituído se existir)
+     * @param columns nomes das colunas
+     * @throws IOException se o arquivo não puder ser criado
+     */
+    public ColumnarWriter(Path path, List<String> columns) throws IOException {
+        this(path, columns, AppConfig.COLUMNAR_ROW_GROUP_SIZE, AppConfig.COLUMNAR_MAX_DICTIONARY_SIZE);
+    }
+
+    /**
+     * @param path              arquivo de destino (substituído se existir)
+     * @param columns           nomes das colunas
+     * @param rowGroupSize      quantidade de linhas por grupo
+     * @param maxDictionarySize quantidade máxima de valores distintos para
+     *                          codificar um bloco por dicionário
+     * @throws IOException              se o arquivo não puder ser criado
+     * @throws IllegalArgumentException se o tamanho do grupo for menor que 1
+     */
+    public ColumnarWriter(Path path, List<String> columns, int rowGroupSize, int maxDictionarySize)
+            throws IOException {
+        if (rowGroupSize < 1) {
+            throw new IllegalArgumentException("O tamanho do grupo de linhas deve ser maior que zero.");
+        }
+        this.columns = List.copyOf(columns);
+        this.rowGroupSize = rowGroupSize;
+        this.maxDictionarySize = maxDictionarySize;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+        write(header);
+    }
+
+    /**
+     * Converte um CSV com cabeçalho para o formato colunar. O arquivo é gravado
+     * em um temporário e renomeado ao final.
+     *
+     * @param csvPath    CSV de origem
+     * @param targetPath arquivo colunar de destino
+     * @param csvOptions formato do CSV
+     * @return a quantidade de linhas gravadas
+     * @throws IOException se a leitura ou a escrita falhar, ou se o CSV estiver
+     *                     vazio
+     */
+    public static long convert(Path csvPath, Path targetPath, CsvOptions csvOptions) throws IOException {
+        Path dir = targetPath.toAbsolutePath().getParent();
+        DirectoryHelper.createDirectoryIfNotExists(dir);
+        Path tmp = Files.createTempFile(dir, targetPath.getFileName().toString(), ".tmp");
+        try {
+            long rows;
+            try (CsvReader reader = CsvReader.open(csvPath, csvOptions)) {
+                TableBuffer buffer = new TableBuffer();
+                if (!reader.readRow(buffer)) {
+                    throw new IOException("CSV sem cabeçalho: " + csvPath);
+                }
+                try (ColumnarWriter writer = new ColumnarWriter(tmp, buffer.toRows().get(0))) {
+                    TableBuffer.Cursor row = buffer.cursor();
+                    while (true) {
+                        buffer.clear();
+                        if (!reader.readRow(buffer)) {
+                            break;
+                        }
+                        row.reset();
+                        row.next();
+                        writer.writeRow(row);
+                    }
+                    rows = writer.getRowCount();
+                }
+            }
+            Files.move(tmp, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Acrescenta a linha corrente de um cursor.
+     *
+     * @param row cursor posicionado na linha
+     * @throws IOException se a gravação de um grupo completo falhar
+     */
+    public void writeRow(TableBuffer.Cursor row) throws IOException {
+        row.copyTo(group);
+        rowCount++;
+        if (group.getRowCount() == rowGroupSize) {
+            flushGroup();
+        }
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Grava o último grupo e o rodapé e fecha o arquivo.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (group.getRowCount() > 0) {
+                flushGroup();
+            }
+            ByteArrayOutputStream schemaBytes = new ByteArrayOutputStream();
+            DataOutputStream schema = new DataOutputStream(schemaBytes);
+            schema.writeInt(columns.size());
+            for (String column : columns) {
+                schema.writeUTF(column);
+            }
+            schema.writeInt(rowGroupCount);
+            footer.flush();
+            footerBytes.writeTo(schema);
+            schema.flush();
+            byte[] footerData = schemaBytes.toByteArray();
+            write(ByteBuffer.wrap(footerData));
+            write(ByteBuffer.allocate(8).putInt(footerData.length).putInt(MAGIC).flip());
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        int rows = group.getRowCount();
+        footer.writeInt(rows);
+        for (int column = 0; column < columns.size(); column++) {
+            byte encoding = encodeColumn(column, rows);
+            footer.writeLong(position);
+            footer.writeInt(chunk.length);
+            footer.writeByte(encoding);
+            write(ByteBuffer.wrap(chunk.bytes, 0, chunk.length));
+        }
+        rowGroupCount++;
+        group.clear();
+    }
+
+    /**
+     * Codifica uma coluna do grupo corrente no bloco, escolhendo o dicionário
+     * quando a coluna tem poucos valores distintos.
+     */
+    private byte encodeColumn(int column, int rows) {
+        chunk.length = 0;
+        if (buildDictionary(column, rows)) {
+            chunk.putVarInt(dictionaryValues.size());
+            for (String value : dictionaryValues) {
+                chunk.putString(value);
+            }
+            for (int r = 0; r < rows; r++) {
+                chunk.putVarInt(dictionaryIndexes[r]);
+            }
+            return ENCODING_DICTIONARY;
+        }
+        char[] arena = group.getArena();
+        for (int r = 0; r < rows; r++) {
+            if (column < group.getCellCount(r)) {
+                chunk.putString(arena, group.getCellOffset(r, column), group.getCellLength(r, column));
+            } else {
+                chunk.putVarInt(0);
+            }
+        }
+        return ENCODING_PLAIN;
+    }
+
+    /**
+     * Monta o dicionário da coluna, desistindo assim que o limite de valores
+     * distintos é ultrapassado. Os valores passam pelo {@link StringPool}, de
+     * modo que valores repetidos não criam novas strings.
+     *
+     * @return {@code true} se a coluna deve ser codificada por dicionário
+     */
+    private boolean buildDictionary(int column, int rows) {
+        dictionary.clear();
+        dictionaryValues.clear();
+        int limit = Math.min(maxDictionarySize, rows / 2);
+        if (dictionaryIndexes.length < rows) {
+            dictionaryIndexes = new int[rows];
+        }
+        char[] arena = group.getArena();
+        StringPool pool = StringPool.shared();
+        for (int r = 0; r < rows; r++) {
+            String value = column < group.getCellCount(r)
+                    ? pool.intern(arena, group.getCellOffset(r, column), group.getCellLength(r, column))
+                    : "";
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                if (dictionary.size() == limit) {
+                    return false;
+                }
+                index = dictionary.size();
+                dictionary.put(value, index);
+                dictionaryValues.add(value);
+            }
+            dictionaryIndexes[r] = index;
+        }
+        return true;
+    }
+
+    private void write(ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            position += channel.write(data);
+        }
+    }
+
+    /**
+     * Vetor de bytes crescente de um bloco de coluna, com codificação de
+     * inteiros variáveis e de texto em UTF-8.
+     */
+    private static final class ChunkBuffer {
+        private byte[] bytes = new byte[64 * 1024];
+        private int length;
+
+        void putVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void putString(String value) {
+            putString(value.toCharArray(), 0, value.length());
+        }
+
+        /**
+         * Grava o comprimento em bytes seguido do texto em UTF-8. Substitutos
+         * (surrogates) isolados são gravados como {@code '?'}.
+         */
+        void putString(char[] chars, int offset, int count) {
+            int end = offset + count;
+            int utf8Length = 0;
+            for (int i = offset; i < end; i++) {
+                char c = chars[i];
+                if (c < 0x80) {
+                    utf8Length++;
+                } else if (c < 0x800) {
+                    utf8Length += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                    utf8Length += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    utf8Length++;
+                } else {
+                    utf8Length += 3;
+                }
+            }
+            putVarInt(utf8Length);
+            ensure(utf8Length);
+            for (int i = offset; i < end; i++) {
+                char c = chars[i];
+                if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xC0 | (c >> 6));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                    int codePoint = Character.toCodePoint(c, chars[++i]);
+                    bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    bytes[length++] = (byte) '?';
+                } else {
+                    bytes[length++] = (byte) (0xE0 | (c >> 12));
+                    bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
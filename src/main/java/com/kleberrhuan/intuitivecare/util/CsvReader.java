@@ -0,0 +1,132 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Leitor de CSV no formato gerado pelo {@link CsvWriter}: campos opcionalmente
+ * entre aspas, aspas duplicadas como escape e quebras de linha permitidas
+ * dentro de campos entre aspas.
+ * <p>
+ * As linhas são lidas diretamente para um {@link TableBuffer}, sem criar uma
+ * string por campo. Instâncias não são thread-safe.
+ */
+public class CsvReader implements Closeable {
+    private static final char QUOTE = '"';
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[64 * 1024];
+    private int position;
+    private int limit;
+    private char[] field = new char[256];
+    private int fieldLength;
+
+    /**
+     * @param reader    origem dos caracteres; é fechada junto com o leitor
+     * @param delimiter separador de campos
+     */
+    public CsvReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Abre um arquivo CSV em UTF-8.
+     *
+     * @param csvPath caminho do arquivo
+     * @param options formato do CSV
+     * @return o leitor
+     * @throws IOException se o arquivo não puder ser aberto
+     */
+    public static CsvReader open(Path csvPath, CsvOptions options) throws IOException {
+        return new CsvReader(Files.newBufferedReader(csvPath, StandardCharsets.UTF_8), options.getDelimiter());
+    }
+
+    /**
+     * Lê a próxima linha e a acrescenta ao buffer.
+     *
+     * @param target buffer de destino
+     * @return {@code false} se o arquivo terminou
+     * @throws IOException se a leitura falhar
+     */
+    public boolean readRow(TableBuffer target) throws IOException {
+        int c = read();
+        if (c < 0) {
+            return false;
+        }
+        target.startRow();
+        while (true) {
+            fieldLength = 0;
+            if (c == QUOTE) {
+                while ((c = read()) >= 0) {
+                    if (c == QUOTE) {
+                        if (peek() != QUOTE) {
+                            break;
+                        }
+                        read();
+                    }
+                    append((char) c);
+                }
+                c = read();
+            }
+            while (c >= 0 && c != delimiter && c != '\n' && c != '\r') {
+                append((char) c);
+                c = read();
+            }
+            target.appendCell(field, 0, fieldLength);
+            if (c != delimiter) {
+                break;
+            }
+            c = read();
+        }
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+        target.endRow();
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void append(char c) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, fieldLength * 2);
+        }
+        field[fieldLength++] = c;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,291 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.CsvQuoteMode;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Escritor de CSV de alta vazão.
+ * <p>
+ * Os campos são codificados diretamente em UTF-8 em um buffer de bytes grande,
+ * descarregado em um {@link WritableByteChannel} apenas quando enche. O escape
+ * de aspas e a codificação são feitos em uma única passagem sobre os caracteres
+ * de cada campo, sem criar strings ou vetores intermediários; no modo
+ * {@link CsvQuoteMode#MINIMAL}, uma verificação prévia decide se o campo
+ * precisa de aspas.
+ * <p>
+ * Instâncias não são thread-safe.
+ */
+public class CsvWriter implements Closeable, Flushable {
+    private static final char QUOTE = '"';
+    private static final char[] EMPTY = new char[0];
+
+    private final WritableByteChannel channel;
+    private final char delimiter;
+    private final CsvQuoteMode quoteMode;
+    private final byte[] lineEnding;
+    private final byte[] buffer;
+    private final ByteBuffer view;
+    private int position;
+    private boolean rowStarted;
+    private long bytesWritten;
+
+    /**
+     * @param channel canal de destino; é fechado junto com o escritor
+     * @param options formato do CSV
+     * @throws IllegalArgumentException se o delimitador for aspas ou não ASCII
+     */
+    public CsvWriter(WritableByteChannel channel, CsvOptions options) {
+        if (options.getDelimiter() == QUOTE || options.getDelimiter() >= 0x80) {
+            throw new IllegalArgumentException("Delimitador inválido para CSV: " + options.getDelimiter());
+        }
+        this.channel = channel;
+        this.delimiter = options.getDelimiter();
+        this.quoteMode = options.getQuoteMode();
+        this.lineEnding = options.getLineEnding().getBytes(StandardCharsets.UTF_8);
+        this.buffer = new byte[Math.max(64, options.getBufferSize())];
+        this.view = ByteBuffer.wrap(buffer);
+    }
+
+    /**
+     * Abre (ou substitui) um arquivo CSV para escrita.
+     *
+     * @param csvPath caminho do arquivo
+     * @param options formato do CSV
+     * @return o escritor
+     * @throws IOException se o arquivo não puder ser aberto
+     */
+    public static CsvWriter open(Path csvPath, CsvOptions options) throws IOException {
+        return new CsvWriter(FileChannel.open(csvPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), options);
+    }
+
+    /**
+     * Escreve a linha corrente de um cursor, lendo os campos diretamente da
+     * arena do buffer.
+     *
+     * @param row cursor posicionado na linha
+     * @throws IOException se a escrita falhar
+     */
+    public void writeRow(TableBuffer.Cursor row) throws IOException {
+        char[] arena = row.getArena();
+        for (int c = 0; c < row.getCellCount(); c++) {
+            writeField(arena, row.getCellOffset(c), row.getCellLength(c));
+        }
+        endRow();
+    }
+
+    /**
+     * Escreve uma linha completa.
+     *
+     * @param fields valores dos campos; nulos são escritos como vazios
+     * @throws IOException se a escrita falhar
+     */
+    public void writeRow(List<String> fields) throws IOException {
+        for (String field : fields) {
+            writeField(field);
+        }
+        endRow();
+    }
+
+    /**
+     * Acrescenta um campo à linha corrente.
+     *
+     * @param field valor do campo; nulo é escrito como vazio
+     * @throws IOException se a escrita falhar
+     */
+    public void writeField(String field) throws IOException {
+        if (field == null) {
+            writeField(EMPTY, 0, 0);
+            return;
+        }
+        startField();
+        boolean quoted = needsQuotes(field);
+        if (quoted) {
+            put((byte) QUOTE);
+        }
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < field.length()
+                    && Character.isLowSurrogate(field.charAt(i + 1))) {
+                encodeSurrogatePair(c, field.charAt(++i));
+            } else {
+                encode(c, quoted);
+            }
+        }
+        if (quoted) {
+            put((byte) QUOTE);
+        }
+    }
+
+    /**
+     * Acrescenta um campo à linha corrente a partir de um trecho de um vetor de
+     * caracteres.
+     *
+     * @throws IOException se a escrita falhar
+     */
+    public void writeField(char[] chars, int offset, int length) throws IOException {
+        startField();
+        boolean quoted = needsQuotes(chars, offset, length);
+        if (quoted) {
+            put((byte) QUOTE);
+        }
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c < 0x80 && c != QUOTE) {
+                if (position == buffer.length) {
+                    drain();
+                }
+                buffer[position++] = (byte) c;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                encodeSurrogatePair(c, chars[++i]);
+            } else {
+                encode(c, quoted);
+            }
+        }
+        if (quoted) {
+            put((byte) QUOTE);
+        }
+    }
+
+    /**
+     * Finaliza a linha corrente.
+     *
+     * @throws IOException se a escrita falhar
+     */
+    public void endRow() throws IOException {
+        for (byte b : lineEnding) {
+            put(b);
+        }
+        rowStarted = false;
+    }
+
+    /**
+     * @return a quantidade de bytes escritos até o momento, incluindo os ainda no
+     *         buffer
+     */
+    public long getBytesWritten() {
+        return bytesWritten + position;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void startField() throws IOException {
+        if (rowStarted) {
+            put((byte) delimiter);
+        }
+        rowStarted = true;
+    }
+
+    private boolean needsQuotes(CharSequence field) {
+        if (quoteMode == CsvQuoteMode.ALL) {
+            return true;
+        }
+        int length = field.length();
+        if (length > 0 && (field.charAt(0) == ' ' || field.charAt(length - 1) == ' ')) {
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            if (isSpecial(field.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean needsQuotes(char[] chars, int offset, int length) {
+        if (quoteMode == CsvQuoteMode.ALL) {
+            return true;
+        }
+        if (length > 0 && (chars[offset] == ' ' || chars[offset + length - 1] == ' ')) {
+            return true;
+        }
+        for (int i = offset; i < offset + length; i++) {
+            if (isSpecial(chars[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSpecial(char c) {
+        return c == delimiter || c == QUOTE || c == '\n' || c == '\r';
+    }
+
+    /**
+     * Codifica um caractere em UTF-8, duplicando aspas em campos entre aspas.
+     * Substitutos (surrogates) isolados são gravados como {@code '?'}.
+     */
+    private void encode(char c, boolean quoted) throws IOException {
+        if (position + 3 > buffer.length) {
+            drain();
+        }
+        if (c == QUOTE) {
+            buffer[position++] = (byte) QUOTE;
+            if (quoted) {
+                buffer[position++] = (byte) QUOTE;
+            }
+        } else if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            buffer[position++] = (byte) '?';
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void encodeSurrogatePair(char high, char low) throws IOException {
+        if (position + 4 > buffer.length) {
+            drain();
+        }
+        int codePoint = Character.toCodePoint(high, low);
+        buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+    }
+
+    private void put(byte b) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = b;
+    }
+
+    private void drain() throws IOException {
+        view.clear().limit(position);
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+        bytesWritten += position;
+        position = 0;
+    }
+}
@@ -0,0 +1,404 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Ordenação externa de linhas, com remoção opcional de duplicatas, usando
+ * memória limitada.
+ * <p>
+ * As linhas são acumuladas em um {@link TableBuffer} até atingir o orçamento
+ * de memória; então o bloco é ordenado (por índices, sem mover o texto) e
+ * gravado em disco como uma sequência ordenada. Ao final, as sequências são
+ * combinadas por intercalação de k vias com uma fila de prioridade, mantendo
+ * em memória apenas a linha corrente de cada sequência. Quando há mais
+ * sequências do que {@link #MAX_FAN_IN}, elas são intercaladas em etapas
+ * intermediárias. Se todas as linhas couberem no orçamento, nada é gravado em
+ * disco.
+ * <p>
+ * A ordem é dada pelas colunas-chave e, em caso de empate, pelas demais colunas
+ * da linha, comparando os caracteres; células ausentes equivalem a vazias.
+ * Assim a ordenação é determinística e linhas idênticas ficam adjacentes, o que
+ * permite descartar as repetições durante a emissão.
+ * <p>
+ * Instâncias não são thread-safe e devem ser fechadas para remover os arquivos
+ * temporários.
+ */
+public class ExternalRowSorter implements Closeable {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(ExternalRowSorter.class);
+    /** Quantidade máxima de sequências intercaladas de uma só vez */
+    static final int MAX_FAN_IN = 64;
+    private static final int CELL_OVERHEAD_BYTES = 8;
+
+    private final int[] keyColumns;
+    private final boolean deduplicate;
+    private final long memoryBudgetBytes;
+    private final Path spillDir;
+    private final List<Path> runs = new ArrayList<>();
+    private TableBuffer current = new TableBuffer();
+    private long currentCells;
+    private Path workDir;
+    private int runFiles;
+    private long rowsIn;
+    private long rowsOut;
+
+    /**
+     * Recebe as linhas ordenadas.
+     */
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(TableBuffer.Cursor row) throws IOException;
+    }
+
+    /**
+     * @param keyColumns        índices das colunas-chave, em ordem de prioridade
+     * @param deduplicate       descarta linhas idênticas a uma já emitida
+     * @param memoryBudgetBytes memória aproximada das linhas mantidas antes de
+     *                          gravar uma sequência em disco
+     * @param spillDir          diretório dos arquivos temporários
+     */
+    public ExternalRowSorter(int[] keyColumns, boolean deduplicate, long memoryBudgetBytes, Path spillDir) {
+        this.keyColumns = keyColumns.clone();
+        this.deduplicate = deduplicate;
+        this.memoryBudgetBytes = Math.max(1, memoryBudgetBytes);
+        this.spillDir = spillDir;
+    }
+
+    /**
+     * Acrescenta a linha corrente de um cursor.
+     *
+     * @param row cursor posicionado na linha
+     * @throws IOException se a gravação de uma sequência em disco falhar
+     */
+    public void add(TableBuffer.Cursor row) throws IOException {
+        row.copyTo(current);
+        currentCells += row.getCellCount();
+        rowsIn++;
+        if ((long) current.getArenaLength() * Character.BYTES + currentCells * CELL_OVERHEAD_BYTES
+                >= memoryBudgetBytes) {
+            spill();
+        }
+    }
+
+    /**
+     * Emite todas as linhas em ordem. Deve ser chamado uma única vez, depois de
+     * todas as inclusões.
+     *
+     * @param sink destino das linhas
+     * @throws IOException se a leitura das sequências ou o destino falharem
+     */
+    public void finish(RowSink sink) throws IOException {
+        Emitter emitter = new Emitter(sink);
+        if (runs.isEmpty()) {
+            TableBuffer.Cursor cursor = current.cursor();
+            for (int row : sortedOrder(current)) {
+                emitter.emit(current, row, cursor);
+            }
+            current.clear();
+            return;
+        }
+
+        spill();
+        current = null;
+        List<Path> pending = new ArrayList<>(runs);
+        while (pending.size() > MAX_FAN_IN) {
+            List<Path> merged = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += MAX_FAN_IN) {
+                List<Path> group = pending.subList(from, Math.min(pending.size(), from + MAX_FAN_IN));
+                Path run = nextRunFile();
+                try (RunWriter writer = new RunWriter(run)) {
+                    merge(group, writer::write);
+                }
+                for (Path file : group) {
+                    Files.deleteIfExists(file);
+                }
+                merged.add(run);
+            }
+            pending = merged;
+        }
+        LOGGER.info("Intercalando {} sequências ordenadas ({} linhas)", runs.size(), rowsIn);
+        merge(pending, emitter::emit);
+    }
+
+    /**
+     * @return a quantidade de linhas recebidas
+     */
+    public long getRowsIn() {
+        return rowsIn;
+    }
+
+    /**
+     * @return a quantidade de linhas emitidas (após remover duplicatas)
+     */
+    public long getRowsOut() {
+        return rowsOut;
+    }
+
+    /**
+     * @return a quantidade de sequências gravadas em disco
+     */
+    public int getSpilledRuns() {
+        return runs.size();
+    }
+
+    /**
+     * Remove os arquivos temporários.
+     */
+    @Override
+    public void close() throws IOException {
+        if (workDir == null) {
+            return;
+        }
+        try (var files = Files.list(workDir)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(workDir);
+        workDir = null;
+    }
+
+    private void spill() throws IOException {
+        if (current.isEmpty()) {
+            return;
+        }
+        Path run = nextRunFile();
+        runs.add(run);
+        TableBuffer.Cursor cursor = current.cursor();
+        try (RunWriter writer = new RunWriter(run)) {
+            for (int row : sortedOrder(current)) {
+                writer.write(current, row, cursor);
+            }
+        }
+        current.clear();
+        currentCells = 0;
+    }
+
+    private Path nextRunFile() throws IOException {
+        if (workDir == null) {
+            DirectoryHelper.createDirectoryIfNotExists(spillDir);
+            workDir = Files.createTempDirectory(spillDir, "sort-");
+        }
+        return workDir.resolve("run-" + runFiles++ + ".bin");
+    }
+
+    private void merge(List<Path> sources, RowConsumer consumer) throws IOException {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(sources.size(),
+                (a, b) -> compare(a.row, 0, b.row, 0));
+        List<RunReader> readers = new ArrayList<>(sources.size());
+        try {
+            for (Path source : sources) {
+                RunReader reader = new RunReader(source);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                consumer.accept(reader.row, 0, reader.cursor);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Ordena os índices das linhas do bloco (merge sort estável sobre um vetor
+     * de inteiros).
+     */
+    private int[] sortedOrder(TableBuffer rows) {
+        int[] order = new int[rows.getRowCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        mergeSort(rows, order, new int[order.length], 0, order.length);
+        return order;
+    }
+
+    private void mergeSort(TableBuffer rows, int[] order, int[] scratch, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int value = order[i];
+                int j = i - 1;
+                while (j >= from && compare(rows, order[j], rows, value) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = value;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(rows, order, scratch, from, middle);
+        mergeSort(rows, order, scratch, middle, to);
+        if (compare(rows, order[middle - 1], rows, order[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < middle && compare(rows, scratch[left], rows, scratch[right]) <= 0) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+
+    private int compare(TableBuffer a, int rowA, TableBuffer b, int rowB) {
+        for (int column : keyColumns) {
+            int result = compareCell(a, rowA, b, rowB, column);
+            if (result != 0) {
+                return result;
+            }
+        }
+        int columns = Math.max(a.getCellCount(rowA), b.getCellCount(rowB));
+        for (int column = 0; column < columns; column++) {
+            int result = compareCell(a, rowA, b, rowB, column);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(a.getCellCount(rowA), b.getCellCount(rowB));
+    }
+
+    private static int compareCell(TableBuffer a, int rowA, TableBuffer b, int rowB, int column) {
+        boolean hasA = column < a.getCellCount(rowA);
+        boolean hasB = column < b.getCellCount(rowB);
+        int offsetA = hasA ? a.getCellOffset(rowA, column) : 0;
+        int lengthA = hasA ? a.getCellLength(rowA, column) : 0;
+        int offsetB = hasB ? b.getCellOffset(rowB, column) : 0;
+        int lengthB = hasB ? b.getCellLength(rowB, column) : 0;
+        return Arrays.compare(a.getArena(), offsetA, offsetA + lengthA, b.getArena(), offsetB, offsetB + lengthB);
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(TableBuffer rows, int row, TableBuffer.Cursor cursor) throws IOException;
+    }
+
+    /**
+     * Entrega as linhas ao destino, descartando as repetidas.
+     */
+    private final class Emitter {
+        private final RowSink sink;
+        private final TableBuffer previous = new TableBuffer();
+
+        Emitter(RowSink sink) {
+            this.sink = sink;
+        }
+
+        void emit(TableBuffer rows, int row, TableBuffer.Cursor cursor) throws IOException {
+            if (deduplicate) {
+                if (!previous.isEmpty() && rows.rowEquals(row, previous, 0)) {
+                    return;
+                }
+                previous.clear();
+                previous.copyRow(rows, row);
+            }
+            cursor.moveTo(row);
+            sink.accept(cursor);
+            rowsOut++;
+        }
+    }
+
+    /**
+     * Grava uma sequência ordenada: quantidade de células e, para cada célula,
+     * o comprimento e os caracteres.
+     */
+    private static final class RunWriter implements Closeable {
+        private final DataOutputStream out;
+
+        RunWriter(Path file) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+        }
+
+        void write(TableBuffer rows, int row, TableBuffer.Cursor cursor) throws IOException {
+            int cells = rows.getCellCount(row);
+            char[] arena = rows.getArena();
+            out.writeInt(cells);
+            for (int c = 0; c < cells; c++) {
+                int offset = rows.getCellOffset(row, c);
+                int length = rows.getCellLength(row, c);
+                out.writeInt(length);
+                for (int i = offset; i < offset + length; i++) {
+                    out.writeChar(arena[i]);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Lê uma sequência ordenada mantendo apenas a linha corrente em memória.
+     */
+    private static final class RunReader implements Closeable {
+        private final DataInputStream in;
+        private final TableBuffer row = new TableBuffer();
+        private final TableBuffer.Cursor cursor = row.cursor();
+        private char[] chars = new char[256];
+
+        RunReader(Path file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+        }
+
+        boolean advance() throws IOException {
+            row.clear();
+            cursor.reset();
+            int cells;
+            try {
+                cells = in.readInt();
+            } catch (EOFException e) {
+                return false;
+            }
+            row.startRow();
+            for (int c = 0; c < cells; c++) {
+                int length = in.readInt();
+                if (length > chars.length) {
+                    chars = new char[Math.max(length, chars.length * 2)];
+                }
+                for (int i = 0; i < length; i++) {
+                    chars[i] = in.readChar();
+                }
+                row.appendCell(chars, 0, length);
+            }
+            row.endRow();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
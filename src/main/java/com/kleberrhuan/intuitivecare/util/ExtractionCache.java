@@ -0,0 +1,412 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import com.kleberrhuan.intuitivecare.util.helpers.HashHelper;
+import ch.qos.logback.classic.Logger;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Cache persistente dos resultados de extração de tabelas de PDFs.
+ * <p>
+ * Mantém dois níveis de cache em disco:
+ * <ul>
+ * <li>documento: o CSV final, indexado pelo SHA-256 do PDF e pela versão da
+ * configuração de saída (extrator e mapa de abreviações);</li>
+ * <li>página: as linhas brutas de cada página, indexadas pelo SHA-256 do
+ * conteúdo da página (incluindo os recursos que ele referencia) e pelo
+ * extrator, permitindo reaproveitar as páginas
+ * inalteradas de um documento parcialmente modificado.</li>
+ * </ul>
+ * As escritas são feitas em arquivos temporários seguidos de renomeação
+ * atômica, de modo que a instância pode ser usada por várias threads.
+ * <p>
+ * O tamanho total do cache é limitado: cada leitura bem-sucedida atualiza a
+ * data de modificação da entrada e, a cada documento armazenado ou a cada
+ * {@code 1/}{@value #EVICTION_STEPS_PER_LIMIT} do limite gravado em páginas, as
+ * entradas usadas há mais tempo são removidas até que o cache volte ao limite.
+ * Assim, páginas gravadas por extrações que falharam ou sem o cache de
+ * documento também respeitam o limite.
+ */
+public class ExtractionCache {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(ExtractionCache.class);
+    private static final String DOCUMENTS_DIR = "documents";
+    private static final String PAGES_DIR = "pages";
+    private static final int EVICTION_STEPS_PER_LIMIT = 16;
+
+    private final Path cacheDir;
+    private final String extractorId;
+    private final long maxBytes;
+    /** Bytes de páginas gravados desde a última remoção, compartilhado entre os extratores */
+    private final AtomicLong pageBytesSinceEviction;
+
+    /**
+     * Cria o cache com o limite de tamanho padrão
+     * ({@link AppConfig#EXTRACTION_CACHE_MAX_BYTES}).
+     *
+     * @param cacheDir    diretório raiz do cache
+     * @param extractorId identificador (e versão) do algoritmo de extração
+     */
+    public ExtractionCache(Path cacheDir, String extractorId) {
+        this(cacheDir, extractorId, AppConfig.EXTRACTION_CACHE_MAX_BYTES);
+    }
+
+    /**
+     * @param cacheDir    diretório raiz do cache
+     * @param extractorId identificador (e versão) do algoritmo de extração
+     * @param maxBytes    tamanho máximo do cache em disco; 0 ou negativo
+     *                    desativa o limite
+     */
+    public ExtractionCache(Path cacheDir, String extractorId, long maxBytes) {
+        this(cacheDir, extractorId, maxBytes, new AtomicLong());
+    }
+
+    private ExtractionCache(Path cacheDir, String extractorId, long maxBytes, AtomicLong pageBytesSinceEviction) {
+        this.cacheDir = cacheDir;
+        this.extractorId = extractorId;
+        this.maxBytes = maxBytes;
+        this.pageBytesSinceEviction = pageBytesSinceEviction;
+    }
+
+    /**
+     * Retorna um cache desabilitado, que nunca encontra nem armazena resultados.
+     *
+     * @return a instância desabilitada
+     */
+    public static ExtractionCache disabled() {
+        return new ExtractionCache(null, null);
+    }
+
+    /**
+     * Retorna um cache no mesmo diretório, mas associado a outro extrator. As
+     * entradas de extratores diferentes nunca se misturam.
+     *
+     * @param extractorId identificador (e versão) do algoritmo de extração
+     * @return o cache do extrator informado
+     */
+    public ExtractionCache forExtractor(String extractorId) {
+        return extractorId.equals(this.extractorId) ? this
+                : new ExtractionCache(cacheDir, extractorId, maxBytes, pageBytesSinceEviction);
+    }
+
+    public boolean isEnabled() {
+        return cacheDir != null;
+    }
+
+    /**
+     * Monta a chave de documento a partir do hash do PDF e da versão da
+     * configuração aplicada sobre as linhas extraídas.
+     *
+     * @param pdfHash       SHA-256 do PDF
+     * @param outputVersion versão das transformações aplicadas (ex.: mapa de
+     *                      abreviações)
+     * @return a chave do documento
+     */
+    public String documentKey(String pdfHash, String outputVersion) {
+        return pdfHash + "-" + HashHelper.sha256(extractorId + "|" + outputVersion).substring(0, 16);
+    }
+
+    /**
+     * Procura o CSV final de um documento já processado.
+     *
+     * @param documentKey chave gerada por {@link #documentKey(String, String)}
+     * @return o caminho do CSV em cache, se existir
+     */
+    public Optional<Path> findDocument(String documentKey) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Path cached = cacheDir.resolve(DOCUMENTS_DIR).resolve(documentKey + ".csv");
+        if (!Files.isRegularFile(cached)) {
+            return Optional.empty();
+        }
+        touch(cached);
+        return Optional.of(cached);
+    }
+
+    /**
+     * Armazena o CSV final de um documento e, em seguida, remove as entradas
+     * menos usadas recentemente caso o cache tenha excedido o limite de tamanho.
+     *
+     * @param documentKey chave gerada por {@link #documentKey(String, String)}
+     * @param csvFile     o CSV a ser copiado para o cache
+     * @throws IOException se a cópia falhar
+     */
+    public void storeDocument(String documentKey, Path csvFile) throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        Path dir = DirectoryHelper.createDirectoryIfNotExists(cacheDir.resolve(DOCUMENTS_DIR));
+        Path tmp = Files.createTempFile(dir, documentKey, ".tmp");
+        Files.copy(csvFile, tmp, StandardCopyOption.REPLACE_EXISTING);
+        moveIntoPlace(tmp, dir.resolve(documentKey + ".csv"));
+        evictToLimit();
+    }
+
+    /**
+     * Remove as entradas de documento e de página usadas há mais tempo até que
+     * o tamanho total do cache não exceda o limite configurado. Entradas
+     * removidas por outra thread durante a varredura são ignoradas.
+     *
+     * @return a quantidade de bytes removidos
+     * @throws IOException se os diretórios do cache não puderem ser listados
+     */
+    public long evictToLimit() throws IOException {
+        if (!isEnabled() || maxBytes <= 0) {
+            return 0;
+        }
+        pageBytesSinceEviction.set(0);
+        List<CacheEntry> entries = new ArrayList<>();
+        long totalBytes = listEntries(cacheDir.resolve(DOCUMENTS_DIR), entries)
+                + listEntries(cacheDir.resolve(PAGES_DIR), entries);
+        if (totalBytes <= maxBytes) {
+            return 0;
+        }
+
+        entries.sort(Comparator.comparing(CacheEntry::lastUsed));
+        long removedBytes = 0;
+        int removedEntries = 0;
+        for (CacheEntry entry : entries) {
+            if (totalBytes - removedBytes <= maxBytes) {
+                break;
+            }
+            if (Files.deleteIfExists(entry.path())) {
+                removedBytes += entry.size();
+                removedEntries++;
+            }
+        }
+        LOGGER.info("Cache de extração acima do limite de {} MB: {} entradas removidas ({} KB)",
+                maxBytes / (1024 * 1024), removedEntries, removedBytes / 1024);
+        return removedBytes;
+    }
+
+    private static long listEntries(Path dir, List<CacheEntry> entries) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        long totalBytes = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    continue;
+                }
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        entries.add(new CacheEntry(file, attributes.size(), attributes.lastModifiedTime()));
+                        totalBytes += attributes.size();
+                    }
+                } catch (NoSuchFileException e) {
+                    // removida por outra thread durante a varredura
+                }
+            }
+        }
+        return totalBytes;
+    }
+
+    /**
+     * Marca a entrada como usada agora, para a ordem de remoção do cache.
+     */
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            LOGGER.debug("Não foi possível atualizar a data de uso de {}", file, e);
+        }
+    }
+
+    private record CacheEntry(Path path, long size, FileTime lastUsed) {
+    }
+
+    /**
+     * Calcula a chave de uma página a partir do seu conteúdo: os fluxos de
+     * conteúdo decodificados, o dicionário de recursos (percorrido
+     * recursivamente, incluindo os fluxos de XObjects de formulário, imagens e
+     * fontes), as dimensões e a rotação. Assim, páginas com o mesmo fluxo de
+     * conteúdo (ex.: apenas {@code /Fm1 Do}) mas recursos diferentes recebem
+     * chaves diferentes.
+     *
+     * @param page a página do PDF
+     * @return a chave da página
+     * @throws IOException se o conteúdo da página não puder ser lido
+     */
+    public String pageKey(PDPage page) throws IOException {
+        MessageDigest digest = HashHelper.newSha256();
+        try (InputStream contents = page.getContents();
+                DigestOutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            contents.transferTo(out);
+        }
+        PDResources resources = page.getResources();
+        digest.update((byte) '|');
+        if (resources != null) {
+            updateDigest(digest, resources.getCOSObject(), Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+        digest.update(page.getMediaBox().toString().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) page.getRotation());
+        return HashHelper.toHex(digest) + "-" + extractorId;
+    }
+
+    /**
+     * Acrescenta ao hash uma representação canônica de um objeto COS: chaves de
+     * dicionário em ordem, bytes brutos dos fluxos e objetos indiretos
+     * resolvidos. Referências cíclicas e a chave {@code /Parent} não são
+     * percorridas.
+     */
+    private static void updateDigest(MessageDigest digest, COSBase base, Set<COSBase> visiting) throws IOException {
+        COSBase value = base instanceof COSObject indirect ? indirect.getObject() : base;
+        if (value == null) {
+            digest.update("null;".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        if (value instanceof COSDictionary dictionary) {
+            if (!visiting.add(dictionary)) {
+                digest.update("cycle;".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            digest.update((byte) '<');
+            for (COSName key : dictionary.keySet().stream().sorted().toList()) {
+                if (COSName.PARENT.equals(key)) {
+                    continue;
+                }
+                digest.update(key.getName().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '=');
+                updateDigest(digest, dictionary.getItem(key), visiting);
+            }
+            digest.update((byte) '>');
+            if (dictionary instanceof COSStream stream) {
+                try (InputStream raw = stream.createRawInputStream();
+                        DigestOutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+                    raw.transferTo(out);
+                }
+            }
+            visiting.remove(dictionary);
+        } else if (value instanceof COSArray array) {
+            digest.update((byte) '[');
+            for (int i = 0; i < array.size(); i++) {
+                updateDigest(digest, array.get(i), visiting);
+            }
+            digest.update((byte) ']');
+        } else if (value instanceof COSString string) {
+            digest.update((byte) '(');
+            digest.update(string.getBytes());
+            digest.update((byte) ')');
+        } else {
+            digest.update((value + ";").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Carrega as linhas de uma página armazenada.
+     *
+     * @param pageKey chave gerada por {@link #pageKey(PDPage)}
+     * @return as linhas da página, ou {@code null} se não estiver em cache
+     */
+    public TableBuffer loadPage(String pageKey) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Path file = cacheDir.resolve(PAGES_DIR).resolve(pageKey + ".rows");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int rowCount = in.readInt();
+            TableBuffer rows = new TableBuffer();
+            for (int r = 0; r < rowCount; r++) {
+                int cellCount = in.readInt();
+                rows.startRow();
+                for (int c = 0; c < cellCount; c++) {
+                    byte[] bytes = in.readNBytes(in.readInt());
+                    rows.appendCell(new String(bytes, StandardCharsets.UTF_8));
+                }
+                rows.endRow();
+            }
+            touch(file);
+            return rows;
+        } catch (IOException e) {
+            LOGGER.warn("Ignorando entrada de cache corrompida: {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Armazena as linhas extraídas de uma página e, a cada fração do limite
+     * gravada desde a última remoção, remove as entradas menos usadas
+     * recentemente (ver {@link #evictToLimit()}).
+     *
+     * @param pageKey chave gerada por {@link #pageKey(PDPage)}
+     * @param rows    as linhas da página
+     * @throws IOException se a escrita falhar
+     */
+    public void storePage(String pageKey, TableBuffer rows) throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        Path dir = DirectoryHelper.createDirectoryIfNotExists(cacheDir.resolve(PAGES_DIR));
+        Path tmp = Files.createTempFile(dir, pageKey, ".tmp");
+        long written;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(rows.getRowCount());
+            TableBuffer.Cursor cursor = rows.cursor();
+            while (cursor.next()) {
+                out.writeInt(cursor.getCellCount());
+                for (int c = 0; c < cursor.getCellCount(); c++) {
+                    byte[] bytes = new String(cursor.getArena(), cursor.getCellOffset(c), cursor.getCellLength(c))
+                            .getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            written = out.size();
+        }
+        moveIntoPlace(tmp, dir.resolve(pageKey + ".rows"));
+        if (maxBytes > 0
+                && pageBytesSinceEviction.addAndGet(written) >= Math.max(1, maxBytes / EVICTION_STEPS_PER_LIMIT)) {
+            evictToLimit();
+        }
+    }
+
+    private void moveIntoPlace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import com.kleberrhuan.intuitivecare.util.helpers.HashHelper;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Ponto de retomada da extração de um documento.
+ * <p>
+ * Durante a extração, as linhas do CSV são gravadas em um arquivo de segmento
+ * que só cresce. Periodicamente, após descarregar e sincronizar o segmento, é
+ * gravado um checkpoint com a última página concluída, o tamanho válido do
+ * segmento, a quantidade de linhas e o cabeçalho da tabela. Se o processo for
+ * interrompido, a próxima execução sobre o mesmo PDF descarta o que foi gravado
+ * após o último checkpoint e continua a partir da página seguinte, produzindo
+ * um CSV final idêntico ao de uma execução sem interrupções.
+ * <p>
+ * A chave do checkpoint combina o SHA-256 do PDF, o extrator, a versão da
+ * configuração de saída e o caminho do CSV de destino, de modo que um PDF ou
+ * configuração diferente nunca retoma uma extração alheia, e cópias idênticas
+ * de um PDF convertidas para CSVs distintos (ex.: no processamento em lote) não
+ * compartilham o mesmo segmento. O checkpoint é gravado em um arquivo
+ * temporário seguido de renomeação atômica.
+ */
+public class ExtractionCheckpoint {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(ExtractionCheckpoint.class);
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path checkpointDir;
+    private final String key;
+
+    /**
+     * Estado salvo em um checkpoint.
+     *
+     * @param lastPage     última página cujas linhas estão no segmento
+     * @param segmentBytes tamanho válido do segmento, em bytes
+     * @param rowCount     linhas gravadas no segmento, incluindo o cabeçalho
+     * @param header       cabeçalho da tabela (uma linha), ou {@code null} se
+     *                     ainda não foi encontrado
+     */
+    public record State(
+            int lastPage,
+            long segmentBytes,
+            int rowCount,
+            TableBuffer header
+    ) {
+    }
+
+    /**
+     * @param checkpointDir diretório dos checkpoints
+     * @param key           chave do documento, gerada por
+     *                      {@link #key(String, String, String, Path)}
+     */
+    public ExtractionCheckpoint(Path checkpointDir, String key) {
+        this.checkpointDir = checkpointDir;
+        this.key = key;
+    }
+
+    /**
+     * Retorna um checkpoint desabilitado, que nunca é salvo nem retomado.
+     *
+     * @return a instância desabilitada
+     */
+    public static ExtractionCheckpoint disabled() {
+        return new ExtractionCheckpoint(null, null);
+    }
+
+    /**
+     * Calcula a chave do checkpoint de um documento.
+     *
+     * @param pdfHash       SHA-256 do PDF
+     * @param extractorId   identificador do extrator
+     * @param outputVersion versão da configuração de saída
+     * @param csvOutput     caminho do CSV final
+     * @return a chave
+     */
+    public static String key(String pdfHash, String extractorId, String outputVersion, Path csvOutput) {
+        return HashHelper.sha256(pdfHash + "|" + extractorId + "|" + outputVersion + "|"
+                + csvOutput.toAbsolutePath().normalize());
+    }
+
+    public boolean isEnabled() {
+        return checkpointDir != null;
+    }
+
+    /**
+     * @return o arquivo de segmento com as linhas já gravadas
+     */
+    public Path getSegmentFile() {
+        return checkpointDir.resolve(key + ".segment");
+    }
+
+    private Path getCheckpointFile() {
+        return checkpointDir.resolve(key + ".checkpoint");
+    }
+
+    /**
+     * Lê o último checkpoint salvo, se houver e se o segmento correspondente
+     * estiver íntegro. Um checkpoint com valores incoerentes (ex.: tamanhos
+     * maiores que o próprio arquivo) é ignorado.
+     *
+     * @return o estado salvo
+     */
+    public Optional<State> load() {
+        if (!isEnabled() || !Files.isRegularFile(getCheckpointFile())) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(getCheckpointFile())))) {
+            long fileBytes = Files.size(getCheckpointFile());
+            if (in.readInt() != FORMAT_VERSION) {
+                LOGGER.warn("Ignorando checkpoint em formato desconhecido: {}", getCheckpointFile());
+                return Optional.empty();
+            }
+            int lastPage = in.readInt();
+            long segmentBytes = in.readLong();
+            int rowCount = in.readInt();
+            TableBuffer header = null;
+            int cellCount = in.readInt();
+            if (lastPage < 0 || segmentBytes < 0 || rowCount < 0 || cellCount > fileBytes / Integer.BYTES) {
+                throw new IOException("Valores inválidos no checkpoint");
+            }
+            if (cellCount >= 0) {
+                header = new TableBuffer();
+                header.startRow();
+                for (int c = 0; c < cellCount; c++) {
+                    int length = in.readInt();
+                    if (length < 0 || length > fileBytes) {
+                        throw new IOException("Tamanho de célula inválido no checkpoint: " + length);
+                    }
+                    header.appendCell(new String(in.readNBytes(length), StandardCharsets.UTF_8));
+                }
+                header.endRow();
+            }
+            if (!Files.isRegularFile(getSegmentFile()) || Files.size(getSegmentFile()) < segmentBytes) {
+                LOGGER.warn("Segmento incompleto para o checkpoint {}; a extração será reiniciada", key);
+                return Optional.empty();
+            }
+            return Optional.of(new State(lastPage, segmentBytes, rowCount, header));
+        } catch (IOException e) {
+            LOGGER.warn("Ignorando checkpoint corrompido: {}", getCheckpointFile(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Abre o segmento para acréscimo, descartando os bytes gravados após o
+     * último checkpoint.
+     *
+     * @param validBytes tamanho válido do segmento ({@code 0} inicia um novo)
+     * @return o canal posicionado no fim da parte válida
+     * @throws IOException se o segmento não puder ser aberto
+     */
+    public FileChannel openSegment(long validBytes) throws IOException {
+        DirectoryHelper.createDirectoryIfNotExists(checkpointDir);
+        FileChannel channel = FileChannel.open(getSegmentFile(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        channel.truncate(validBytes);
+        channel.position(validBytes);
+        return channel;
+    }
+
+    /**
+     * Grava um checkpoint. O segmento deve ter sido descarregado e sincronizado
+     * até {@link State#segmentBytes()} antes da chamada.
+     *
+     * @param state o estado a salvar
+     * @throws IOException se a escrita falhar
+     */
+    public void save(State state) throws IOException {
+        DirectoryHelper.createDirectoryIfNotExists(checkpointDir);
+        Path tmp = Files.createTempFile(checkpointDir, key, ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(state.lastPage());
+            out.writeLong(state.segmentBytes());
+            out.writeInt(state.rowCount());
+            if (state.header() == null || state.header().isEmpty()) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(state.header().getCellCount(0));
+                for (int c = 0; c < state.header().getCellCount(0); c++) {
+                    byte[] bytes = state.header().getCell(0, c).getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+        }
+        try {
+            Files.move(tmp, getCheckpointFile(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Conclui a extração: move o segmento para o CSV final e remove o
+     * checkpoint.
+     *
+     * @param csvOutput caminho do CSV final
+     * @throws IOException se o segmento não puder ser movido
+     */
+    public void complete(Path csvOutput) throws IOException {
+        try {
+            Files.move(getSegmentFile(), csvOutput, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(getSegmentFile(), csvOutput, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.deleteIfExists(getCheckpointFile());
+    }
+
+    /**
+     * Descarta o segmento e o checkpoint, abandonando a extração em andamento.
+     *
+     * @throws IOException se os arquivos não puderem ser removidos
+     */
+    public void discard() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        Files.deleteIfExists(getSegmentFile());
+        Files.deleteIfExists(getCheckpointFile());
+    }
+
+    /**
+     * Remove do diretório os segmentos, checkpoints e arquivos temporários não
+     * modificados há mais que a idade informada, como os deixados por extrações
+     * interrompidas que nunca foram retomadas.
+     *
+     * @param checkpointDir diretório dos checkpoints
+     * @param maxAge        idade máxima dos arquivos mantidos
+     * @return a quantidade de arquivos removidos
+     * @throws IOException se o diretório não puder ser listado
+     */
+    public static int deleteStale(Path checkpointDir, Duration maxAge) throws IOException {
+        if (checkpointDir == null || !Files.isDirectory(checkpointDir)) {
+            return 0;
+        }
+        FileTime cutoff = FileTime.from(Instant.now().minus(maxAge));
+        int removed = 0;
+        try (Stream<Path> files = Files.list(checkpointDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                boolean checkpointFile = name.endsWith(".segment") || name.endsWith(".checkpoint")
+                        || name.endsWith(".tmp");
+                try {
+                    if (checkpointFile && Files.getLastModifiedTime(file).compareTo(cutoff) < 0
+                            && Files.deleteIfExists(file)) {
+                        removed++;
+                    }
+                } catch (NoSuchFileException e) {
+                    // removido por outra extração durante a varredura
+                }
+            }
+        }
+        if (removed > 0) {
+            LOGGER.info("{} arquivos de checkpoint abandonados removidos de {}", removed, checkpointDir);
+        }
+        return removed;
+    }
+}
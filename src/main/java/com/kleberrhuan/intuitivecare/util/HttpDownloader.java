@@ -1,6 +1,7 @@
 package com.kleberrhuan.intuitivecare.util;
 
 import ch.qos.logback.classic.Logger;
+import com.kleberrhuan.intuitivecare.config.AppConfig;
 import com.kleberrhuan.intuitivecare.exception.FileDownloadException;
 import com.kleberrhuan.intuitivecare.model.FilelinkModel;
 import com.kleberrhuan.intuitivecare.util.interfaces.Downloader;
@@ -10,11 +11,15 @@ import org.slf4j.LoggerFactory;
 
 import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -50,6 +55,65 @@ public class HttpDownloader implements Downloader {
         }
     }
 
+    /**
+     * Baixa o arquivo apenas se a versão remota for mais recente que a cópia
+     * local, usando uma requisição condicional ({@code If-Modified-Since}). O
+     * arquivo baixado recebe a data de modificação informada pelo servidor, que
+     * é usada na requisição seguinte, e só substitui a cópia local quando o
+     * download termina.
+     *
+     * @param file      objeto contendo a URL e o nome do arquivo
+     * @param outputDir diretório local onde o arquivo será salvo
+     * @return {@code true} se o arquivo foi baixado, {@code false} se a cópia
+     *         local já estava atualizada
+     * @throws FileDownloadException se o servidor não responder com sucesso
+     *                               (2xx) nem com 304, inclusive com um
+     *                               redirecionamento não seguido, ou se o
+     *                               download falhar
+     */
+    public boolean downloadIfModified(FilelinkModel file, Path outputDir) {
+        Path outputPath = outputDir.resolve(file.name());
+        Path partialPath = outputDir.resolve(file.name() + ".part");
+        ReentrantLock lock = getLockForPath(outputPath);
+        lock.lock();
+
+        try {
+            HttpURLConnection connection = (HttpURLConnection) URI.create(file.url()).toURL().openConnection();
+            connection.setConnectTimeout(AppConfig.CONNECTION_TIMEOUT);
+            connection.setReadTimeout(AppConfig.CONNECTION_TIMEOUT);
+            if (Files.isRegularFile(outputPath)) {
+                connection.setIfModifiedSince(Files.getLastModifiedTime(outputPath).toMillis());
+            }
+            int status = connection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                connection.disconnect();
+                LOGGER.debug("Arquivo inalterado no servidor: {}", file.name());
+                return false;
+            }
+            if (status < HttpURLConnection.HTTP_OK || status >= HttpURLConnection.HTTP_MULT_CHOICE) {
+                connection.disconnect();
+                throw new IOException("HTTP " + status + " ao baixar " + file.url());
+            }
+            try (InputStream in = connection.getInputStream()) {
+                Files.copy(in, partialPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(partialPath, outputPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (connection.getLastModified() > 0) {
+                Files.setLastModifiedTime(outputPath, FileTime.fromMillis(connection.getLastModified()));
+            }
+            return true;
+        } catch (IOException e) {
+            throw new FileDownloadException("Ocorreu um erro ao baixar o arquivo: " + file.name(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(partialPath);
+            } catch (IOException e) {
+                LOGGER.warn("Não foi possível remover o arquivo parcial {}: {}", partialPath, e.getMessage());
+            }
+            lock.unlock();
+        }
+    }
+
     private static ReentrantLock getLockForPath(Path path) {
         return fileLocks.computeIfAbsent(path.toAbsolutePath().toString(),
                 p -> new ReentrantLock());
@@ -69,6 +133,36 @@ public class HttpDownloader implements Downloader {
         }, executor);
     }
 
+    /**
+     * Baixa, em paralelo no pool do downloader, os arquivos alterados no
+     * servidor desde a última cópia local (ver {@link #downloadIfModified}).
+     * Arquivos sem URL são ignorados.
+     *
+     * @param files     arquivos a verificar
+     * @param outputDir diretório local onde os arquivos são salvos
+     * @return os arquivos efetivamente baixados, na ordem recebida
+     * @throws FileDownloadException se algum download falhar
+     */
+    public List<FilelinkModel> downloadFilesIfModified(List<FilelinkModel> files, Path outputDir) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(files.size());
+        for (FilelinkModel file : files) {
+            if (file.url() == null || file.url().isBlank()) {
+                LOGGER.warn("URL do arquivo está em branco para o arquivo: {}", file.name());
+                futures.add(CompletableFuture.completedFuture(false));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(() -> downloadIfModified(file, outputDir), executor));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        List<FilelinkModel> downloaded = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            if (futures.get(i).join()) {
+                downloaded.add(files.get(i));
+            }
+        }
+        return downloaded;
+    }
+
     public void downloadFiles(List<FilelinkModel> files, Path outputDir) {
         CompletableFuture<?>[] futures = new CompletableFuture[files.size()];
         for (int i = 0; i < files.size(); i++) {
@@ -0,0 +1,147 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import java.nio.IntBuffer;
+
+/**
+ * Junção por igualdade de chaves {@code int} (como o registro ANS) em
+ * memória: uma tabela hash de endereçamento aberto é construída sobre o lado
+ * menor, e o lado maior é percorrido consultando-a linha a linha.
+ * <p>
+ * A tabela guarda apenas vetores primitivos: as chaves distintas, a primeira
+ * linha de cada chave e, por linha, a próxima linha com a mesma chave, de modo
+ * que chaves repetidas no lado construído são suportadas sem listas nem
+ * {@link Integer}. As linhas são identificadas pela sua posição nos vetores de
+ * chaves informados. Depois de construída, a tabela pode ser consultada por
+ * várias threads.
+ */
+public final class IntHashJoin {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /** Recebe os pares de linhas com chaves iguais. */
+    @FunctionalInterface
+    public interface MatchConsumer {
+        /**
+         * @param probeRow linha do lado percorrido
+         * @param buildRow linha do lado construído, ou -1 em uma junção externa
+         *                 sem correspondência
+         */
+        void accept(int probeRow, int buildRow);
+    }
+
+    private final int[] slotKeys;
+    /** Primeira linha de cada posição, somada de 1 (0 indica posição livre) */
+    private final int[] slotHeads;
+    private final int[] nextRows;
+    private final int mask;
+    private final int buildSize;
+
+    /**
+     * Constrói a tabela sobre as chaves do lado menor.
+     *
+     * @param buildKeys chaves, uma por linha
+     */
+    public IntHashJoin(int[] buildKeys) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (buildKeys.length / LOAD_FACTOR)) - 1) << 1;
+        this.slotKeys = new int[capacity];
+        this.slotHeads = new int[capacity];
+        this.nextRows = new int[buildKeys.length];
+        this.mask = capacity - 1;
+        this.buildSize = buildKeys.length;
+        // inserção do fim para o início, para que as linhas de uma chave fiquem em ordem crescente
+        for (int row = buildKeys.length - 1; row >= 0; row--) {
+            int slot = slot(buildKeys[row]);
+            if (slotHeads[slot] == 0) {
+                slotKeys[slot] = buildKeys[row];
+                nextRows[row] = -1;
+            } else {
+                nextRows[row] = slotHeads[slot] - 1;
+            }
+            slotHeads[slot] = row + 1;
+        }
+    }
+
+    /**
+     * Junta dois conjuntos de chaves, construindo a tabela sobre o menor e
+     * percorrendo o maior.
+     *
+     * @param leftKeys  chaves do lado esquerdo
+     * @param rightKeys chaves do lado direito
+     * @param consumer  recebe (linha esquerda, linha direita) de cada par com
+     *                  chaves iguais
+     * @return a quantidade de pares
+     */
+    public static long join(int[] leftKeys, int[] rightKeys, MatchConsumer consumer) {
+        if (leftKeys.length <= rightKeys.length) {
+            return new IntHashJoin(leftKeys).probe(IntBuffer.wrap(rightKeys), 0, rightKeys.length, false,
+                    (right, left) -> consumer.accept(left, right));
+        }
+        return new IntHashJoin(rightKeys).probe(IntBuffer.wrap(leftKeys), 0, leftKeys.length, false, consumer);
+    }
+
+    /**
+     * @return a quantidade de linhas do lado construído
+     */
+    public int getBuildSize() {
+        return buildSize;
+    }
+
+    /**
+     * @param key chave procurada
+     * @return a primeira linha do lado construído com a chave, ou -1
+     */
+    public int first(int key) {
+        return slotHeads[slot(key)] - 1;
+    }
+
+    /**
+     * @param buildRow linha do lado construído
+     * @return a próxima linha com a mesma chave, ou -1
+     */
+    public int next(int buildRow) {
+        return nextRows[buildRow];
+    }
+
+    /**
+     * Percorre um intervalo de chaves do lado maior, como a coluna de registros
+     * ANS de um segmento mapeado, consultando a tabela.
+     *
+     * @param probeKeys chaves do lado percorrido
+     * @param from      primeira linha (inclusive)
+     * @param to        última linha (exclusive)
+     * @param outer     se {@code true}, linhas sem correspondência são
+     *                  entregues com a linha construída -1
+     * @param consumer  recebe os pares de linhas
+     * @return a quantidade de pares entregues
+     */
+    public long probe(IntBuffer probeKeys, int from, int to, boolean outer, MatchConsumer consumer) {
+        long matches = 0;
+        for (int row = from; row < to; row++) {
+            int buildRow = first(probeKeys.get(row));
+            if (buildRow < 0) {
+                if (outer) {
+                    consumer.accept(row, -1);
+                    matches++;
+                }
+                continue;
+            }
+            do {
+                consumer.accept(row, buildRow);
+                matches++;
+                buildRow = nextRows[buildRow];
+            } while (buildRow >= 0);
+        }
+        return matches;
+    }
+
+    /**
+     * Posição da chave, ou a posição livre em que ela seria inserida.
+     */
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (slotHeads[slot] != 0 && slotKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
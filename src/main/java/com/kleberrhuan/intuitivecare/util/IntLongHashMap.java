@@ -0,0 +1,170 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de chaves {@code int} para valores {@code long} com endereçamento aberto
+ * (sondagem linear), sem objetos por entrada nem conversão das chaves para
+ * {@link Integer}.
+ * <p>
+ * Pensado para agregações como a soma de valores por registro ANS: a operação
+ * principal, {@link #add(int, long)}, acumula no valor existente. Uma chave
+ * reservada marca as posições livres; a chave {@link Integer#MIN_VALUE} é
+ * guardada à parte. Instâncias não são seguras para uso concorrente.
+ */
+public final class IntLongHashMap {
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    /** Recebe as entradas em {@link #forEach(EntryConsumer)}. */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, long value);
+    }
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+    private int resizeAt;
+    private boolean hasEmptyKey;
+    private long emptyKeyValue;
+
+    public IntLongHashMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize quantidade esperada de chaves
+     */
+    public IntLongHashMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1);
+    }
+
+    /**
+     * Soma {@code delta} ao valor da chave, que começa em zero se ainda não
+     * existir.
+     *
+     * @return o novo valor da chave
+     */
+    public long add(int key, long delta) {
+        if (key == EMPTY) {
+            if (!hasEmptyKey) {
+                hasEmptyKey = true;
+                size++;
+            }
+            return emptyKeyValue += delta;
+        }
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            values[slot] = delta;
+            if (++size > resizeAt) {
+                rehash();
+            }
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    /**
+     * Define o valor de uma chave.
+     */
+    public void put(int key, long value) {
+        if (key == EMPTY) {
+            size += hasEmptyKey ? 0 : 1;
+            hasEmptyKey = true;
+            emptyKeyValue = value;
+            return;
+        }
+        int slot = slot(key);
+        values[slot] = value;
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            if (++size > resizeAt) {
+                rehash();
+            }
+        }
+    }
+
+    /**
+     * @return o valor da chave, ou {@code defaultValue} se ela não existir
+     */
+    public long get(int key, long defaultValue) {
+        if (key == EMPTY) {
+            return hasEmptyKey ? emptyKeyValue : defaultValue;
+        }
+        int slot = slot(key);
+        return keys[slot] == EMPTY ? defaultValue : values[slot];
+    }
+
+    public boolean containsKey(int key) {
+        return key == EMPTY ? hasEmptyKey : keys[slot(key)] != EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Soma as entradas de outro mapa a este.
+     */
+    public void addAll(IntLongHashMap other) {
+        other.forEach(this::add);
+    }
+
+    /**
+     * Percorre as entradas, em ordem indefinida.
+     */
+    public void forEach(EntryConsumer consumer) {
+        if (hasEmptyKey) {
+            consumer.accept(EMPTY, emptyKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Posição da chave, ou a posição livre em que ela seria inserida.
+     */
+    private int slot(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /** Espalha os bits da chave, já que registros ANS são sequenciais. */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new long[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
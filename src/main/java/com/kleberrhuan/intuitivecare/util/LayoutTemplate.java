@@ -0,0 +1,320 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import technology.tabula.Cell;
+import technology.tabula.Page;
+import technology.tabula.RectangularTextContainer;
+import technology.tabula.Ruling;
+import technology.tabula.Table;
+import technology.tabula.TextElement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Geometria de tabela aprendida a partir das primeiras páginas de um documento
+ * em que todas as páginas repetem o mesmo layout.
+ * <p>
+ * O template guarda as fronteiras das colunas e a faixa vertical ocupada pela
+ * tabela. Nas páginas seguintes, as linhas são delimitadas pelas réguas
+ * horizontais da própria página e cada célula é montada diretamente sobre a
+ * grade fixa, evitando a detecção de células e a reconstrução das planilhas
+ * feitas pelo {@code SpreadsheetExtractionAlgorithm}. O texto de cada célula é
+ * obtido da mesma forma que o Tabula o faz, produzindo as mesmas linhas.
+ * <p>
+ * Se a página não se encaixa no template (réguas verticais ausentes, células
+ * mescladas, texto atravessando colunas ou em qualquer ponto fora da grade,
+ * como uma segunda tabela), {@link #extract} retorna {@code false} sem alterar
+ * o buffer, e o chamador deve recorrer à detecção completa.
+ */
+public class LayoutTemplate {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(LayoutTemplate.class);
+    private static final float TOLERANCE = 2f;
+
+    private final float[] columnEdges;
+    private final float top;
+    private final float bottom;
+
+    LayoutTemplate(float[] columnEdges, float top, float bottom) {
+        this.columnEdges = columnEdges;
+        this.top = top;
+        this.bottom = bottom;
+    }
+
+    /**
+     * @return a quantidade de colunas do template
+     */
+    public int getColumnCount() {
+        return columnEdges.length - 1;
+    }
+
+    /**
+     * Extrai as linhas da página usando a grade fixa do template.
+     *
+     * @param page   a página já processada pelo {@code ObjectExtractor}
+     * @param target buffer que recebe as linhas da página
+     * @return {@code true} se a página foi extraída, {@code false} se ela não se
+     *         encaixa no template
+     */
+    public boolean extract(Page page, TableBuffer target) {
+        float[] rowEdges = findRowEdges(page.getHorizontalRulings());
+        if (rowEdges == null
+                || !verticalRulingsCoverGrid(page.getVerticalRulings(), rowEdges)
+                || !textFitsColumns(page.getText(), rowEdges)) {
+            return false;
+        }
+
+        for (int r = 0; r < rowEdges.length - 1; r++) {
+            target.startRow();
+            for (int c = 0; c < getColumnCount(); c++) {
+                Cell cell = new Cell(rowEdges[r], columnEdges[c],
+                        columnEdges[c + 1] - columnEdges[c], rowEdges[r + 1] - rowEdges[r]);
+                cell.setTextElements(TextElement.mergeWords(page.getText(cell)));
+                target.appendCell(cell.getText());
+            }
+            target.endRow();
+        }
+        return true;
+    }
+
+    /**
+     * Seleciona as réguas horizontais que atravessam toda a largura da tabela e
+     * as usa como limites das linhas. Réguas parciais indicam células mescladas
+     * verticalmente e invalidam o template para a página.
+     */
+    private float[] findRowEdges(List<Ruling> horizontals) {
+        float left = columnEdges[0];
+        float right = columnEdges[columnEdges.length - 1];
+        List<Float> edges = new ArrayList<>();
+
+        for (Ruling ruling : horizontals) {
+            float y = ruling.getPosition();
+            if (y < top - TOLERANCE || y > bottom + TOLERANCE
+                    || ruling.getRight() < left + TOLERANCE || ruling.getLeft() > right - TOLERANCE) {
+                continue;
+            }
+            if (ruling.getLeft() > left + TOLERANCE || ruling.getRight() < right - TOLERANCE) {
+                return null;
+            }
+            edges.add(y);
+        }
+
+        edges.sort(Comparator.naturalOrder());
+        float[] rowEdges = new float[edges.size()];
+        int count = 0;
+        for (float y : edges) {
+            if (count == 0 || y - rowEdges[count - 1] > TOLERANCE) {
+                rowEdges[count++] = y;
+            }
+        }
+        return count < 2 ? null : Arrays.copyOf(rowEdges, count);
+    }
+
+    /**
+     * Verifica se cada fronteira de coluna possui réguas verticais cobrindo toda a
+     * altura da tabela na página.
+     */
+    private boolean verticalRulingsCoverGrid(List<Ruling> verticals, float[] rowEdges) {
+        float gridTop = rowEdges[0];
+        float gridBottom = rowEdges[rowEdges.length - 1];
+
+        for (float x : columnEdges) {
+            List<Ruling> candidates = new ArrayList<>();
+            for (Ruling ruling : verticals) {
+                if (Math.abs(ruling.getPosition() - x) <= TOLERANCE) {
+                    candidates.add(ruling);
+                }
+            }
+            candidates.sort(Comparator.comparing(Ruling::getTop));
+
+            float covered = gridTop;
+            for (Ruling ruling : candidates) {
+                if (ruling.getTop() > covered + TOLERANCE) {
+                    break;
+                }
+                covered = Math.max(covered, ruling.getBottom());
+            }
+            if (covered < gridBottom - TOLERANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se todo o texto da página está dentro da grade, contido nas
+     * colunas do template e sem atravessar nenhuma fronteira. Texto fora da faixa
+     * vertical da grade pode pertencer a outra tabela, que a detecção completa
+     * extrairia e o template descartaria.
+     */
+    private boolean textFitsColumns(List<TextElement> textElements, float[] rowEdges) {
+        float gridTop = rowEdges[0];
+        float gridBottom = rowEdges[rowEdges.length - 1];
+        float left = columnEdges[0];
+        float right = columnEdges[columnEdges.length - 1];
+
+        for (TextElement element : textElements) {
+            if (element.getText().isBlank()) {
+                continue;
+            }
+            float centerY = (float) element.getCenterY();
+            if (centerY < gridTop || centerY > gridBottom
+                    || element.getLeft() < left - TOLERANCE || element.getRight() > right + TOLERANCE) {
+                return false;
+            }
+            for (int c = 1; c < columnEdges.length - 1; c++) {
+                if (element.getLeft() < columnEdges[c] - TOLERANCE
+                        && element.getRight() > columnEdges[c] + TOLERANCE) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aprende o template a partir das tabelas detectadas pela extração completa
+     * nas primeiras páginas do documento. Pode ser alimentado por várias threads;
+     * o template fica disponível assim que o número de amostras é atingido, e o
+     * aprendizado é abandonado se as páginas de amostra divergirem entre si.
+     * Também contabiliza quantas páginas foram extraídas pelo template e quantas
+     * precisaram da detecção completa.
+     */
+    public static class Learner {
+        private final int samplesRequired;
+        private final AtomicInteger templatePages = new AtomicInteger();
+        private final AtomicInteger fallbackPages = new AtomicInteger();
+        private final List<float[]> sampleColumns = new ArrayList<>();
+        private float top = Float.MAX_VALUE;
+        private float bottom = -Float.MAX_VALUE;
+        private boolean abandoned;
+        private volatile LayoutTemplate template;
+
+        /**
+         * @param samplesRequired quantidade de páginas necessárias para aprender
+         */
+        public Learner(int samplesRequired) {
+            this.samplesRequired = Math.max(1, samplesRequired);
+        }
+
+        /**
+         * @return o template aprendido, ou {@code null} se ainda não disponível
+         */
+        public LayoutTemplate getTemplate() {
+            return template;
+        }
+
+        /**
+         * @return a quantidade de páginas extraídas pelo template
+         */
+        public int getTemplatePages() {
+            return templatePages.get();
+        }
+
+        /**
+         * @return a quantidade de páginas que não se encaixaram no template
+         */
+        public int getFallbackPages() {
+            return fallbackPages.get();
+        }
+
+        /**
+         * Tenta extrair a página pelo template aprendido.
+         *
+         * @param page   a página já processada pelo {@code ObjectExtractor}
+         * @param target buffer que recebe as linhas da página
+         * @return {@code false} se o template ainda não está disponível ou a
+         *         página não se encaixa nele
+         */
+        public boolean tryExtract(Page page, TableBuffer target) {
+            LayoutTemplate current = template;
+            if (current == null) {
+                return false;
+            }
+            boolean extracted = current.extract(page, target);
+            (extracted ? templatePages : fallbackPages).incrementAndGet();
+            return extracted;
+        }
+
+        /**
+         * Registra as tabelas detectadas em uma página, caso ela esteja entre as
+         * páginas de amostra.
+         *
+         * @param pageNumber número da página (base 1)
+         * @param tables     as tabelas retornadas pela extração completa
+         */
+        public synchronized void learn(int pageNumber, List<Table> tables) {
+            if (template != null || abandoned || pageNumber > samplesRequired) {
+                return;
+            }
+            Table table = tables.stream()
+                    .max(Comparator.comparingInt(Table::getRowCount))
+                    .orElse(null);
+            float[] columns = table == null ? null : columnEdges(table);
+            if (columns == null || (!sampleColumns.isEmpty() && !sameColumns(sampleColumns.get(0), columns))) {
+                abandoned = true;
+                LOGGER.warn("Layout das páginas de amostra é irregular; modo de template desativado");
+                return;
+            }
+
+            sampleColumns.add(columns);
+            top = Math.min(top, table.getTop());
+            bottom = Math.max(bottom, table.getBottom());
+            if (sampleColumns.size() >= samplesRequired) {
+                template = new LayoutTemplate(columns, top, bottom);
+                LOGGER.info("Template de layout aprendido: {} colunas", template.getColumnCount());
+            }
+        }
+
+        /**
+         * Calcula as fronteiras das colunas a partir das linhas completas da
+         * tabela, usando a mediana das posições de cada coluna.
+         */
+        private static float[] columnEdges(Table table) {
+            int columnCount = table.getColCount();
+            List<float[]> samples = new ArrayList<>();
+            for (List<RectangularTextContainer> row : table.getRows()) {
+                if (row.size() != columnCount
+                        || row.stream().anyMatch(cell -> cell.getWidth() <= 0)) {
+                    continue;
+                }
+                float[] edges = new float[columnCount + 1];
+                for (int c = 0; c < columnCount; c++) {
+                    edges[c] = row.get(c).getLeft();
+                }
+                edges[columnCount] = row.get(columnCount - 1).getRight();
+                samples.add(edges);
+            }
+            if (samples.isEmpty() || columnCount == 0) {
+                return null;
+            }
+
+            float[] median = new float[columnCount + 1];
+            float[] values = new float[samples.size()];
+            for (int c = 0; c <= columnCount; c++) {
+                for (int s = 0; s < samples.size(); s++) {
+                    values[s] = samples.get(s)[c];
+                }
+                Arrays.sort(values);
+                median[c] = values[values.length / 2];
+            }
+            return median;
+        }
+
+        private static boolean sameColumns(float[] expected, float[] actual) {
+            if (expected.length != actual.length) {
+                return false;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                if (Math.abs(expected[i] - actual[i]) > TOLERANCE) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Acompanha o pico de memória residente (RSS) do processo durante uma operação.
+ * <p>
+ * Em Linux a memória residente é lida de {@code /proc/self/status}; nos demais
+ * sistemas é usado o heap ocupado da JVM como aproximação. Em ambos os casos a
+ * medida é do processo inteiro: com várias operações monitoradas ao mesmo tempo
+ * (ex.: documentos de um lote em paralelo), o pico de cada uma inclui a memória
+ * das demais, e {@link #getMaxConcurrentMonitors()} indica quantas estavam
+ * ativas.
+ */
+public class MemoryMonitor implements AutoCloseable {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(MemoryMonitor.class);
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+    private static final Set<MemoryMonitor> ACTIVE_MONITORS = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong peakBytes = new AtomicLong();
+    private final AtomicInteger maxConcurrentMonitors = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ScheduledExecutorService sampler;
+
+    private MemoryMonitor() {
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "memory-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Cria um monitor e inicia a amostragem periódica do uso de memória.
+     *
+     * @param intervalMillis intervalo entre amostras, em milissegundos
+     * @return o monitor, que deve ser fechado ao fim da operação
+     */
+    public static MemoryMonitor start(long intervalMillis) {
+        MemoryMonitor monitor = new MemoryMonitor();
+        ACTIVE_MONITORS.add(monitor);
+        int active = ACTIVE_MONITORS.size();
+        for (MemoryMonitor other : ACTIVE_MONITORS) {
+            other.maxConcurrentMonitors.accumulateAndGet(active, Math::max);
+        }
+        monitor.sample();
+        monitor.sampler.scheduleAtFixedRate(monitor::sample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return monitor;
+    }
+
+    /**
+     * @return o maior uso de memória do processo observado até o momento, em
+     *         bytes
+     */
+    public long getPeakBytes() {
+        return peakBytes.get();
+    }
+
+    /**
+     * @return o maior número de monitores ativos ao mesmo tempo que este,
+     *         incluindo ele próprio
+     */
+    public int getMaxConcurrentMonitors() {
+        return maxConcurrentMonitors.get();
+    }
+
+    /**
+     * Lê o uso atual de memória residente do processo.
+     *
+     * @return a memória residente em bytes, ou o heap ocupado se indisponível
+     */
+    public static long currentResidentBytes() {
+        if (Files.isReadable(PROC_STATUS)) {
+            try {
+                List<String> lines = Files.readAllLines(PROC_STATUS);
+                for (String line : lines) {
+                    if (line.startsWith("VmRSS:")) {
+                        String kilobytes = line.substring("VmRSS:".length()).replace("kB", "").trim();
+                        return Long.parseLong(kilobytes) * 1024;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                LOGGER.debug("Não foi possível ler a memória residente: {}", e.getMessage());
+            }
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private void sample() {
+        peakBytes.accumulateAndGet(currentResidentBytes(), Math::max);
+    }
+
+    /**
+     * Encerra a amostragem, registrando uma última medição.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        sampler.shutdownNow();
+        sample();
+        ACTIVE_MONITORS.remove(this);
+    }
+}
@@ -0,0 +1,123 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import com.kleberrhuan.intuitivecare.exception.AccountingParseException;
+import com.kleberrhuan.intuitivecare.model.Operator;
+import com.kleberrhuan.intuitivecare.model.OperatorRegistry;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Leitura do cadastro de operadoras ativas da ANS (Relatório Cadop).
+ * <p>
+ * As colunas são localizadas pelo nome no cabeçalho, comparado sem acentos,
+ * maiúsculas ou separadores, pois a ANS já publicou o arquivo com
+ * {@code Registro_ANS} e com {@code REGISTRO_OPERADORA}. A codificação é
+ * UTF-8 quando o conteúdo é válido nela, e ISO-8859-1 caso contrário.
+ */
+public final class OperatorRegistryReader {
+    private static final String[] OPERATOR_ID = { "registroans", "registrooperadora" };
+    private static final String[] CORPORATE_NAME = { "razaosocial" };
+
+    private OperatorRegistryReader() {
+    }
+
+    /**
+     * Lê o cadastro de operadoras.
+     *
+     * @param csvFile arquivo do cadastro
+     * @return o cadastro
+     * @throws AccountingParseException se o arquivo não puder ser lido ou não
+     *                                  tiver as colunas de registro ANS e razão
+     *                                  social
+     */
+    public static OperatorRegistry read(Path csvFile) {
+        TableBuffer table = new TableBuffer();
+        try (CsvReader reader = new CsvReader(new StringReader(decode(Files.readAllBytes(csvFile))),
+                AppConfig.ACCOUNTING_CSV_DELIMITER)) {
+            while (reader.readRow(table)) {
+                // linhas acumuladas no buffer
+            }
+        } catch (IOException e) {
+            throw new AccountingParseException("Erro ao ler o cadastro de operadoras " + csvFile, e);
+        }
+        if (table.isEmpty()) {
+            throw new AccountingParseException("Cadastro de operadoras vazio: " + csvFile);
+        }
+
+        List<String> header = new ArrayList<>();
+        for (int c = 0; c < table.getCellCount(0); c++) {
+            header.add(normalizeHeader(table.getCell(0, c)));
+        }
+        int operatorId = column(header, OPERATOR_ID);
+        int corporateName = column(header, CORPORATE_NAME);
+        if (operatorId < 0 || corporateName < 0) {
+            throw new AccountingParseException("Cadastro de operadoras sem as colunas de registro ANS e razão social: "
+                    + csvFile);
+        }
+        int cnpj = column(header, "cnpj");
+        int tradeName = column(header, "nomefantasia");
+        int modality = column(header, "modalidade");
+        int city = column(header, "cidade");
+        int state = column(header, "uf");
+
+        List<Operator> operators = new ArrayList<>(table.getRowCount() - 1);
+        for (int row = 1; row < table.getRowCount(); row++) {
+            String id = cell(table, row, operatorId);
+            if (id == null || !id.chars().allMatch(Character::isDigit) || id.length() > 9) {
+                continue;
+            }
+            operators.add(new Operator(Integer.parseInt(id), cell(table, row, cnpj),
+                    cell(table, row, corporateName), cell(table, row, tradeName), cell(table, row, modality),
+                    cell(table, row, city), cell(table, row, state)));
+        }
+        return new OperatorRegistry(operators);
+    }
+
+    private static String decode(byte[] bytes) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    private static String normalizeHeader(String name) {
+        return Normalizer.normalize(name, Normalizer.Form.NFD)
+                .replaceAll("[^\\p{Alnum}]", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static int column(List<String> header, String... names) {
+        for (String name : names) {
+            int index = header.indexOf(name);
+            if (index >= 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static String cell(TableBuffer table, int row, int column) {
+        if (column < 0 || column >= table.getCellCount(row)) {
+            return null;
+        }
+        String value = table.getCell(row, column).strip();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,296 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.exception.PdfParseException;
+import com.kleberrhuan.intuitivecare.model.ExtractionOptions;
+import com.kleberrhuan.intuitivecare.model.PageRows;
+import com.kleberrhuan.intuitivecare.model.PdfMemoryConfig;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.helpers.PdfDocumentHelper;
+import com.kleberrhuan.intuitivecare.util.interfaces.TableExtractor;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+/**
+ * Extrai as tabelas de um PDF página a página e as entrega, na ordem do
+ * documento, através de um buffer limitado.
+ * <p>
+ * A extração roda em segundo plano enquanto o consumidor processa as páginas já
+ * disponíveis. Quando o buffer está cheio o produtor bloqueia, de modo que a
+ * memória utilizada depende apenas do tamanho do buffer e da janela de páginas
+ * em extração, e não do tamanho do documento.
+ * <p>
+ * Com mais de um worker, as páginas são divididas em blocos processados em
+ * paralelo. Cada worker mantém sua própria instância de {@link PDDocument} e
+ * {@link TableExtractor}, pois o PDFBox não é thread-safe, e o orçamento de
+ * memória configurado é dividido igualmente entre os workers efetivamente em
+ * execução.
+ * <p>
+ * Páginas cujo conteúdo já foi extraído anteriormente são lidas do
+ * {@link ExtractionCache}, evitando executar o extrator novamente. O motor de
+ * extração é escolhido por {@link ExtractionOptions#getEngine()}. No modo de
+ * template do Tabula, o layout aprendido nas primeiras páginas ({@link LayoutTemplate})
+ * substitui a detecção completa de células nas páginas que se encaixam nele.
+ */
+public class PdfPageStreamer implements Closeable {
+    private static final Logger LOGGER = (Logger) LoggerFactory.getLogger(PdfPageStreamer.class);
+    private static final PageRows END_OF_DOCUMENT = new PageRows(-1, new TableBuffer());
+
+    private final Path pdfPath;
+    private final ExtractionOptions options;
+    private final ExtractionCache cache;
+    private final BlockingQueue<PageRows> buffer;
+    private final ExecutorService producer = newFixedThreadPool(1);
+    private final LayoutTemplate.Learner templateLearner;
+    private final AtomicInteger cachedPages = new AtomicInteger();
+    private volatile Throwable failure;
+    private boolean finished;
+    private int firstPage = 1;
+
+    /**
+     * @param pdfPath caminho do PDF a ser extraído
+     * @param options parâmetros da extração
+     * @param cache   cache de páginas já extraídas
+     */
+    public PdfPageStreamer(Path pdfPath, ExtractionOptions options, ExtractionCache cache) {
+        this.pdfPath = pdfPath;
+        this.options = options;
+        this.cache = cache;
+        this.buffer = new ArrayBlockingQueue<>(options.getBufferPages());
+        this.templateLearner = new LayoutTemplate.Learner(options.getTemplateLearningPages());
+    }
+
+    /**
+     * Inicia a extração em segundo plano.
+     *
+     * @return a própria instância, para encadeamento
+     */
+    public PdfPageStreamer start() {
+        return start(1);
+    }
+
+    /**
+     * Inicia a extração em segundo plano a partir de uma página, como na
+     * retomada de uma extração interrompida.
+     *
+     * @param firstPage primeira página a extrair (base 1)
+     * @return a própria instância, para encadeamento
+     */
+    public PdfPageStreamer start(int firstPage) {
+        this.firstPage = Math.max(1, firstPage);
+        producer.execute(this::produce);
+        return this;
+    }
+
+    /**
+     * Aguarda e retorna a próxima página extraída.
+     *
+     * @return a próxima página, ou {@code null} quando o documento terminar
+     * @throws IOException se a extração falhar
+     */
+    public PageRows next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        PageRows page;
+        try {
+            page = buffer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfParseException("Leitura das páginas do PDF interrompida", e);
+        }
+        if (page != END_OF_DOCUMENT) {
+            return page;
+        }
+        finished = true;
+        if (failure instanceof IOException ioException) {
+            throw ioException;
+        } else if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else if (failure != null) {
+            throw new PdfParseException("Falha na extração do PDF", failure);
+        }
+        return null;
+    }
+
+    /**
+     * @return a quantidade de páginas obtidas do cache até o momento
+     */
+    public int getCachedPages() {
+        return cachedPages.get();
+    }
+
+    /**
+     * @return a quantidade de páginas extraídas pelo template de layout
+     */
+    public int getTemplatePages() {
+        return templateLearner.getTemplatePages();
+    }
+
+    /**
+     * @return a quantidade de páginas que não se encaixaram no template e
+     *         passaram pela detecção completa
+     */
+    public int getFallbackPages() {
+        return templateLearner.getFallbackPages();
+    }
+
+    /**
+     * Interrompe a extração, caso ainda esteja em andamento, e libera os recursos.
+     */
+    @Override
+    public void close() {
+        producer.shutdownNow();
+        buffer.clear();
+    }
+
+    private void produce() {
+        try {
+            int totalPages;
+            try (PDDocument document = PdfDocumentHelper.load(pdfPath, options.getMemoryConfig())) {
+                totalPages = document.getNumberOfPages();
+            }
+            int remainingPages = Math.max(0, totalPages - firstPage + 1);
+            int chunks = (remainingPages + options.getPagesPerChunk() - 1) / options.getPagesPerChunk();
+            int activeWorkers = Math.min(options.getWorkers(), chunks);
+            if (activeWorkers > 1) {
+                produceInParallel(totalPages, activeWorkers);
+            } else {
+                produceSequentially(totalPages);
+            }
+            buffer.put(END_OF_DOCUMENT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            failure = e;
+            buffer.clear();
+            buffer.offer(END_OF_DOCUMENT);
+        }
+    }
+
+    private void produceSequentially(int totalPages) throws IOException, InterruptedException {
+        try (ExtractionSession session = new ExtractionSession(options.getMemoryConfig())) {
+            for (int pageNumber = firstPage; pageNumber <= totalPages; pageNumber++) {
+                buffer.put(session.extract(pageNumber));
+            }
+        }
+    }
+
+    /**
+     * Mantém uma janela deslizante de blocos em extração e publica os blocos
+     * concluídos estritamente na ordem das páginas.
+     */
+    private void produceInParallel(int totalPages, int activeWorkers)
+            throws IOException, InterruptedException {
+        LOGGER.info("Extraindo {} páginas com {} workers", totalPages - firstPage + 1, activeWorkers);
+        Queue<ExtractionSession> sessions = new ConcurrentLinkedQueue<>();
+        ThreadLocal<ExtractionSession> workerSession = new ThreadLocal<>();
+        ExecutorService pool = newFixedThreadPool(activeWorkers);
+        Deque<Future<List<PageRows>>> window = new ArrayDeque<>();
+        int nextPage = firstPage;
+
+        try {
+            while (nextPage <= totalPages || !window.isEmpty()) {
+                while (nextPage <= totalPages && window.size() < activeWorkers * 2) {
+                    int first = nextPage;
+                    int last = Math.min(totalPages, first + options.getPagesPerChunk() - 1);
+                    window.add(pool.submit(() -> extractChunk(first, last, activeWorkers, workerSession, sessions)));
+                    nextPage = last + 1;
+                }
+                for (PageRows page : window.poll().get()) {
+                    buffer.put(page);
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new PdfParseException("Falha na extração paralela do PDF", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+            for (ExtractionSession session : sessions) {
+                session.close();
+            }
+        }
+    }
+
+    private List<PageRows> extractChunk(int firstPage, int lastPage, int activeWorkers,
+            ThreadLocal<ExtractionSession> workerSession,
+            Queue<ExtractionSession> sessions) throws IOException {
+        ExtractionSession session = workerSession.get();
+        if (session == null) {
+            session = new ExtractionSession(options.getMemoryConfig().divide(activeWorkers));
+            sessions.add(session);
+            workerSession.set(session);
+        }
+
+        List<PageRows> pages = new ArrayList<>(lastPage - firstPage + 1);
+        for (int pageNumber = firstPage; pageNumber <= lastPage; pageNumber++) {
+            pages.add(session.extract(pageNumber));
+        }
+        return pages;
+    }
+
+    /**
+     * Documento e extrator de uso exclusivo de uma única thread.
+     */
+    private final class ExtractionSession implements Closeable {
+        private final PDDocument document;
+        private final TableExtractor extractor;
+        private final boolean releasePageResources;
+
+        ExtractionSession(PdfMemoryConfig memoryConfig) throws IOException {
+            this.document = PdfDocumentHelper.load(pdfPath, memoryConfig);
+            this.extractor = switch (options.getEngine()) {
+                case TABULA -> new TabulaTableExtractor(document,
+                        options.isTemplateMode() ? templateLearner : null);
+                case TEXT_POSITION -> new TextPositionTableExtractor(document);
+            };
+            this.releasePageResources = memoryConfig.isReleasePageResources();
+        }
+
+        PageRows extract(int pageNumber) throws IOException {
+            String pageKey = cache.isEnabled() ? cache.pageKey(document.getPage(pageNumber - 1)) : null;
+            TableBuffer cachedRows = cache.loadPage(pageKey);
+            if (cachedRows != null) {
+                cachedPages.incrementAndGet();
+                return new PageRows(pageNumber, cachedRows);
+            }
+
+            TableBuffer rows = new TableBuffer();
+            extractor.extractPage(pageNumber, rows);
+            if (releasePageResources) {
+                PdfDocumentHelper.releasePageResources(document);
+            }
+            cache.storePage(pageKey, rows);
+            return new PageRows(pageNumber, rows);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                extractor.close();
+            } finally {
+                document.close();
+            }
+        }
+    }
+}
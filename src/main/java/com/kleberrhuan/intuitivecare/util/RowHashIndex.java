@@ -0,0 +1,481 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Índice de hashes das linhas de uma versão de uma tabela, usado para detectar
+ * as linhas inseridas, alteradas e removidas na versão seguinte.
+ * <p>
+ * Cada linha é identificada pela chave normalizada das colunas-chave e guarda o
+ * hash de 64 bits do seu conteúdo normalizado, além dos valores originais das
+ * colunas-chave, necessários para descrever as remoções. A normalização remove
+ * espaços nas extremidades, reduz sequências de espaços e quebras de linha a um
+ * espaço e ignora maiúsculas e minúsculas, de modo que diferenças apenas de
+ * formatação entre extrações não são tratadas como alterações.
+ * <p>
+ * O arquivo guarda os registros na ordem de inserção, seguidos de uma tabela
+ * hash de endereçamento aberto (hash da chave e posição do registro) e de um
+ * rodapé. O índice de uma versão anterior é mapeado em memória por
+ * {@link #load(Path)}: as consultas leem os registros diretamente do arquivo e
+ * apenas um bit por posição da tabela, marcando as linhas já encontradas,
+ * fica no heap. O índice de uma nova versão é gravado em fluxo por um
+ * {@link Writer}, que mantém em memória apenas vetores primitivos.
+ * <p>
+ * Os valores lidos de um índice salvo passam pelo {@link StringPool}
+ * compartilhado, pois colunas-chave compostas costumam repetir os mesmos
+ * valores em muitas linhas.
+ */
+public final class RowHashIndex {
+    private static final int MAGIC = 0x52484932; // "RHI2"
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final char CELL_SEPARATOR = '\u001F';
+    private static final int SLOT_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int FOOTER_BYTES = 2 * Long.BYTES + 3 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final List<String> header;
+    private final long slotTableOffset;
+    private final int slotCount;
+    private final int size;
+    private final BitSet removed;
+
+    /**
+     * Linha indexada.
+     *
+     * @param rowHash   hash do conteúdo normalizado da linha
+     * @param keyValues valores originais das colunas-chave
+     */
+    public record Entry(long rowHash, List<String> keyValues) {
+    }
+
+    private RowHashIndex(ByteBuffer buffer, List<String> header, long slotTableOffset, int slotCount, int size) {
+        this.buffer = buffer;
+        this.header = header;
+        this.slotTableOffset = slotTableOffset;
+        this.slotCount = slotCount;
+        this.size = size;
+        this.removed = new BitSet(slotCount);
+    }
+
+    /**
+     * Mapeia em memória um índice gravado por um {@link Writer}.
+     *
+     * @param indexFile arquivo do índice
+     * @return o índice
+     * @throws IOException se o arquivo não puder ser lido ou não for um índice
+     */
+    public static RowHashIndex load(Path indexFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long fileBytes = channel.size();
+            if (fileBytes < Integer.BYTES + FOOTER_BYTES || fileBytes > Integer.MAX_VALUE) {
+                throw new IOException("Arquivo não é um índice de linhas: " + indexFile);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileBytes);
+            int footer = (int) fileBytes - FOOTER_BYTES;
+            long headerOffset = buffer.getLong(footer);
+            long slotTableOffset = buffer.getLong(footer + Long.BYTES);
+            int slotCount = buffer.getInt(footer + 2 * Long.BYTES);
+            int size = buffer.getInt(footer + 2 * Long.BYTES + Integer.BYTES);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(footer + 2 * Long.BYTES + 2 * Integer.BYTES) != MAGIC
+                    || Integer.bitCount(slotCount) != 1 || size < 0 || size >= slotCount
+                    || headerOffset < Integer.BYTES || headerOffset > slotTableOffset
+                    || slotTableOffset + (long) slotCount * SLOT_BYTES != footer) {
+                throw new IOException("Arquivo não é um índice de linhas: " + indexFile);
+            }
+            buffer.position((int) headerOffset);
+            return new RowHashIndex(buffer, List.copyOf(readStrings(buffer)), slotTableOffset, slotCount, size);
+        } catch (RuntimeException e) {
+            throw new IOException("Índice de linhas corrompido: " + indexFile, e);
+        }
+    }
+
+    /**
+     * Inicia a gravação do índice de uma nova versão em um arquivo temporário
+     * ao lado de {@code indexFile}, que só é substituído por
+     * {@link Writer#commit()}.
+     *
+     * @param indexFile arquivo do índice
+     * @param header    cabeçalho da tabela indexada
+     * @return o gravador
+     * @throws IOException se o arquivo temporário não puder ser criado
+     */
+    public static Writer create(Path indexFile, List<String> header) throws IOException {
+        return new Writer(indexFile, header);
+    }
+
+    public List<String> getHeader() {
+        return header;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove e retorna a linha com a chave informada.
+     *
+     * @param key chave normalizada
+     * @return a linha, ou {@code null} se não existir ou já tiver sido removida
+     */
+    public Entry remove(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long keyHash = keyHash(key);
+        int mask = slotCount - 1;
+        for (int slot = slotOf(keyHash, mask); ; slot = (slot + 1) & mask) {
+            int position = (int) slotTableOffset + slot * SLOT_BYTES;
+            int offset = buffer.getInt(position + Long.BYTES);
+            if (offset == 0) {
+                return null;
+            }
+            if (buffer.getLong(position) == keyHash && !removed.get(slot) && keyEquals(offset, keyBytes)) {
+                removed.set(slot);
+                return readEntry(offset);
+            }
+        }
+    }
+
+    /**
+     * @return as linhas ainda não removidas, na ordem de inserção, lidas do
+     *         arquivo à medida que são percorridas
+     */
+    public Iterable<Entry> entries() {
+        int[] offsets = IntStream.range(0, slotCount)
+                .filter(slot -> !removed.get(slot))
+                .map(slot -> buffer.getInt((int) slotTableOffset + slot * SLOT_BYTES + Long.BYTES))
+                .filter(offset -> offset != 0)
+                .sorted()
+                .toArray();
+        return () -> Arrays.stream(offsets).mapToObj(this::readEntry).iterator();
+    }
+
+    private boolean keyEquals(int offset, byte[] keyBytes) {
+        int position = offset + Long.BYTES;
+        if (buffer.getInt(position) != keyBytes.length) {
+            return false;
+        }
+        position += Integer.BYTES;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (buffer.get(position + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Entry readEntry(int offset) {
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset);
+        long rowHash = record.getLong();
+        record.position(record.position() + Integer.BYTES + record.getInt(record.position()));
+        return new Entry(rowHash, List.copyOf(readStrings(record)));
+    }
+
+    /**
+     * Calcula a chave normalizada das colunas informadas de uma linha.
+     *
+     * @param row     cursor posicionado na linha
+     * @param columns índices das colunas-chave
+     * @return a chave
+     */
+    public static String normalizedKey(TableBuffer.Cursor row, int[] columns) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                key.append(CELL_SEPARATOR);
+            }
+            if (columns[i] < row.getCellCount()) {
+                appendNormalized(key, row.getArena(), row.getCellOffset(columns[i]), row.getCellLength(columns[i]));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Calcula o hash FNV-1a de 64 bits do conteúdo normalizado de uma linha,
+     * sem criar objetos.
+     *
+     * @param row cursor posicionado na linha
+     * @return o hash
+     */
+    public static long rowHash(TableBuffer.Cursor row) {
+        long hash = FNV_OFFSET;
+        char[] arena = row.getArena();
+        for (int c = 0; c < row.getCellCount(); c++) {
+            if (c > 0) {
+                hash = mix(hash, CELL_SEPARATOR);
+            }
+            int start = row.getCellOffset(c);
+            int end = start + row.getCellLength(c);
+            while (start < end && Character.isWhitespace(arena[start])) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(arena[end - 1])) {
+                end--;
+            }
+            boolean pendingSpace = false;
+            for (int i = start; i < end; i++) {
+                char ch = arena[i];
+                if (Character.isWhitespace(ch)) {
+                    pendingSpace = true;
+                    continue;
+                }
+                if (pendingSpace) {
+                    hash = mix(hash, ' ');
+                    pendingSpace = false;
+                }
+                hash = mix(hash, AhoCorasickMatcher.fold(ch));
+            }
+        }
+        return hash;
+    }
+
+    private static long keyHash(String key) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < key.length(); i++) {
+            hash = mix(hash, key.charAt(i));
+        }
+        return hash;
+    }
+
+    private static int slotOf(long keyHash, int mask) {
+        return (int) ((keyHash * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private static long mix(long hash, char c) {
+        hash = (hash ^ (c & 0xFF)) * FNV_PRIME;
+        return (hash ^ (c >>> 8)) * FNV_PRIME;
+    }
+
+    private static void appendNormalized(StringBuilder target, char[] chars, int offset, int length) {
+        int start = offset;
+        int end = offset + length;
+        while (start < end && Character.isWhitespace(chars[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(chars[end - 1])) {
+            end--;
+        }
+        boolean pendingSpace = false;
+        for (int i = start; i < end; i++) {
+            if (Character.isWhitespace(chars[i])) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace) {
+                target.append(' ');
+                pendingSpace = false;
+            }
+            target.append(AhoCorasickMatcher.fold(chars[i]));
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining() / Integer.BYTES) {
+            throw new IllegalStateException("Quantidade de valores inválida: " + count);
+        }
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = in.getInt();
+            if (length < 0 || length > in.remaining()) {
+                throw new IllegalStateException("Tamanho de valor inválido: " + length);
+            }
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            values.add(StringPool.shared().intern(new String(bytes, StandardCharsets.UTF_8)));
+        }
+        return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    /**
+     * Grava o índice de uma nova versão em fluxo. Os registros vão direto para o
+     * arquivo temporário; em memória ficam apenas, por linha, o hash da chave e
+     * a posição do registro, além da contagem de ocorrências por hash de chave
+     * usada por {@link #uniqueKey(String)}. Instâncias não são thread-safe.
+     */
+    public static final class Writer implements Closeable {
+        private static final float LOAD_FACTOR = 0.5f;
+
+        private final Path indexFile;
+        private final Path tmp;
+        private final List<String> header;
+        private final DataOutputStream out;
+        private long[] keyHashes = new long[1024];
+        private int[] offsets = new int[1024];
+        private int size;
+        private long[] countHashes = new long[2048];
+        private int[] counts = new int[2048];
+        private int distinctKeys;
+        private boolean committed;
+
+        private Writer(Path indexFile, List<String> header) throws IOException {
+            this.indexFile = indexFile;
+            this.header = List.copyOf(header);
+            Path dir = indexFile.toAbsolutePath().getParent();
+            DirectoryHelper.createDirectoryIfNotExists(dir);
+            this.tmp = Files.createTempFile(dir, indexFile.getFileName().toString(), ".tmp");
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)));
+            out.writeInt(MAGIC);
+        }
+
+        /**
+         * Diferencia chaves repetidas na versão pela ordem de ocorrência: a
+         * primeira é mantida e as seguintes recebem o sufixo {@code #n}. As
+         * ocorrências são contadas pelo hash de 64 bits da chave.
+         *
+         * @param key chave normalizada
+         * @return a chave única da ocorrência
+         */
+        public String uniqueKey(String key) {
+            int occurrence = countOccurrence(keyHash(key));
+            return occurrence > 1 ? key + '#' + occurrence : key;
+        }
+
+        /**
+         * Registra uma linha.
+         *
+         * @param key       chave normalizada (única no índice)
+         * @param rowHash   hash do conteúdo normalizado
+         * @param keyValues valores originais das colunas-chave
+         * @throws IOException se a escrita falhar ou o índice exceder 2 GB
+         */
+        public void put(String key, long rowHash, List<String> keyValues) throws IOException {
+            if (size == keyHashes.length) {
+                keyHashes = Arrays.copyOf(keyHashes, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            keyHashes[size] = keyHash(key);
+            offsets[size] = checkedPosition();
+            size++;
+            out.writeLong(rowHash);
+            writeString(out, key);
+            writeStrings(out, keyValues);
+        }
+
+        /**
+         * Grava o cabeçalho, a tabela hash e o rodapé e substitui o índice
+         * anterior por renomeação atômica.
+         *
+         * @throws IOException se a escrita falhar
+         */
+        public void commit() throws IOException {
+            int headerOffset = checkedPosition();
+            writeStrings(out, header);
+            int slotTableOffset = checkedPosition();
+            int slotCount = Integer.highestOneBit(Math.max(4, (int) (size / LOAD_FACTOR)) - 1) << 1;
+            if ((long) slotTableOffset + (long) slotCount * SLOT_BYTES + FOOTER_BYTES > Integer.MAX_VALUE) {
+                throw new IOException("Índice de linhas grande demais: " + indexFile);
+            }
+            int mask = slotCount - 1;
+            long[] slotHashes = new long[slotCount];
+            int[] slotOffsets = new int[slotCount];
+            for (int i = 0; i < size; i++) {
+                int slot = slotOf(keyHashes[i], mask);
+                while (slotOffsets[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slotHashes[slot] = keyHashes[i];
+                slotOffsets[slot] = offsets[i];
+            }
+            for (int slot = 0; slot < slotCount; slot++) {
+                out.writeLong(slotHashes[slot]);
+                out.writeInt(slotOffsets[slot]);
+            }
+            out.writeLong(headerOffset);
+            out.writeLong(slotTableOffset);
+            out.writeInt(slotCount);
+            out.writeInt(size);
+            out.writeInt(MAGIC);
+            out.close();
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        /**
+         * Descarta o arquivo temporário se o índice não tiver sido confirmado.
+         */
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                try {
+                    out.close();
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            }
+        }
+
+        private int checkedPosition() throws IOException {
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("Índice de linhas grande demais: " + indexFile);
+            }
+            return out.size();
+        }
+
+        private int countOccurrence(long keyHash) {
+            if (distinctKeys >= countHashes.length * LOAD_FACTOR) {
+                long[] oldHashes = countHashes;
+                int[] oldCounts = counts;
+                countHashes = new long[oldHashes.length * 2];
+                counts = new int[oldCounts.length * 2];
+                for (int i = 0; i < oldHashes.length; i++) {
+                    if (oldCounts[i] != 0) {
+                        int slot = countSlot(oldHashes[i]);
+                        countHashes[slot] = oldHashes[i];
+                        counts[slot] = oldCounts[i];
+                    }
+                }
+            }
+            int slot = countSlot(keyHash);
+            if (counts[slot] == 0) {
+                countHashes[slot] = keyHash;
+                distinctKeys++;
+            }
+            return ++counts[slot];
+        }
+
+        /**
+         * Posição do hash na tabela de ocorrências, ou a posição livre em que
+         * ele seria inserido.
+         */
+        private int countSlot(long keyHash) {
+            int mask = countHashes.length - 1;
+            int slot = slotOf(keyHash, mask);
+            while (counts[slot] != 0 && countHashes[slot] != keyHash) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conjunto limitado e concorrente de strings canônicas, para que valores de
+ * célula repetidos (como "Seg. Odontológica", "X" ou nomes de subgrupos)
+ * compartilhem uma única instância quando materializados como {@link String}.
+ * <p>
+ * A tabela tem capacidade fixa e é organizada em conjuntos de
+ * {@link #WAYS} posições por hash. Uma consulta compara os caracteres
+ * diretamente com as strings do conjunto, sem criar objetos quando o valor já
+ * existe; na ausência, a nova string ocupa uma posição livre do conjunto ou
+ * substitui uma das existentes. Assim a memória do conjunto nunca cresce além
+ * da capacidade, e valores raros são naturalmente substituídos pelos
+ * frequentes. Valores mais longos que o limite configurado não são guardados,
+ * pois raramente se repetem.
+ * <p>
+ * As posições são lidas e gravadas atomicamente, sem bloqueios; disputas entre
+ * threads podem, no máximo, fazer um valor ser criado duas vezes. Instâncias
+ * podem ser compartilhadas entre threads.
+ */
+public final class StringPool {
+    /** Posições examinadas por consulta */
+    static final int WAYS = 4;
+    /** Estimativa do cabeçalho de uma {@code String} e do seu vetor de bytes */
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private static final StringPool SHARED = new StringPool(AppConfig.STRING_POOL_CAPACITY,
+            AppConfig.STRING_POOL_MAX_LENGTH);
+
+    private final AtomicReferenceArray<String> slots;
+    private final int setMask;
+    private final int maxLength;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    /**
+     * Estatísticas de uso do conjunto.
+     *
+     * @param lookups    consultas realizadas
+     * @param hits       consultas atendidas por uma instância existente
+     * @param bytesSaved estimativa dos bytes de heap que deixaram de ser
+     *                   alocados
+     */
+    public record Stats(long lookups, long hits, long bytesSaved) {
+        /**
+         * @return a fração de consultas atendidas por uma instância existente
+         */
+        public double hitRate() {
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    /**
+     * @param capacity  quantidade máxima de strings mantidas (arredondada para
+     *                  uma potência de dois)
+     * @param maxLength comprimento máximo das strings guardadas
+     */
+    public StringPool(int capacity, int maxLength) {
+        int sets = Integer.highestOneBit(Math.max(1, capacity / WAYS - 1) << 1);
+        this.slots = new AtomicReferenceArray<>(sets * WAYS);
+        this.setMask = sets - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @return o conjunto compartilhado pela aplicação, dimensionado pela
+     *         configuração
+     */
+    public static StringPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Retorna a instância canônica do trecho de caracteres informado.
+     *
+     * @param chars  vetor com o texto
+     * @param offset início do trecho
+     * @param length comprimento do trecho
+     * @return uma string com o conteúdo do trecho
+     */
+    public String intern(char[] chars, int offset, int length) {
+        if (length == 0) {
+            return "";
+        }
+        if (length > maxLength) {
+            return new String(chars, offset, length);
+        }
+        lookups.increment();
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int base = (spread(hash) & setMask) * WAYS;
+        int free = -1;
+        for (int way = 0; way < WAYS; way++) {
+            String candidate = slots.get(base + way);
+            if (candidate == null) {
+                if (free < 0) {
+                    free = base + way;
+                }
+            } else if (candidate.hashCode() == hash && matches(candidate, chars, offset, length)) {
+                hits.increment();
+                bytesSaved.add(estimateBytes(candidate));
+                return candidate;
+            }
+        }
+        String value = new String(chars, offset, length);
+        if (free >= 0) {
+            slots.compareAndSet(free, null, value);
+        } else {
+            slots.set(base + ((hash >>> 16) & (WAYS - 1)), value);
+        }
+        return value;
+    }
+
+    /**
+     * Retorna a instância canônica de uma string.
+     *
+     * @param value o valor
+     * @return a instância do conjunto com o mesmo conteúdo, ou o próprio valor
+     */
+    public String intern(String value) {
+        if (value == null || value.isEmpty() || value.length() > maxLength) {
+            return value;
+        }
+        lookups.increment();
+        int hash = value.hashCode();
+        int base = (spread(hash) & setMask) * WAYS;
+        int free = -1;
+        for (int way = 0; way < WAYS; way++) {
+            String candidate = slots.get(base + way);
+            if (candidate == null) {
+                if (free < 0) {
+                    free = base + way;
+                }
+            } else if (candidate.hashCode() == hash && candidate.equals(value)) {
+                if (candidate != value) {
+                    hits.increment();
+                    bytesSaved.add(estimateBytes(candidate));
+                }
+                return candidate;
+            }
+        }
+        if (free >= 0) {
+            slots.compareAndSet(free, null, value);
+        } else {
+            slots.set(base + ((hash >>> 16) & (WAYS - 1)), value);
+        }
+        return value;
+    }
+
+    /**
+     * @return as estatísticas acumuladas
+     */
+    public Stats getStats() {
+        return new Stats(lookups.sum(), hits.sum(), bytesSaved.sum());
+    }
+
+    /**
+     * @return a quantidade máxima de strings mantidas
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(String candidate, char[] chars, int offset, int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estima o heap ocupado por uma string, considerando a representação
+     * compacta (um byte por caractere) quando todos os caracteres são Latin-1.
+     */
+    private static long estimateBytes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return STRING_OVERHEAD_BYTES + 2L * value.length();
+            }
+        }
+        return STRING_OVERHEAD_BYTES + value.length();
+    }
+}
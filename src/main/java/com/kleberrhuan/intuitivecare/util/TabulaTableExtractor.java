@@ -0,0 +1,63 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.interfaces.TableExtractor;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import technology.tabula.ObjectExtractor;
+import technology.tabula.Page;
+import technology.tabula.RectangularTextContainer;
+import technology.tabula.Table;
+import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Implementação de {@link TableExtractor} baseada no Tabula, usando o
+ * {@link ObjectExtractor} e o {@link SpreadsheetExtractionAlgorithm}.
+ * <p>
+ * Quando recebe um {@link LayoutTemplate.Learner}, as primeiras páginas
+ * alimentam o aprendizado do layout e as seguintes são extraídas pelo template
+ * sempre que se encaixam nele.
+ */
+public class TabulaTableExtractor implements TableExtractor {
+    private final ObjectExtractor extractor;
+    private final SpreadsheetExtractionAlgorithm algorithm = new SpreadsheetExtractionAlgorithm();
+    private final LayoutTemplate.Learner templateLearner;
+
+    /**
+     * @param document        o documento de onde as páginas serão extraídas
+     * @param templateLearner aprendizado de layout compartilhado, ou {@code null}
+     *                        para usar sempre a detecção completa
+     */
+    public TabulaTableExtractor(PDDocument document, LayoutTemplate.Learner templateLearner) {
+        this.extractor = new ObjectExtractor(document);
+        this.templateLearner = templateLearner;
+    }
+
+    @Override
+    public void extractPage(int pageNumber, TableBuffer target) {
+        Page page = extractor.extract(pageNumber);
+        if (templateLearner != null && templateLearner.tryExtract(page, target)) {
+            return;
+        }
+
+        List<Table> tables = algorithm.extract(page);
+        for (Table table : tables) {
+            for (List<RectangularTextContainer> row : table.getRows()) {
+                target.startRow();
+                for (RectangularTextContainer cell : row) {
+                    target.appendCell(cell.getText());
+                }
+                target.endRow();
+            }
+        }
+        if (templateLearner != null) {
+            templateLearner.learn(pageNumber, tables);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        extractor.close();
+    }
+}
@@ -0,0 +1,629 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.interfaces.TableExtractor;
+import org.apache.pdfbox.contentstream.PDFGraphicsStreamEngine;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+import java.awt.geom.Point2D;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implementação leve de {@link TableExtractor} construída diretamente sobre o
+ * PDFBox, sem o modelo de objetos do Tabula.
+ * <p>
+ * Para cada página são coletados os glifos ({@link TextPosition}) e os
+ * segmentos de linha desenhados (traços e retângulos finos preenchidos). As
+ * réguas são unificadas em uma grade, as células são formadas a partir das
+ * interseções, inclusive células mescladas, e os glifos são distribuídos pelas
+ * células de acordo com o seu centro, localizado por busca binária nas bordas
+ * da grade. As réguas são levadas ao espaço da página exibida, considerando o
+ * {@code /Rotate} da página, o mesmo espaço das coordenadas dos glifos.
+ * <p>
+ * A montagem das linhas e do texto reproduz as regras do
+ * {@code SpreadsheetExtractionAlgorithm}: tabelas separadas por componentes
+ * conectados de células, células mescladas verticalmente aparecem apenas na
+ * primeira linha, linhas incompletas são completadas com células vazias, as
+ * palavras são separadas conforme o espaçamento entre glifos e as quebras de
+ * linha dentro de uma célula são representadas por {@code '\r'}.
+ */
+public class TextPositionTableExtractor implements TableExtractor {
+    private static final float TOLERANCE = 1f;
+    private static final float THIN_RECTANGLE = 2f;
+    private static final float SPACE_TOLERANCE = 0.5f;
+    private static final float CHARACTER_TOLERANCE = 0.3f;
+
+    private final PDDocument document;
+    private final GlyphCollector glyphCollector;
+    private final StringBuilder cellText = new StringBuilder();
+
+    /**
+     * @param document o documento de onde as páginas serão extraídas
+     */
+    public TextPositionTableExtractor(PDDocument document) {
+        this.document = document;
+        this.glyphCollector = new GlyphCollector();
+    }
+
+    @Override
+    public void extractPage(int pageNumber, TableBuffer target) throws IOException {
+        PDPage page = document.getPage(pageNumber - 1);
+        PDRectangle cropBox = page.getCropBox();
+
+        RulingCollector rulingCollector = new RulingCollector(page, cropBox, page.getRotation());
+        rulingCollector.processPage(page);
+        List<Glyph> glyphs = glyphCollector.collect(document, pageNumber);
+
+        float[] ys = distinct(rulingCollector.horizontals);
+        float[] xs = distinct(rulingCollector.verticals);
+        if (ys.length < 2 || xs.length < 2) {
+            return;
+        }
+
+        Grid grid = new Grid(xs, ys, rulingCollector.horizontals, rulingCollector.verticals);
+        List<GridCell> cells = grid.findCells();
+        grid.assignGlyphs(cells, glyphs);
+
+        for (List<GridCell> table : grid.tables(cells)) {
+            appendRows(table, target);
+        }
+    }
+
+    /**
+     * Monta as linhas de uma tabela seguindo a numeração de colunas do Tabula:
+     * a primeira célula de cada linha começa após as células de linhas anteriores
+     * que se estendem até ela pela esquerda.
+     */
+    private void appendRows(List<GridCell> table, TableBuffer target) {
+        table.sort(Comparator.comparingInt((GridCell c) -> c.top).thenComparingInt(c -> c.left));
+        List<List<GridCell>> rowsOfCells = new ArrayList<>();
+        for (GridCell cell : table) {
+            List<GridCell> last = rowsOfCells.isEmpty() ? null : rowsOfCells.get(rowsOfCells.size() - 1);
+            if (last == null || last.get(0).top != cell.top) {
+                last = new ArrayList<>();
+                rowsOfCells.add(last);
+            }
+            last.add(cell);
+        }
+
+        int[] startColumns = new int[rowsOfCells.size()];
+        int columnCount = 0;
+        for (int r = 0; r < rowsOfCells.size(); r++) {
+            GridCell first = rowsOfCells.get(r).get(0);
+            for (GridCell other : table) {
+                if (other.right <= first.left && other.top < first.top && other.bottom > first.top) {
+                    startColumns[r]++;
+                }
+            }
+            columnCount = Math.max(columnCount, startColumns[r] + rowsOfCells.get(r).size());
+        }
+
+        for (int r = 0; r < rowsOfCells.size(); r++) {
+            List<GridCell> rowCells = rowsOfCells.get(r);
+            target.startRow();
+            for (int c = 0; c < columnCount; c++) {
+                int index = c - startColumns[r];
+                if (index < 0 || index >= rowCells.size()) {
+                    target.appendCell("");
+                    continue;
+                }
+                cellText.setLength(0);
+                rowCells.get(index).appendText(cellText);
+                int begin = 0;
+                int end = cellText.length();
+                while (begin < end && cellText.charAt(begin) <= ' ') {
+                    begin++;
+                }
+                while (end > begin && cellText.charAt(end - 1) <= ' ') {
+                    end--;
+                }
+                target.appendCell(cellText, begin, end);
+            }
+            target.endRow();
+        }
+    }
+
+    /**
+     * Obtém as posições distintas (com tolerância) das réguas de uma orientação.
+     */
+    private static float[] distinct(List<float[]> segments) {
+        float[] positions = new float[segments.size()];
+        for (int i = 0; i < segments.size(); i++) {
+            positions[i] = segments.get(i)[0];
+        }
+        Arrays.sort(positions);
+        int count = 0;
+        for (float position : positions) {
+            if (count == 0 || position - positions[count - 1] > TOLERANCE) {
+                positions[count++] = position;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    @Override
+    public void close() {
+        // O documento pertence ao chamador; não há recursos próprios a liberar.
+    }
+
+    /**
+     * Glifo com coordenadas no sistema de página (origem no canto superior
+     * esquerdo), como no Tabula.
+     */
+    private record Glyph(float top, float left, float width, float height, float widthOfSpace, String text) {
+        float right() {
+            return left + width;
+        }
+
+        float centerX() {
+            return left + width / 2;
+        }
+
+        float centerY() {
+            return top + height / 2;
+        }
+    }
+
+    /**
+     * Coleta os glifos de uma página usando o {@link PDFTextStripper}.
+     */
+    private static final class GlyphCollector extends PDFTextStripper {
+        private List<Glyph> glyphs;
+
+        List<Glyph> collect(PDDocument document, int pageNumber) throws IOException {
+            glyphs = new ArrayList<>();
+            setStartPage(pageNumber);
+            setEndPage(pageNumber);
+            getText(document);
+            return glyphs;
+        }
+
+        @Override
+        protected void writeString(String text, List<TextPosition> textPositions) {
+            for (TextPosition position : textPositions) {
+                String unicode = position.getUnicode();
+                if (unicode == null || unicode.isEmpty() || Character.isISOControl(unicode.charAt(0))) {
+                    continue;
+                }
+                glyphs.add(new Glyph(
+                        position.getYDirAdj() - position.getHeightDir(),
+                        position.getXDirAdj(),
+                        position.getWidthDirAdj(),
+                        position.getHeightDir(),
+                        position.getWidthOfSpace(),
+                        " ".equals(unicode) ? " " : unicode));
+            }
+        }
+    }
+
+    /**
+     * Coleta os segmentos horizontais e verticais desenhados em uma página.
+     * Segmentos são armazenados como {@code [posição, início, fim]} em
+     * coordenadas da página exibida (já girada conforme {@code /Rotate}) com
+     * origem no canto superior esquerdo.
+     */
+    private static final class RulingCollector extends PDFGraphicsStreamEngine {
+        private final PDRectangle cropBox;
+        private final int rotation;
+        private final List<float[]> horizontals = new ArrayList<>();
+        private final List<float[]> verticals = new ArrayList<>();
+        private final List<float[]> pathLines = new ArrayList<>();
+        private final List<float[]> pathRectangles = new ArrayList<>();
+        private final Point2D.Float currentPoint = new Point2D.Float();
+        private final Point2D.Float subpathStart = new Point2D.Float();
+
+        RulingCollector(PDPage page, PDRectangle cropBox, int rotation) {
+            super(page);
+            this.cropBox = cropBox;
+            this.rotation = Math.floorMod(rotation, 360);
+        }
+
+        @Override
+        public void appendRectangle(Point2D p0, Point2D p1, Point2D p2, Point2D p3) {
+            float minX = (float) Math.min(Math.min(p0.getX(), p1.getX()), Math.min(p2.getX(), p3.getX()));
+            float maxX = (float) Math.max(Math.max(p0.getX(), p1.getX()), Math.max(p2.getX(), p3.getX()));
+            float minY = (float) Math.min(Math.min(p0.getY(), p1.getY()), Math.min(p2.getY(), p3.getY()));
+            float maxY = (float) Math.max(Math.max(p0.getY(), p1.getY()), Math.max(p2.getY(), p3.getY()));
+            pathRectangles.add(new float[] { minX, minY, maxX, maxY });
+            currentPoint.setLocation(p0);
+            subpathStart.setLocation(p0);
+        }
+
+        @Override
+        public void moveTo(float x, float y) {
+            currentPoint.setLocation(x, y);
+            subpathStart.setLocation(x, y);
+        }
+
+        @Override
+        public void lineTo(float x, float y) {
+            pathLines.add(new float[] { currentPoint.x, currentPoint.y, x, y });
+            currentPoint.setLocation(x, y);
+        }
+
+        @Override
+        public void curveTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+            currentPoint.setLocation(x3, y3);
+        }
+
+        @Override
+        public Point2D getCurrentPoint() {
+            return currentPoint;
+        }
+
+        @Override
+        public void closePath() {
+            lineTo(subpathStart.x, subpathStart.y);
+        }
+
+        @Override
+        public void endPath() {
+            clearPath();
+        }
+
+        @Override
+        public void strokePath() {
+            for (float[] line : pathLines) {
+                addSegment(line[0], line[1], line[2], line[3]);
+            }
+            for (float[] rect : pathRectangles) {
+                addSegment(rect[0], rect[1], rect[2], rect[1]);
+                addSegment(rect[0], rect[3], rect[2], rect[3]);
+                addSegment(rect[0], rect[1], rect[0], rect[3]);
+                addSegment(rect[2], rect[1], rect[2], rect[3]);
+            }
+            clearPath();
+        }
+
+        @Override
+        public void fillPath(int windingRule) {
+            for (float[] rect : pathRectangles) {
+                float width = rect[2] - rect[0];
+                float height = rect[3] - rect[1];
+                if (height <= THIN_RECTANGLE && width > height) {
+                    float y = (rect[1] + rect[3]) / 2;
+                    addSegment(rect[0], y, rect[2], y);
+                } else if (width <= THIN_RECTANGLE && height > width) {
+                    float x = (rect[0] + rect[2]) / 2;
+                    addSegment(x, rect[1], x, rect[3]);
+                }
+            }
+            clearPath();
+        }
+
+        @Override
+        public void fillAndStrokePath(int windingRule) {
+            strokePath();
+        }
+
+        @Override
+        public void drawImage(PDImage pdImage) {
+            // Imagens não contribuem para as réguas da tabela.
+        }
+
+        @Override
+        public void clip(int windingRule) {
+            // O recorte não altera as réguas desenhadas.
+        }
+
+        @Override
+        public void shadingFill(COSName shadingName) {
+            // Preenchimentos de sombreamento não contribuem para as réguas.
+        }
+
+        private void clearPath() {
+            pathLines.clear();
+            pathRectangles.clear();
+        }
+
+        private void addSegment(float x1, float y1, float x2, float y2) {
+            float left = Math.min(displayX(x1, y1), displayX(x2, y2));
+            float right = Math.max(displayX(x1, y1), displayX(x2, y2));
+            float top = Math.min(displayY(x1, y1), displayY(x2, y2));
+            float bottom = Math.max(displayY(x1, y1), displayY(x2, y2));
+            if (bottom - top <= TOLERANCE && right - left > TOLERANCE) {
+                horizontals.add(new float[] { (top + bottom) / 2, left, right });
+            } else if (right - left <= TOLERANCE && bottom - top > TOLERANCE) {
+                verticals.add(new float[] { (left + right) / 2, top, bottom });
+            }
+        }
+
+        /**
+         * Converte um ponto do espaço do usuário para a abscissa da página
+         * exibida, girada no sentido horário conforme {@code /Rotate}.
+         */
+        private float displayX(float x, float y) {
+            return switch (rotation) {
+                case 90 -> y - cropBox.getLowerLeftY();
+                case 180 -> cropBox.getUpperRightX() - x;
+                case 270 -> cropBox.getUpperRightY() - y;
+                default -> x - cropBox.getLowerLeftX();
+            };
+        }
+
+        /**
+         * Converte um ponto do espaço do usuário para a ordenada (de cima para
+         * baixo) da página exibida, girada no sentido horário conforme
+         * {@code /Rotate}.
+         */
+        private float displayY(float x, float y) {
+            return switch (rotation) {
+                case 90 -> x - cropBox.getLowerLeftX();
+                case 180 -> y - cropBox.getLowerLeftY();
+                case 270 -> cropBox.getUpperRightX() - x;
+                default -> cropBox.getUpperRightY() - y;
+            };
+        }
+    }
+
+    /**
+     * Célula formada sobre a grade, delimitada por índices de linhas e colunas.
+     */
+    private static final class GridCell {
+        private final int top;
+        private final int left;
+        private final int bottom;
+        private final int right;
+        private final List<Glyph> glyphs = new ArrayList<>();
+
+        GridCell(int top, int left, int bottom, int right) {
+            this.top = top;
+            this.left = left;
+            this.bottom = bottom;
+            this.right = right;
+        }
+
+        /**
+         * Monta o texto da célula agrupando os glifos em linhas e palavras. O
+         * texto não é aparado; cabe ao chamador remover os espaços das bordas.
+         */
+        void appendText(StringBuilder sb) {
+            if (glyphs.isEmpty()) {
+                return;
+            }
+            List<List<Glyph>> lines = new ArrayList<>();
+            glyphs.sort(Comparator.comparingDouble(Glyph::top));
+            for (Glyph glyph : glyphs) {
+                List<Glyph> line = lines.isEmpty() ? null : lines.get(lines.size() - 1);
+                if (line == null || Math.abs(glyph.centerY() - line.get(0).centerY())
+                        > Math.max(glyph.height(), line.get(0).height()) / 2) {
+                    line = new ArrayList<>();
+                    lines.add(line);
+                }
+                line.add(glyph);
+            }
+
+            for (int i = 0; i < lines.size(); i++) {
+                List<Glyph> line = lines.get(i);
+                line.sort(Comparator.comparingDouble(Glyph::left));
+                if (i > 0) {
+                    sb.append('\r');
+                }
+                appendLine(sb, line);
+            }
+        }
+
+        /**
+         * Concatena os glifos de uma linha, inserindo espaços quando a distância
+         * até o glifo seguinte supera o menor entre meio espaço e 30% da largura
+         * média dos caracteres.
+         */
+        private static void appendLine(StringBuilder sb, List<Glyph> line) {
+            float widthSum = 0;
+            float endOfLast = -1;
+            boolean lastWasSpace = true;
+            for (int i = 0; i < line.size(); i++) {
+                Glyph glyph = line.get(i);
+                widthSum += glyph.width();
+                boolean isSpace = glyph.text().isBlank();
+                if (endOfLast >= 0 && !isSpace && !lastWasSpace) {
+                    float averageWidth = widthSum / (i + 1);
+                    float threshold = Math.min(glyph.widthOfSpace() * SPACE_TOLERANCE,
+                            averageWidth * CHARACTER_TOLERANCE);
+                    if (glyph.left() - endOfLast > threshold) {
+                        sb.append(' ');
+                    }
+                }
+                if (!(isSpace && lastWasSpace)) {
+                    sb.append(isSpace ? " " : glyph.text());
+                }
+                lastWasSpace = isSpace;
+                endOfLast = glyph.right();
+            }
+        }
+    }
+
+    /**
+     * Grade formada pelas posições distintas das réguas, com consulta de
+     * cobertura dos segmentos entre interseções.
+     */
+    private static final class Grid {
+        private final float[] xs;
+        private final float[] ys;
+        private final boolean[][] horizontalEdge;
+        private final boolean[][] verticalEdge;
+        private final int[][] owner;
+
+        Grid(float[] xs, float[] ys, List<float[]> horizontals, List<float[]> verticals) {
+            this.xs = xs;
+            this.ys = ys;
+            this.owner = new int[ys.length - 1][xs.length - 1];
+            for (int[] row : owner) {
+                Arrays.fill(row, -1);
+            }
+            this.horizontalEdge = new boolean[ys.length][xs.length - 1];
+            this.verticalEdge = new boolean[xs.length][ys.length - 1];
+            for (float[] segment : horizontals) {
+                markCoverage(segment, ys, xs, horizontalEdge);
+            }
+            for (float[] segment : verticals) {
+                markCoverage(segment, xs, ys, verticalEdge);
+            }
+        }
+
+        /**
+         * Marca os trechos da grade cobertos por um segmento.
+         */
+        private static void markCoverage(float[] segment, float[] positions, float[] crossings,
+                boolean[][] edges) {
+            int line = nearest(positions, segment[0]);
+            if (line < 0) {
+                return;
+            }
+            for (int i = 0; i < crossings.length - 1; i++) {
+                if (segment[1] <= crossings[i] + TOLERANCE && segment[2] >= crossings[i + 1] - TOLERANCE) {
+                    edges[line][i] = true;
+                }
+            }
+        }
+
+        private static int nearest(float[] positions, float value) {
+            for (int i = 0; i < positions.length; i++) {
+                if (Math.abs(positions[i] - value) <= TOLERANCE) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Forma as células a partir de cada canto superior esquerdo, estendendo-as
+         * para a direita e para baixo enquanto não houver régua delimitando.
+         */
+        List<GridCell> findCells() {
+            int rows = ys.length - 1;
+            int columns = xs.length - 1;
+            List<GridCell> cells = new ArrayList<>();
+
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < columns; c++) {
+                    if (owner[r][c] >= 0 || !horizontalEdge[r][c] || !verticalEdge[c][r]) {
+                        continue;
+                    }
+                    int right = c + 1;
+                    while (right < columns && !verticalEdge[right][r]) {
+                        right++;
+                    }
+                    int bottom = r + 1;
+                    while (bottom < rows && !coversHorizontally(bottom, c, right)) {
+                        bottom++;
+                    }
+                    if (!coversHorizontally(bottom, c, right) || !coversVertically(right, r, bottom)) {
+                        continue;
+                    }
+                    for (int i = r; i < bottom; i++) {
+                        Arrays.fill(owner[i], c, right, cells.size());
+                    }
+                    cells.add(new GridCell(r, c, bottom, right));
+                }
+            }
+            return cells;
+        }
+
+        /**
+         * Distribui os glifos pelas células formadas por {@link #findCells()},
+         * localizando a linha e a coluna do centro de cada glifo por busca
+         * binária nas bordas ordenadas da grade.
+         */
+        void assignGlyphs(List<GridCell> cells, List<Glyph> glyphs) {
+            for (Glyph glyph : glyphs) {
+                int row = interval(ys, glyph.centerY());
+                int column = interval(xs, glyph.centerX());
+                if (row >= 0 && column >= 0 && owner[row][column] >= 0) {
+                    cells.get(owner[row][column]).glyphs.add(glyph);
+                }
+            }
+        }
+
+        /**
+         * @return o índice do intervalo {@code [edges[i], edges[i + 1]]} que
+         *         contém {@code value}, preferindo o anterior quando o valor cai
+         *         sobre uma borda, ou -1 se estiver fora da grade
+         */
+        private static int interval(float[] edges, float value) {
+            int index = Arrays.binarySearch(edges, value);
+            if (index >= 0) {
+                return Math.min(Math.max(index - 1, 0), edges.length - 2);
+            }
+            int insertion = -index - 1;
+            return insertion == 0 || insertion == edges.length ? -1 : insertion - 1;
+        }
+
+        private boolean coversHorizontally(int row, int fromColumn, int toColumn) {
+            for (int j = fromColumn; j < toColumn; j++) {
+                if (!horizontalEdge[row][j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean coversVertically(int column, int fromRow, int toRow) {
+            for (int i = fromRow; i < toRow; i++) {
+                if (!verticalEdge[column][i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Separa as células em tabelas (componentes conectados de células
+         * vizinhas na grade), ordenadas de cima para baixo e da esquerda para a
+         * direita.
+         */
+        List<List<GridCell>> tables(List<GridCell> cells) {
+            int[] parent = new int[cells.size()];
+            for (int k = 0; k < parent.length; k++) {
+                parent[k] = k;
+            }
+            for (int i = 0; i < owner.length; i++) {
+                for (int j = 0; j < owner[i].length; j++) {
+                    if (owner[i][j] < 0) {
+                        continue;
+                    }
+                    if (i + 1 < owner.length && owner[i + 1][j] >= 0) {
+                        union(parent, owner[i][j], owner[i + 1][j]);
+                    }
+                    if (j + 1 < owner[i].length && owner[i][j + 1] >= 0) {
+                        union(parent, owner[i][j], owner[i][j + 1]);
+                    }
+                }
+            }
+
+            List<List<GridCell>> tables = new ArrayList<>();
+            int[] tableOf = new int[cells.size()];
+            Arrays.fill(tableOf, -1);
+            for (int k = 0; k < cells.size(); k++) {
+                int root = find(parent, k);
+                if (tableOf[root] < 0) {
+                    tableOf[root] = tables.size();
+                    tables.add(new ArrayList<>());
+                }
+                tables.get(tableOf[root]).add(cells.get(k));
+            }
+            return tables;
+        }
+
+        private static int find(int[] parent, int k) {
+            while (parent[k] != k) {
+                parent[k] = parent[parent[k]];
+                k = parent[k];
+            }
+            return k;
+        }
+
+        private static void union(int[] parent, int a, int b) {
+            parent[find(parent, a)] = find(parent, b);
+        }
+    }
+}
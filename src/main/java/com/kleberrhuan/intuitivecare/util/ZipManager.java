@@ -15,8 +15,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
@@ -115,6 +117,35 @@ public class ZipManager implements Archiver {
         }
     }
 
+    /**
+     * Verifica se todas as entradas de um ZIP já estão extraídas no diretório de
+     * destino, com o tamanho registrado no ZIP. Lê apenas o diretório central do
+     * ZIP, sem descompactar as entradas.
+     *
+     * @param zipFilePath O caminho para o arquivo ZIP.
+     * @param outputDir   O diretório onde os arquivos foram extraídos.
+     * @return {@code true} se nenhuma entrada estiver ausente ou com tamanho
+     *         diferente
+     * @throws IOException Se o ZIP não puder ser lido.
+     */
+    public static boolean isExtracted(Path zipFilePath, Path outputDir) throws IOException {
+        try (ZipFile zip = new ZipFile(zipFilePath.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                Path extractedPath = outputDir.resolve(entry.getName());
+                if (!Files.isRegularFile(extractedPath)
+                        || (entry.getSize() >= 0 && Files.size(extractedPath) != entry.getSize())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Extrai o conteúdo de um arquivo ZIP para o diretório de destino especificado.
      *
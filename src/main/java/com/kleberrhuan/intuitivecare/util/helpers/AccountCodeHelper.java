@@ -0,0 +1,29 @@
+package com.kleberrhuan.intuitivecare.util.helpers;
+
+/**
+ * Classe utilitária para os códigos do plano de contas das demonstrações
+ * contábeis, em que cada dígito adicional desce um nível na hierarquia (ex.:
+ * {@code 4} → {@code 41} → {@code 411}).
+ */
+public final class AccountCodeHelper {
+
+    private AccountCodeHelper() {
+    }
+
+    /**
+     * Retorna o nível de uma conta no plano de contas: a quantidade de dígitos
+     * do código (ex.: {@code 4} tem nível 1 e {@code 411} tem nível 3).
+     *
+     * @param accountCode código da conta contábil
+     * @return o nível da conta, de 1 a 19
+     */
+    public static int accountLevel(long accountCode) {
+        long code = Math.abs(accountCode);
+        int level = 1;
+        while (code >= 10) {
+            code /= 10;
+            level++;
+        }
+        return level;
+    }
+}
@@ -7,6 +7,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
 
 /**
  * Classe utilitária para operações com diretórios.
@@ -54,6 +56,23 @@ public final class DirectoryHelper {
         return createDirectoryIfNotExists(dir);
     }
 
+    /**
+     * Remove um diretório e todo o seu conteúdo, se existir.
+     *
+     * @param dir o diretório a ser removido.
+     * @throws IOException se algum arquivo não puder ser removido.
+     */
+    public static void deleteRecursively(@NotNull Path dir) throws IOException {
+        if (Files.notExists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
     /**
      * Obtém o nome do arquivo ZIP, adicionando a extensão .zip se necessário.
      *
@@ -0,0 +1,76 @@
+package com.kleberrhuan.intuitivecare.util.helpers;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Classe utilitária para cálculo de hashes SHA-256 de arquivos e textos.
+ */
+public final class HashHelper {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private HashHelper() {
+    }
+
+    /**
+     * Cria uma nova instância de {@link MessageDigest} para SHA-256.
+     *
+     * @return o digest pronto para uso
+     */
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não está disponível nesta JVM", e);
+        }
+    }
+
+    /**
+     * Calcula o SHA-256 do conteúdo de um arquivo.
+     *
+     * @param file o arquivo a ser lido
+     * @return o hash em hexadecimal
+     * @throws IOException se o arquivo não puder ser lido
+     */
+    public static String sha256(@NotNull Path file) throws IOException {
+        MessageDigest digest = newSha256();
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+        }
+        return toHex(digest);
+    }
+
+    /**
+     * Calcula o SHA-256 de um texto codificado em UTF-8.
+     *
+     * @param text o texto
+     * @return o hash em hexadecimal
+     */
+    public static String sha256(@NotNull String text) {
+        MessageDigest digest = newSha256();
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        return toHex(digest);
+    }
+
+    /**
+     * Finaliza o digest e converte o resultado para hexadecimal.
+     *
+     * @param digest o digest a ser finalizado
+     * @return o hash em hexadecimal
+     */
+    public static String toHex(@NotNull MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,117 @@
+package com.kleberrhuan.intuitivecare.util.helpers;
+
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.pdmodel.ResourceCache;
+import org.apache.pdfbox.pdmodel.documentinterchange.markedcontent.PDPropertyList;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
+import org.apache.pdfbox.pdmodel.graphics.shading.PDShading;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache de recursos do PDFBox restrito à página em processamento.
+ * <p>
+ * Fontes, espaços de cor e demais recursos são mantidos apenas até
+ * {@link #clear()}, chamado ao término de cada página. XObjects (imagens e
+ * formulários) nunca são armazenados: são os recursos mais pesados e raramente
+ * contêm texto de tabela, então são recriados quando necessários em vez de
+ * permanecerem referenciados pelo documento.
+ * <p>
+ * Cada documento pertence a uma única thread, portanto o cache não é
+ * sincronizado.
+ */
+final class PageResourceCache implements ResourceCache {
+    private final Map<COSObject, PDFont> fonts = new HashMap<>();
+    private final Map<COSObject, PDColorSpace> colorSpaces = new HashMap<>();
+    private final Map<COSObject, PDExtendedGraphicsState> extGStates = new HashMap<>();
+    private final Map<COSObject, PDShading> shadings = new HashMap<>();
+    private final Map<COSObject, PDAbstractPattern> patterns = new HashMap<>();
+    private final Map<COSObject, PDPropertyList> properties = new HashMap<>();
+
+    /**
+     * Descarta todos os recursos armazenados.
+     */
+    void clear() {
+        fonts.clear();
+        colorSpaces.clear();
+        extGStates.clear();
+        shadings.clear();
+        patterns.clear();
+        properties.clear();
+    }
+
+    @Override
+    public PDFont getFont(COSObject indirect) {
+        return fonts.get(indirect);
+    }
+
+    @Override
+    public PDColorSpace getColorSpace(COSObject indirect) {
+        return colorSpaces.get(indirect);
+    }
+
+    @Override
+    public PDExtendedGraphicsState getExtGState(COSObject indirect) {
+        return extGStates.get(indirect);
+    }
+
+    @Override
+    public PDShading getShading(COSObject indirect) {
+        return shadings.get(indirect);
+    }
+
+    @Override
+    public PDAbstractPattern getPattern(COSObject indirect) {
+        return patterns.get(indirect);
+    }
+
+    @Override
+    public PDPropertyList getProperties(COSObject indirect) {
+        return properties.get(indirect);
+    }
+
+    @Override
+    public PDXObject getXObject(COSObject indirect) {
+        return null;
+    }
+
+    @Override
+    public void put(COSObject indirect, PDFont font) {
+        fonts.put(indirect, font);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDColorSpace colorSpace) {
+        colorSpaces.put(indirect, colorSpace);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDExtendedGraphicsState extGState) {
+        extGStates.put(indirect, extGState);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDShading shading) {
+        shadings.put(indirect, shading);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDAbstractPattern pattern) {
+        patterns.put(indirect, pattern);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDPropertyList propertyList) {
+        properties.put(indirect, propertyList);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDXObject xobject) {
+        // XObjects não são mantidos entre acessos
+    }
+}
@@ -0,0 +1,72 @@
+package com.kleberrhuan.intuitivecare.util.helpers;
+
+import com.kleberrhuan.intuitivecare.model.PdfMemoryConfig;
+import jakarta.validation.constraints.NotNull;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Classe utilitária para abrir documentos PDF respeitando um orçamento de
+ * memória.
+ */
+public final class PdfDocumentHelper {
+    private PdfDocumentHelper() {
+    }
+
+    /**
+     * Abre um PDF usando as configurações de memória informadas.
+     * O PDFBox mantém seus buffers na memória principal até o limite configurado e
+     * transborda o restante para arquivos temporários no diretório de scratch.
+     * Quando habilitado, o arquivo de entrada é lido via mapeamento em memória,
+     * mantendo o conteúdo fora do heap. Com a liberação de recursos por página
+     * habilitada, o documento usa um cache de recursos restrito à página atual,
+     * esvaziado por {@link #releasePageResources(PDDocument)}.
+     *
+     * @param pdfPath o caminho do PDF
+     * @param config  o orçamento de memória
+     * @return o documento carregado, que deve ser fechado pelo chamador
+     * @throws IOException se o arquivo não puder ser lido ou analisado
+     */
+    public static PDDocument load(@NotNull Path pdfPath, @NotNull PdfMemoryConfig config) throws IOException {
+        DirectoryHelper.createDirectoryIfNotExists(config.getScratchDir());
+        MemoryUsageSetting memoryUsage = MemoryUsageSetting
+                .setupMixed(config.getMaxMainMemoryBytes())
+                .setTempDir(config.getScratchDir().toFile());
+
+        RandomAccessRead source = config.isMemoryMappedInput()
+                ? new RandomAccessReadMemoryMappedFile(pdfPath)
+                : new RandomAccessReadBufferedFile(pdfPath);
+        try {
+            PDDocument document = Loader.loadPDF(source, memoryUsage.streamCache);
+            if (config.isReleasePageResources()) {
+                document.setResourceCache(new PageResourceCache());
+            }
+            return document;
+        } catch (IOException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Descarta os recursos (fontes, espaços de cor, padrões) carregados para a
+     * página recém-processada, liberando-os para o coletor de lixo. XObjects não
+     * chegam a ser armazenados pelo cache instalado em {@link #load}.
+     *
+     * @param document o documento cujos recursos serão liberados
+     */
+    public static void releasePageResources(@NotNull PDDocument document) {
+        if (document.getResourceCache() instanceof PageResourceCache pageCache) {
+            pageCache.clear();
+        } else {
+            document.setResourceCache(new PageResourceCache());
+        }
+    }
+}
@@ -29,6 +29,20 @@ public class ScannerHelper implements AutoCloseable {
         return number;
     }
 
+    /**
+     * Obtém a próxima linha de texto não vazia digitada pelo usuário.
+     *
+     * @return a linha digitada, sem espaços nas extremidades
+     */
+    public String nextLine() {
+        String line = scanner.nextLine().strip();
+        while (line.isEmpty()) {
+            System.out.println("Por favor, insira um valor válido.");
+            line = scanner.nextLine().strip();
+        }
+        return line;
+    }
+
     /**
      * Fecha o scanner quando o objeto é fechado (try-with-resources).
      */
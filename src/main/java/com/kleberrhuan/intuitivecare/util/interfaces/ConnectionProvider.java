@@ -0,0 +1,19 @@
+package com.kleberrhuan.intuitivecare.util.interfaces;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Interface para a abertura de conexões JDBC com o banco de destino de uma
+ * carga.
+ */
+@FunctionalInterface
+public interface ConnectionProvider {
+    /**
+     * Abre uma nova conexão, de uso exclusivo de quem a solicitou.
+     *
+     * @return a conexão
+     * @throws SQLException se a conexão não puder ser aberta
+     */
+    Connection open() throws SQLException;
+}
@@ -0,0 +1,22 @@
+package com.kleberrhuan.intuitivecare.util.interfaces;
+
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Interface para motores de extração de tabelas de páginas de um PDF.
+ * Cada instância está associada a um único documento e não deve ser
+ * compartilhada entre threads.
+ */
+public interface TableExtractor extends Closeable {
+    /**
+     * Extrai as linhas de todas as tabelas de uma página, na ordem em que
+     * aparecem, acrescentando-as ao buffer informado.
+     *
+     * @param pageNumber número da página (base 1)
+     * @param target     buffer que recebe as linhas da página
+     * @throws IOException Se ocorrer um erro ao ler o conteúdo da página
+     */
+    void extractPage(int pageNumber, TableBuffer target) throws IOException;
+}
@@ -0,0 +1,112 @@
+package com.kleberrhuan.intuitivecare.benchmark;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import com.kleberrhuan.intuitivecare.model.AbbreviationMode;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.AbbreviationDictionary;
+import com.kleberrhuan.intuitivecare.util.AbbreviationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Substituição de abreviações ({@link AbbreviationEngine}) com a legenda
+ * embarcada, sobre linhas no formato do Anexo I, em cada modo de substituição
+ * e com as colunas de escopo padrão ou sem escopo (todas as colunas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AbbreviationBenchmark {
+
+  private static final String[] HEADER = { "PROCEDIMENTO", "RN (alteração)", "VIGÊNCIA", "OD", "AMB", "HCO",
+      "HSO", "REF", "PAC", "DUT", "SUBGRUPO", "GRUPO", "CAPÍTULO" };
+
+  @Param({ "100000" })
+  public int rows;
+
+  @Param({ "EXACT", "SUBSTRING" })
+  public AbbreviationMode mode;
+
+  /** Colunas de escopo separadas por vírgula; {@code all} aplica em todas as colunas */
+  @Param({ "OD,AMB", "all" })
+  public String scope;
+
+  private AbbreviationDictionary dictionary;
+  private List<String> scopeColumns;
+
+  /** A substituição altera as células no lugar; cada chamada recebe linhas novas. */
+  @State(Scope.Thread)
+  public static class FreshRows {
+    TableBuffer buffer;
+
+    @Setup(Level.Invocation)
+    public void reset(AbbreviationBenchmark benchmark) {
+      buffer = buildRows(benchmark.rows);
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    BenchmarkSupport.quietLogs();
+    dictionary = AbbreviationDictionary.fromResource(AppConfig.ABBREVIATION_LEGEND_RESOURCE);
+    scopeColumns = scope.equals("all") ? List.of() : Arrays.asList(scope.split(","));
+  }
+
+  @Benchmark
+  public TableBuffer apply(FreshRows fresh) {
+    AbbreviationEngine engine = new AbbreviationEngine(dictionary, mode, scopeColumns);
+    TableBuffer.Cursor row = fresh.buffer.cursor();
+    if (row.next()) {
+      engine.bindHeader(row);
+      engine.apply(row);
+    }
+    while (row.next()) {
+      engine.apply(row);
+    }
+    return fresh.buffer;
+  }
+
+  private static TableBuffer buildRows(int rows) {
+    TableBuffer buffer = new TableBuffer();
+    buffer.startRow();
+    for (String cell : HEADER) {
+      buffer.appendCell(cell);
+    }
+    buffer.endRow();
+    for (int i = 0; i < rows; i++) {
+      buffer.startRow();
+      buffer.appendCell("PROCEDIMENTO " + i + (i % 5 == 0 ? " COM DUT E HCO" : ""));
+      buffer.appendCell("RN " + (i % 500) + "/2021");
+      buffer.appendCell("01/04/2021");
+      buffer.appendCell(i % 2 == 0 ? "OD" : "");
+      buffer.appendCell(i % 3 == 0 ? "AMB" : "");
+      buffer.appendCell("HCO");
+      buffer.appendCell(i % 4 == 0 ? "HSO" : "");
+      buffer.appendCell("REF");
+      buffer.appendCell("PAC");
+      buffer.appendCell(i % 7 == 0 ? "DUT" : "");
+      buffer.appendCell("SUBGRUPO " + (i % 40));
+      buffer.appendCell("GRUPO " + (i % 8));
+      buffer.appendCell("CAPÍTULO " + (i % 3));
+      buffer.endRow();
+    }
+    return buffer;
+  }
+}
@@ -0,0 +1,22 @@
+package com.kleberrhuan.intuitivecare.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utilitários comuns aos benchmarks.
+ */
+final class BenchmarkSupport {
+
+  private BenchmarkSupport() {
+  }
+
+  /**
+   * Limita o log da aplicação a avisos e erros, para que as mensagens de cada
+   * operação medida não se misturem à saída do JMH nem entrem na medição.
+   */
+  static void quietLogs() {
+    ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+  }
+}
@@ -0,0 +1,87 @@
+package com.kleberrhuan.intuitivecare.benchmark;
+
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.CsvWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara a escrita de CSV pelo método anterior ({@code stream/map/joining} em
+ * um {@code PrintWriter(FileWriter)}) e pelo {@link CsvWriter}, sobre as mesmas
+ * linhas no formato do Anexo I. O resultado é o tempo para gravar o arquivo
+ * inteiro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CsvWriterBenchmark {
+
+  @Param({ "500000" })
+  public int rows;
+
+  private TableBuffer buffer;
+  private List<List<String>> lists;
+  private Path csv;
+
+  @Setup
+  public void setUp() throws IOException {
+    buffer = new TableBuffer();
+    for (int i = 0; i < rows; i++) {
+      buffer.addRow(List.of("PROCEDIMENTO \"" + i + "\" – AVALIAÇÃO", "RN " + (i % 500) + "/2021", "01/04/2021",
+          i % 2 == 0 ? "Seg. Odontológica" : "", i % 3 == 0 ? "Seg. Ambulatorial" : "", "HCO", "", "REF",
+          "PAC", "", "DUT " + (i % 70), "SUBGRUPO " + (i % 40), "GRUPO " + (i % 8)));
+    }
+    lists = buffer.toRows();
+    csv = Files.createTempFile("csv-benchmark", ".csv");
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(csv);
+  }
+
+  @Benchmark
+  public void legacy() throws IOException {
+    try (PrintWriter writer = new PrintWriter(new FileWriter(csv.toFile(), false))) {
+      for (List<String> row : lists) {
+        writer.println(row.stream()
+            .map(s -> s.replace("\"", "\"\""))
+            .map(s -> "\"" + s + "\"")
+            .collect(Collectors.joining(",")));
+      }
+    }
+  }
+
+  @Benchmark
+  public void csvWriter() throws IOException {
+    try (CsvWriter writer = CsvWriter.open(csv, CsvOptions.defaults())) {
+      TableBuffer.Cursor row = buffer.cursor();
+      while (row.next()) {
+        writer.writeRow(row);
+      }
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.kleberrhuan.intuitivecare.benchmark;
+
+import com.kleberrhuan.intuitivecare.model.FilelinkModel;
+import com.kleberrhuan.intuitivecare.util.HttpDownloader;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Downloads do {@link HttpDownloader} a partir de um servidor HTTP local, no
+ * mesmo processo, sem acesso à rede: um arquivo, quatro arquivos em paralelo
+ * pelo pool e a verificação condicional de um arquivo inalterado
+ * ({@code 304 Not Modified}), para cada tamanho de arquivo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HttpDownloaderBenchmark {
+
+  private static final int PARALLEL_FILES = 4;
+  private static final Instant LAST_MODIFIED = Instant.parse("2024-05-01T10:00:00Z");
+
+  /** Tamanho de cada arquivo servido, em bytes */
+  @Param({ "65536", "4194304" })
+  public int fileSize;
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private HttpDownloader downloader;
+  private Path workDir;
+  private Path downloadDir;
+  private Path conditionalDir;
+  private byte[] body;
+  private FilelinkModel single;
+  private List<FilelinkModel> parallel;
+
+  @Setup
+  public void setUp() throws IOException {
+    BenchmarkSupport.quietLogs();
+    body = new byte[fileSize];
+    new Random(42).nextBytes(body);
+
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/files/", this::serve);
+    serverExecutor = Executors.newFixedThreadPool(PARALLEL_FILES);
+    server.setExecutor(serverExecutor);
+    server.start();
+    String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/files/";
+
+    workDir = Files.createTempDirectory("http-benchmark");
+    downloadDir = Files.createDirectories(workDir.resolve("downloads"));
+    conditionalDir = Files.createDirectories(workDir.resolve("conditional"));
+    downloader = new HttpDownloader(PARALLEL_FILES);
+    single = new FilelinkModel("arquivo.zip", baseUrl + "arquivo.zip");
+    parallel = IntStream.range(0, PARALLEL_FILES)
+        .mapToObj(i -> new FilelinkModel("arquivo_" + i + ".zip", baseUrl + "arquivo_" + i + ".zip"))
+        .toList();
+    downloader.downloadIfModified(single, conditionalDir);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    downloader.shutdown();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+    DirectoryHelper.deleteRecursively(workDir);
+  }
+
+  @Benchmark
+  public void downloadFile() throws IOException {
+    downloader.downloadFile(single, downloadDir);
+  }
+
+  @Benchmark
+  public void downloadFilesInParallel() {
+    downloader.downloadFiles(parallel, downloadDir);
+  }
+
+  @Benchmark
+  public boolean downloadIfModifiedUnchanged() {
+    return downloader.downloadIfModified(single, conditionalDir);
+  }
+
+  private void serve(HttpExchange exchange) throws IOException {
+    String since = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+    if (since != null && !Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(since)).isBefore(LAST_MODIFIED)) {
+      exchange.sendResponseHeaders(304, -1);
+      exchange.close();
+      return;
+    }
+    exchange.getResponseHeaders().set("Content-Type", "application/zip");
+    exchange.getResponseHeaders().set("Last-Modified",
+        DateTimeFormatter.RFC_1123_DATE_TIME.format(LAST_MODIFIED.atZone(ZoneOffset.UTC)));
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.kleberrhuan.intuitivecare.benchmark;
+
+import com.kleberrhuan.intuitivecare.fixtures.GridPdfFixture;
+import com.kleberrhuan.intuitivecare.model.AbbreviationOptions;
+import com.kleberrhuan.intuitivecare.model.DocumentSummary;
+import com.kleberrhuan.intuitivecare.model.ExtractionEngine;
+import com.kleberrhuan.intuitivecare.model.ExtractionOptions;
+import com.kleberrhuan.intuitivecare.model.PageRows;
+import com.kleberrhuan.intuitivecare.service.PdfProcessingService;
+import com.kleberrhuan.intuitivecare.util.ExtractionCache;
+import com.kleberrhuan.intuitivecare.util.PdfPageStreamer;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de extração por página de um PDF no layout do Anexo I, gerado por
+ * {@link GridPdfFixture}, com um único worker e sem cache, para cada extrator:
+ * Tabula com detecção completa de células, Tabula no modo de template e o
+ * motor de posições de texto.
+ * <p>
+ * {@code streamPages} mede apenas a extração ({@link PdfPageStreamer});
+ * {@code convertToCsv} mede o processamento completo do
+ * {@link PdfProcessingService} (extração, abreviações e escrita do CSV).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PdfExtractionBenchmark {
+
+  private static final int PAGES = 20;
+  private static final int ROWS_PER_PAGE = 25;
+
+  @Param({ "tabula", "tabula-template", "text-position" })
+  public String extractor;
+
+  private Path workDir;
+  private Path pdf;
+  private Path csv;
+  private ExtractionOptions options;
+  private PdfProcessingService service;
+
+  @Setup
+  public void setUp() throws IOException {
+    BenchmarkSupport.quietLogs();
+    workDir = Files.createTempDirectory("pdf-benchmark");
+    pdf = workDir.resolve("Anexo_I.pdf");
+    csv = workDir.resolve("Anexo_I.csv");
+    GridPdfFixture.write(pdf, PAGES, ROWS_PER_PAGE, 1);
+
+    options = ExtractionOptions.builder()
+        .workers(1)
+        .engine(extractor.startsWith("tabula") ? ExtractionEngine.TABULA : ExtractionEngine.TEXT_POSITION)
+        .templateMode(extractor.equals("tabula-template"))
+        .checkpointDir(null)
+        .build();
+    service = new PdfProcessingService(options, ExtractionCache.disabled(), AbbreviationOptions.defaults());
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    DirectoryHelper.deleteRecursively(workDir);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAGES)
+  public void streamPages(Blackhole blackhole) throws IOException {
+    try (PdfPageStreamer streamer = new PdfPageStreamer(pdf, options, ExtractionCache.disabled()).start()) {
+      PageRows page;
+      while ((page = streamer.next()) != null) {
+        blackhole.consume(page);
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAGES)
+  public DocumentSummary convertToCsv() {
+    return service.convertToCsv(pdf, csv, options);
+  }
+}
@@ -0,0 +1,200 @@
+package com.kleberrhuan.intuitivecare.benchmark;
+
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara o armazenamento de linhas em {@code List<List<String>>} com o
+ * {@link TableBuffer}: montagem das linhas extraídas e o processamento seguinte
+ * (filtro de cabeçalho, substituição de abreviações e escrita do CSV).
+ * <p>
+ * Os bytes alocados por operação aparecem com o profiler de GC
+ * ({@code -prof gc}, coluna {@code gc.alloc.rate.norm}); a memória retida por
+ * cada estrutura aparece nos contadores {@code listBytes} e {@code bufferBytes}
+ * de {@code retainedHeap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TableBufferBenchmark {
+
+  private static final Map<String, String> ABBREVIATIONS = Map.of(
+      "OD", "Seg. Odontológica",
+      "AMB", "Seg. Ambulatorial");
+
+  @Param({ "200000" })
+  public int rows;
+
+  /** O processamento substitui as abreviações no lugar; cada chamada recebe linhas novas. */
+  @State(Scope.Thread)
+  public static class FreshRows {
+    List<List<String>> lists;
+    TableBuffer buffer;
+
+    @Setup(Level.Invocation)
+    public void reset(TableBufferBenchmark benchmark) {
+      lists = buildLists(benchmark.rows);
+      buffer = buildBuffer(benchmark.rows);
+    }
+  }
+
+  /** Bytes retidos, reportados como resultados secundários de {@code retainedHeap}. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class RetainedHeap {
+    public long listBytes;
+    public long bufferBytes;
+  }
+
+  @Benchmark
+  public List<List<String>> buildLists() {
+    return buildLists(rows);
+  }
+
+  @Benchmark
+  public TableBuffer buildBuffer() {
+    return buildBuffer(rows);
+  }
+
+  /** Implementação anterior: cópia do cabeçalho, toUpperCase por célula e stream/joining. */
+  @Benchmark
+  public void processLists(FreshRows fresh) {
+    PrintWriter writer = new PrintWriter(Writer.nullWriter());
+    List<String> header = null;
+    for (List<String> cells : fresh.lists) {
+      if (cells.stream().allMatch(String::isBlank)) {
+        continue;
+      }
+      if (header == null) {
+        header = new ArrayList<>(cells);
+      } else if (cells.equals(header)) {
+        continue;
+      }
+      for (int i = 0; i < cells.size(); i++) {
+        String match = ABBREVIATIONS.get(cells.get(i).toUpperCase());
+        if (match != null) {
+          cells.set(i, match);
+        }
+      }
+      writer.println(cells.stream()
+          .map(s -> s.replace("\"", "\"\""))
+          .map(s -> "\"" + s + "\"")
+          .collect(Collectors.joining(",")));
+    }
+  }
+
+  /**
+   * Heap retido por cada estrutura com todas as linhas, medido após coletas de
+   * lixo; o tempo desta medição não é relevante, apenas os contadores.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 1)
+  @Measurement(iterations = 3)
+  public void retainedHeap(RetainedHeap heap) {
+    long before = usedHeap();
+    List<List<String>> lists = buildLists(rows);
+    heap.listBytes = usedHeap() - before;
+    before = usedHeap();
+    TableBuffer buffer = buildBuffer(rows);
+    heap.bufferBytes = usedHeap() - before;
+    if (lists.size() != buffer.getRowCount()) {
+      throw new IllegalStateException("Estruturas com quantidades de linhas diferentes");
+    }
+  }
+
+  /** Mesmo processamento sobre o cursor do TableBuffer. */
+  @Benchmark
+  public void processBuffer(FreshRows fresh) {
+    PrintWriter writer = new PrintWriter(Writer.nullWriter());
+    String[] keys = ABBREVIATIONS.keySet().toArray(String[]::new);
+    TableBuffer header = null;
+    TableBuffer.Cursor row = fresh.buffer.cursor();
+    while (row.next()) {
+      if (row.isRowBlank()) {
+        continue;
+      }
+      if (header == null) {
+        header = new TableBuffer();
+        row.copyTo(header);
+      } else if (row.rowEquals(header, 0)) {
+        continue;
+      }
+      for (int c = 0; c < row.getCellCount(); c++) {
+        for (String key : keys) {
+          if (row.cellEqualsIgnoreCase(c, key)) {
+            row.setCell(c, ABBREVIATIONS.get(key));
+            break;
+          }
+        }
+      }
+      char[] arena = row.getArena();
+      for (int c = 0; c < row.getCellCount(); c++) {
+        if (c > 0) {
+          writer.write(',');
+        }
+        writer.write('"');
+        writer.write(arena, row.getCellOffset(c), row.getCellLength(c));
+        writer.write('"');
+      }
+      writer.println();
+    }
+  }
+
+  private static String[] row(int i) {
+    return new String[] { "PROCEDIMENTO " + i, "RN " + (i % 500) + "/2021", "01/04/2021",
+        i % 2 == 0 ? "OD" : "", i % 3 == 0 ? "AMB" : "", "HCO", "", "REF", "PAC", "", "DUT " + (i % 70),
+        "SUBGRUPO " + (i % 40), "GRUPO " + (i % 8) };
+  }
+
+  private static List<List<String>> buildLists(int rows) {
+    List<List<String>> lists = new ArrayList<>();
+    for (int i = 0; i < rows; i++) {
+      lists.add(new ArrayList<>(List.of(row(i))));
+    }
+    return lists;
+  }
+
+  private static TableBuffer buildBuffer(int rows) {
+    TableBuffer buffer = new TableBuffer();
+    for (int i = 0; i < rows; i++) {
+      buffer.startRow();
+      for (String cell : row(i)) {
+        buffer.appendCell(cell);
+      }
+      buffer.endRow();
+    }
+    return buffer;
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,100 @@
+package com.kleberrhuan.intuitivecare.benchmark;
+
+import com.kleberrhuan.intuitivecare.util.ZipManager;
+import com.kleberrhuan.intuitivecare.util.helpers.DirectoryHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compactação ({@link ZipManager#archiveFiles}) e extração
+ * ({@link ZipManager#extractZip}) de dois arquivos por ZIP, como os Anexos I e
+ * II, para cada tamanho de arquivo. O conteúdo são linhas de CSV com valores
+ * pseudoaleatórios de semente fixa, para que a taxa de compressão seja a mesma
+ * entre as execuções.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ZipManagerBenchmark {
+
+  private static final String ARCHIVE_NAME = "anexos";
+
+  /** Tamanho de cada arquivo compactado, em bytes */
+  @Param({ "65536", "4194304", "33554432" })
+  public int fileSize;
+
+  private final ZipManager zipManager = new ZipManager();
+  private Path workDir;
+  private Path archiveDir;
+  private Path extractDir;
+  private List<Path> files;
+  private Path zip;
+
+  @Setup
+  public void setUp() throws IOException {
+    BenchmarkSupport.quietLogs();
+    workDir = Files.createTempDirectory("zip-benchmark");
+    archiveDir = Files.createDirectories(workDir.resolve("archive"));
+    extractDir = workDir.resolve("extracted");
+    Random random = new Random(42);
+    files = List.of(writeFile(workDir.resolve("Anexo_I.csv"), random),
+        writeFile(workDir.resolve("Anexo_II.csv"), random));
+
+    Path source = Files.createDirectories(workDir.resolve("source"));
+    zipManager.archiveFiles(files, source, ARCHIVE_NAME);
+    try (var entries = Files.list(source)) {
+      zip = entries.findFirst().orElseThrow();
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    DirectoryHelper.deleteRecursively(workDir);
+  }
+
+  @Benchmark
+  public void archiveFiles() {
+    zipManager.archiveFiles(files, archiveDir, ARCHIVE_NAME);
+  }
+
+  @Benchmark
+  public void extractZip() throws IOException {
+    ZipManager.extractZip(zip, extractDir);
+  }
+
+  private Path writeFile(Path path, Random random) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      long written = 0;
+      while (written < fileSize) {
+        String line = "\"PROCEDIMENTO " + random.nextInt(100_000) + "\",\"RN " + random.nextInt(600)
+            + "/2021\",\"Seg. Ambulatorial\",\"" + random.nextInt(1_000_000) + "," + random.nextInt(100) + "\"\n";
+        String chunk = line.length() <= fileSize - written ? line : line.substring(0, (int) (fileSize - written));
+        writer.write(chunk);
+        written += chunk.length();
+      }
+    }
+    return path;
+  }
+}
@@ -0,0 +1,75 @@
+package com.kleberrhuan.intuitivecare.cli;
+
+import com.kleberrhuan.intuitivecare.model.SyncOptions;
+import com.kleberrhuan.intuitivecare.model.SyncTask;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe CommandArguments
+ */
+class CommandArgumentsTest {
+
+  @Test
+  void parse_deveLerComandoEOpcoesNosDoisFormatos() {
+    // Act
+    CommandArguments arguments = CommandArguments.parse("accounting", "--years", "3", "--output=/tmp/ans",
+        "--download-threads=8", "--threads", "2");
+
+    // Assert
+    assertEquals(SyncTask.ACCOUNTING, arguments.getTask());
+    assertFalse(arguments.isDaemon());
+    SyncOptions options = arguments.toSyncOptions();
+    assertEquals(3, options.getYears());
+    assertEquals(Path.of("/tmp/ans"), options.getOutputDir());
+    assertEquals(8, options.getDownloadThreads());
+    assertEquals(2, options.getExtractionThreads());
+  }
+
+  @Test
+  void parse_deveLerTarefasEIntervaloDoDaemon() {
+    // Act
+    CommandArguments arguments = CommandArguments.parse("daemon", "--tasks", "accounting, flow",
+        "--interval-minutes=30");
+
+    // Assert
+    assertTrue(arguments.isDaemon());
+    assertEquals(List.of(SyncTask.ACCOUNTING, SyncTask.FLOW), arguments.toSyncOptions().getTasks());
+    assertEquals(Duration.ofMinutes(30), arguments.toSyncOptions().getInterval());
+  }
+
+  @Test
+  void parse_deveUsarValoresPadraoEAjuda() {
+    // Act
+    CommandArguments scrape = CommandArguments.parse("scrape");
+
+    // Assert
+    assertEquals(SyncTask.SCRAPE, scrape.getTask());
+    assertEquals(SyncOptions.defaults().getYears(), scrape.toSyncOptions().getYears());
+    assertTrue(CommandArguments.parse().isHelp());
+    assertTrue(CommandArguments.parse("flow", "--help").isHelp());
+  }
+
+  @Test
+  void parse_deveRejeitarArgumentosInvalidos() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> CommandArguments.parse("desconhecido"));
+    assertThrows(IllegalArgumentException.class, () -> CommandArguments.parse("scrape", "--verbose", "1"));
+    assertThrows(IllegalArgumentException.class, () -> CommandArguments.parse("accounting", "--years", "0"));
+    assertThrows(IllegalArgumentException.class, () -> CommandArguments.parse("accounting", "--years"));
+    assertThrows(IllegalArgumentException.class, () -> CommandArguments.parse("daemon", "--tasks", "flow,x"));
+    assertThrows(IllegalArgumentException.class, () -> CommandArguments.parse("scrape", "extra"));
+  }
+
+  @Test
+  void run_deveRetornarCodigoDeUsoParaArgumentosInvalidos() {
+    // Act & Assert
+    assertEquals(CommandLineRunner.EXIT_USAGE, new CommandLineRunner().run("accounting", "--years", "-1"));
+    assertEquals(CommandLineRunner.EXIT_OK, new CommandLineRunner().run("help"));
+  }
+}
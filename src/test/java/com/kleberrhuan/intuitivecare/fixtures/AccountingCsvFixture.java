@@ -0,0 +1,51 @@
+package com.kleberrhuan.intuitivecare.fixtures;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Gera CSVs trimestrais de demonstrações contábeis no layout publicado pela ANS,
+ * organizados em subdiretórios por ano como na saída do download contábil.
+ */
+public final class AccountingCsvFixture {
+
+  public static final String HEADER = "DATA;REG_ANS;CD_CONTA_CONTABIL;DESCRICAO;VL_SALDO_INICIAL;VL_SALDO_FINAL\n";
+
+  private AccountingCsvFixture() {
+  }
+
+  /**
+   * Monta uma linha do CSV, incluindo o terminador.
+   *
+   * @param date           data no formato {@code aaaa-mm-dd}
+   * @param operator       registro ANS da operadora
+   * @param account        código da conta contábil
+   * @param description    descrição da conta
+   * @param initialBalance saldo inicial com vírgula decimal (ex.: {@code 10,00})
+   * @param finalBalance   saldo final com vírgula decimal
+   * @return a linha
+   */
+  public static String row(String date, int operator, long account, String description,
+      String initialBalance, String finalBalance) {
+    return date + ';' + operator + ';' + account + ';' + description + ';' + initialBalance + ';' + finalBalance
+        + '\n';
+  }
+
+  /**
+   * Grava um CSV trimestral com o cabeçalho seguido das linhas informadas, em
+   * {@code outputDir/<ano>/<name>}. O ano é lido do nome do arquivo
+   * (ex.: {@code 1T2024.csv}).
+   *
+   * @param outputDir diretório raiz da saída contábil
+   * @param name      nome do arquivo do trimestre
+   * @param rows      linhas já formatadas, cada uma com terminador
+   * @return o caminho do CSV gravado
+   */
+  public static Path writeQuarter(Path outputDir, String name, CharSequence rows) throws IOException {
+    String year = name.substring(name.length() - ".csv".length() - 4, name.length() - ".csv".length());
+    Path dir = Files.createDirectories(outputDir.resolve(year));
+    return Files.writeString(dir.resolve(name), HEADER + rows, StandardCharsets.UTF_8);
+  }
+}
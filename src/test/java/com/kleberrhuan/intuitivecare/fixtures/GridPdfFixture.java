@@ -0,0 +1,112 @@
+package com.kleberrhuan.intuitivecare.fixtures;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gera PDFs com tabelas em grade no layout do Anexo I, repetindo o cabeçalho em
+ * cada página, para testes do processamento de ponta a ponta.
+ */
+public final class GridPdfFixture {
+
+  public static final String[] HEADER = { "PROCEDIMENTO", "RN (alteração)", "VIGÊNCIA", "OD", "AMB", "HCO" };
+  private static final float[] COLUMNS = { 30, 230, 330, 420, 470, 520, 570 };
+  private static final float ROW_HEIGHT = 24;
+
+  private GridPdfFixture() {
+  }
+
+  /**
+   * Grava um PDF cujas linhas de dados são numeradas a partir de {@code firstRow}.
+   *
+   * @param pdfPath     destino do PDF
+   * @param pages       quantidade de páginas
+   * @param rowsPerPage linhas de dados por página (além do cabeçalho)
+   * @param firstRow    número da primeira linha de dados
+   */
+  public static void write(Path pdfPath, int pages, int rowsPerPage, int firstRow) throws IOException {
+    write(pdfPath, pages, rowsPerPage, firstRow, 0);
+  }
+
+  /**
+   * Grava um PDF como {@link #write(Path, int, int, int)}, acrescentando, abaixo
+   * da tabela principal de uma das páginas, uma segunda tabela com duas linhas
+   * de dados numeradas a partir de 9001.
+   *
+   * @param pdfPath         destino do PDF
+   * @param pages           quantidade de páginas
+   * @param rowsPerPage     linhas de dados por página (além do cabeçalho)
+   * @param firstRow        número da primeira linha de dados
+   * @param secondTablePage página (base 1) que recebe a segunda tabela, ou 0
+   *                        para nenhuma
+   */
+  public static void write(Path pdfPath, int pages, int rowsPerPage, int firstRow, int secondTablePage)
+      throws IOException {
+    try (PDDocument document = new PDDocument()) {
+      PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+      for (int p = 0; p < pages; p++) {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(HEADER);
+        for (int r = 0; r < rowsPerPage; r++) {
+          rows.add(row(firstRow + p * rowsPerPage + r));
+        }
+        PDPage page = new PDPage(PDRectangle.A4);
+        float top = page.getMediaBox().getHeight() - 60;
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+          drawGrid(content, font, rows, top);
+          if (p + 1 == secondTablePage) {
+            drawGrid(content, font, List.of(row(9001), row(9002)), top - (rows.size() + 2) * ROW_HEIGHT);
+          }
+        }
+        document.addPage(page);
+      }
+      document.save(pdfPath.toFile());
+    }
+  }
+
+  /**
+   * @return as células da linha de dados de número {@code n}
+   */
+  public static String[] row(int n) {
+    return new String[] { "PROCEDIMENTO NÚMERO " + n, "RN " + (400 + n) + "/2017", "01/01/2018",
+        n % 2 == 0 ? "OD" : "", n % 3 == 0 ? "AMB" : "", "" };
+  }
+
+  private static void drawGrid(PDPageContentStream content, PDType1Font font, List<String[]> rows, float top)
+      throws IOException {
+    float bottom = top - rows.size() * ROW_HEIGHT;
+
+    content.setLineWidth(0.5f);
+    for (int r = 0; r <= rows.size(); r++) {
+      content.moveTo(COLUMNS[0], top - r * ROW_HEIGHT);
+      content.lineTo(COLUMNS[COLUMNS.length - 1], top - r * ROW_HEIGHT);
+    }
+    for (float x : COLUMNS) {
+      content.moveTo(x, top);
+      content.lineTo(x, bottom);
+    }
+    content.stroke();
+
+    for (int r = 0; r < rows.size(); r++) {
+      for (int c = 0; c < rows.get(r).length; c++) {
+        if (rows.get(r)[c].isEmpty()) {
+          continue;
+        }
+        content.beginText();
+        content.setFont(font, 7);
+        content.newLineAtOffset(COLUMNS[c] + 3, top - (r + 1) * ROW_HEIGHT + 9);
+        content.showText(rows.get(r)[c]);
+        content.endText();
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.kleberrhuan.intuitivecare.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe TableBuffer
+ */
+class TableBufferTest {
+
+  @Test
+  void addRow_mustStoreCellsInArena() {
+    // Arrange
+    TableBuffer buffer = new TableBuffer(16, 4, 4);
+
+    // Act
+    buffer.addRow(List.of("PROCEDIMENTO", "OD", "AMB"));
+    buffer.addRow(List.of("CONSULTA ODONTOLÓGICA INICIAL COM TEXTO LONGO", "", "AMB"));
+
+    // Assert
+    assertEquals(2, buffer.getRowCount());
+    assertEquals(3, buffer.getCellCount(1));
+    assertEquals("CONSULTA ODONTOLÓGICA INICIAL COM TEXTO LONGO", buffer.getCell(1, 0));
+    assertEquals('O', buffer.charAt(0, 1, 0));
+    assertEquals(List.of(List.of("PROCEDIMENTO", "OD", "AMB"),
+        List.of("CONSULTA ODONTOLÓGICA INICIAL COM TEXTO LONGO", "", "AMB")), buffer.toRows());
+  }
+
+  @Test
+  void cursor_mustIterateRowsAndCompareWithoutMaterializing() {
+    // Arrange
+    TableBuffer buffer = TableBuffer.of(List.of(
+        List.of("PROCEDIMENTO", "OD"),
+        List.of(" ", ""),
+        List.of("PROCEDIMENTO", "OD")));
+    TableBuffer header = new TableBuffer();
+    TableBuffer.Cursor cursor = buffer.cursor();
+
+    // Act & Assert
+    assertTrue(cursor.next());
+    cursor.copyTo(header);
+    assertTrue(cursor.cellEquals(0, "PROCEDIMENTO"));
+    assertTrue(cursor.cellEqualsIgnoreCase(1, "od"));
+    assertTrue(cursor.next());
+    assertTrue(cursor.isRowBlank());
+    assertTrue(cursor.next());
+    assertTrue(cursor.rowEquals(header, 0));
+    assertFalse(cursor.next());
+  }
+
+  @Test
+  void setCell_mustReplaceOnlyTheTargetCell() {
+    // Arrange
+    TableBuffer buffer = TableBuffer.of(List.of(List.of("A", "OD", "C")));
+
+    // Act
+    buffer.setCell(0, 1, "Seg. Odontológica");
+
+    // Assert
+    assertEquals(List.of(List.of("A", "Seg. Odontológica", "C")), buffer.toRows());
+  }
+
+  @Test
+  void clear_mustDiscardRowsAndAllowReuse() {
+    // Arrange
+    TableBuffer buffer = TableBuffer.of(List.of(List.of("A"), List.of("B")));
+
+    // Act
+    buffer.clear();
+    buffer.addRow(List.of("C"));
+
+    // Assert
+    assertEquals(List.of(List.of("C")), buffer.toRows());
+    assertEquals(1, buffer.getArenaLength());
+  }
+
+  @Test
+  void appendCell_mustRequireOpenRow() {
+    // Arrange
+    TableBuffer buffer = new TableBuffer();
+
+    // Act & Assert
+    assertThrows(IllegalStateException.class, () -> buffer.appendCell("A"));
+    buffer.startRow();
+    assertThrows(IllegalStateException.class, buffer::startRow);
+    assertThrows(IndexOutOfBoundsException.class, () -> buffer.getCell(0, 0));
+  }
+}
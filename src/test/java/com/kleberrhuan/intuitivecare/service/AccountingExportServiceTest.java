@@ -0,0 +1,82 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.model.AccountingParseOptions;
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.CsvQuoteMode;
+import com.kleberrhuan.intuitivecare.model.OperatorExpense;
+import com.kleberrhuan.intuitivecare.model.OperatorExpenseReport;
+import com.kleberrhuan.intuitivecare.model.OperatorRegistry;
+import com.kleberrhuan.intuitivecare.store.AccountingStore;
+import com.kleberrhuan.intuitivecare.util.OperatorRegistryReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe AccountingExportService
+ */
+class AccountingExportServiceTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path writeRegistry() throws IOException {
+    String content = "\"REGISTRO_OPERADORA\";\"CNPJ\";\"Razao_Social\";\"Nome_Fantasia\";\"Modalidade\";\"Cidade\";\"UF\"\n"
+        + "\"419761\";\"19541931000125\";\"18 DE JULHO ADMINISTRADORA DE BENEFÍCIOS LTDA\";;\"Administradora de Benefícios\";\"Além Paraíba\";\"MG\"\n"
+        + "\"421545\";\"22869997000153\";\"2B ODONTOLOGIA OPERADORA DE PLANOS ODONTOLÓGICOS LTDA\";;\"Odontologia de Grupo\";\"Maringá\";\"PR\"\n";
+    return Files.write(tempDir.resolve("Relatorio_cadop.csv"), content.getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  @Test
+  void read_mustParseRegistryWithEitherHeaderAndEncoding() throws IOException {
+    // Act
+    OperatorRegistry registry = OperatorRegistryReader.read(writeRegistry());
+
+    // Assert
+    assertEquals(2, registry.size());
+    assertEquals("2B ODONTOLOGIA OPERADORA DE PLANOS ODONTOLÓGICOS LTDA", registry.find(421545).corporateName());
+    assertEquals("Além Paraíba", registry.find(419761).city());
+    assertNull(registry.find(419761).tradeName());
+    assertNull(registry.find(1));
+  }
+
+  @Test
+  void exportWithRegistry_mustJoinEveryEntryKeepingUnknownOperators() throws IOException {
+    // Arrange
+    Path year = Files.createDirectories(tempDir.resolve("output").resolve("2024"));
+    Files.writeString(year.resolve("1T2024.csv"),
+        "DATA;REG_ANS;CD_CONTA_CONTABIL;DESCRICAO;VL_SALDO_INICIAL;VL_SALDO_FINAL\n"
+            + "2024-01-01;421545;411111;EVENTOS;10,00;25,50\n"
+            + "2024-01-01;999999;411111;EVENTOS;0,00;1,00\n"
+            + "2024-01-01;419761;311111;RECEITAS;1,00;1,00\n",
+        StandardCharsets.UTF_8);
+    AccountingStore store = AccountingStore.open(tempDir.resolve("store"));
+    new AccountingIngestionService(AccountingParseOptions.builder().parallelism(1).build())
+        .loadInto(store, tempDir.resolve("output"));
+    OperatorRegistry registry = OperatorRegistryReader.read(writeRegistry());
+    Path csv = tempDir.resolve("export.csv");
+
+    // Act
+    long rows = new AccountingExportService(CsvOptions.builder().quoteMode(CsvQuoteMode.MINIMAL).build())
+        .exportWithRegistry(store, registry, csv);
+    List<OperatorExpenseReport> reports = ExpenseAnalyticsService.withRegistry(
+        List.of(new OperatorExpense(999999, 100), new OperatorExpense(421545, 1550)), registry);
+
+    // Assert
+    assertEquals(3, rows);
+    List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+    assertEquals(4, lines.size());
+    assertTrue(lines.get(1).startsWith("2024-01-01,421545,22869997000153,2B ODONTOLOGIA"));
+    assertTrue(lines.get(1).endsWith(",411111,EVENTOS,10.00,25.50"));
+    assertTrue(lines.get(2).startsWith("2024-01-01,999999,,,,,411111"));
+    assertNull(reports.get(0).operator());
+    assertEquals("PR", reports.get(1).operator().state());
+  }
+}
@@ -0,0 +1,245 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.fixtures.GridPdfFixture;
+import com.kleberrhuan.intuitivecare.model.AbbreviationOptions;
+import com.kleberrhuan.intuitivecare.model.BatchOptions;
+import com.kleberrhuan.intuitivecare.model.BatchOutputMode;
+import com.kleberrhuan.intuitivecare.model.BatchResult;
+import com.kleberrhuan.intuitivecare.model.DocumentSummary;
+import com.kleberrhuan.intuitivecare.model.ExtractionEngine;
+import com.kleberrhuan.intuitivecare.model.ExtractionOptions;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.ExtractionCache;
+import com.kleberrhuan.intuitivecare.util.ExtractionCheckpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe BatchPdfProcessingService
+ */
+class BatchPdfProcessingServiceTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path inputDir;
+  private Path outputDir;
+  private PdfProcessingService pdfProcessingService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    inputDir = Files.createDirectories(tempDir.resolve("pdfs"));
+    outputDir = tempDir.resolve("csv");
+    GridPdfFixture.write(inputDir.resolve("Anexo_I.pdf"), 2, 10, 1);
+    GridPdfFixture.write(inputDir.resolve("Anexo_II.pdf"), 3, 10, 100);
+    Files.writeString(inputDir.resolve("leia-me.txt"), "não é um PDF");
+
+    pdfProcessingService = new PdfProcessingService(
+        ExtractionOptions.builder().engine(ExtractionEngine.TEXT_POSITION).workers(2)
+            .checkpointDir(tempDir.resolve("checkpoints")).checkpointIntervalPages(50).build(),
+        ExtractionCache.disabled(),
+        AbbreviationOptions.defaults());
+  }
+
+  @Test
+  void resolveInputs_mustListPdfsOfDirectoryAndGlob() {
+    // Act
+    List<Path> fromDirectory = BatchPdfProcessingService.resolveInputs(inputDir.toString());
+    List<Path> fromGlob = BatchPdfProcessingService.resolveInputs(inputDir + "/*_II.pdf");
+
+    // Assert
+    assertEquals(List.of(inputDir.resolve("Anexo_I.pdf"), inputDir.resolve("Anexo_II.pdf")), fromDirectory);
+    assertEquals(List.of(inputDir.resolve("Anexo_II.pdf")), fromGlob);
+  }
+
+  @Test
+  void process_mustWriteOneCsvPerDocumentWithSummary() throws IOException {
+    // Arrange
+    BatchPdfProcessingService service = new BatchPdfProcessingService(pdfProcessingService,
+        BatchOptions.builder().parallelism(2).queueCapacity(1).build());
+
+    // Act
+    BatchResult result = service.process(inputDir.toString(), outputDir);
+
+    // Assert
+    assertEquals(2, result.successCount());
+    assertNull(result.mergedCsv());
+    DocumentSummary anexoI = result.documents().get(0);
+    DocumentSummary anexoII = result.documents().get(1);
+    assertEquals(outputDir.resolve("Anexo_I.csv"), anexoI.csv());
+    assertEquals(2, anexoI.pages());
+    assertEquals(21, anexoI.rows());
+    assertEquals(3, anexoII.pages());
+    assertEquals(31, anexoII.rows());
+    assertEquals(21, Files.readAllLines(anexoI.csv()).size());
+    assertEquals(31, Files.readAllLines(anexoII.csv()).size());
+  }
+
+  @Test
+  void process_mustMergeCsvsKeepingSingleHeader() throws IOException {
+    // Arrange
+    BatchPdfProcessingService service = new BatchPdfProcessingService(pdfProcessingService,
+        BatchOptions.builder().parallelism(2).outputMode(BatchOutputMode.MERGED).mergedFileName("rol.csv").build());
+
+    // Act
+    BatchResult result = service.process(inputDir.toString(), outputDir);
+
+    // Assert
+    List<String> lines = Files.readAllLines(result.mergedCsv());
+    assertEquals(51, lines.size());
+    assertTrue(lines.get(0).startsWith("\"PROCEDIMENTO\""));
+    assertTrue(lines.get(1).contains("PROCEDIMENTO NÚMERO 1\""));
+    assertTrue(lines.get(21).contains("PROCEDIMENTO NÚMERO 100\""));
+    try (var files = Files.list(outputDir)) {
+      assertEquals(List.of(outputDir.resolve("rol.csv")), files.toList());
+    }
+  }
+
+  @Test
+  void process_mustKeepSeparateCheckpointsForIdenticalPdfs() throws IOException {
+    // Arrange: duas cópias do mesmo PDF, convertidas ao mesmo tempo e com checkpoint a cada página
+    Path copy = Files.copy(inputDir.resolve("Anexo_II.pdf"), inputDir.resolve("Anexo_II_copia.pdf"));
+    Path checkpointDir = tempDir.resolve("checkpoints");
+    PdfProcessingService checkpointed = new PdfProcessingService(
+        ExtractionOptions.builder().engine(ExtractionEngine.TEXT_POSITION).workers(1)
+            .checkpointDir(checkpointDir).checkpointIntervalPages(1).build(),
+        ExtractionCache.disabled(),
+        AbbreviationOptions.defaults());
+    BatchPdfProcessingService service = new BatchPdfProcessingService(checkpointed,
+        BatchOptions.builder().parallelism(2).queueCapacity(1).build());
+
+    // Act
+    BatchResult result = service.process(List.of(inputDir.resolve("Anexo_II.pdf"), copy), outputDir);
+
+    // Assert
+    assertEquals(2, result.successCount());
+    List<String> original = Files.readAllLines(outputDir.resolve("Anexo_II.csv"));
+    assertEquals(31, original.size());
+    assertEquals(original, Files.readAllLines(outputDir.resolve("Anexo_II_copia.csv")));
+    try (var files = Files.list(checkpointDir)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  void process_mustResumeInterruptedMergedBatch() throws IOException {
+    // Arrange: checkpoint de uma execução consolidada interrompida após a página 1 do Anexo I
+    Path checkpointDir = tempDir.resolve("checkpoints");
+    PdfProcessingService checkpointed = new PdfProcessingService(
+        ExtractionOptions.builder().engine(ExtractionEngine.TEXT_POSITION).workers(1)
+            .checkpointDir(checkpointDir).checkpointIntervalPages(1).build(),
+        ExtractionCache.disabled(),
+        AbbreviationOptions.defaults());
+    BatchOptions batchOptions = BatchOptions.builder().parallelism(1)
+        .outputMode(BatchOutputMode.MERGED).mergedFileName("rol.csv").build();
+    ExtractionOptions documentOptions = batchOptions.documentOptions(checkpointed.getExtractionOptions());
+    ExtractionCheckpoint checkpoint = checkpointed.checkpointFor(inputDir.resolve("Anexo_I.pdf"),
+        outputDir.resolve("rol.csv.partes").resolve("Anexo_I.csv"), documentOptions);
+    String completed = "\"MARCADOR\"" + System.lineSeparator();
+    try (FileChannel segment = checkpoint.openSegment(0)) {
+      segment.write(ByteBuffer.wrap(completed.getBytes(StandardCharsets.UTF_8)));
+    }
+    checkpoint.save(new ExtractionCheckpoint.State(1, completed.getBytes(StandardCharsets.UTF_8).length, 1,
+        TableBuffer.of(List.of(List.of(GridPdfFixture.HEADER)))));
+    BatchPdfProcessingService service = new BatchPdfProcessingService(checkpointed, batchOptions);
+
+    // Act
+    BatchResult result = service.process(inputDir.toString(), outputDir);
+
+    // Assert: a página 1 vem do segmento salvo e apenas a página 2 é extraída de novo
+    List<String> lines = Files.readAllLines(result.mergedCsv());
+    assertEquals("\"MARCADOR\"", lines.get(0));
+    assertTrue(lines.get(1).startsWith("\"PROCEDIMENTO NÚMERO 11\""));
+    try (var files = Files.list(checkpointDir)) {
+      assertEquals(0, files.count());
+    }
+    try (var files = Files.list(outputDir)) {
+      assertEquals(List.of(outputDir.resolve("rol.csv")), files.toList());
+    }
+  }
+
+  @Test
+  void process_mustDeleteStaleCheckpointsWhenBatchFinishes() throws IOException {
+    // Arrange: um checkpoint abandonado há muito tempo e outro recente, de uma extração em andamento
+    Path checkpointDir = Files.createDirectories(tempDir.resolve("checkpoints"));
+    Path stale = Files.writeString(checkpointDir.resolve("abandonado.segment"), "\"A\"");
+    Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minus(Duration.ofDays(30))));
+    Path recent = Files.writeString(checkpointDir.resolve("em_andamento.segment"), "\"B\"");
+    BatchPdfProcessingService service = new BatchPdfProcessingService(pdfProcessingService,
+        BatchOptions.builder().parallelism(1).build());
+
+    // Act
+    service.process(List.of(inputDir.resolve("Anexo_I.pdf")), outputDir);
+
+    // Assert
+    assertFalse(Files.exists(stale));
+    assertTrue(Files.exists(recent));
+  }
+
+  @Test
+  void process_mustLeaveCachedDocumentsOutOfTotals() {
+    // Arrange
+    PdfProcessingService cachedService = new PdfProcessingService(
+        ExtractionOptions.builder().engine(ExtractionEngine.TEXT_POSITION).workers(1).build(),
+        new ExtractionCache(tempDir.resolve("cache"), ExtractionEngine.TEXT_POSITION.getId()),
+        AbbreviationOptions.defaults());
+    BatchPdfProcessingService service = new BatchPdfProcessingService(cachedService,
+        BatchOptions.builder().parallelism(1).build());
+
+    // Act
+    BatchResult first = service.process(inputDir.toString(), outputDir);
+    BatchResult second = service.process(inputDir.toString(), outputDir);
+
+    // Assert
+    assertEquals(0, first.cachedCount());
+    assertEquals(5, first.totalPages());
+    assertEquals(52, first.totalRows());
+    assertEquals(2, second.cachedCount());
+    assertEquals(0, second.totalPages());
+    assertEquals(0, second.totalRows());
+  }
+
+  @Test
+  void process_mustRecordFailureWithoutAbortingBatch() throws IOException {
+    // Arrange
+    Path corrupted = Files.writeString(inputDir.resolve("corrompido.pdf"), "não é um PDF");
+    BatchPdfProcessingService service = new BatchPdfProcessingService(pdfProcessingService,
+        BatchOptions.builder().parallelism(1).queueCapacity(1).build());
+
+    // Act
+    BatchResult result = service.process(List.of(corrupted, inputDir.resolve("Anexo_I.pdf")), outputDir);
+
+    // Assert
+    assertEquals(1, result.failureCount());
+    assertFalse(result.documents().get(0).isSuccess());
+    assertNotNull(result.documents().get(0).error());
+    assertTrue(result.documents().get(1).isSuccess());
+  }
+
+  @Test
+  void documentOptions_mustSplitWorkersAndMemoryBudget() {
+    // Arrange
+    BatchOptions options = BatchOptions.builder().parallelism(4).memoryBudgetBytes(400).build();
+
+    // Act
+    ExtractionOptions documentOptions = options.documentOptions(ExtractionOptions.builder().workers(8).build());
+
+    // Assert
+    assertEquals(2, documentOptions.getWorkers());
+    assertEquals(100, documentOptions.getMemoryConfig().getMaxMainMemoryBytes());
+  }
+}
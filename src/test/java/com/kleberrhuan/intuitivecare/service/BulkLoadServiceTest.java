@@ -0,0 +1,129 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.fixtures.AccountingCsvFixture;
+import com.kleberrhuan.intuitivecare.model.AccountingParseOptions;
+import com.kleberrhuan.intuitivecare.model.BulkLoadOptions;
+import com.kleberrhuan.intuitivecare.model.BulkLoadResult;
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.store.AccountingStore;
+import com.kleberrhuan.intuitivecare.util.CsvWriter;
+import com.kleberrhuan.intuitivecare.util.interfaces.ConnectionProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe BulkLoadService, com um banco H2 em memória
+ */
+class BulkLoadServiceTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+  private final ConnectionProvider connections = () -> DriverManager.getConnection(url);
+
+  private void writeQuarter(String name, String date, int operators) throws IOException {
+    StringBuilder content = new StringBuilder();
+    for (int op = 1; op <= operators; op++) {
+      content.append(AccountingCsvFixture.row(date, op, 411111, "EVENTOS \"CONHECIDOS\"", "0,00", op + ",50"));
+    }
+    AccountingCsvFixture.writeQuarter(tempDir.resolve("output"), name, content);
+  }
+
+  /**
+   * Executa a consulta e retorna as colunas da primeira linha, fechando o
+   * statement antes de retornar.
+   */
+  private List<Object> queryRow(Connection connection, String sql) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet result = statement.executeQuery(sql)) {
+      assertTrue(result.next(), "Consulta sem resultados: " + sql);
+      List<Object> row = new ArrayList<>();
+      for (int column = 1; column <= result.getMetaData().getColumnCount(); column++) {
+        row.add(result.getObject(column));
+      }
+      return row;
+    }
+  }
+
+  private long count(Connection connection, String sql) throws SQLException {
+    return ((Number) queryRow(connection, sql).get(0)).longValue();
+  }
+
+  @Test
+  void loadAccounting_mustWriteEveryPartitionInBatches() throws IOException, SQLException {
+    // Arrange
+    writeQuarter("1T2024.csv", "2024-01-01", 23);
+    writeQuarter("2T2024.csv", "2024-04-01", 11);
+    AccountingStore store = AccountingStore.open(tempDir.resolve("store"));
+    new AccountingIngestionService(AccountingParseOptions.builder().parallelism(1).build())
+        .loadInto(store, tempDir.resolve("output"));
+    BulkLoadService service = new BulkLoadService(connections,
+        BulkLoadOptions.builder().batchSize(3).commitSize(7).writers(2).build());
+
+    // Act
+    service.createAccountingTable("contabil");
+    BulkLoadResult result = service.loadAccounting(store, "contabil");
+
+    // Assert
+    assertEquals(34, result.rows());
+    assertEquals(2, result.partitions());
+    assertFalse(result.copyUsed());
+    try (Connection connection = connections.open()) {
+      assertEquals(34, count(connection, "SELECT COUNT(*) FROM contabil"));
+      List<Object> row = queryRow(connection,
+          "SELECT data, descricao, vl_saldo_final FROM contabil WHERE reg_ans = 11 AND data > '2024-03-31'");
+      assertEquals(LocalDate.of(2024, 4, 1), ((Date) row.get(0)).toLocalDate());
+      assertEquals("EVENTOS \"CONHECIDOS\"", row.get(1));
+      assertEquals(new BigDecimal("11.50"), row.get(2));
+    }
+  }
+
+  @Test
+  void loadAnnex_mustCreateTableFromHeaderAndKeepBlanksAsNull() throws IOException, SQLException {
+    // Arrange
+    Path csv = tempDir.resolve("Anexo_I.csv");
+    try (CsvWriter writer = CsvWriter.open(csv, CsvOptions.defaults())) {
+      writer.writeRow(List.of("PROCEDIMENTO", "Seg. Odontológica", "OD", "OD"));
+      writer.writeRow(List.of("CONSULTA", "Sim", "", "x"));
+      writer.writeRow(List.of("RADIOGRAFIA; PANORÂMICA", "Não", "Sim", ""));
+    }
+
+    // Act
+    BulkLoadResult result = new BulkLoadService(connections).loadAnnex(csv, CsvOptions.defaults(), "anexo");
+
+    // Assert
+    assertEquals(2, result.rows());
+    try (Connection connection = connections.open()) {
+      List<Object> row = queryRow(connection,
+          "SELECT seg_odontologica, od, od_2 FROM anexo WHERE procedimento = 'CONSULTA'");
+      assertEquals("Sim", row.get(0));
+      assertNull(row.get(1));
+      assertEquals("x", row.get(2));
+      assertEquals(1, count(connection, "SELECT COUNT(*) FROM anexo WHERE procedimento LIKE '%;%'"));
+    }
+  }
+
+  @Test
+  void loadAccounting_mustRejectInvalidTableNames() {
+    // Act & Assert
+    BulkLoadService service = new BulkLoadService(connections);
+    assertThrows(IllegalArgumentException.class, () -> service.createAccountingTable("contabil; DROP TABLE x"));
+  }
+}
@@ -0,0 +1,163 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.exception.FileDownloadException;
+import com.kleberrhuan.intuitivecare.fixtures.GridPdfFixture;
+import com.kleberrhuan.intuitivecare.model.AbbreviationOptions;
+import com.kleberrhuan.intuitivecare.model.ExtractionEngine;
+import com.kleberrhuan.intuitivecare.model.ExtractionOptions;
+import com.kleberrhuan.intuitivecare.model.FileModel;
+import com.kleberrhuan.intuitivecare.model.FileType;
+import com.kleberrhuan.intuitivecare.model.PipelineOptions;
+import com.kleberrhuan.intuitivecare.model.PipelineResult;
+import com.kleberrhuan.intuitivecare.model.ScrappingRequest;
+import com.kleberrhuan.intuitivecare.model.StageTiming;
+import com.kleberrhuan.intuitivecare.util.ExtractionCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe CompleteFlowService, com o site da ANS simulado por um
+ * servidor HTTP local
+ */
+class CompleteFlowServiceTest {
+
+  private static final long ANEXO_II_DELAY_MS = 1_500;
+
+  @TempDir
+  Path tempDir;
+
+  private HttpServer server;
+  private PdfProcessingService pdfProcessingService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    Path site = Files.createDirectories(tempDir.resolve("site"));
+    GridPdfFixture.write(site.resolve("Anexo_I.pdf"), 3, 10, 1);
+    GridPdfFixture.write(site.resolve("Anexo_II.pdf"), 1, 5, 100);
+
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/rol", exchange -> respond(exchange, "text/html",
+        ("<html><body><a href=\"/files/Anexo_I.pdf\">Anexo I</a> "
+            + "<a href=\"/files/Anexo_II.pdf\">Anexo II</a></body></html>").getBytes(StandardCharsets.UTF_8)));
+    server.createContext("/files/", exchange -> {
+      Path file = site.resolve(exchange.getRequestURI().getPath().substring("/files/".length()));
+      if (file.getFileName().toString().equals("Anexo_II.pdf")) {
+        try {
+          Thread.sleep(ANEXO_II_DELAY_MS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      if (Files.isRegularFile(file)) {
+        respond(exchange, "application/pdf", Files.readAllBytes(file));
+      } else {
+        exchange.sendResponseHeaders(404, -1);
+        exchange.close();
+      }
+    });
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+
+    pdfProcessingService = new PdfProcessingService(
+        ExtractionOptions.builder().engine(ExtractionEngine.TEXT_POSITION).workers(2).build(),
+        ExtractionCache.disabled(),
+        AbbreviationOptions.defaults());
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  private void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", contentType);
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private ScrappingRequest request(String... files) {
+    return ScrappingRequest.builder()
+        .url("http://127.0.0.1:" + server.getAddress().getPort() + "/rol")
+        .files(Arrays.stream(files).map(name -> new FileModel(name, FileType.PDF)).toList())
+        .build();
+  }
+
+  private PipelineOptions options() {
+    return PipelineOptions.builder().queueCapacity(1).pdfArchiveName("pdfs.zip").csvArchiveName("csv.zip").build();
+  }
+
+  @Test
+  void run_mustExtractAnexoIWhileAnexoIIIsStillDownloading() throws IOException {
+    // Arrange
+    Path outputDir = tempDir.resolve("output");
+    CompleteFlowService service = new CompleteFlowService(request("Anexo I", "Anexo II"), pdfProcessingService,
+        options());
+
+    // Act
+    PipelineResult result = assertTimeoutPreemptively(Duration.ofSeconds(60), () -> service.run(outputDir));
+
+    // Assert
+    assertEquals(outputDir.resolve("Anexo_I.csv"), result.csv());
+    assertEquals(3, result.pages());
+    assertEquals(31, result.rows());
+    assertEquals(31, Files.readAllLines(result.csv()).size());
+    assertEquals(List.of(outputDir.resolve("pdfs.zip"), outputDir.resolve("csv.zip")), result.archives());
+    try (ZipFile pdfs = new ZipFile(outputDir.resolve("pdfs.zip").toFile());
+        ZipFile csv = new ZipFile(outputDir.resolve("csv.zip").toFile())) {
+      assertEquals(2, pdfs.size());
+      assertNotNull(csv.getEntry("Anexo_I.csv"));
+    }
+
+    List<String> stages = result.stages().stream().map(StageTiming::stage).toList();
+    assertEquals(List.of("scraping", "download", "extração", "abreviações", "escrita do CSV", "compactação"), stages);
+    StageTiming download = result.stages().get(1);
+    StageTiming extraction = result.stages().get(2);
+    StageTiming writing = result.stages().get(4);
+    assertEquals(2, download.items());
+    assertEquals(3, extraction.items());
+    assertTrue(extraction.startMillis() < download.endMillis(),
+        "a extração deve começar antes do fim dos downloads: " + result.stages());
+    assertTrue(writing.startMillis() < download.endMillis(),
+        "a escrita deve começar antes do fim dos downloads: " + result.stages());
+  }
+
+  @Test
+  void run_mustFailWhenAnexoIIsMissingWithoutHanging() {
+    // Arrange
+    Path outputDir = tempDir.resolve("output");
+    CompleteFlowService missingLink = new CompleteFlowService(request("Anexo III"), pdfProcessingService,
+        options());
+    CompleteFlowService missingFile = new CompleteFlowService(request("Anexo I"), pdfProcessingService,
+        options().toBuilder().extractFileName("Anexo_I.pdf").build());
+    server.removeContext("/files/");
+    server.createContext("/files/", exchange -> {
+      exchange.sendResponseHeaders(404, -1);
+      exchange.close();
+    });
+
+    // Act & Assert
+    assertThrows(FileDownloadException.class, () -> missingLink.run(outputDir));
+    assertTimeoutPreemptively(Duration.ofSeconds(30),
+        () -> assertThrows(FileDownloadException.class, () -> missingFile.run(outputDir)));
+  }
+}
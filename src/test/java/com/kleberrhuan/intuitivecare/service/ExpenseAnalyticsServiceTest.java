@@ -0,0 +1,157 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.fixtures.AccountingCsvFixture;
+import com.kleberrhuan.intuitivecare.model.AccountingParseOptions;
+import com.kleberrhuan.intuitivecare.model.ExpenseQuery;
+import com.kleberrhuan.intuitivecare.model.OperatorExpense;
+import com.kleberrhuan.intuitivecare.store.AccountingStore;
+import com.kleberrhuan.intuitivecare.util.IntLongHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe ExpenseAnalyticsService
+ */
+class ExpenseAnalyticsServiceTest {
+
+  private static final String EVENTS = "EVENTOS/ SINISTROS CONHECIDOS OU AVISADOS  DE ASSISTÊNCIA A SAÚDE MEDICO HOSPITALAR";
+
+  @TempDir
+  Path tempDir;
+
+  private AccountingStore store;
+
+  /**
+   * Dois trimestres com 30 operadoras: a despesa da operadora {@code n} na
+   * conta de eventos é {@code n} reais por lançamento no 4T2023 e
+   * {@code 100 - n} reais no 1T2024; a conta de receitas não deve ser somada.
+   */
+  @BeforeEach
+  void setUp() throws IOException {
+    writeQuarter("4T2023.csv", "2023-10-01", false);
+    writeQuarter("1T2024.csv", "2024-01-01", true);
+    store = AccountingStore.open(tempDir.resolve("store"));
+    new AccountingIngestionService(AccountingParseOptions.builder().parallelism(2).chunkSizeBytes(1024).build())
+        .loadInto(store, tempDir.resolve("output"));
+  }
+
+  private void writeQuarter(String name, String date, boolean inverted) throws IOException {
+    StringBuilder content = new StringBuilder();
+    for (int operator = 1; operator <= 30; operator++) {
+      long expense = inverted ? 100 - operator : operator;
+      for (int entry = 0; entry < 3; entry++) {
+        content.append(AccountingCsvFixture.row(date, operator, 411111, EVENTS, "1000,00", 1000 + expense + ",00"));
+        content.append(AccountingCsvFixture.row(date, operator, 311111, "CONTRAPRESTAÇÕES EFETIVAS", "0,00",
+            "5000,00"));
+      }
+    }
+    AccountingCsvFixture.writeQuarter(tempDir.resolve("output"), name, content);
+  }
+
+  @Test
+  void topOperators_mustRankByBalanceDeltaWithinDescriptionAndPeriod() {
+    // Arrange
+    ExpenseAnalyticsService service = new ExpenseAnalyticsService(store);
+    ExpenseQuery query = ExpenseQuery.builder()
+        .description("eventos/ sinistros conhecidos ou avisados de assistencia")
+        .fromDate(LocalDate.of(2024, 1, 1))
+        .toDate(LocalDate.of(2024, 3, 31))
+        .limit(3)
+        .parallelism(4)
+        .chunkRows(16)
+        .build();
+
+    // Act
+    List<OperatorExpense> top = service.topOperators(query);
+
+    // Assert
+    assertEquals(List.of(new OperatorExpense(1, 29_700), new OperatorExpense(2, 29_400),
+        new OperatorExpense(3, 29_100)), top);
+    assertEquals("297.00", top.get(0).amount().toPlainString());
+  }
+
+  @Test
+  void topOperators_mustSumAllQuartersWhenPeriodIsOpen() {
+    // Arrange
+    ExpenseAnalyticsService service = new ExpenseAnalyticsService(store);
+    ExpenseQuery query = ExpenseQuery.builder().accountCodes(Set.of(411111L)).limit(50).build();
+
+    // Act
+    List<OperatorExpense> top = service.topOperators(query);
+
+    // Assert
+    assertEquals(30, top.size());
+    assertTrue(top.stream().allMatch(expense -> expense.amountCents() == 30_000));
+    assertEquals(1, top.get(0).operatorId());
+    assertEquals(LocalDate.of(2024, 1, 1), service.getLatestDate());
+  }
+
+  @Test
+  void topOperators_mustNotSumParentAndChildAccountsTogether() throws IOException {
+    // Arrange
+    String date = "2024-01-01";
+    StringBuilder content = new StringBuilder()
+        .append(AccountingCsvFixture.row(date, 7, 41, "EVENTOS/ SINISTROS CONHECIDOS OU AVISADOS", "0,00", "100,00"))
+        .append(AccountingCsvFixture.row(date, 7, 411, "EVENTOS/ SINISTROS CONHECIDOS OU AVISADOS  DE ASSISTÊNCIA",
+            "0,00", "100,00"))
+        .append(AccountingCsvFixture.row(date, 7, 4111, EVENTS, "0,00", "60,00"))
+        .append(AccountingCsvFixture.row(date, 7, 411111, EVENTS, "0,00", "60,00"))
+        .append(AccountingCsvFixture.row(date, 7, 4112, "EVENTOS/ SINISTROS CONHECIDOS OU AVISADOS  ODONTOLOGICOS",
+            "0,00", "40,00"))
+        .append(AccountingCsvFixture.row(date, 8, 411, "EVENTOS/ SINISTROS CONHECIDOS OU AVISADOS  DE ASSISTÊNCIA",
+            "0,00", "30,00"))
+        .append(AccountingCsvFixture.row(date, 9, 4111, EVENTS, "0,00", "25,00"))
+        .append(AccountingCsvFixture.row(date, 9, 411111, EVENTS, "0,00", "25,00"));
+    Path output = tempDir.resolve("hierarchy");
+    AccountingCsvFixture.writeQuarter(output, "1T2024.csv", content);
+    AccountingStore hierarchy = AccountingStore.open(tempDir.resolve("hierarchy-store"));
+    new AccountingIngestionService(AccountingParseOptions.builder().build()).loadInto(hierarchy, output);
+    ExpenseAnalyticsService service = new ExpenseAnalyticsService(hierarchy);
+
+    // Act
+    List<OperatorExpense> all = service.topOperators(ExpenseQuery.builder()
+        .description("eventos/ sinistros conhecidos ou avisados").limit(10).build());
+    List<OperatorExpense> assistance = service.topOperators(ExpenseQuery.builder()
+        .description("eventos/ sinistros conhecidos ou avisados de assistencia").limit(10).build());
+
+    // Assert
+    assertEquals(List.of(new OperatorExpense(7, 10_000), new OperatorExpense(8, 3_000),
+        new OperatorExpense(9, 2_500)), all);
+    assertEquals(List.of(new OperatorExpense(7, 10_000), new OperatorExpense(8, 3_000),
+        new OperatorExpense(9, 2_500)), assistance);
+  }
+
+  @Test
+  void top_mustKeepOnlyLargestAmountsInDescendingOrder() {
+    // Arrange
+    IntLongHashMap totals = new IntLongHashMap(2);
+    for (int operator = 0; operator < 10_000; operator++) {
+      totals.add(operator, operator % 1000);
+    }
+    totals.add(Integer.MIN_VALUE, 5_000);
+
+    // Act
+    List<OperatorExpense> top = ExpenseAnalyticsService.top(totals, 4);
+
+    // Assert
+    assertEquals(10_001, totals.size());
+    assertEquals(List.of(new OperatorExpense(Integer.MIN_VALUE, 5_000), new OperatorExpense(999, 999),
+        new OperatorExpense(1999, 999), new OperatorExpense(2999, 999)), top);
+  }
+
+  @Test
+  void firstDayOfQuarters_mustAlignToQuarterStart() {
+    // Act & Assert
+    assertEquals(LocalDate.of(2024, 4, 1), ExpenseAnalyticsService.firstDayOfQuarters(LocalDate.of(2024, 5, 20), 1));
+    assertEquals(LocalDate.of(2023, 7, 1), ExpenseAnalyticsService.firstDayOfQuarters(LocalDate.of(2024, 5, 20), 4));
+  }
+}
@@ -1,6 +1,11 @@
 package com.kleberrhuan.intuitivecare.service;
 
 import com.kleberrhuan.intuitivecare.exception.PdfParseException;
+import com.kleberrhuan.intuitivecare.fixtures.GridPdfFixture;
+import com.kleberrhuan.intuitivecare.model.AbbreviationOptions;
+import com.kleberrhuan.intuitivecare.model.ExtractionEngine;
+import com.kleberrhuan.intuitivecare.model.ExtractionOptions;
+import com.kleberrhuan.intuitivecare.util.ExtractionCache;
 import com.kleberrhuan.intuitivecare.util.interfaces.Archiver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -71,4 +76,51 @@ class PdfProcessingServiceTest {
     // Act & Assert
     assertThrows(PdfParseException.class, () -> pdfProcessingService.processPdf(nonExistentPath, csvPath, zipPath));
   }
-}
\ No newline at end of file
+
+  @Test
+  void constructor_mustRejectInvalidWorkerCount() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new PdfProcessingService(0));
+  }
+
+  @Test
+  void processPdf_mustThrowExceptionWhenFileDoesNotExistInParallelMode() {
+    // Arrange
+    PdfProcessingService parallelService = new PdfProcessingService(4);
+    Path nonExistentPath = tempDir.resolve("nao_existe.pdf");
+
+    // Act & Assert
+    assertThrows(PdfParseException.class, () -> parallelService.processPdf(nonExistentPath, csvPath, zipPath));
+  }
+
+  @Test
+  void convertToCsv_mustWriteSameCsvInParallelAndSequentialModes() throws IOException {
+    // Arrange
+    GridPdfFixture.write(pdfPath, 9, 5, 1);
+    ExtractionOptions sequential = ExtractionOptions.builder()
+        .engine(ExtractionEngine.TEXT_POSITION)
+        .workers(1)
+        .checkpointIntervalPages(0)
+        .build();
+    ExtractionOptions parallel = sequential.toBuilder()
+        .workers(4)
+        .pagesPerChunk(1)
+        .bufferPages(2)
+        .build();
+    PdfProcessingService service = new PdfProcessingService(sequential, ExtractionCache.disabled(),
+        AbbreviationOptions.defaults());
+    Path parallelCsv = tempDir.resolve("paralelo.csv");
+
+    // Act
+    service.convertToCsv(pdfPath, csvPath, sequential);
+    service.convertToCsv(pdfPath, parallelCsv, parallel);
+
+    // Assert
+    List<String> sequentialLines = Files.readAllLines(csvPath);
+    assertEquals(sequentialLines, Files.readAllLines(parallelCsv));
+    assertEquals(1 + 9 * 5, sequentialLines.size());
+    assertTrue(sequentialLines.get(1).contains("PROCEDIMENTO NÚMERO 1\""));
+    assertTrue(sequentialLines.get(sequentialLines.size() - 1).contains("PROCEDIMENTO NÚMERO 45\""));
+    assertEquals(1, sequentialLines.stream().filter(line -> line.contains("\"VIGÊNCIA\"")).count());
+  }
+}
@@ -0,0 +1,120 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.fixtures.AccountingCsvFixture;
+import com.kleberrhuan.intuitivecare.model.AccountingParseOptions;
+import com.kleberrhuan.intuitivecare.model.Rollup;
+import com.kleberrhuan.intuitivecare.model.RollupEntry;
+import com.kleberrhuan.intuitivecare.store.AccountingStore;
+import com.kleberrhuan.intuitivecare.store.RollupStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe RollupService
+ */
+class RollupServiceTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path writeQuarter(String name, String date, int amount) throws IOException {
+    String content = AccountingCsvFixture.row(date, 100, 411111, "EVENTOS CONHECIDOS", "0,00", amount + ",00")
+        + AccountingCsvFixture.row(date, 100, 411200, "EVENTOS AVISADOS", "10,00", (10 + amount) + ",00")
+        + AccountingCsvFixture.row(date, 100, 311111, "CONTRAPRESTAÇÕES", "0,00", "500,00")
+        + AccountingCsvFixture.row(date, 200, 411111, "EVENTOS CONHECIDOS", "0,00", "7,00");
+    return AccountingCsvFixture.writeQuarter(tempDir.resolve("output"), name, content);
+  }
+
+  private List<String> load() {
+    AccountingStore store = AccountingStore.open(tempDir.resolve("store"));
+    new AccountingIngestionService(AccountingParseOptions.builder().parallelism(1).build())
+        .loadInto(store, tempDir.resolve("output"));
+    return new RollupService(store, RollupStore.open(tempDir.resolve("rollups"))).refresh();
+  }
+
+  @Test
+  void refresh_mustMaterializeQuarterAndYearPartitions() throws IOException {
+    // Arrange
+    writeQuarter("1T2024.csv", "2024-01-01", 40);
+    writeQuarter("2T2024.csv", "2024-04-01", 60);
+
+    // Act
+    List<String> updated = load();
+    RollupService service = new RollupService(AccountingStore.open(tempDir.resolve("store")),
+        RollupStore.open(tempDir.resolve("rollups")));
+
+    // Assert
+    assertEquals(List.of("trimestre-1T2024", "trimestre-2T2024", "ano-2024"), updated);
+    Rollup quarter = service.getQuarter("1T2024");
+    assertEquals(List.of(new RollupEntry(100, 311, 1, 0, 50_000), new RollupEntry(100, 411, 2, 1_000, 9_000),
+        new RollupEntry(200, 411, 1, 0, 700)), quarter.entries());
+    Rollup year = service.getYear(2024);
+    assertEquals(2 * 40_00 + 2 * 60_00, year.forOperator(100).get(1).deltaCents());
+    assertEquals(4, year.forAccountGroup(411).get(0).rows());
+    assertEquals(1_400, year.forAccountGroup(411).get(1).finalBalanceCents());
+  }
+
+  @Test
+  void refresh_mustRecomputeOnlyPartitionsWhoseSourceChanged() throws IOException {
+    // Arrange
+    Path first = writeQuarter("4T2023.csv", "2023-10-01", 10);
+    writeQuarter("1T2024.csv", "2024-01-01", 40);
+    load();
+
+    // Act
+    Files.setLastModifiedTime(first, FileTime.fromMillis(Files.getLastModifiedTime(first).toMillis() + 5_000));
+    List<String> sameContent = load();
+    writeQuarter("2T2024.csv", "2024-04-01", 60);
+    List<String> newQuarter = load();
+    writeQuarter("4T2023.csv", "2023-10-01", 99);
+    List<String> changedQuarter = load();
+
+    // Assert
+    assertEquals(List.of(), sameContent);
+    assertEquals(List.of("trimestre-2T2024", "ano-2024"), newQuarter);
+    assertEquals(List.of("trimestre-4T2023", "ano-2023"), changedQuarter);
+    Rollup year = RollupStore.open(tempDir.resolve("rollups")).get("ano-2023");
+    assertEquals(2 * 99_00, year.forOperator(100).get(1).deltaCents());
+  }
+
+  @Test
+  void refresh_mustNotSumParentAndChildAccountsOfSameGroup() throws IOException {
+    // Arrange
+    String date = "2024-01-01";
+    String content = AccountingCsvFixture.row(date, 100, 4, "DESPESAS", "0,00", "150,00")
+        + AccountingCsvFixture.row(date, 100, 41, "EVENTOS", "0,00", "150,00")
+        + AccountingCsvFixture.row(date, 100, 411, "EVENTOS CONHECIDOS OU AVISADOS", "0,00", "100,00")
+        + AccountingCsvFixture.row(date, 100, 4111, "EVENTOS MEDICO HOSPITALARES", "0,00", "60,00")
+        + AccountingCsvFixture.row(date, 100, 411111, "EVENTOS CONSULTAS", "0,00", "60,00")
+        + AccountingCsvFixture.row(date, 100, 4112, "EVENTOS ODONTOLOGICOS", "0,00", "40,00")
+        + AccountingCsvFixture.row(date, 100, 412, "EVENTOS DE CORRESPONSABILIDADE", "0,00", "50,00")
+        + AccountingCsvFixture.row(date, 200, 4111, "EVENTOS MEDICO HOSPITALARES", "0,00", "20,00")
+        + AccountingCsvFixture.row(date, 200, 4112, "EVENTOS ODONTOLOGICOS", "0,00", "5,00")
+        + AccountingCsvFixture.row(date, 200, 411111, "EVENTOS CONSULTAS", "0,00", "20,00");
+    AccountingCsvFixture.writeQuarter(tempDir.resolve("output"), "1T2024.csv", content);
+
+    // Act
+    load();
+    Rollup quarter = RollupStore.open(tempDir.resolve("rollups")).get("trimestre-1T2024");
+
+    // Assert
+    assertEquals(List.of(new RollupEntry(100, 411, 1, 0, 10_000), new RollupEntry(100, 412, 1, 0, 5_000),
+        new RollupEntry(200, 411, 2, 0, 2_500)), quarter.entries());
+  }
+
+  @Test
+  void accountGroup_mustKeepLeadingDigits() {
+    // Act & Assert
+    assertEquals(411, RollupService.accountGroup(411111, 3));
+    assertEquals(41, RollupService.accountGroup(41, 3));
+    assertEquals(4, RollupService.accountGroup(499999999L, 1));
+  }
+}
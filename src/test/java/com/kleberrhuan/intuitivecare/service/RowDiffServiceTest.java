@@ -0,0 +1,159 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.exception.RowDiffException;
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.RowDiffOptions;
+import com.kleberrhuan.intuitivecare.model.RowDiffResult;
+import com.kleberrhuan.intuitivecare.util.CsvWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe RowDiffService
+ */
+class RowDiffServiceTest {
+
+  private static final List<String> HEADER = List.of("PROCEDIMENTO", "RN (alteração)", "OD", "AMB");
+  private static final CsvOptions CSV_OPTIONS = CsvOptions.builder().lineEnding("\n").build();
+
+  @TempDir
+  Path tempDir;
+
+  private Path indexFile;
+  private Path deltaFile;
+  private RowDiffService service;
+
+  @BeforeEach
+  void setUp() {
+    indexFile = tempDir.resolve("anexo.rowindex");
+    deltaFile = tempDir.resolve("alteracoes.csv");
+    service = new RowDiffService(RowDiffOptions.builder().csvOptions(CSV_OPTIONS).build());
+  }
+
+  @Test
+  void diff_mustTreatAllRowsAsInsertsWithoutPreviousIndex() throws IOException {
+    // Arrange
+    Path csv = writeCsv("v1.csv", List.of(
+        List.of("CONSULTA", "RN 1", "OD", ""),
+        List.of("RADIOGRAFIA", "RN 2", "", "AMB")));
+
+    // Act
+    RowDiffResult result = service.diff(csv, indexFile, deltaFile);
+
+    // Assert
+    assertEquals(2, result.inserted());
+    assertEquals(0, result.deleted());
+    assertTrue(Files.isRegularFile(indexFile));
+    assertEquals(3, Files.readAllLines(deltaFile).size());
+  }
+
+  @Test
+  void diff_mustEmitInsertUpdateAndDeleteAgainstPreviousVersion() throws IOException {
+    // Arrange
+    service.diff(writeCsv("v1.csv", List.of(
+        List.of("CONSULTA", "RN 1", "OD", ""),
+        List.of("RADIOGRAFIA", "RN 2", "", "AMB"),
+        List.of("EXODONTIA", "RN 3", "OD", ""))), indexFile, deltaFile);
+    Path v2 = writeCsv("v2.csv", List.of(
+        List.of("CONSULTA", "RN 1", "OD", ""),
+        List.of("RADIOGRAFIA", "RN 9", "", "AMB"),
+        List.of("TOMOGRAFIA", "RN 4", "", "AMB")));
+
+    // Act
+    RowDiffResult result = service.diff(v2, indexFile, deltaFile);
+
+    // Assert
+    assertEquals(1, result.inserted());
+    assertEquals(1, result.updated());
+    assertEquals(1, result.deleted());
+    assertEquals(1, result.unchanged());
+    assertEquals(List.of(
+        "\"OPERACAO\",\"PROCEDIMENTO\",\"RN (alteração)\",\"OD\",\"AMB\"",
+        "\"UPDATE\",\"RADIOGRAFIA\",\"RN 9\",\"\",\"AMB\"",
+        "\"INSERT\",\"TOMOGRAFIA\",\"RN 4\",\"\",\"AMB\"",
+        "\"DELETE\",\"EXODONTIA\",\"\",\"\",\"\""), Files.readAllLines(deltaFile));
+  }
+
+  @Test
+  void diff_mustIgnoreFormattingOnlyDifferences() throws IOException {
+    // Arrange
+    service.diff(writeCsv("v1.csv", List.of(List.of("CONSULTA  EM\rCONSULTÓRIO", "RN 1", "OD", ""))),
+        indexFile, deltaFile);
+    Path v2 = writeCsv("v2.csv", List.of(List.of(" Consulta em consultório ", "rn 1", "od", "")));
+
+    // Act
+    RowDiffResult result = service.diff(v2, indexFile, deltaFile);
+
+    // Assert
+    assertEquals(0, result.changes());
+    assertEquals(1, result.unchanged());
+  }
+
+  @Test
+  void diff_mustDistinguishRepeatedKeysByOccurrence() throws IOException {
+    // Arrange
+    service.diff(writeCsv("v1.csv", List.of(
+        List.of("CONSULTA", "RN 1", "OD", ""),
+        List.of("CONSULTA", "RN 2", "", "AMB"))), indexFile, deltaFile);
+    Path v2 = writeCsv("v2.csv", List.of(
+        List.of("CONSULTA", "RN 1", "OD", ""),
+        List.of("CONSULTA", "RN 3", "", "AMB")));
+
+    // Act
+    RowDiffResult result = service.diff(v2, indexFile, deltaFile);
+
+    // Assert
+    assertEquals(1, result.updated());
+    assertEquals(1, result.unchanged());
+  }
+
+  @Test
+  void diff_mustHandleKeyValuesLongerThan64KB() throws IOException {
+    // Arrange
+    String longName = "PROCEDIMENTO ".repeat(6000);
+    service.diff(writeCsv("v1.csv", List.of(
+        List.of(longName, "RN 1", "OD", ""),
+        List.of("CONSULTA", "RN 2", "", "AMB"))), indexFile, deltaFile);
+    Path v2 = writeCsv("v2.csv", List.of(List.of(longName, "RN 1", "OD", "")));
+
+    // Act
+    RowDiffResult result = service.diff(v2, indexFile, deltaFile);
+
+    // Assert
+    assertEquals(1, result.unchanged());
+    assertEquals(1, result.deleted());
+    assertEquals("\"DELETE\",\"CONSULTA\",\"\",\"\",\"\"", Files.readAllLines(deltaFile).get(1));
+  }
+
+  @Test
+  void diff_mustRejectMissingKeyColumn() throws IOException {
+    // Arrange
+    RowDiffService byCode = new RowDiffService(RowDiffOptions.builder()
+        .keyColumns(List.of("CODIGO"))
+        .csvOptions(CSV_OPTIONS)
+        .build());
+    Path csv = writeCsv("v1.csv", List.of(List.of("CONSULTA", "RN 1", "OD", "")));
+
+    // Act & Assert
+    assertThrows(RowDiffException.class, () -> byCode.diff(csv, indexFile, deltaFile));
+  }
+
+  private Path writeCsv(String name, List<List<String>> rows) throws IOException {
+    Path csv = tempDir.resolve(name);
+    try (CsvWriter writer = CsvWriter.open(csv, CSV_OPTIONS)) {
+      writer.writeRow(HEADER);
+      for (List<String> row : rows) {
+        writer.writeRow(row);
+      }
+    }
+    return csv;
+  }
+}
@@ -0,0 +1,91 @@
+package com.kleberrhuan.intuitivecare.service;
+
+import com.kleberrhuan.intuitivecare.model.SyncOptions;
+import com.kleberrhuan.intuitivecare.model.SyncTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe SyncDaemon, com as tarefas simuladas
+ */
+class SyncDaemonTest {
+
+  @TempDir
+  Path tempDir;
+
+  /** Registra as tarefas executadas em vez de acessar a rede; a tarefa "scrape" sempre falha */
+  private static class RecordingSyncService extends SyncService {
+    private final List<SyncTask> executed = new CopyOnWriteArrayList<>();
+    private final CountDownLatch runs;
+    private volatile boolean closed;
+
+    RecordingSyncService(SyncOptions options, int expectedRuns) {
+      super(options);
+      this.runs = new CountDownLatch(expectedRuns);
+    }
+
+    @Override
+    public void run(SyncTask task) {
+      executed.add(task);
+      runs.countDown();
+      if (task == SyncTask.SCRAPE) {
+        throw new IllegalStateException("falha simulada");
+      }
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      super.close();
+    }
+  }
+
+  @Test
+  void start_deveRepetirAsTarefasMesmoAposFalhas() throws InterruptedException {
+    // Arrange
+    SyncOptions options = SyncOptions.builder()
+        .outputDir(tempDir)
+        .tasks(List.of(SyncTask.SCRAPE, SyncTask.ACCOUNTING))
+        .interval(Duration.ofMillis(10))
+        .build();
+    RecordingSyncService sync = new RecordingSyncService(options, 6);
+    SyncDaemon daemon = new SyncDaemon(sync);
+
+    // Act
+    daemon.start();
+    boolean ranThreeCycles = sync.runs.await(30, TimeUnit.SECONDS);
+    daemon.close();
+
+    // Assert
+    assertTrue(ranThreeCycles);
+    assertTrue(daemon.getCompletedCycles() >= 3);
+    assertTrue(daemon.getFailedTasks() >= 3);
+    assertEquals(List.of(SyncTask.SCRAPE, SyncTask.ACCOUNTING, SyncTask.SCRAPE, SyncTask.ACCOUNTING),
+        sync.executed.subList(0, 4));
+    assertTrue(sync.closed);
+  }
+
+  @Test
+  void constructor_deveRejeitarIntervaloOuTarefasInvalidos() {
+    // Arrange
+    SyncService sync = new SyncService(SyncOptions.builder().outputDir(tempDir).build());
+
+    // Act & Assert
+    try {
+      assertThrows(IllegalArgumentException.class, () -> new SyncDaemon(sync, List.of(), Duration.ofMinutes(1)));
+      assertThrows(IllegalArgumentException.class,
+          () -> new SyncDaemon(sync, List.of(SyncTask.FLOW), Duration.ZERO));
+    } finally {
+      sync.close();
+    }
+  }
+}
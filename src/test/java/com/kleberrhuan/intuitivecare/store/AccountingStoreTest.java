@@ -0,0 +1,158 @@
+package com.kleberrhuan.intuitivecare.store;
+
+import com.kleberrhuan.intuitivecare.fixtures.AccountingCsvFixture;
+import com.kleberrhuan.intuitivecare.model.AccountingEntry;
+import com.kleberrhuan.intuitivecare.model.AccountingParseOptions;
+import com.kleberrhuan.intuitivecare.model.AccountingParseResult;
+import com.kleberrhuan.intuitivecare.service.AccountingIngestionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe AccountingStore
+ */
+class AccountingStoreTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path writeQuarter(String year, String name, int rows) throws IOException {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < rows; i++) {
+      content.append(AccountingCsvFixture.row(year + "-01-01", 1000 + i % 3, 41 + i % 2,
+          i % 2 == 0 ? "EVENTOS/ SINISTROS" : "CONTRAPRESTAÇÕES", i + ",00", i * 2 + ",50"));
+    }
+    return AccountingCsvFixture.writeQuarter(tempDir.resolve("output"), name, content);
+  }
+
+  private static AccountingIngestionService ingestion() {
+    return new AccountingIngestionService(AccountingParseOptions.builder()
+        .parallelism(3).chunkSizeBytes(512).batchSize(7).build());
+  }
+
+  @Test
+  void loadInto_mustStoreOneSegmentPerQuarterWithPrimitiveColumns() throws IOException {
+    // Arrange
+    writeQuarter("2023", "4T2023.csv", 100);
+    writeQuarter("2024", "1T2024.csv", 50);
+    Path storeDir = tempDir.resolve("store");
+
+    // Act
+    List<AccountingParseResult> results = ingestion().loadInto(AccountingStore.open(storeDir),
+        tempDir.resolve("output"));
+    AccountingStore reopened = AccountingStore.open(storeDir);
+
+    // Assert
+    assertEquals(2, results.size());
+    assertEquals(150, reopened.getRowCount());
+    assertEquals(2, reopened.getDescriptionCount());
+    AccountingSegment segment = reopened.getSegment("4T2023");
+    assertEquals(100, segment.getRowCount());
+    assertEquals("4T2023.csv", segment.getSourceFileName());
+
+    IntBuffer dates = segment.dates();
+    IntBuffer operators = segment.operatorIds();
+    LongBuffer accounts = segment.accountCodes();
+    IntBuffer descriptions = segment.descriptionIds();
+    LongBuffer initial = segment.initialBalances();
+    LongBuffer finals = segment.finalBalances();
+    long initialSum = 0;
+    long finalSum = 0;
+    int eventRows = 0;
+    for (int i = 0; i < segment.getRowCount(); i++) {
+      assertEquals(20230101, dates.get(i));
+      assertTrue(operators.get(i) >= 1000 && operators.get(i) <= 1002);
+      String description = reopened.getDescription(descriptions.get(i));
+      assertEquals(accounts.get(i) == 41 ? "EVENTOS/ SINISTROS" : "CONTRAPRESTAÇÕES", description);
+      eventRows += accounts.get(i) == 41 ? 1 : 0;
+      initialSum += initial.get(i);
+      finalSum += finals.get(i);
+    }
+    assertEquals(50, eventRows);
+    assertEquals(4950 * 100, initialSum);
+    assertEquals(4950 * 200 + 100 * 50, finalSum);
+    assertTrue(reopened.findDescriptionId("EVENTOS/ SINISTROS") >= 0);
+    assertEquals(-1, reopened.findDescriptionId("INEXISTENTE"));
+  }
+
+  @Test
+  void loadInto_mustSkipUnchangedQuartersAndReplaceModifiedOnes() throws IOException {
+    // Arrange
+    Path csv = writeQuarter("2024", "1T2024.csv", 10);
+    AccountingStore store = AccountingStore.open(tempDir.resolve("store"));
+    ingestion().loadInto(store, tempDir.resolve("output"));
+
+    // Act
+    List<AccountingParseResult> unchanged = ingestion().loadInto(store, tempDir.resolve("output"));
+    writeQuarter("2024", "1T2024.csv", 30);
+    Files.setLastModifiedTime(csv, FileTime.fromMillis(Files.getLastModifiedTime(csv).toMillis() + 1000));
+    List<AccountingParseResult> modified = ingestion().loadInto(store, tempDir.resolve("output"));
+
+    // Assert
+    assertTrue(unchanged.isEmpty());
+    assertEquals(1, modified.size());
+    assertEquals(30, store.getSegment("1T2024").getRowCount());
+    assertEquals(30, AccountingStore.open(tempDir.resolve("store")).getRowCount());
+  }
+
+  @Test
+  void open_mustDiscardUncommittedSegments() throws IOException {
+    // Arrange
+    Path csv = writeQuarter("2024", "1T2024.csv", 10);
+    Path storeDir = tempDir.resolve("store");
+    AccountingStore store = AccountingStore.open(storeDir);
+    SegmentWriter writer = store.appendSegment("1T2024", csv);
+
+    // Act
+    AccountingStore reopened = AccountingStore.open(storeDir);
+    writer.close();
+
+    // Assert
+    assertTrue(reopened.getSegments().isEmpty());
+    assertFalse(Files.exists(storeDir.resolve("1T2024.tmp")));
+    assertNull(store.getSegment("1T2024"));
+  }
+
+  @Test
+  void lookup_mustFindOperatorAccountAcrossQuartersThroughIndex() throws IOException {
+    // Arrange
+    writeQuarter("2023", "4T2023.csv", 100);
+    writeQuarter("2024", "1T2024.csv", 50);
+    Path storeDir = tempDir.resolve("store");
+    ingestion().loadInto(AccountingStore.open(storeDir), tempDir.resolve("output"));
+    Files.delete(storeDir.resolve("1T2024").resolve(SegmentIndex.FILE));
+
+    // Act
+    AccountingStore store = AccountingStore.open(storeDir);
+    List<AccountingEntry> entries = store.lookup(1001, 42);
+    List<AccountingEntry> operator = store.lookup(1001);
+
+    // Assert
+    assertTrue(Files.exists(storeDir.resolve("1T2024").resolve(SegmentIndex.FILE)));
+    // i % 3 == 1 e i % 2 == 1: i = 1, 7, 13, ...
+    assertEquals(17 + 9, entries.size());
+    assertEquals(LocalDate.of(2023, 1, 1), entries.get(0).date());
+    assertEquals(LocalDate.of(2024, 1, 1), entries.get(entries.size() - 1).date());
+    // linhas com a mesma chave ficam na ordem em que a leitura paralela as entregou
+    AccountingEntry firstRow = entries.stream()
+        .filter(entry -> entry.segment().equals("4T2023") && entry.initialBalanceCents() == 100)
+        .findFirst().orElseThrow();
+    assertEquals("CONTRAPRESTAÇÕES", firstRow.description());
+    assertEquals(250, firstRow.finalBalanceCents());
+    assertTrue(entries.stream().allMatch(entry -> entry.operatorId() == 1001 && entry.accountCode() == 42));
+    assertEquals(33 + 17, operator.size());
+    assertEquals(41, operator.get(0).accountCode());
+    assertTrue(store.lookup(9999, 42).isEmpty());
+  }
+}
@@ -0,0 +1,77 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.config.AppConfig;
+import com.kleberrhuan.intuitivecare.exception.AbbreviationLegendException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe AbbreviationDictionary
+ */
+class AbbreviationDictionaryTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void fromResource_mustLoadBundledLegend() {
+    // Act
+    AbbreviationDictionary dictionary = AbbreviationDictionary.fromResource(AppConfig.ABBREVIATION_LEGEND_RESOURCE);
+
+    // Assert
+    assertEquals("Seg. Odontológica", dictionary.describe("OD"));
+    assertEquals("Seg. Ambulatorial", dictionary.describe("amb"));
+    assertTrue(dictionary.size() > 2);
+  }
+
+  @Test
+  void load_mustIgnoreCommentsAndBlankLines() throws IOException {
+    // Arrange
+    Path legend = tempDir.resolve("legenda.csv");
+    Files.writeString(legend, "\uFEFF# comentário\n\nOD; Seg. Odontológica \nHCO;Seg. Hospitalar Com Obstetrícia\n");
+
+    // Act
+    AbbreviationDictionary dictionary = AbbreviationDictionary.load(legend);
+
+    // Assert
+    assertEquals(2, dictionary.size());
+    assertEquals("Seg. Odontológica", dictionary.describe("od"));
+    assertEquals("Seg. Hospitalar Com Obstetrícia", dictionary.describe("Hco"));
+  }
+
+  @Test
+  void find_mustMatchSliceIgnoringCase() {
+    // Arrange
+    AbbreviationDictionary dictionary = AbbreviationDictionary.of(Map.of("OD", "Seg. Odontológica", "AMB", "Seg. Ambulatorial"));
+    char[] text = "xxAmbyy".toCharArray();
+
+    // Act & Assert
+    assertEquals("AMB", dictionary.getAbbreviation(dictionary.find(text, 2, 3)));
+    assertEquals(-1, dictionary.find(text, 2, 4));
+    assertNull(dictionary.describe("ODO"));
+  }
+
+  @Test
+  void load_mustRejectInvalidLines() throws IOException {
+    // Arrange
+    Path legend = tempDir.resolve("invalida.csv");
+    Files.writeString(legend, "OD Seg. Odontológica\n");
+
+    // Act & Assert
+    assertThrows(AbbreviationLegendException.class, () -> AbbreviationDictionary.load(legend));
+  }
+
+  @Test
+  void of_mustRejectCaseInsensitiveDuplicates() {
+    // Act & Assert
+    assertThrows(AbbreviationLegendException.class,
+        () -> AbbreviationDictionary.of(Map.of("OD", "A", "od", "B")));
+  }
+}
@@ -0,0 +1,103 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.AbbreviationMode;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe AbbreviationEngine
+ */
+class AbbreviationEngineTest {
+
+  private AbbreviationDictionary dictionary;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, String> legend = new LinkedHashMap<>();
+    legend.put("OD", "Seg. Odontológica");
+    legend.put("AMB", "Seg. Ambulatorial");
+    legend.put("HCO", "Seg. Hospitalar Com Obstetrícia");
+    legend.put("DUT", "Diretriz de Utilização");
+    legend.put("DUT AMB", "Diretriz Ambulatorial");
+    dictionary = AbbreviationDictionary.of(legend);
+  }
+
+  @Test
+  void apply_mustReplaceWholeCellsInAllColumnsWithoutScope() {
+    // Arrange
+    AbbreviationEngine engine = new AbbreviationEngine(dictionary, AbbreviationMode.EXACT, List.of());
+    TableBuffer rows = TableBuffer.of(List.of(List.of("od", "AMB", "HCO ", "CONSULTA")));
+
+    // Act
+    List<List<String>> result = applyAll(engine, rows);
+
+    // Assert
+    assertEquals(List.of(List.of("Seg. Odontológica", "Seg. Ambulatorial", "HCO ", "CONSULTA")), result);
+  }
+
+  @Test
+  void apply_mustRestrictReplacementToScopedColumns() {
+    // Arrange
+    AbbreviationEngine engine = new AbbreviationEngine(dictionary, AbbreviationMode.EXACT, List.of("OD", "AMB"));
+    TableBuffer rows = TableBuffer.of(List.of(
+        List.of("PROCEDIMENTO", "OD", "AMB", "HCO"),
+        List.of("OD", "OD", "AMB", "HCO")));
+
+    // Act
+    List<List<String>> result = applyAll(engine, rows);
+
+    // Assert
+    assertEquals(List.of("PROCEDIMENTO", "Seg. Odontológica", "Seg. Ambulatorial", "HCO"), result.get(0));
+    assertEquals(List.of("OD", "Seg. Odontológica", "Seg. Ambulatorial", "HCO"), result.get(1));
+  }
+
+  @Test
+  void apply_mustReplaceWholeWordsInSubstringMode() {
+    // Arrange
+    AbbreviationEngine engine = new AbbreviationEngine(dictionary, AbbreviationMode.SUBSTRING, List.of());
+    TableBuffer rows = TableBuffer.of(List.of(
+        List.of("Cobertura OD e amb (ver DUT AMB)", "CODIGO AMBULATORIAL", "HCO/OD")));
+
+    // Act
+    List<List<String>> result = applyAll(engine, rows);
+
+    // Assert
+    assertEquals(List.of(
+        "Cobertura Seg. Odontológica e Seg. Ambulatorial (ver Diretriz Ambulatorial)",
+        "CODIGO AMBULATORIAL",
+        "Seg. Hospitalar Com Obstetrícia/Seg. Odontológica"), result.get(0));
+  }
+
+  @Test
+  void apply_mustNotLookAcrossCellBoundaries() {
+    // Arrange
+    AbbreviationEngine engine = new AbbreviationEngine(dictionary, AbbreviationMode.SUBSTRING, List.of());
+    TableBuffer rows = TableBuffer.of(List.of(List.of("X", "OD", "Y")));
+
+    // Act
+    List<List<String>> result = applyAll(engine, rows);
+
+    // Assert
+    assertEquals(List.of(List.of("X", "Seg. Odontológica", "Y")), result);
+  }
+
+  private List<List<String>> applyAll(AbbreviationEngine engine, TableBuffer rows) {
+    TableBuffer.Cursor row = rows.cursor();
+    boolean first = true;
+    while (row.next()) {
+      if (first) {
+        engine.bindHeader(row);
+        first = false;
+      }
+      engine.apply(row);
+    }
+    return rows.toRows();
+  }
+}
@@ -0,0 +1,151 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.exception.AccountingParseException;
+import com.kleberrhuan.intuitivecare.model.AccountingBatch;
+import com.kleberrhuan.intuitivecare.model.AccountingParseOptions;
+import com.kleberrhuan.intuitivecare.model.AccountingParseResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe AccountingCsvParser
+ */
+class AccountingCsvParserTest {
+
+  private static final String HEADER =
+      "\"DATA\";\"REG_ANS\";\"CD_CONTA_CONTABIL\";\"DESCRICAO\";\"VL_SALDO_INICIAL\";\"VL_SALDO_FINAL\"\n";
+
+  @TempDir
+  Path tempDir;
+
+  private static List<String> parseToStrings(AccountingCsvParser parser, Path file) {
+    List<String> rows = Collections.synchronizedList(new ArrayList<>());
+    parser.parse(file, batch -> {
+      for (int i = 0; i < batch.size(); i++) {
+        rows.add(format(batch, i));
+      }
+    });
+    List<String> sorted = new ArrayList<>(rows);
+    Collections.sort(sorted);
+    return sorted;
+  }
+
+  private static String format(AccountingBatch batch, int i) {
+    return batch.getDate(i) + "|" + batch.getOperatorId(i) + "|" + batch.getAccountCode(i) + "|"
+        + batch.getDescription(i) + "|" + batch.getInitialBalance(i) + "|" + batch.getFinalBalance(i);
+  }
+
+  private Path write(String name, String content, Charset charset) throws IOException {
+    Path file = tempDir.resolve(name);
+    Files.write(file, content.getBytes(charset));
+    return file;
+  }
+
+  @Test
+  void parse_mustConvertFieldsToPrimitives() throws IOException {
+    // Arrange
+    Path file = write("1T2023.csv", HEADER
+        + "2023-01-01;\"316458\";\"311111\";\"CONTRAPRESTAÇÕES; \"\"PRÉ\"\"\";\"1234,5\";\"-6.543,21\"\n"
+        + "01/04/2023;316458;4111;EVENTOS INDENIZÁVEIS;0,005;1.234\r\n"
+        + "\n", StandardCharsets.UTF_8);
+
+    // Act
+    AccountingCsvParser parser = new AccountingCsvParser();
+    List<String> rows = parseToStrings(parser, file);
+
+    // Assert
+    assertEquals(List.of(
+        "20230101|316458|311111|CONTRAPRESTAÇÕES; \"PRÉ\"|123450|-654321",
+        "20230401|316458|4111|EVENTOS INDENIZÁVEIS|1|123400"), rows);
+  }
+
+  @Test
+  void parse_mustDetectIso88591AndSkipInvalidRows() throws IOException {
+    // Arrange
+    Path file = write("2T2023.csv", HEADER
+        + "2023-04-01;123;411;DESPESAS MÉDICAS;10,00;20,00\n"
+        + "2023-04-01;abc;411;DESPESAS MÉDICAS;10,00;20,00\n"
+        + "2023-04-01;123\n"
+        + "2023-04-01;456;411;DESPESAS MÉDICAS;10,00;20,00\n", StandardCharsets.ISO_8859_1);
+
+    // Act
+    AccountingParseResult result = new AccountingCsvParser().parse(file, batch -> {
+      assertSame(batch.getDescription(0), batch.getDescription(batch.size() - 1));
+    });
+
+    // Assert
+    assertEquals(StandardCharsets.ISO_8859_1, result.charset());
+    assertEquals(2, result.rows());
+    assertEquals(2, result.rejectedRows());
+  }
+
+  @Test
+  void parse_mustRejectImpossibleDates() throws IOException {
+    // Arrange
+    Path file = write("4T2023.csv", HEADER
+        + "2023-04-31;123;411;DESPESAS;10,00;20,00\n"
+        + "29/02/2023;123;411;DESPESAS;10,00;20,00\n"
+        + "29/02/2024;123;411;DESPESAS;10,00;20,00\n"
+        + "2023-12-31;123;411;DESPESAS;10,00;20,00\n", StandardCharsets.UTF_8);
+    List<Integer> dates = Collections.synchronizedList(new ArrayList<>());
+
+    // Act
+    AccountingParseResult result = new AccountingCsvParser().parse(file, batch -> {
+      for (int i = 0; i < batch.size(); i++) {
+        dates.add(batch.getDate(i));
+      }
+    });
+
+    // Assert
+    assertEquals(2, result.rows());
+    assertEquals(2, result.rejectedRows());
+    assertEquals(List.of(20240229, 20231231), dates);
+  }
+
+  @Test
+  void parse_mustMatchSequentialResultWhenSplitInManyChunks() throws IOException {
+    // Arrange
+    StringBuilder content = new StringBuilder("DATA;REG_ANS;CD_CONTA_CONTABIL;DESCRICAO;VL_SALDO_FINAL\n");
+    for (int i = 0; i < 5_000; i++) {
+      content.append("2023-0").append(1 + i % 9).append("-01;").append(300_000 + i % 37).append(';')
+          .append(41 + i % 11).append(";CONTA ").append(i % 11).append(" – SAÚDE;")
+          .append(i).append(',').append(String.format("%02d", i % 100)).append('\n');
+    }
+    Path file = write("3T2023.csv", content.toString(), StandardCharsets.UTF_8);
+    AccountingCsvParser sequential = new AccountingCsvParser(AccountingParseOptions.builder()
+        .parallelism(1).build());
+    AccountingCsvParser parallel = new AccountingCsvParser(AccountingParseOptions.builder()
+        .parallelism(4).chunkSizeBytes(4096).batchSize(100).build());
+
+    // Act
+    List<String> expected = parseToStrings(sequential, file);
+    List<String> actual = parseToStrings(parallel, file);
+
+    // Assert
+    assertEquals(5_000, expected.size());
+    assertEquals(expected, actual);
+    assertTrue(expected.contains("20230101|300000|41|CONTA 0 – SAÚDE|0|0"));
+    assertTrue(parallel.getDescriptionPool().getStats().hitRate() > 0.9);
+  }
+
+  @Test
+  void parse_mustRejectFilesWithoutRequiredColumns() throws IOException {
+    // Arrange
+    Path file = write("invalido.csv", "DATA;REG_ANS;VALOR\n2023-01-01;1;2\n", StandardCharsets.UTF_8);
+
+    // Act & Assert
+    assertThrows(AccountingParseException.class, () -> new AccountingCsvParser().parse(file, batch -> {
+    }));
+  }
+}
@@ -0,0 +1,146 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para as classes ColumnarWriter e ColumnarReader
+ */
+class ColumnarWriterTest {
+
+  private static final List<String> HEADER = List.of("PROCEDIMENTO", "OD", "AMB", "GRUPO");
+
+  @TempDir
+  Path tempDir;
+
+  private static List<String> row(int i) {
+    return List.of("PROCEDIMENTO " + i + (i % 7 == 0 ? " – ação 😀" : ""),
+        i % 2 == 0 ? "Seg. Odontológica" : "",
+        i % 3 == 0 ? "Seg. Ambulatorial" : "",
+        "GRUPO " + (i % 5));
+  }
+
+  @Test
+  void writeRow_mustRoundTripAllColumnsAcrossRowGroups() throws IOException {
+    // Arrange
+    Path file = tempDir.resolve("tabela.icol");
+    List<List<String>> expected = new ArrayList<>();
+    TableBuffer rows = new TableBuffer();
+    for (int i = 0; i < 250; i++) {
+      expected.add(row(i));
+      rows.addRow(row(i));
+    }
+
+    // Act
+    try (ColumnarWriter writer = new ColumnarWriter(file, HEADER, 100, 16)) {
+      TableBuffer.Cursor cursor = rows.cursor();
+      while (cursor.next()) {
+        writer.writeRow(cursor);
+      }
+    }
+
+    // Assert
+    try (ColumnarReader reader = new ColumnarReader(file)) {
+      assertEquals(HEADER, reader.getColumns());
+      assertEquals(250, reader.getRowCount());
+      assertEquals(3, reader.getRowGroupCount());
+      assertEquals(50, reader.getRowGroupSize(2));
+      assertEquals(expected, reader.readAll().toRows());
+    }
+  }
+
+  @Test
+  void readRowGroup_mustProjectSelectedColumnsInRequestedOrder() throws IOException {
+    // Arrange
+    Path file = tempDir.resolve("tabela.icol");
+    TableBuffer rows = new TableBuffer();
+    for (int i = 0; i < 40; i++) {
+      rows.addRow(row(i));
+    }
+    rows.addRow(List.of("SOMENTE PROCEDIMENTO"));
+    try (ColumnarWriter writer = new ColumnarWriter(file, HEADER, 64, 16)) {
+      TableBuffer.Cursor cursor = rows.cursor();
+      while (cursor.next()) {
+        writer.writeRow(cursor);
+      }
+    }
+
+    // Act
+    TableBuffer projected;
+    try (ColumnarReader reader = new ColumnarReader(file)) {
+      projected = reader.readAll("grupo", "OD");
+    }
+
+    // Assert
+    assertEquals(41, projected.getRowCount());
+    assertEquals(List.of("GRUPO 0", "Seg. Odontológica"), projected.toRows().get(0));
+    assertEquals(List.of("GRUPO 1", ""), projected.toRows().get(1));
+    assertEquals(List.of("", ""), projected.toRows().get(40));
+  }
+
+  @Test
+  void writeRow_mustDictionaryEncodeLowCardinalityColumns() throws IOException {
+    // Arrange
+    Path dictionaryFile = tempDir.resolve("dicionario.icol");
+    Path plainFile = tempDir.resolve("simples.icol");
+    TableBuffer rows = new TableBuffer();
+    for (int i = 0; i < 1000; i++) {
+      rows.addRow(List.of(i % 2 == 0 ? "Seg. Odontológica" : "Seg. Ambulatorial"));
+    }
+
+    // Act
+    try (ColumnarWriter dictionary = new ColumnarWriter(dictionaryFile, List.of("OD"), 1000, 16);
+        ColumnarWriter plain = new ColumnarWriter(plainFile, List.of("OD"), 1000, 0)) {
+      TableBuffer.Cursor cursor = rows.cursor();
+      while (cursor.next()) {
+        dictionary.writeRow(cursor);
+        plain.writeRow(cursor);
+      }
+    }
+
+    // Assert
+    assertTrue(Files.size(dictionaryFile) * 10 < Files.size(plainFile));
+    try (ColumnarReader reader = new ColumnarReader(dictionaryFile)) {
+      assertEquals(rows.toRows(), reader.readAll().toRows());
+    }
+  }
+
+  @Test
+  void convert_mustWriteColumnarFileFromCsv() throws IOException {
+    // Arrange
+    Path csv = tempDir.resolve("Anexo_I.csv");
+    Files.writeString(csv, "PROCEDIMENTO,OD\n\"A, B\",Seg. Odontológica\nC,\n", StandardCharsets.UTF_8);
+    Path file = tempDir.resolve("Anexo_I.icol");
+
+    // Act
+    long rows = ColumnarWriter.convert(csv, file, CsvOptions.defaults());
+
+    // Assert
+    assertEquals(2, rows);
+    try (ColumnarReader reader = new ColumnarReader(file)) {
+      assertEquals(List.of("PROCEDIMENTO", "OD"), reader.getColumns());
+      assertEquals(List.of(List.of("A, B", "Seg. Odontológica"), List.of("C", "")), reader.readAll().toRows());
+    }
+  }
+
+  @Test
+  void constructor_mustRejectFilesInOtherFormats() throws IOException {
+    // Arrange
+    Path file = tempDir.resolve("Anexo_I.csv");
+    Files.writeString(file, "PROCEDIMENTO,OD\nA,B\n", StandardCharsets.UTF_8);
+
+    // Act & Assert
+    assertThrows(IOException.class, () -> new ColumnarReader(file));
+  }
+}
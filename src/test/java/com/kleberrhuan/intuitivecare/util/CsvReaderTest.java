@@ -0,0 +1,64 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.CsvQuoteMode;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe CsvReader
+ */
+class CsvReaderTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void readRow_mustParseQuotedFieldsWithEscapesAndLineBreaks() throws IOException {
+    // Arrange
+    String csv = "\"PROCEDIMENTO\",\"diz \"\"oi\"\"\",\"linha\r\nquebrada\"\r\nsimples,,fim\n";
+    TableBuffer rows = new TableBuffer();
+
+    // Act
+    try (CsvReader reader = new CsvReader(new StringReader(csv), ',')) {
+      while (reader.readRow(rows)) {
+        // lê todas as linhas
+      }
+    }
+
+    // Assert
+    assertEquals(List.of(
+        List.of("PROCEDIMENTO", "diz \"oi\"", "linha\r\nquebrada"),
+        List.of("simples", "", "fim")), rows.toRows());
+  }
+
+  @Test
+  void readRow_mustReadBackWhatCsvWriterWrote() throws IOException {
+    // Arrange
+    Path csv = tempDir.resolve("ida_e_volta.csv");
+    CsvOptions options = CsvOptions.builder().quoteMode(CsvQuoteMode.MINIMAL).delimiter(';').build();
+    List<String> written = Arrays.asList("a;b", "Seg. Odontológica", " borda", "x\ry", "");
+    try (CsvWriter writer = CsvWriter.open(csv, options)) {
+      writer.writeRow(written);
+    }
+    TableBuffer rows = new TableBuffer();
+
+    // Act
+    try (CsvReader reader = CsvReader.open(csv, options)) {
+      assertTrue(reader.readRow(rows));
+      assertFalse(reader.readRow(rows));
+    }
+
+    // Assert
+    assertEquals(List.of(written), rows.toRows());
+  }
+}
@@ -0,0 +1,94 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.CsvOptions;
+import com.kleberrhuan.intuitivecare.model.CsvQuoteMode;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe CsvWriter
+ */
+class CsvWriterTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void writeRow_mustQuoteAllFieldsAndEscapeQuotes() throws IOException {
+    // Arrange
+    Path csv = tempDir.resolve("todos.csv");
+    CsvOptions options = CsvOptions.builder().quoteMode(CsvQuoteMode.ALL).lineEnding("\n").build();
+
+    // Act
+    try (CsvWriter writer = CsvWriter.open(csv, options)) {
+      writer.writeRow(List.of("PROCEDIMENTO", "CONSULTA \"ODONTOLÓGICA\"", ""));
+    }
+
+    // Assert
+    assertEquals("\"PROCEDIMENTO\",\"CONSULTA \"\"ODONTOLÓGICA\"\"\",\"\"\n",
+        Files.readString(csv, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void writeRow_mustQuoteOnlyWhenNeededInMinimalMode() throws IOException {
+    // Arrange
+    Path csv = tempDir.resolve("minimo.csv");
+    CsvOptions options = CsvOptions.builder()
+        .quoteMode(CsvQuoteMode.MINIMAL)
+        .delimiter(';')
+        .lineEnding("\r\n")
+        .build();
+
+    // Act
+    try (CsvWriter writer = CsvWriter.open(csv, options)) {
+      writer.writeRow(Arrays.asList("simples", "a;b", "linha\rquebrada", " borda", "diz \"oi\"", null));
+    }
+
+    // Assert
+    assertEquals("simples;\"a;b\";\"linha\rquebrada\";\" borda\";\"diz \"\"oi\"\"\";\r\n",
+        Files.readString(csv, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void writeRow_mustEncodeUtf8AcrossBufferBoundaries() throws IOException {
+    // Arrange
+    Path csv = tempDir.resolve("utf8.csv");
+    CsvOptions options = CsvOptions.builder().quoteMode(CsvQuoteMode.MINIMAL).lineEnding("\n").bufferSize(64).build();
+    String field = "Ação 😀 ".repeat(50).strip();
+    TableBuffer rows = TableBuffer.of(List.of(List.of(field, "OD"), List.of("€", "\"")));
+
+    // Act
+    long written;
+    try (CsvWriter writer = CsvWriter.open(csv, options)) {
+      TableBuffer.Cursor row = rows.cursor();
+      while (row.next()) {
+        writer.writeRow(row);
+      }
+      written = writer.getBytesWritten();
+    }
+
+    // Assert
+    String expected = field + ",OD\n€,\"\"\"\"\n";
+    assertEquals(expected, Files.readString(csv, StandardCharsets.UTF_8));
+    assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, written);
+  }
+
+  @Test
+  void constructor_mustRejectQuoteAsDelimiter() {
+    // Arrange
+    CsvOptions options = CsvOptions.builder().delimiter('"').build();
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> CsvWriter.open(tempDir.resolve("x.csv"), options));
+  }
+}
@@ -0,0 +1,140 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.fixtures.GridPdfFixture;
+import com.kleberrhuan.intuitivecare.model.AbbreviationOptions;
+import com.kleberrhuan.intuitivecare.model.ExtractionEngine;
+import com.kleberrhuan.intuitivecare.model.ExtractionOptions;
+import com.kleberrhuan.intuitivecare.model.RowSortOptions;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.service.PdfProcessingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe ExternalRowSorter
+ */
+class ExternalRowSorterTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void finish_mustSortInMemoryByKeyThenRemainingColumns() throws IOException {
+    // Arrange
+    TableBuffer rows = TableBuffer.of(List.of(
+        List.of("B", "2"),
+        List.of("A", "9"),
+        List.of("B", "1"),
+        List.of("A", "9")));
+
+    // Act
+    List<List<String>> sorted = sort(rows, new int[] { 0 }, false, Long.MAX_VALUE);
+
+    // Assert
+    assertEquals(List.of(List.of("A", "9"), List.of("A", "9"), List.of("B", "1"), List.of("B", "2")), sorted);
+  }
+
+  @Test
+  void finish_mustRemoveDuplicatesWhenEnabled() throws IOException {
+    // Arrange
+    TableBuffer rows = TableBuffer.of(List.of(
+        List.of("CONSULTA", "OD"),
+        List.of("EXODONTIA", ""),
+        List.of("CONSULTA", "OD")));
+
+    // Act
+    List<List<String>> sorted = sort(rows, new int[] { 0 }, true, Long.MAX_VALUE);
+
+    // Assert
+    assertEquals(List.of(List.of("CONSULTA", "OD"), List.of("EXODONTIA", "")), sorted);
+  }
+
+  @Test
+  void finish_mustSpillAndMergeManyRunsWithSameResult() throws IOException {
+    // Arrange: orçamento mínimo força uma sequência em disco a cada poucas linhas
+    Random random = new Random(42);
+    List<List<String>> input = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      input.add(List.of("PROC " + random.nextInt(500), "RN " + random.nextInt(10)));
+    }
+    List<List<String>> expected = input.stream()
+        .distinct()
+        .sorted(Comparator.<List<String>, String>comparing(r -> r.get(1)).thenComparing(r -> r.get(0)))
+        .toList();
+
+    // Act
+    List<List<String>> sorted = new ArrayList<>();
+    try (ExternalRowSorter sorter = new ExternalRowSorter(new int[] { 1 }, true, 256, tempDir)) {
+      TableBuffer.Cursor row = TableBuffer.of(input).cursor();
+      while (row.next()) {
+        sorter.add(row);
+      }
+      sorter.finish(r -> sorted.add(rowValues(r)));
+
+      // Assert
+      assertTrue(sorter.getSpilledRuns() > ExternalRowSorter.MAX_FAN_IN);
+      assertEquals(expected.size(), sorter.getRowsOut());
+    }
+    assertEquals(expected, sorted);
+    try (var files = Files.list(tempDir)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  void convertToCsv_mustKeepHeaderFirstAndSortDataRows() throws IOException {
+    // Arrange
+    Path pdfPath = tempDir.resolve("anexo.pdf");
+    GridPdfFixture.write(pdfPath, 2, 10, 1);
+    ExtractionOptions options = ExtractionOptions.builder()
+        .engine(ExtractionEngine.TEXT_POSITION)
+        .workers(1)
+        .checkpointIntervalPages(0)
+        .rowSort(RowSortOptions.builder().enabled(true).keyColumns(List.of("RN (alteração)"))
+            .spillDir(tempDir.resolve("sort")).memoryBudgetBytes(512).build())
+        .build();
+    PdfProcessingService service = new PdfProcessingService(options, ExtractionCache.disabled(),
+        AbbreviationOptions.defaults());
+    Path csv = tempDir.resolve("ordenado.csv");
+
+    // Act
+    var summary = service.convertToCsv(pdfPath, csv, options);
+
+    // Assert
+    List<String> lines = Files.readAllLines(csv);
+    assertEquals(21, summary.rows());
+    assertTrue(lines.get(0).startsWith("\"PROCEDIMENTO\""));
+    assertTrue(lines.get(1).contains("\"RN 401/2017\""));
+    assertTrue(lines.get(20).contains("\"RN 420/2017\""));
+  }
+
+  private List<List<String>> sort(TableBuffer rows, int[] keys, boolean dedup, long budget) throws IOException {
+    List<List<String>> sorted = new ArrayList<>();
+    try (ExternalRowSorter sorter = new ExternalRowSorter(keys, dedup, budget, tempDir)) {
+      TableBuffer.Cursor row = rows.cursor();
+      while (row.next()) {
+        sorter.add(row);
+      }
+      sorter.finish(r -> sorted.add(rowValues(r)));
+    }
+    return sorted;
+  }
+
+  private static List<String> rowValues(TableBuffer.Cursor row) {
+    List<String> values = new ArrayList<>();
+    for (int c = 0; c < row.getCellCount(); c++) {
+      values.add(new String(row.getArena(), row.getCellOffset(c), row.getCellLength(c)));
+    }
+    return values;
+  }
+}
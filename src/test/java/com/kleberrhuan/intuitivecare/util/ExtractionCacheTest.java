@@ -0,0 +1,222 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe ExtractionCache
+ */
+class ExtractionCacheTest {
+
+  private ExtractionCache cache;
+
+  @TempDir
+  Path tempDir;
+
+  @BeforeEach
+  void setUp() {
+    cache = new ExtractionCache(tempDir.resolve("cache"), "extrator-teste");
+  }
+
+  @Test
+  void storePage_mustRoundTripRows() throws IOException {
+    // Arrange
+    List<List<String>> rows = List.of(
+        List.of("PROCEDIMENTO", "OD", "AMB"),
+        List.of("CONSULTA \"ODONTOLÓGICA\"", "", "AMB"));
+
+    // Act
+    cache.storePage("pagina", TableBuffer.of(rows));
+    TableBuffer loaded = cache.loadPage("pagina");
+
+    // Assert
+    assertEquals(rows, loaded.toRows());
+    assertNull(cache.loadPage("outra"));
+  }
+
+  @Test
+  void forExtractor_mustSeparateKeysByExtractor() {
+    // Arrange
+    ExtractionCache other = cache.forExtractor("outro-extrator");
+
+    // Act & Assert
+    assertSame(cache, cache.forExtractor("extrator-teste"));
+    assertTrue(other.isEnabled());
+    assertNotEquals(cache.documentKey("hash", "v1"), other.documentKey("hash", "v1"));
+    assertFalse(ExtractionCache.disabled().forExtractor("outro-extrator").isEnabled());
+  }
+
+  @Test
+  void storeDocument_mustBeFoundByDocumentKey() throws IOException {
+    // Arrange
+    Path csv = tempDir.resolve("saida.csv");
+    Files.writeString(csv, "\"A\",\"B\"");
+    String key = cache.documentKey("hash", "v1");
+
+    // Act
+    cache.storeDocument(key, csv);
+    Optional<Path> found = cache.findDocument(key);
+
+    // Assert
+    assertTrue(found.isPresent());
+    assertEquals("\"A\",\"B\"", Files.readString(found.get()));
+    assertTrue(cache.findDocument(cache.documentKey("hash", "v2")).isEmpty(),
+        "Versão diferente da configuração não deve reaproveitar o cache");
+  }
+
+  @Test
+  void pageKey_mustChangeWithPageContent() throws IOException {
+    // Arrange
+    try (PDDocument document = new PDDocument()) {
+      PDPage first = new PDPage();
+      PDPage second = new PDPage();
+      PDPage third = new PDPage();
+      document.addPage(first);
+      document.addPage(second);
+      document.addPage(third);
+      drawLine(document, first, 10);
+      drawLine(document, second, 10);
+      drawLine(document, third, 20);
+
+      // Act & Assert
+      assertEquals(cache.pageKey(first), cache.pageKey(second));
+      assertNotEquals(cache.pageKey(first), cache.pageKey(third));
+    }
+  }
+
+  @Test
+  void pageKey_mustChangeWithReferencedResources() throws IOException {
+    // Arrange: o fluxo de conteúdo das páginas é o mesmo ("/Fm1 Do"), mas o formulário desenhado não
+    try (PDDocument document = new PDDocument()) {
+      PDPage first = new PDPage();
+      PDPage second = new PDPage();
+      PDPage third = new PDPage();
+      document.addPage(first);
+      document.addPage(second);
+      document.addPage(third);
+      drawForm(document, first, 10);
+      drawForm(document, second, 10);
+      drawForm(document, third, 20);
+
+      // Act & Assert
+      assertEquals(cache.pageKey(first), cache.pageKey(second));
+      assertNotEquals(cache.pageKey(first), cache.pageKey(third));
+    }
+  }
+
+  @Test
+  void disabled_mustNeverStoreOrFind() throws IOException {
+    // Arrange
+    ExtractionCache disabled = ExtractionCache.disabled();
+
+    // Act
+    disabled.storePage("pagina", TableBuffer.of(List.of(List.of("A"))));
+
+    // Assert
+    assertFalse(disabled.isEnabled());
+    assertNull(disabled.loadPage("pagina"));
+    assertTrue(disabled.findDocument("documento").isEmpty());
+  }
+
+  @Test
+  void storeDocument_mustEvictLeastRecentlyUsedEntriesAboveLimit() throws IOException {
+    // Arrange: o limite comporta apenas uma página além do documento
+    Path pagesDir = tempDir.resolve("cache").resolve("pages");
+    TableBuffer rows = TableBuffer.of(List.of(List.of("PROCEDIMENTO".repeat(20), "RN 428/2017")));
+    cache.storePage("antiga", rows);
+    cache.storePage("usada", rows);
+    cache.storePage("recente", rows);
+    long pageBytes = Files.size(pagesDir.resolve("antiga.rows"));
+    ExtractionCache bounded = new ExtractionCache(tempDir.resolve("cache"), "extrator-teste", pageBytes + 64);
+    setLastUsed(pagesDir.resolve("antiga.rows"), 1_000);
+    setLastUsed(pagesDir.resolve("usada.rows"), 2_000);
+    setLastUsed(pagesDir.resolve("recente.rows"), 3_000);
+    assertNotNull(bounded.loadPage("usada"));
+    Path csv = tempDir.resolve("saida.csv");
+    Files.writeString(csv, "\"A\"");
+
+    // Act
+    bounded.storeDocument(bounded.documentKey("hash", "v1"), csv);
+
+    // Assert
+    assertFalse(Files.exists(pagesDir.resolve("antiga.rows")), "A entrada mais antiga deveria ser removida");
+    assertFalse(Files.exists(pagesDir.resolve("recente.rows")), "A entrada não lida deveria ser removida");
+    assertNotNull(bounded.loadPage("usada"), "A leitura deveria renovar a entrada");
+    assertTrue(bounded.findDocument(bounded.documentKey("hash", "v1")).isPresent());
+  }
+
+  @Test
+  void storePage_mustEvictWithoutStoringDocuments() throws IOException {
+    // Arrange: o limite comporta duas páginas
+    Path pagesDir = tempDir.resolve("cache").resolve("pages");
+    TableBuffer rows = TableBuffer.of(List.of(List.of("PROCEDIMENTO".repeat(20), "RN 428/2017")));
+    cache.storePage("medida", rows);
+    long pageBytes = Files.size(pagesDir.resolve("medida.rows"));
+    Files.delete(pagesDir.resolve("medida.rows"));
+    ExtractionCache bounded = new ExtractionCache(tempDir.resolve("cache"), "extrator-teste", 2 * pageBytes);
+
+    // Act
+    for (int page = 0; page < 10; page++) {
+      bounded.storePage("pagina-" + page, rows);
+      setLastUsed(pagesDir.resolve("pagina-" + page + ".rows"), 1_000L * (page + 1));
+    }
+
+    // Assert
+    try (var files = Files.list(pagesDir)) {
+      assertTrue(files.count() <= 2, "As páginas deveriam respeitar o limite do cache");
+    }
+    assertNotNull(bounded.loadPage("pagina-9"));
+  }
+
+  @Test
+  void evictToLimit_mustKeepEverythingWithoutLimit() throws IOException {
+    // Arrange
+    ExtractionCache unbounded = new ExtractionCache(tempDir.resolve("cache"), "extrator-teste", 0);
+    unbounded.storePage("pagina", TableBuffer.of(List.of(List.of("A"))));
+
+    // Act & Assert
+    assertEquals(0, unbounded.evictToLimit());
+    assertNotNull(unbounded.loadPage("pagina"));
+  }
+
+  private void setLastUsed(Path file, long millis) throws IOException {
+    Files.setLastModifiedTime(file, FileTime.fromMillis(millis));
+  }
+
+  private void drawLine(PDDocument document, PDPage page, float y) throws IOException {
+    try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+      content.moveTo(0, y);
+      content.lineTo(100, y);
+      content.stroke();
+    }
+  }
+
+  private void drawForm(PDDocument document, PDPage page, float y) throws IOException {
+    PDFormXObject form = new PDFormXObject(document);
+    form.setBBox(new PDRectangle(100, 100));
+    try (OutputStream content = form.getStream().createOutputStream()) {
+      content.write(("0 " + y + " m 100 " + y + " l S").getBytes(StandardCharsets.US_ASCII));
+    }
+    try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+      content.drawForm(form);
+    }
+  }
+}
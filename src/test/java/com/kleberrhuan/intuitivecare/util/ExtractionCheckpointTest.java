@@ -0,0 +1,172 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.fixtures.GridPdfFixture;
+import com.kleberrhuan.intuitivecare.model.AbbreviationOptions;
+import com.kleberrhuan.intuitivecare.model.ExtractionEngine;
+import com.kleberrhuan.intuitivecare.model.ExtractionOptions;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.service.PdfProcessingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe ExtractionCheckpoint, incluindo a retomada de uma
+ * extração interrompida pelo PdfProcessingService.
+ */
+class ExtractionCheckpointTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path checkpointDir;
+  private Path pdfPath;
+  private ExtractionOptions options;
+  private PdfProcessingService service;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    checkpointDir = tempDir.resolve("checkpoints");
+    pdfPath = tempDir.resolve("anexo_i.pdf");
+    GridPdfFixture.write(pdfPath, 4, 10, 1);
+    options = ExtractionOptions.builder()
+        .engine(ExtractionEngine.TEXT_POSITION)
+        .workers(1)
+        .checkpointDir(checkpointDir)
+        .checkpointIntervalPages(1)
+        .build();
+    service = new PdfProcessingService(options, ExtractionCache.disabled(), AbbreviationOptions.defaults());
+  }
+
+  @Test
+  void save_mustRoundTripStateWithHeader() throws IOException {
+    // Arrange
+    ExtractionCheckpoint checkpoint = new ExtractionCheckpoint(checkpointDir, "doc");
+    try (FileChannel segment = checkpoint.openSegment(0)) {
+      segment.write(ByteBuffer.wrap("\"A\",\"B\"\n".getBytes(StandardCharsets.UTF_8)));
+    }
+    TableBuffer header = TableBuffer.of(List.of(List.of("PROCEDIMENTO", "VIGÊNCIA")));
+
+    // Act
+    checkpoint.save(new ExtractionCheckpoint.State(7, 8, 1, header));
+    ExtractionCheckpoint.State state = checkpoint.load().orElseThrow();
+
+    // Assert
+    assertEquals(7, state.lastPage());
+    assertEquals(8, state.segmentBytes());
+    assertEquals(1, state.rowCount());
+    assertEquals(List.of(List.of("PROCEDIMENTO", "VIGÊNCIA")), state.header().toRows());
+  }
+
+  @Test
+  void save_mustCreateCheckpointDirectory() throws IOException {
+    // Arrange
+    ExtractionCheckpoint checkpoint = new ExtractionCheckpoint(checkpointDir.resolve("novo"), "doc");
+
+    // Act
+    checkpoint.save(new ExtractionCheckpoint.State(0, 0, 0, null));
+
+    // Assert
+    assertTrue(Files.isRegularFile(checkpointDir.resolve("novo").resolve("doc.checkpoint")));
+  }
+
+  @Test
+  void load_mustIgnoreCheckpointWithCorruptCellLength() throws IOException {
+    // Arrange
+    ExtractionCheckpoint checkpoint = new ExtractionCheckpoint(checkpointDir, "doc");
+    checkpoint.openSegment(0).close();
+    checkpoint.save(new ExtractionCheckpoint.State(1, 0, 1, TableBuffer.of(List.of(List.of("A")))));
+    Path file = checkpointDir.resolve("doc.checkpoint");
+    ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+    bytes.putInt(Integer.BYTES * 4 + Long.BYTES, Integer.MAX_VALUE);
+    Files.write(file, bytes.array());
+
+    // Act & Assert
+    assertTrue(checkpoint.load().isEmpty());
+  }
+
+  @Test
+  void load_mustIgnoreCheckpointWhenSegmentIsShorter() throws IOException {
+    // Arrange
+    ExtractionCheckpoint checkpoint = new ExtractionCheckpoint(checkpointDir, "doc");
+    checkpoint.openSegment(0).close();
+
+    // Act
+    checkpoint.save(new ExtractionCheckpoint.State(3, 100, 10, null));
+
+    // Assert
+    assertTrue(checkpoint.load().isEmpty());
+  }
+
+  @Test
+  void convertToCsv_mustRemoveCheckpointAfterSuccess() throws IOException {
+    // Act
+    service.convertToCsv(pdfPath, tempDir.resolve("saida.csv"), options);
+
+    // Assert
+    try (var files = Files.list(checkpointDir)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  void convertToCsv_mustResumeInterruptedExtractionWithIdenticalOutput() throws IOException {
+    // Arrange: saída de referência e uma execução interrompida após a página 2
+    Path expectedCsv = tempDir.resolve("esperado.csv");
+    service.convertToCsv(pdfPath, expectedCsv, options);
+    byte[] expected = Files.readAllBytes(expectedCsv);
+    List<String> lines = Files.readAllLines(expectedCsv);
+    String completed = String.join(System.lineSeparator(), lines.subList(0, 21)) + System.lineSeparator();
+    long validBytes = completed.getBytes(StandardCharsets.UTF_8).length;
+
+    Path resumedCsv = tempDir.resolve("retomado.csv");
+    ExtractionCheckpoint checkpoint = service.checkpointFor(pdfPath, resumedCsv, options);
+    try (FileChannel segment = checkpoint.openSegment(0)) {
+      segment.write(ByteBuffer.wrap((completed + "\"linha parcial gravada após o checkpoint")
+          .getBytes(StandardCharsets.UTF_8)));
+    }
+    checkpoint.save(new ExtractionCheckpoint.State(2, validBytes, 21,
+        TableBuffer.of(List.of(List.of(GridPdfFixture.HEADER)))));
+
+    // Act
+    var summary = service.convertToCsv(pdfPath, resumedCsv, options);
+
+    // Assert
+    assertArrayEquals(expected, Files.readAllBytes(resumedCsv));
+    assertEquals(4, summary.pages());
+    assertEquals(41, summary.rows());
+    assertTrue(checkpoint.load().isEmpty());
+  }
+
+  @Test
+  void convertToCsv_mustNotReextractPagesBeforeCheckpoint() throws IOException {
+    // Arrange: o segmento salvo contém linhas marcadas que a retomada deve preservar
+    Path resumedCsv = tempDir.resolve("retomado.csv");
+    ExtractionCheckpoint checkpoint = service.checkpointFor(pdfPath, resumedCsv, options);
+    String completed = "\"MARCADOR\"" + System.lineSeparator();
+    try (FileChannel segment = checkpoint.openSegment(0)) {
+      segment.write(ByteBuffer.wrap(completed.getBytes(StandardCharsets.UTF_8)));
+    }
+    checkpoint.save(new ExtractionCheckpoint.State(3, completed.getBytes(StandardCharsets.UTF_8).length, 1,
+        TableBuffer.of(List.of(List.of(GridPdfFixture.HEADER)))));
+
+    // Act
+    service.convertToCsv(pdfPath, resumedCsv, options);
+
+    // Assert: apenas as 10 linhas da página 4, sem repetir o cabeçalho
+    List<String> lines = Files.readAllLines(resumedCsv);
+    assertEquals(11, lines.size());
+    assertEquals("\"MARCADOR\"", lines.get(0));
+    assertTrue(lines.get(1).startsWith("\"PROCEDIMENTO NÚMERO 31\""));
+  }
+}
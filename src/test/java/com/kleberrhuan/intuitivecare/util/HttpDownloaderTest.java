@@ -2,6 +2,7 @@ package com.kleberrhuan.intuitivecare.util;
 
 import com.kleberrhuan.intuitivecare.exception.FileDownloadException;
 import com.kleberrhuan.intuitivecare.model.FilelinkModel;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,11 +10,19 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockitoAnnotations;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -99,4 +108,131 @@ class HttpDownloaderTest {
     verify(spyDownloader, times(1)).downloadFileAsync(eq(file1), eq(tempDir));
     verify(spyDownloader, times(1)).downloadFileAsync(eq(file2), eq(tempDir));
   }
-}
\ No newline at end of file
+
+  @Test
+  void downloadIfModified_deveBaixarApenasQuandoOArquivoMudouNoServidor() throws IOException {
+    // Arrange
+    Instant lastModified = Instant.parse("2024-05-01T10:00:00Z");
+    byte[] body = "conteudo".getBytes(StandardCharsets.UTF_8);
+    AtomicInteger fullResponses = new AtomicInteger();
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/arquivo.zip", exchange -> {
+      String since = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+      if (since != null && !Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(since)).isBefore(lastModified)) {
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+        return;
+      }
+      fullResponses.incrementAndGet();
+      exchange.getResponseHeaders().set("Last-Modified",
+          DateTimeFormatter.RFC_1123_DATE_TIME.format(lastModified.atZone(ZoneOffset.UTC)));
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.start();
+    FilelinkModel file = new FilelinkModel("arquivo.zip",
+        "http://127.0.0.1:" + server.getAddress().getPort() + "/arquivo.zip");
+
+    try {
+      // Act
+      boolean first = httpDownloader.downloadIfModified(file, tempDir);
+      boolean second = httpDownloader.downloadIfModified(file, tempDir);
+
+      // Assert
+      assertTrue(first);
+      assertFalse(second);
+      assertEquals(1, fullResponses.get());
+      assertEquals("conteudo", Files.readString(tempDir.resolve("arquivo.zip")));
+      assertEquals(lastModified.toEpochMilli(), Files.getLastModifiedTime(tempDir.resolve("arquivo.zip")).toMillis());
+      assertFalse(Files.exists(tempDir.resolve("arquivo.zip.part")));
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  void downloadIfModified_deveLancarExcecaoQuandoOServidorRetornaErro() throws IOException {
+    // Arrange
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", exchange -> {
+      exchange.sendResponseHeaders(404, -1);
+      exchange.close();
+    });
+    server.start();
+    FilelinkModel file = new FilelinkModel("ausente.zip",
+        "http://127.0.0.1:" + server.getAddress().getPort() + "/ausente.zip");
+
+    try {
+      // Act & Assert
+      assertThrows(FileDownloadException.class, () -> httpDownloader.downloadIfModified(file, tempDir));
+      assertFalse(Files.exists(tempDir.resolve("ausente.zip")));
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  void downloadIfModified_deveRejeitarRedirecionamentoNaoSeguido() throws IOException {
+    // Arrange
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", exchange -> {
+      byte[] body = "<html>escolha</html>".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(300, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.start();
+    FilelinkModel file = new FilelinkModel("redirecionado.zip",
+        "http://127.0.0.1:" + server.getAddress().getPort() + "/redirecionado.zip");
+
+    try {
+      // Act & Assert
+      assertThrows(FileDownloadException.class, () -> httpDownloader.downloadIfModified(file, tempDir));
+      assertFalse(Files.exists(tempDir.resolve("redirecionado.zip")));
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  void downloadFilesIfModified_deveRetornarApenasOsArquivosBaixados() throws IOException {
+    // Arrange
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", exchange -> {
+      boolean unchanged = exchange.getRequestURI().getPath().endsWith("/inalterado.pdf")
+          && exchange.getRequestHeaders().getFirst("If-Modified-Since") != null;
+      if (unchanged) {
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+        return;
+      }
+      byte[] body = "pdf".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.start();
+    String base = "http://127.0.0.1:" + server.getAddress().getPort();
+    Files.writeString(tempDir.resolve("inalterado.pdf"), "pdf");
+    FilelinkModel unchanged = new FilelinkModel("inalterado.pdf", base + "/inalterado.pdf");
+    FilelinkModel changed = new FilelinkModel("novo.pdf", base + "/novo.pdf");
+    FilelinkModel missing = new FilelinkModel("sem_link.pdf", null);
+
+    try {
+      // Act
+      List<FilelinkModel> downloaded = httpDownloader.downloadFilesIfModified(
+          List.of(unchanged, changed, missing), tempDir);
+
+      // Assert
+      assertEquals(List.of(changed), downloaded);
+      assertTrue(Files.exists(tempDir.resolve("novo.pdf")));
+      assertFalse(Files.exists(tempDir.resolve("sem_link.pdf")));
+    } finally {
+      server.stop(0);
+    }
+  }
+}
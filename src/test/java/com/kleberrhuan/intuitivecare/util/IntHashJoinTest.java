@@ -0,0 +1,64 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe IntHashJoin
+ */
+class IntHashJoinTest {
+
+  @Test
+  void probe_mustReturnEveryBuildRowOfRepeatedKeysInOrder() {
+    // Arrange
+    IntHashJoin table = new IntHashJoin(new int[] { 7, 3, 7, Integer.MIN_VALUE, 0, 7 });
+    List<String> pairs = new ArrayList<>();
+
+    // Act
+    long matches = table.probe(IntBuffer.wrap(new int[] { 7, 5, 0, Integer.MIN_VALUE }), 0, 4, false,
+        (probe, build) -> pairs.add(probe + ":" + build));
+
+    // Assert
+    assertEquals(5, matches);
+    assertEquals(List.of("0:0", "0:2", "0:5", "2:4", "3:3"), pairs);
+    assertEquals(-1, table.first(5));
+  }
+
+  @Test
+  void probe_mustEmitUnmatchedRowsInOuterMode() {
+    // Arrange
+    IntHashJoin table = new IntHashJoin(new int[] { 10, 20 });
+    List<String> pairs = new ArrayList<>();
+
+    // Act
+    table.probe(IntBuffer.wrap(new int[] { 20, 30 }), 0, 2, true, (probe, build) -> pairs.add(probe + ":" + build));
+
+    // Assert
+    assertEquals(List.of("0:1", "1:-1"), pairs);
+  }
+
+  @Test
+  void join_mustReportLeftAndRightRowsRegardlessOfBuildSide() {
+    // Arrange
+    int[] small = { 300, 100 };
+    int[] large = new int[10_000];
+    for (int i = 0; i < large.length; i++) {
+      large[i] = i;
+    }
+    List<String> smallFirst = new ArrayList<>();
+    List<String> largeFirst = new ArrayList<>();
+
+    // Act
+    IntHashJoin.join(small, large, (left, right) -> smallFirst.add(left + ":" + right));
+    IntHashJoin.join(large, small, (left, right) -> largeFirst.add(left + ":" + right));
+
+    // Assert
+    assertEquals(List.of("1:100", "0:300"), smallFirst);
+    assertEquals(List.of("100:1", "300:0"), largeFirst);
+  }
+}
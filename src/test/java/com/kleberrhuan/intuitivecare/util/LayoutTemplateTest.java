@@ -0,0 +1,77 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.fixtures.GridPdfFixture;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.interfaces.TableExtractor;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe LayoutTemplate, comparando o modo de template do
+ * TabulaTableExtractor com a detecção completa de células.
+ */
+class LayoutTemplateTest {
+
+  private static final int PAGES = 6;
+  private static final int ROWS_PER_PAGE = 12;
+  private static final int LEARNING_PAGES = 2;
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void tryExtract_mustProduceSameRowsAsFullDetection() throws IOException {
+    // Arrange
+    Path pdfPath = tempDir.resolve("anexo_i.pdf");
+    GridPdfFixture.write(pdfPath, PAGES, ROWS_PER_PAGE, 1);
+    LayoutTemplate.Learner learner = new LayoutTemplate.Learner(LEARNING_PAGES);
+
+    // Act
+    List<List<String>> expected = extractAll(pdfPath, null);
+    List<List<String>> actual = extractAll(pdfPath, learner);
+
+    // Assert
+    assertNotNull(learner.getTemplate());
+    assertEquals(GridPdfFixture.HEADER.length, learner.getTemplate().getColumnCount());
+    assertEquals(PAGES - LEARNING_PAGES, learner.getTemplatePages());
+    assertEquals(0, learner.getFallbackPages());
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void tryExtract_mustFallBackWhenPageHasSecondTable() throws IOException {
+    // Arrange
+    Path pdfPath = tempDir.resolve("anexo_i_duas_tabelas.pdf");
+    GridPdfFixture.write(pdfPath, PAGES, ROWS_PER_PAGE, 1, 4);
+    LayoutTemplate.Learner learner = new LayoutTemplate.Learner(LEARNING_PAGES);
+
+    // Act
+    List<List<String>> expected = extractAll(pdfPath, null);
+    List<List<String>> actual = extractAll(pdfPath, learner);
+
+    // Assert
+    assertEquals(PAGES - LEARNING_PAGES - 1, learner.getTemplatePages());
+    assertEquals(1, learner.getFallbackPages());
+    assertEquals(expected, actual);
+    assertTrue(actual.contains(List.of(GridPdfFixture.row(9002))), "Linhas da segunda tabela foram descartadas");
+  }
+
+  private List<List<String>> extractAll(Path pdfPath, LayoutTemplate.Learner learner) throws IOException {
+    TableBuffer rows = new TableBuffer();
+    try (PDDocument document = Loader.loadPDF(pdfPath.toFile());
+        TableExtractor extractor = new TabulaTableExtractor(document, learner)) {
+      for (int page = 1; page <= document.getNumberOfPages(); page++) {
+        extractor.extractPage(page, rows);
+      }
+    }
+    return rows.toRows();
+  }
+}
@@ -0,0 +1,31 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe MemoryMonitor
+ */
+class MemoryMonitorTest {
+
+  @Test
+  void close_mustReportProcessPeakAndConcurrentMonitors() {
+    // Arrange
+    MemoryMonitor first = MemoryMonitor.start(1_000);
+    MemoryMonitor second = MemoryMonitor.start(1_000);
+
+    // Act
+    second.close();
+    first.close();
+    first.close();
+    MemoryMonitor alone = MemoryMonitor.start(1_000);
+    alone.close();
+
+    // Assert
+    assertTrue(first.getPeakBytes() > 0);
+    assertEquals(2, first.getMaxConcurrentMonitors());
+    assertEquals(2, second.getMaxConcurrentMonitors());
+    assertEquals(1, alone.getMaxConcurrentMonitors());
+  }
+}
@@ -0,0 +1,107 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.fixtures.GridPdfFixture;
+import com.kleberrhuan.intuitivecare.model.ExtractionEngine;
+import com.kleberrhuan.intuitivecare.model.ExtractionOptions;
+import com.kleberrhuan.intuitivecare.model.PageRows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe PdfPageStreamer
+ */
+class PdfPageStreamerTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void next_mustPropagateExtractionFailure() {
+    // Arrange
+    Path nonExistentPath = tempDir.resolve("nao_existe.pdf");
+
+    // Act & Assert
+    try (PdfPageStreamer streamer =
+        new PdfPageStreamer(nonExistentPath, options(2), ExtractionCache.disabled()).start()) {
+      assertThrows(IOException.class, streamer::next);
+    }
+  }
+
+  @Test
+  void next_mustReturnNullAfterFailureWasReported() {
+    // Arrange
+    Path nonExistentPath = tempDir.resolve("nao_existe.pdf");
+
+    // Act & Assert
+    try (PdfPageStreamer streamer =
+        new PdfPageStreamer(nonExistentPath, options(1), ExtractionCache.disabled()).start()) {
+      assertThrows(IOException.class, streamer::next);
+      assertDoesNotThrow(() -> assertNull(streamer.next()));
+    }
+  }
+
+  @Test
+  void next_mustDeliverParallelPagesInSequentialOrderWithTextPosition() throws IOException {
+    assertParallelMatchesSequential(ExtractionEngine.TEXT_POSITION);
+  }
+
+  @Test
+  void next_mustDeliverParallelPagesInSequentialOrderWithTabula() throws IOException {
+    assertParallelMatchesSequential(ExtractionEngine.TABULA);
+  }
+
+  private void assertParallelMatchesSequential(ExtractionEngine engine) throws IOException {
+    // Arrange
+    Path pdfPath = tempDir.resolve("anexo_i.pdf");
+    GridPdfFixture.write(pdfPath, 9, 5, 1);
+    ExtractionOptions sequential = ExtractionOptions.builder()
+        .engine(engine)
+        .workers(1)
+        .build();
+    ExtractionOptions parallel = sequential.toBuilder()
+        .workers(4)
+        .pagesPerChunk(1)
+        .bufferPages(2)
+        .build();
+
+    // Act
+    List<Integer> sequentialPages = new ArrayList<>();
+    List<List<List<String>>> sequentialRows = readAll(pdfPath, sequential, sequentialPages);
+    List<Integer> parallelPages = new ArrayList<>();
+    List<List<List<String>>> parallelRows = readAll(pdfPath, parallel, parallelPages);
+
+    // Assert
+    assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), sequentialPages);
+    assertEquals(sequentialPages, parallelPages);
+    assertEquals(sequentialRows, parallelRows);
+    assertEquals(List.of(GridPdfFixture.HEADER), parallelRows.get(8).get(0));
+  }
+
+  private List<List<List<String>>> readAll(Path pdfPath, ExtractionOptions options, List<Integer> pageNumbers)
+      throws IOException {
+    List<List<List<String>>> pages = new ArrayList<>();
+    try (PdfPageStreamer streamer = new PdfPageStreamer(pdfPath, options, ExtractionCache.disabled()).start()) {
+      PageRows page;
+      while ((page = streamer.next()) != null) {
+        pageNumbers.add(page.pageNumber());
+        pages.add(page.rows().toRows());
+      }
+    }
+    return pages;
+  }
+
+  private ExtractionOptions options(int workers) {
+    return ExtractionOptions.builder()
+        .workers(workers)
+        .pagesPerChunk(4)
+        .bufferPages(2)
+        .build();
+  }
+}
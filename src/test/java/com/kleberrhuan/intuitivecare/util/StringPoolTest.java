@@ -0,0 +1,97 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe StringPool
+ */
+class StringPoolTest {
+
+  @Test
+  void intern_mustReturnSameInstanceForEqualSlices() {
+    // Arrange
+    StringPool pool = new StringPool(64, 32);
+    char[] first = "xxSeg. Odontológicayy".toCharArray();
+    char[] second = "Seg. Odontológica".toCharArray();
+
+    // Act
+    String a = pool.intern(first, 2, 17);
+    String b = pool.intern(second, 0, second.length);
+    String c = pool.intern(new String(second));
+
+    // Assert
+    assertEquals("Seg. Odontológica", a);
+    assertSame(a, b);
+    assertSame(a, c);
+    StringPool.Stats stats = pool.getStats();
+    assertEquals(3, stats.lookups());
+    assertEquals(2, stats.hits());
+    assertTrue(stats.bytesSaved() > 2 * "Seg. Odontológica".length());
+    assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+  }
+
+  @Test
+  void intern_mustStayBoundedAndSkipLongValues() {
+    // Arrange
+    StringPool pool = new StringPool(16, 8);
+    String longValue = "PROCEDIMENTO MUITO LONGO";
+
+    // Act
+    for (int i = 0; i < 10_000; i++) {
+      assertEquals("v" + i, pool.intern("v" + i));
+    }
+    String pooledLong = pool.intern(longValue.toCharArray(), 0, longValue.length());
+
+    // Assert
+    assertEquals(16, pool.capacity());
+    assertEquals(longValue, pooledLong);
+    assertNotSame(pooledLong, pool.intern(longValue.toCharArray(), 0, longValue.length()));
+    assertEquals(10_000, pool.getStats().lookups());
+  }
+
+  @Test
+  void intern_mustShareInstancesAcrossThreads() throws Exception {
+    // Arrange
+    StringPool pool = new StringPool(1024, 32);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    Set<String> instances = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    List<Future<?>> tasks = new ArrayList<>();
+
+    // Act
+    try {
+      for (int t = 0; t < 4; t++) {
+        tasks.add(executor.submit(() -> {
+          for (int i = 0; i < 20_000; i++) {
+            char[] value = ("GRUPO " + (i % 8)).toCharArray();
+            String interned = pool.intern(value, 0, value.length);
+            assertEquals("GRUPO " + (i % 8), interned);
+            instances.add(interned);
+          }
+        }));
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    // Assert
+    // disputas podem criar no máximo uma cópia por thread antes da publicação
+    assertTrue(instances.size() <= 8 * 4);
+    StringPool.Stats stats = pool.getStats();
+    assertEquals(80_000, stats.lookups());
+    assertTrue(stats.hitRate() > 0.99);
+  }
+}
@@ -0,0 +1,132 @@
+package com.kleberrhuan.intuitivecare.util;
+
+import com.kleberrhuan.intuitivecare.fixtures.GridPdfFixture;
+import com.kleberrhuan.intuitivecare.model.TableBuffer;
+import com.kleberrhuan.intuitivecare.util.interfaces.TableExtractor;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.util.Matrix;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe TextPositionTableExtractor, incluindo a conformidade com
+ * o TabulaTableExtractor em um PDF com o layout do Anexo I.
+ */
+class TextPositionTableExtractorTest {
+
+  private static final int ROWS_PER_PAGE = 24;
+
+  @TempDir
+  Path tempDir;
+
+  private Path pdfPath;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    pdfPath = tempDir.resolve("anexo_i.pdf");
+    GridPdfFixture.write(pdfPath, 4, ROWS_PER_PAGE, 1);
+  }
+
+  @Test
+  void extractPage_mustReadGridCellsInOrder() throws IOException {
+    // Arrange
+    try (PDDocument document = Loader.loadPDF(pdfPath.toFile());
+        TableExtractor extractor = new TextPositionTableExtractor(document)) {
+
+      // Act
+      TableBuffer buffer = new TableBuffer();
+      extractor.extractPage(2, buffer);
+      List<List<String>> rows = buffer.toRows();
+
+      // Assert
+      assertEquals(ROWS_PER_PAGE + 1, rows.size());
+      assertEquals(List.of(GridPdfFixture.HEADER), rows.get(0));
+      assertEquals(List.of("PROCEDIMENTO NÚMERO 26", "RN 426/2017", "01/01/2018", "OD", "", ""), rows.get(2));
+    }
+  }
+
+  @Test
+  void extractPage_mustReturnEmptyWhenPageHasNoTable() throws IOException {
+    // Arrange
+    Path emptyPdf = tempDir.resolve("vazio.pdf");
+    try (PDDocument document = new PDDocument()) {
+      document.addPage(new PDPage());
+      document.save(emptyPdf.toFile());
+    }
+
+    // Act & Assert
+    try (PDDocument document = Loader.loadPDF(emptyPdf.toFile());
+        TableExtractor extractor = new TextPositionTableExtractor(document)) {
+      TableBuffer buffer = new TableBuffer();
+      extractor.extractPage(1, buffer);
+      assertTrue(buffer.isEmpty());
+    }
+  }
+
+  @Test
+  void extractPage_mustApplyPageRotationToRulings() throws IOException {
+    // Arrange: a página 2 passa a ser girada por /Rotate 90, com o conteúdo
+    // desenhado no sentido anti-horário para que a página exibida não mude
+    Path rotatedPdf = tempDir.resolve("girado.pdf");
+    try (PDDocument document = Loader.loadPDF(pdfPath.toFile())) {
+      PDPage page = document.getPage(1);
+      PDRectangle box = page.getMediaBox();
+      try (PDPageContentStream content = new PDPageContentStream(document, page,
+          PDPageContentStream.AppendMode.PREPEND, false)) {
+        content.transform(new Matrix(0, 1, -1, 0, box.getHeight(), 0));
+      }
+      page.setMediaBox(new PDRectangle(box.getHeight(), box.getWidth()));
+      page.setRotation(90);
+      document.save(rotatedPdf.toFile());
+    }
+
+    // Act
+    TableBuffer expected = new TableBuffer();
+    TableBuffer actual = new TableBuffer();
+    try (PDDocument document = Loader.loadPDF(pdfPath.toFile());
+        TableExtractor extractor = new TextPositionTableExtractor(document)) {
+      extractor.extractPage(2, expected);
+    }
+    try (PDDocument document = Loader.loadPDF(rotatedPdf.toFile());
+        TableExtractor extractor = new TextPositionTableExtractor(document)) {
+      extractor.extractPage(2, actual);
+    }
+
+    // Assert
+    assertEquals(ROWS_PER_PAGE + 1, actual.toRows().size());
+    assertEquals(expected.toRows(), actual.toRows());
+  }
+
+  @Test
+  void extractPage_mustProduceSameRowsAsTabula() throws IOException {
+    // Arrange & Act
+    List<List<String>> expected = extractAll(document -> new TabulaTableExtractor(document, null));
+    List<List<String>> actual = extractAll(TextPositionTableExtractor::new);
+
+    // Assert
+    assertEquals(expected, actual);
+  }
+
+  private List<List<String>> extractAll(Function<PDDocument, TableExtractor> factory) throws IOException {
+    TableBuffer rows = new TableBuffer();
+    try (PDDocument document = Loader.loadPDF(pdfPath.toFile());
+        TableExtractor extractor = factory.apply(document)) {
+      for (int page = 1; page <= document.getNumberOfPages(); page++) {
+        extractor.extractPage(page, rows);
+      }
+    }
+    return rows.toRows();
+  }
+}
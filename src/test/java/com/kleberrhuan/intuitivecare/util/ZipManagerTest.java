@@ -80,6 +80,29 @@ class ZipManagerTest {
     assertEquals("Conteúdo de teste 1", content1, "Conteúdo do arquivo 1 não corresponde");
   }
 
+  @Test
+  void isExtracted_deveDetectarEntradasAusentesOuAlteradas() throws IOException {
+    // Arrange
+    Path outputDir = Files.createDirectories(tempDir.resolve("output"));
+    zipManager.archiveFiles(Arrays.asList(file1, file2), outputDir, "arquivos_teste");
+    Path zipPath = outputDir.resolve("arquivos_teste.zip");
+    Path extractDir = tempDir.resolve("extract");
+    ZipManager.extractZip(zipPath, extractDir);
+
+    // Act
+    boolean complete = ZipManager.isExtracted(zipPath, extractDir);
+    Files.writeString(extractDir.resolve("teste1.txt"), "truncado");
+    boolean changed = ZipManager.isExtracted(zipPath, extractDir);
+    ZipManager.extractZip(zipPath, extractDir);
+    Files.delete(extractDir.resolve("teste2.txt"));
+    boolean missing = ZipManager.isExtracted(zipPath, extractDir);
+
+    // Assert
+    assertTrue(complete);
+    assertFalse(changed);
+    assertFalse(missing);
+  }
+
   @Test
   void archiveFiles_deveLidarComArquivosInexistentes() {
     // Arrange
@@ -0,0 +1,20 @@
+package com.kleberrhuan.intuitivecare.util.helpers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe AccountCodeHelper
+ */
+class AccountCodeHelperTest {
+
+  @Test
+  void accountLevel_mustCountCodeDigits() {
+    // Act & Assert
+    assertEquals(1, AccountCodeHelper.accountLevel(4));
+    assertEquals(3, AccountCodeHelper.accountLevel(411));
+    assertEquals(9, AccountCodeHelper.accountLevel(499999999L));
+    assertEquals(19, AccountCodeHelper.accountLevel(Long.MAX_VALUE));
+  }
+}
@@ -0,0 +1,110 @@
+package com.kleberrhuan.intuitivecare.util.helpers;
+
+import com.kleberrhuan.intuitivecare.model.PdfMemoryConfig;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.ResourceCache;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a classe PdfDocumentHelper
+ */
+class PdfDocumentHelperTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path pdfPath;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    pdfPath = tempDir.resolve("documento.pdf");
+    try (PDDocument document = new PDDocument()) {
+      for (int i = 0; i < 3; i++) {
+        document.addPage(new PDPage());
+      }
+      document.save(pdfPath.toFile());
+    }
+  }
+
+  @Test
+  void load_mustOpenMemoryMappedDocumentWithScratchDir() throws IOException {
+    // Arrange
+    Path scratchDir = tempDir.resolve("scratch");
+    PdfMemoryConfig config = PdfMemoryConfig.builder()
+        .maxMainMemoryBytes(1024)
+        .scratchDir(scratchDir)
+        .memoryMappedInput(true)
+        .build();
+
+    // Act
+    try (PDDocument document = PdfDocumentHelper.load(pdfPath, config)) {
+      // Assert
+      assertEquals(3, document.getNumberOfPages());
+      assertTrue(Files.isDirectory(scratchDir), "Diretório de scratch não foi criado");
+    }
+  }
+
+  @Test
+  void load_mustOpenBufferedDocument() throws IOException {
+    // Arrange
+    PdfMemoryConfig config = PdfMemoryConfig.builder()
+        .scratchDir(tempDir.resolve("scratch"))
+        .memoryMappedInput(false)
+        .build();
+
+    // Act & Assert
+    try (PDDocument document = PdfDocumentHelper.load(pdfPath, config)) {
+      assertEquals(3, document.getNumberOfPages());
+    }
+  }
+
+  @Test
+  void load_mustThrowExceptionWhenFileDoesNotExist() {
+    // Arrange
+    PdfMemoryConfig config = PdfMemoryConfig.builder().scratchDir(tempDir).build();
+
+    // Act & Assert
+    assertThrows(IOException.class, () -> PdfDocumentHelper.load(tempDir.resolve("nao_existe.pdf"), config));
+  }
+
+  @Test
+  void releasePageResources_mustDropPageResourcesAndNeverKeepXObjects() throws IOException {
+    // Arrange
+    PdfMemoryConfig config = PdfMemoryConfig.builder()
+        .scratchDir(tempDir.resolve("scratch"))
+        .releasePageResources(true)
+        .build();
+    COSObject fontReference = new COSObject(new COSDictionary());
+    COSObject xObjectReference = new COSObject(new COSStream());
+
+    try (PDDocument document = PdfDocumentHelper.load(pdfPath, config)) {
+      ResourceCache cache = document.getResourceCache();
+      cache.put(fontReference, new PDType1Font(Standard14Fonts.FontName.HELVETICA));
+      cache.put(xObjectReference, new PDFormXObject(new COSStream()));
+
+      // Act
+      boolean fontCachedBeforeRelease = cache.getFont(fontReference) != null;
+      PdfDocumentHelper.releasePageResources(document);
+
+      // Assert
+      assertTrue(fontCachedBeforeRelease, "Fonte deveria permanecer em cache durante a página");
+      assertNull(document.getResourceCache().getFont(fontReference));
+      assertNull(document.getResourceCache().getXObject(xObjectReference));
+    }
+  }
+}